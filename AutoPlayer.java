@@ -0,0 +1,77 @@
+import javax.swing.*;
+import java.util.SplittableRandom;
+
+/**
+ * Plays the remaining rounds of a game at full engine speed
+ * Rolls are generated directly instead of through the animated Dice labels
+ * and applied to the model on a background thread; the view only sees
+ * sampled state through its GameViewBinder, which refreshes once per frame
+ */
+public class AutoPlayer {
+    private final GameModel model;
+    private final SplittableRandom random;
+
+    private volatile boolean cancelled;
+    private Thread worker;
+
+    /**
+     * Constructor to create an auto player for the given model
+     */
+    public AutoPlayer(GameModel model) {
+        this(model, new SplittableRandom());
+    }
+
+    public AutoPlayer(GameModel model, SplittableRandom random) {
+        this.model = model;
+        this.random = random;
+    }
+
+    /**
+     * Start playing the remaining rounds in the background
+     * The model must not be modified by anyone else until the auto player finishes
+     * @param onFinished run on the EDT once the game ended or play was cancelled
+     */
+    public void start(Runnable onFinished) {
+        if (worker != null) {
+            throw new IllegalStateException("Auto play already started");
+        }
+        worker = new Thread(() -> {
+            try {
+                playRemainingRounds();
+            } finally {
+                // invokeLater also publishes the final model state to the EDT
+                SwingUtilities.invokeLater(onFinished);
+            }
+        }, "dice-auto-play");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Play until the game ends or the auto player is cancelled (runs on the caller's thread)
+     */
+    public void playRemainingRounds() {
+        int sides = model.getScoreTable().getSides();
+        while (!cancelled && !model.isGameEnded()) {
+            model.applyRoll(random.nextInt(sides) + 1, random.nextInt(sides) + 1);
+        }
+    }
+
+    /**
+     * Stop playing and wait for the background thread to finish
+     */
+    public void cancel() {
+        cancelled = true;
+        if (worker != null && worker != Thread.currentThread()) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return worker != null && worker.isAlive();
+    }
+}
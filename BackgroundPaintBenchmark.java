@@ -0,0 +1,85 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Offscreen benchmark for the gradient background
+ * Compares the old per-repaint GradientPaint fill with the cached GradientPanel
+ * Runs headless: java -Djava.awt.headless=true BackgroundPaintBenchmark [frames]
+ */
+public class BackgroundPaintBenchmark {
+    private static final Color BACKGROUND_COLOR = new Color(236, 240, 241);
+    private static final int WIDTH = 900;
+    private static final int HEIGHT = 700;
+
+    /**
+     * Old background: a new gradient filled over the whole panel on every repaint
+     */
+    static class UncachedPanel extends JPanel {
+        UncachedPanel() {
+            super(new BorderLayout());
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            Graphics2D g2d = (Graphics2D) g;
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            GradientPaint gradient = new GradientPaint(0, 0, BACKGROUND_COLOR,
+                                                       0, getHeight(), Color.WHITE);
+            g2d.setPaint(gradient);
+            g2d.fillRect(0, 0, getWidth(), getHeight());
+        }
+    }
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+
+        JPanel uncached = new UncachedPanel();
+        JPanel cached = new GradientPanel(new BorderLayout(), BACKGROUND_COLOR, Color.WHITE);
+        uncached.setSize(WIDTH, HEIGHT);
+        cached.setSize(WIDTH, HEIGHT);
+
+        BufferedImage target = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+        // A dice animation tick only dirties one die, so also measure a small clip
+        Rectangle full = new Rectangle(0, 0, WIDTH, HEIGHT);
+        Rectangle dieClip = new Rectangle(250, 200, 180, 180);
+
+        // Warm up both paths before measuring
+        measure(uncached, target, full, frames);
+        measure(cached, target, full, frames);
+
+        report("uncached, full repaint", measure(uncached, target, full, frames));
+        report("cached,   full repaint", measure(cached, target, full, frames));
+        report("uncached, die clip    ", measure(uncached, target, dieClip, frames));
+        report("cached,   die clip    ", measure(cached, target, dieClip, frames));
+    }
+
+    /**
+     * Paint the panel into the target image repeatedly, returning per-frame times in ns
+     */
+    private static long[] measure(JPanel panel, BufferedImage target, Rectangle clip, int frames) {
+        long[] times = new long[frames];
+        for (int i = 0; i < frames; i++) {
+            Graphics2D g = target.createGraphics();
+            g.setClip(clip);
+            long start = System.nanoTime();
+            panel.paint(g);
+            times[i] = System.nanoTime() - start;
+            g.dispose();
+        }
+        return times;
+    }
+
+    private static void report(String name, long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(sorted).average().orElse(0);
+        System.out.printf("%s  mean %8.1f us  p50 %8.1f us  p99 %8.1f us%n",
+                          name, mean / 1000.0,
+                          sorted[sorted.length / 2] / 1000.0,
+                          sorted[(int) (sorted.length * 0.99)] / 1000.0);
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Scores arrays of simulated two-dice rolls and accumulates their statistics
+ *
+ * Tables that follow the "sum, multiplied for doubles" shape are scored with
+ * branch-free loops (compare via xor, blend via mask multiply, then separate
+ * sum/max reductions) that HotSpot's C2 compiler can auto-vectorize.
+ * Other tables fall back to the scalar path: one table lookup and one
+ * branchy statistics update per roll, exactly like Player.addScore.
+ */
+public class BatchScorer {
+    private final ScoreTable table;
+    private final int doublesMultiplier; // 0 when the table has another shape
+
+    /**
+     * Constructor to create a batch scorer for a two-dice table
+     */
+    public BatchScorer(ScoreTable table) {
+        if (table.getDiceCount() != 2) {
+            throw new IllegalArgumentException("Batch scoring needs a two-dice table");
+        }
+        this.table = table;
+        this.doublesMultiplier = detectDoublesMultiplier(table);
+    }
+
+    /**
+     * Check whether every entry equals (die1 + die2) * (doubles ? m : 1)
+     * @return the multiplier m, or 0 if the table has bonuses beyond that
+     */
+    private static int detectDoublesMultiplier(ScoreTable table) {
+        int sides = table.getSides();
+        int multiplier = table.score(1, 1) / 2;
+        for (int die1 = 1; die1 <= sides; die1++) {
+            for (int die2 = 1; die2 <= sides; die2++) {
+                int expected = (die1 + die2) * (die1 == die2 ? multiplier : 1);
+                if (table.score(die1, die2) != expected) {
+                    return 0;
+                }
+            }
+        }
+        return multiplier;
+    }
+
+    /**
+     * @return true if batches use the branch-free path, which C2 may
+     * auto-vectorize; no explicit SIMD (Vector API) code is involved
+     */
+    public boolean isBranchFree() {
+        return doublesMultiplier > 0;
+    }
+
+    /**
+     * Score the first count rolls and add them to the statistics
+     * @param die1 values of the first die
+     * @param die2 values of the second die
+     * @param scores receives the score of each roll
+     */
+    public void score(int[] die1, int[] die2, int[] scores, int count, RollStatistics statistics) {
+        if (die1.length < count || die2.length < count || scores.length < count) {
+            throw new IllegalArgumentException("Arrays are shorter than the batch");
+        }
+        if (count > maxBatchSize()) {
+            throw new IllegalArgumentException("Batch too large: " + count);
+        }
+        if (isBranchFree()) {
+            scoreBranchFree(die1, die2, scores, count, statistics);
+        } else {
+            scoreScalar(die1, die2, scores, count, statistics);
+        }
+    }
+
+    /**
+     * Reference path: one lookup and one statistics update per roll
+     */
+    public void scoreScalar(int[] die1, int[] die2, int[] scores, int count, RollStatistics statistics) {
+        for (int i = 0; i < count; i++) {
+            int points = table.score(die1[i], die2[i]);
+            scores[i] = points;
+            statistics.addScore(points);
+        }
+    }
+
+    /**
+     * Branch-free path; each loop is a simple counted loop C2 can vectorize
+     */
+    private void scoreBranchFree(int[] die1, int[] die2, int[] scores, int count, RollStatistics statistics) {
+        int extra = doublesMultiplier - 1;
+
+        // Compare and blend: isDouble is 1 when both dice match, else 0
+        for (int i = 0; i < count; i++) {
+            int a = die1[i];
+            int b = die2[i];
+            int isDouble = ((a ^ b) - 1) >>> 31;
+            scores[i] = (a + b) * (1 + extra * isDouble);
+        }
+
+        // Reductions, kept in separate loops so each vectorizes on its own
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            total += scores[i];
+        }
+        int highest = 0;
+        for (int i = 0; i < count; i++) {
+            highest = Math.max(highest, scores[i]);
+        }
+        int doubles = 0;
+        int fromDoubles = 0;
+        for (int i = 0; i < count; i++) {
+            int points = scores[i];
+            int mask = (RollStatistics.DOUBLES_THRESHOLD - points) >> 31; // -1 when above threshold
+            doubles -= mask;
+            fromDoubles += points & mask;
+        }
+
+        statistics.addBatch(total, count, doubles, highest, fromDoubles);
+    }
+
+    /**
+     * Largest batch whose int sums cannot overflow
+     */
+    public int maxBatchSize() {
+        return Integer.MAX_VALUE / Math.max(1, table.getMaxScore());
+    }
+}
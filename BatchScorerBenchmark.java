@@ -0,0 +1,61 @@
+import java.util.SplittableRandom;
+
+/**
+ * Benchmark for BatchScorer: rolls scored per nanosecond on the branch-free
+ * path and on the scalar path, over batches of simulated rolls
+ * Usage: java BatchScorerBenchmark [batchSize] [iterations]
+ */
+public class BatchScorerBenchmark {
+
+    public static void main(String[] args) {
+        int batchSize = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+        int[] die1 = new int[batchSize];
+        int[] die2 = new int[batchSize];
+        int[] scores = new int[batchSize];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < batchSize; i++) {
+            die1[i] = random.nextInt(6) + 1;
+            die2[i] = random.nextInt(6) + 1;
+        }
+
+        BatchScorer scorer = new BatchScorer(ScoreTable.CLASSIC);
+
+        // Both paths must agree before timing them
+        RollStatistics branchFreeStats = new RollStatistics();
+        RollStatistics scalarStats = new RollStatistics();
+        scorer.score(die1, die2, scores, batchSize, branchFreeStats);
+        scorer.scoreScalar(die1, die2, scores, batchSize, scalarStats);
+        if (!branchFreeStats.equals(scalarStats)) {
+            throw new IllegalStateException("Paths disagree: " + branchFreeStats + " vs " + scalarStats);
+        }
+        System.out.println("Branch-free path available: " + scorer.isBranchFree());
+
+        for (int round = 0; round < 3; round++) {
+            double branchFree = run(scorer, true, die1, die2, scores, batchSize, iterations);
+            double scalar = run(scorer, false, die1, die2, scores, batchSize, iterations);
+            System.out.printf("batch %d: branch-free %.3f rolls/ns, scalar %.3f rolls/ns (%.1fx)%n",
+                              batchSize, branchFree, scalar, branchFree / scalar);
+        }
+    }
+
+    private static double run(BatchScorer scorer, boolean branchFree, int[] die1, int[] die2,
+                              int[] scores, int batchSize, int iterations) {
+        RollStatistics statistics = new RollStatistics();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            if (branchFree) {
+                scorer.score(die1, die2, scores, batchSize, statistics);
+            } else {
+                scorer.scoreScalar(die1, die2, scores, batchSize, statistics);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        // Keep the result alive so the loops are not eliminated
+        if (statistics.getRollCount() != (long) batchSize * iterations) {
+            throw new IllegalStateException("Unexpected roll count");
+        }
+        return (double) statistics.getRollCount() / elapsed;
+    }
+}
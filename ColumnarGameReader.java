@@ -0,0 +1,282 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Reads files written by ColumnarGameWriter
+ *
+ * Scans memory-map one chunk at a time and decode only the projected
+ * columns; the bytes of the other columns are skipped without being
+ * touched. Decoded values are handed out in batches whose arrays are
+ * reused, so a scan runs in constant memory.
+ * Usage: java ColumnarGameReader file
+ */
+public class ColumnarGameReader implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final List<String> players;
+    private final List<long[]> directory; // {table, rows, offset, length}
+
+    /**
+     * Decoded rows of one chunk; arrays of unprojected columns are null
+     */
+    public static class Batch {
+        private final long[][] columns = new long[GameColumn.values().length][];
+        private int size;
+
+        /**
+         * @return number of rows in the batch
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return values of a projected column (valid for size() rows)
+         */
+        public long[] column(GameColumn column) {
+            long[] values = columns[column.ordinal()];
+            if (values == null) {
+                throw new IllegalArgumentException(column + " is not projected");
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Open an export file and read its footer
+     */
+    public ColumnarGameReader(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer tail = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(tail, size - 12);
+            long footerStart = tail.getLong(0);
+            if (tail.getInt(8) != ColumnarGameWriter.MAGIC || footerStart < 8 || footerStart > size - 12) {
+                throw new IOException("Not a columnar game export (or not closed): " + file);
+            }
+            ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, footerStart, size - 12 - footerStart)
+                                       .order(ByteOrder.LITTLE_ENDIAN);
+            List<String> names = new ArrayList<>();
+            int count = footer.getInt();
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = new byte[footer.getInt()];
+                footer.get(bytes);
+                names.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+            players = Collections.unmodifiableList(names);
+            directory = new ArrayList<>();
+            int chunks = footer.getInt();
+            for (int i = 0; i < chunks; i++) {
+                long[] chunk = { footer.get(), footer.getInt(), footer.getLong(), footer.getLong() };
+                footer.getInt(); // reserved
+                directory.add(chunk);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+    }
+
+    /**
+     * @return player names, indexed by dictionary id
+     */
+    public List<String> getPlayers() {
+        return players;
+    }
+
+    public long getRowCount(GameColumn.Table table) {
+        long rows = 0;
+        for (long[] chunk : directory) {
+            if (chunk[0] == table.ordinal()) {
+                rows += chunk[1];
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Decode the projected columns of every chunk of their table
+     * @param columns columns to read, all from the same table
+     * @param consumer receives each batch; the batch is reused after it returns
+     */
+    public void scan(Set<GameColumn> columns, Consumer<Batch> consumer) throws IOException {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Project at least one column");
+        }
+        GameColumn.Table table = columns.iterator().next().getTable();
+        for (GameColumn column : columns) {
+            if (column.getTable() != table) {
+                throw new IllegalArgumentException("Columns must come from one table");
+            }
+        }
+
+        Batch batch = new Batch();
+        for (GameColumn column : columns) {
+            batch.columns[column.ordinal()] = new long[ColumnarGameWriter.CHUNK_ROWS];
+        }
+        GameColumn[] stored = table.columns();
+
+        for (long[] chunk : directory) {
+            if (chunk[0] != table.ordinal()) continue;
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, chunk[2], chunk[3]);
+            ByteBuffer data = mapped.order(ByteOrder.LITTLE_ENDIAN);
+            data.get(); // table
+            int rows = data.getInt();
+            int columnCount = data.get();
+            if (columnCount != stored.length) {
+                throw new IOException("Unexpected column count " + columnCount);
+            }
+            int descriptors = data.position();
+            int offset = descriptors + columnCount * 6;
+            for (int c = 0; c < columnCount; c++) {
+                int encoding = data.get(descriptors + c * 6);
+                int bitWidth = data.get(descriptors + c * 6 + 1);
+                int length = data.getInt(descriptors + c * 6 + 2);
+                long[] values = batch.columns[stored[c].ordinal()];
+                if (values != null) {
+                    ByteBuffer slice = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+                    slice.position(offset).limit(offset + length);
+                    decode(GameColumn.Encoding.values()[encoding], bitWidth, slice, values, rows);
+                }
+                offset += length;
+            }
+            batch.size = rows;
+            consumer.accept(batch);
+        }
+    }
+
+    private static void decode(GameColumn.Encoding encoding, int bitWidth, ByteBuffer in,
+                               long[] out, int rows) {
+        switch (encoding) {
+            case VARINT:
+                for (int i = 0; i < rows; i++) {
+                    out[i] = getVarint(in);
+                }
+                break;
+            case DELTA: {
+                long previous = 0;
+                for (int i = 0; i < rows; i++) {
+                    long zigzag = getVarint(in);
+                    previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                    out[i] = previous;
+                }
+                break;
+            }
+            case BITS: {
+                long mask = bitWidth == 64 ? -1L : (1L << bitWidth) - 1;
+                long word = 0;
+                int available = 0;
+                for (int i = 0; i < rows; i++) {
+                    if (available >= bitWidth) {
+                        out[i] = word & mask;
+                        word >>>= bitWidth;
+                        available -= bitWidth;
+                    } else {
+                        // Value continues in the next word
+                        long next = in.getLong();
+                        long value = word | (next << available);
+                        out[i] = value & mask;
+                        int used = bitWidth - available;
+                        word = used == 64 ? 0 : next >>> used;
+                        available = 64 - used;
+                    }
+                }
+                break;
+            }
+        }
+    }
+
+    private static long getVarint(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Summaries that each read only the columns they need
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java ColumnarGameReader file");
+            System.exit(2);
+        }
+        try (ColumnarGameReader reader = new ColumnarGameReader(Paths.get(args[0]))) {
+            System.out.printf("%,d rolls, %,d games, players %s%n",
+                              reader.getRowCount(GameColumn.Table.ROLLS),
+                              reader.getRowCount(GameColumn.Table.GAMES), reader.getPlayers());
+
+            // Dice only: face frequencies and doubles
+            long start = System.nanoTime();
+            long[] faces = new long[8];
+            long[] doubles = { 0 };
+            reader.scan(EnumSet.of(GameColumn.ROLL_DICE), batch -> {
+                long[] dice = batch.column(GameColumn.ROLL_DICE);
+                for (int i = 0; i < batch.size(); i++) {
+                    int die1 = GameColumn.die1(dice[i]), die2 = GameColumn.die2(dice[i]);
+                    faces[die1]++;
+                    faces[die2]++;
+                    if (die1 == die2) doubles[0]++;
+                }
+            });
+            long rolls = reader.getRowCount(GameColumn.Table.ROLLS);
+            System.out.printf("Dice scan (1 of 5 columns): %.0f ms, doubles %.3f%%, faces",
+                              (System.nanoTime() - start) / 1e6, 100.0 * doubles[0] / Math.max(1, rolls));
+            for (int face = 1; face <= Dice.SIDES; face++) {
+                System.out.printf(" %d:%.3f%%", face, 50.0 * faces[face] / Math.max(1, rolls));
+            }
+            System.out.println();
+
+            // Game results only: wins per player
+            start = System.nanoTime();
+            long[] wins = new long[reader.getPlayers().size() + 1];
+            reader.scan(EnumSet.of(GameColumn.GAME_PLAYER1, GameColumn.GAME_PLAYER2,
+                                   GameColumn.GAME_SCORE1, GameColumn.GAME_SCORE2), batch -> {
+                long[] p1 = batch.column(GameColumn.GAME_PLAYER1), p2 = batch.column(GameColumn.GAME_PLAYER2);
+                long[] s1 = batch.column(GameColumn.GAME_SCORE1), s2 = batch.column(GameColumn.GAME_SCORE2);
+                for (int i = 0; i < batch.size(); i++) {
+                    if (s1[i] > s2[i]) wins[(int) p1[i]]++;
+                    else if (s2[i] > s1[i]) wins[(int) p2[i]]++;
+                    else wins[wins.length - 1]++;
+                }
+            });
+            System.out.printf("Results scan (4 of 6 columns): %.0f ms,", (System.nanoTime() - start) / 1e6);
+            for (int p = 0; p < reader.getPlayers().size(); p++) {
+                System.out.printf(" %s %,d;", reader.getPlayers().get(p), wins[p]);
+            }
+            System.out.printf(" ties %,d%n", wins[wins.length - 1]);
+        }
+    }
+}
@@ -0,0 +1,348 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Streams simulated games to a compact columnar file
+ *
+ * Rows are collected into chunks of CHUNK_ROWS rows per table. When a chunk
+ * is full each column is encoded on its own (player ids through a
+ * dictionary and bit-packed, dice bit-packed, game numbers and scores as
+ * zigzag varint deltas) and the chunk is appended to the file. All buffers
+ * are allocated once, so memory stays constant however many rolls are
+ * written. The player dictionary and the chunk directory go into a footer.
+ *
+ * File layout: header (magic, version), chunks, footer, footer offset, magic.
+ * Chunk: table, rows, per column (encoding, bit width, byte length), column data.
+ * Usage: java ColumnarGameWriter file [games] [rounds]
+ */
+public class ColumnarGameWriter implements GameListener, AutoCloseable {
+
+    static final int MAGIC = 0x44474358; // "DGCX"
+    static final int VERSION = 1;
+    static final int CHUNK_ROWS = 1 << 16;
+
+    private final FileChannel channel;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> players = new ArrayList<>();
+    private final TableBuffer[] tables = new TableBuffer[GameColumn.Table.values().length];
+    private final ByteBuffer encoded;
+    private final ByteBuffer header;
+    private final List<long[]> directory = new ArrayList<>(); // {table, rows, offset, length}
+    private long position;
+
+    // Listener state: current game and the roll awaiting its SCORE event
+    private long gameNumber = 0;
+    private boolean gameHasRolls = false;
+    private GameEvent pendingRoll;
+
+    /**
+     * Rows of one table waiting to be encoded
+     */
+    private static class TableBuffer {
+        final GameColumn.Table table;
+        final GameColumn[] columns;
+        final long[][] values;
+        int rows;
+
+        TableBuffer(GameColumn.Table table) {
+            this.table = table;
+            this.columns = table.columns();
+            this.values = new long[columns.length][CHUNK_ROWS];
+        }
+    }
+
+    /**
+     * Create (or replace) the export file
+     */
+    public ColumnarGameWriter(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                   StandardOpenOption.TRUNCATE_EXISTING);
+        for (GameColumn.Table table : GameColumn.Table.values()) {
+            tables[table.ordinal()] = new TableBuffer(table);
+        }
+        // Worst case: a 10-byte varint per row in every column
+        encoded = ByteBuffer.allocateDirect(CHUNK_ROWS * 10).order(ByteOrder.LITTLE_ENDIAN);
+        header = ByteBuffer.allocate(16 + GameColumn.values().length * 6).order(ByteOrder.LITTLE_ENDIAN);
+
+        header.clear();
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        write(header);
+    }
+
+    /**
+     * Dictionary id of a player name, assigned on first use
+     */
+    public int playerId(String name) {
+        Integer id = dictionary.get(name);
+        if (id == null) {
+            id = players.size();
+            dictionary.put(name, id);
+            players.add(name);
+        }
+        return id;
+    }
+
+    /**
+     * Append one roll
+     * @param score the roller's total after the roll
+     */
+    public void writeRoll(long game, int round, String player, int die1, int die2, int score)
+            throws IOException {
+        TableBuffer rolls = tables[GameColumn.Table.ROLLS.ordinal()];
+        int row = rolls.rows;
+        rolls.values[GameColumn.ROLL_GAME.position()][row] = game;
+        rolls.values[GameColumn.ROLL_ROUND.position()][row] = round;
+        rolls.values[GameColumn.ROLL_PLAYER.position()][row] = playerId(player);
+        rolls.values[GameColumn.ROLL_DICE.position()][row] = GameColumn.packDice(die1, die2);
+        rolls.values[GameColumn.ROLL_SCORE.position()][row] = score;
+        endRow(rolls);
+    }
+
+    /**
+     * Append one finished game
+     */
+    public void writeGame(long game, String player1, String player2, int score1, int score2, int rounds)
+            throws IOException {
+        TableBuffer games = tables[GameColumn.Table.GAMES.ordinal()];
+        int row = games.rows;
+        games.values[GameColumn.GAME_ID.position()][row] = game;
+        games.values[GameColumn.GAME_PLAYER1.position()][row] = playerId(player1);
+        games.values[GameColumn.GAME_PLAYER2.position()][row] = playerId(player2);
+        games.values[GameColumn.GAME_SCORE1.position()][row] = score1;
+        games.values[GameColumn.GAME_SCORE2.position()][row] = score2;
+        games.values[GameColumn.GAME_ROUNDS.position()][row] = rounds;
+        endRow(games);
+    }
+
+    private void endRow(TableBuffer buffer) throws IOException {
+        if (++buffer.rows == CHUNK_ROWS) {
+            flushChunk(buffer);
+        }
+    }
+
+    /**
+     * Export the rolls and results of a model's games as they are played
+     */
+    public void attach(GameModel model) {
+        model.addGameListener(this);
+    }
+
+    @Override
+    public void gameChanged(GameEvent event) {
+        try {
+            switch (event.getType()) {
+                case ROLL:
+                    pendingRoll = event;
+                    break;
+                case SCORE:
+                    if (pendingRoll != null) {
+                        writeRoll(gameNumber, pendingRoll.getRound(), pendingRoll.getPlayer().getName(),
+                                  pendingRoll.getDie1(), pendingRoll.getDie2(), event.getPoints());
+                        pendingRoll = null;
+                        gameHasRolls = true;
+                    }
+                    break;
+                case GAME_END: {
+                    GameModel model = event.getSource();
+                    writeGame(gameNumber, model.getPlayer1().getName(), model.getPlayer2().getName(),
+                              model.getPlayer1().getScore(), model.getPlayer2().getScore(),
+                              model.getMaxRounds());
+                    gameNumber++;
+                    gameHasRolls = false;
+                    break;
+                }
+                case RESET:
+                    // An abandoned game keeps its rolls under its own number
+                    if (gameHasRolls) {
+                        gameNumber++;
+                        gameHasRolls = false;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Encode the buffered rows of a table and append them as one chunk
+     */
+    private void flushChunk(TableBuffer buffer) throws IOException {
+        if (buffer.rows == 0) return;
+        int rows = buffer.rows;
+        long chunkStart = position;
+
+        header.clear();
+        header.put((byte) buffer.table.ordinal()).putInt(rows).put((byte) buffer.columns.length);
+        int headerStart = header.position();
+        header.position(headerStart + buffer.columns.length * 6).flip();
+        // Column descriptors are filled in after encoding; reserve their space now
+        ByteBuffer descriptors = header.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        long descriptorsAt = position + headerStart;
+        write(header);
+
+        for (int c = 0; c < buffer.columns.length; c++) {
+            GameColumn column = buffer.columns[c];
+            long[] values = buffer.values[c];
+            encoded.clear();
+            int bitWidth = 0;
+            switch (column.getEncoding()) {
+                case VARINT:
+                    for (int i = 0; i < rows; i++) {
+                        putVarint(encoded, values[i]);
+                    }
+                    break;
+                case DELTA: {
+                    long previous = 0;
+                    for (int i = 0; i < rows; i++) {
+                        long delta = values[i] - previous;
+                        putVarint(encoded, (delta << 1) ^ (delta >> 63));
+                        previous = values[i];
+                    }
+                    break;
+                }
+                case BITS: {
+                    long max = 0;
+                    for (int i = 0; i < rows; i++) {
+                        max |= values[i];
+                    }
+                    bitWidth = Math.max(1, 64 - Long.numberOfLeadingZeros(max));
+                    long word = 0;
+                    int bits = 0;
+                    for (int i = 0; i < rows; i++) {
+                        word |= values[i] << bits;
+                        bits += bitWidth;
+                        if (bits >= 64) {
+                            encoded.putLong(word);
+                            bits -= 64;
+                            word = bits == 0 ? 0 : values[i] >>> (bitWidth - bits);
+                        }
+                    }
+                    if (bits > 0) {
+                        encoded.putLong(word);
+                    }
+                    break;
+                }
+            }
+            encoded.flip();
+            descriptors.put(headerStart + c * 6, (byte) column.getEncoding().ordinal());
+            descriptors.put(headerStart + c * 6 + 1, (byte) bitWidth);
+            descriptors.putInt(headerStart + c * 6 + 2, encoded.remaining());
+            write(encoded);
+        }
+
+        // Go back and fill in the column descriptors
+        descriptors.position(headerStart).limit(headerStart + buffer.columns.length * 6);
+        while (descriptors.hasRemaining()) {
+            descriptorsAt += channel.write(descriptors, descriptorsAt);
+        }
+
+        directory.add(new long[] { buffer.table.ordinal(), rows, chunkStart, position - chunkStart });
+        buffer.rows = 0;
+    }
+
+    static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    public long getBytesWritten() {
+        return position;
+    }
+
+    /**
+     * Flush the last chunks and write the footer
+     */
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) return;
+        try {
+            for (TableBuffer buffer : tables) {
+                flushChunk(buffer);
+            }
+            long footerStart = position;
+            ByteBuffer footer = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+            footer.putInt(players.size());
+            for (String name : players) {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                footer = ensure(footer, 4 + bytes.length);
+                footer.putInt(bytes.length).put(bytes);
+            }
+            footer = ensure(footer, 4 + directory.size() * 25 + 12);
+            footer.putInt(directory.size());
+            for (long[] chunk : directory) {
+                footer.put((byte) chunk[0]).putInt((int) chunk[1]).putLong(chunk[2]).putLong(chunk[3])
+                      .putInt(0); // reserved
+            }
+            footer.putLong(footerStart).putInt(MAGIC);
+            footer.flip();
+            write(footer);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static ByteBuffer ensure(ByteBuffer buffer, int extra) {
+        if (buffer.remaining() >= extra) return buffer;
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + extra))
+                                      .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    /**
+     * Export headless games played through GameModel
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java ColumnarGameWriter file [games] [rounds]");
+            System.exit(2);
+        }
+        Path file = Paths.get(args[0]);
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        long start = System.nanoTime();
+        ColumnarGameWriter written;
+        try (ColumnarGameWriter writer = new ColumnarGameWriter(file)) {
+            GameModel model = new GameModel(true, rounds);
+            writer.attach(model);
+            SplittableRandom random = new SplittableRandom(42);
+            for (long game = 0; game < games; game++) {
+                model.reset();
+                while (!model.isGameEnded()) {
+                    model.applyRoll(random.nextInt(Dice.SIDES) + 1, random.nextInt(Dice.SIDES) + 1);
+                }
+            }
+            written = writer;
+        }
+        // Closing flushed the last chunks and the footer
+        long rolls = games * rounds * 2;
+        System.out.printf("%,d games, %,d rolls -> %,d bytes (%.2f bytes/roll) in %.1f s%n",
+                          games, rolls, written.getBytesWritten(),
+                          (double) written.getBytesWritten() / rolls, (System.nanoTime() - start) / 1e9);
+    }
+}
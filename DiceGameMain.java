@@ -1,534 +1,635 @@
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-
-/**
- * Main Dice Game class that handles the gameplay and GUI
- * Fixed version with proper single player mode and accurate dice display
- */
-public class DiceGameMain extends JFrame implements ActionListener {
-    
-    // Game configuration
-    private boolean isTwoPlayerMode;
-    private int maxRounds;
-    
-    // Game state
-    private Player player1, player2;
-    private boolean isPlayer1Turn = true;
-    private int currentRound = 1;
-    private boolean gameEnded = false;
-    
-    // Game components
-    private Dice dice1, dice2;
-    
-    // GUI components
-    private JPanel mainPanel, dicePanel, controlPanel, statusPanel, scorePanel;
-    private JButton rollButton, newGameButton, exitButton;
-    private JLabel titleLabel, roundLabel, turnLabel, resultLabel;
-    private JLabel player1ScoreLabel, player2ScoreLabel;
-    private JProgressBar roundProgressBar;
-    
-    // Colors
-    private final Color PRIMARY_COLOR = new Color(41, 128, 185);
-    private final Color SUCCESS_COLOR = new Color(39, 174, 96);
-    private final Color DANGER_COLOR = new Color(231, 76, 60);
-    private final Color BACKGROUND_COLOR = new Color(236, 240, 241);
-    
-    /**
-     * Constructor to initialize the game with configuration
-     */
-    public DiceGameMain(boolean isTwoPlayerMode, int maxRounds) {
-        this.isTwoPlayerMode = isTwoPlayerMode;
-        this.maxRounds = maxRounds;
-        
-        initializeGame();
-        setupGUI();
-        setupEventListeners();
-        updateDisplay();
-    }
-    
-    /**
-     * Initialize game components and players
-     */
-    private void initializeGame() {
-        dice1 = new Dice();
-        dice2 = new Dice();
-        
-        player1 = new Player("Player 1");
-        if (isTwoPlayerMode) {
-            player2 = new Player("Player 2");
-        } else {
-            player2 = new Player("Computer");
-        }
-    }
-    
-    /**
-     * Setup the main GUI
-     */
-    private void setupGUI() {
-        setTitle("🎲 Dice Game - " + (isTwoPlayerMode ? "Two Player" : "Single Player"));
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setSize(900, 700);
-        setLocationRelativeTo(null);
-        setResizable(false);
-        
-        // Main panel with gradient background
-        mainPanel = new JPanel(new BorderLayout(15, 15)) {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-                GradientPaint gradient = new GradientPaint(0, 0, BACKGROUND_COLOR, 
-                                                         0, getHeight(), Color.WHITE);
-                g2d.setPaint(gradient);
-                g2d.fillRect(0, 0, getWidth(), getHeight());
-            }
-        };
-        mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
-        
-        setupTitlePanel();
-        setupDicePanel();
-        setupControlPanel();
-        setupStatusPanel();
-        setupScorePanel();
-        
-        add(mainPanel);
-    }
-    
-    /**
-     * Setup the title panel
-     */
-    private void setupTitlePanel() {
-        JPanel titlePanel = new JPanel(new FlowLayout());
-        titlePanel.setOpaque(false);
-        
-        String modeText = isTwoPlayerMode ? "Two Player Mode" : "Single Player Mode";
-        titleLabel = new JLabel(" DICE GAME - " + modeText + " ");
-        titleLabel.setFont(new Font("Arial", Font.BOLD, 24));
-        titleLabel.setForeground(PRIMARY_COLOR);
-        titlePanel.add(titleLabel);
-        
-        mainPanel.add(titlePanel, BorderLayout.NORTH);
-    }
-    
-    /**
-     * Setup the dice display panel
-     */
-    private void setupDicePanel() {
-        dicePanel = new JPanel(new GridLayout(1, 2, 40, 0));
-        dicePanel.setOpaque(false);
-        dicePanel.setBorder(BorderFactory.createTitledBorder(
-            BorderFactory.createLineBorder(PRIMARY_COLOR, 2), 
-            "Dice Roll Result", 0, 0, new Font("Arial", Font.BOLD, 16), PRIMARY_COLOR));
-        
-        dicePanel.add(dice1.getDiceLabel());
-        dicePanel.add(dice2.getDiceLabel());
-        
-        mainPanel.add(dicePanel, BorderLayout.CENTER);
-    }
-    
-    /**
-     * Setup the control buttons panel
-     */
-    private void setupControlPanel() {
-        controlPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 30, 15));
-        controlPanel.setOpaque(false);
-        
-        rollButton = createStyledButton("ROLL DICE", SUCCESS_COLOR);
-        rollButton.setPreferredSize(new Dimension(180, 60));
-        rollButton.setFont(new Font("Arial", Font.BOLD, 16));
-        
-        newGameButton = createStyledButton("NEW GAME", PRIMARY_COLOR);
-        newGameButton.setPreferredSize(new Dimension(150, 60));
-        
-        exitButton = createStyledButton("EXIT", DANGER_COLOR);
-        exitButton.setPreferredSize(new Dimension(120, 60));
-        
-        controlPanel.add(rollButton);
-        controlPanel.add(newGameButton);
-        controlPanel.add(exitButton);
-        
-        mainPanel.add(controlPanel, BorderLayout.SOUTH);
-    }
-    
-    /**
-     * Setup the status information panel
-     */
-    private void setupStatusPanel() {
-        statusPanel = new JPanel(new GridLayout(5, 1, 5, 10));
-        statusPanel.setOpaque(false);
-        statusPanel.setBorder(BorderFactory.createTitledBorder(
-            BorderFactory.createLineBorder(PRIMARY_COLOR, 2), 
-            "Game Status", 0, 0, new Font("Arial", Font.BOLD, 14), PRIMARY_COLOR));
-        
-        roundLabel = new JLabel("Round: 1/" + maxRounds, JLabel.CENTER);
-        roundLabel.setFont(new Font("Arial", Font.BOLD, 16));
-        
-        turnLabel = new JLabel("Turn: " + player1.getName(), JLabel.CENTER);
-        turnLabel.setFont(new Font("Arial", Font.BOLD, 16));
-        turnLabel.setForeground(SUCCESS_COLOR);
-        
-        resultLabel = new JLabel("Click 'Roll Dice' to start!", JLabel.CENTER);
-        resultLabel.setFont(new Font("Arial", Font.ITALIC, 14));
-        
-        roundProgressBar = new JProgressBar(0, maxRounds);
-        roundProgressBar.setValue(1);
-        roundProgressBar.setStringPainted(true);
-        roundProgressBar.setString("Round Progress");
-        
-        JLabel instructionLabel = new JLabel("<html><center>Roll both dice<br>Doubles = 2x points!</center></html>", JLabel.CENTER);
-        instructionLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-        instructionLabel.setForeground(Color.GRAY);
-        
-        statusPanel.add(roundLabel);
-        statusPanel.add(turnLabel);
-        statusPanel.add(resultLabel);
-        statusPanel.add(roundProgressBar);
-        statusPanel.add(instructionLabel);
-        
-        mainPanel.add(statusPanel, BorderLayout.WEST);
-    }
-    
-    /**
-     * Setup the score display panel
-     */
-    private void setupScorePanel() {
-        scorePanel = new JPanel(new GridLayout(2, 1, 5, 20));
-        scorePanel.setOpaque(false);
-        scorePanel.setBorder(BorderFactory.createTitledBorder(
-            BorderFactory.createLineBorder(PRIMARY_COLOR, 2), 
-            "Scores", 0, 0, new Font("Arial", Font.BOLD, 14), PRIMARY_COLOR));
-        
-        player1ScoreLabel = new JLabel(player1.getName() + ": 0", JLabel.CENTER);
-        player1ScoreLabel.setFont(new Font("Arial", Font.BOLD, 20));
-        player1ScoreLabel.setForeground(SUCCESS_COLOR);
-        
-        player2ScoreLabel = new JLabel(player2.getName() + ": 0", JLabel.CENTER);
-        player2ScoreLabel.setFont(new Font("Arial", Font.BOLD, 20));
-        player2ScoreLabel.setForeground(DANGER_COLOR);
-        
-        scorePanel.add(player1ScoreLabel);
-        scorePanel.add(player2ScoreLabel);
-        
-        mainPanel.add(scorePanel, BorderLayout.EAST);
-    }
-    
-    /**
-     * Create a styled button
-     */
-    private JButton createStyledButton(String text, Color color) {
-        JButton button = new JButton(text);
-        button.setFont(new Font("Arial", Font.BOLD, 12));
-        button.setBackground(color);
-        button.setForeground(Color.WHITE);
-        button.setFocusPainted(false);
-        button.setBorderPainted(false);
-        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
-        
-        button.addMouseListener(new java.awt.event.MouseAdapter() {
-            public void mouseEntered(java.awt.event.MouseEvent evt) {
-                if (button.isEnabled()) {
-                    button.setBackground(color.brighter());
-                }
-            }
-            public void mouseExited(java.awt.event.MouseEvent evt) {
-                button.setBackground(color);
-            }
-        });
-        
-        return button;
-    }
-    
-    /**
-     * Setup event listeners
-     */
-    private void setupEventListeners() {
-        rollButton.addActionListener(this);
-        newGameButton.addActionListener(this);
-        exitButton.addActionListener(this);
-    }
-    
-    /**
-     * Handle button click events
-     */
-    @Override
-    public void actionPerformed(ActionEvent e) {
-        if (e.getSource() == rollButton && !gameEnded) {
-            rollDice();
-        } else if (e.getSource() == newGameButton) {
-            startNewGame();
-        } else if (e.getSource() == exitButton) {
-            exitToSetup();
-        }
-    }
-    
-    /**
-     * Main dice rolling logic - FIXED for single player mode
-     */
-    private void rollDice() {
-        if (gameEnded) return;
-        
-        // Disable roll button during turn
-        rollButton.setEnabled(false);
-        
-        // Roll the dice
-        dice1.roll();
-        dice2.roll();
-        
-        // Calculate score (dice values are now accurate)
-        int die1Value = dice1.getValue();
-        int die2Value = dice2.getValue();
-        int rollScore = die1Value + die2Value;
-        
-        // Check for doubles bonus
-        boolean isDouble = (die1Value == die2Value);
-        if (isDouble) {
-            rollScore *= 2; // Double the score for matching dice
-        }
-        
-        // Add score to current player
-        Player currentPlayer = isPlayer1Turn ? player1 : player2;
-        currentPlayer.addScore(rollScore);
-        
-        // Update display
-        updateScoreDisplay();
-        updateResultDisplay(die1Value, die2Value, rollScore, isDouble);
-        
-        // Handle turn progression
-        if (isTwoPlayerMode) {
-            // Two player mode: switch turns after each roll
-            switchTurn();
-            if (isPlayer1Turn) {
-                // Both players have played, advance round
-                nextRound();
-            }
-        } else {
-            // Single player mode: FIXED - computer takes turn automatically
-            if (isPlayer1Turn) {
-                // Player just rolled, now computer's turn
-                switchTurn();
-                // Schedule computer's turn after a delay
-                Timer computerTimer = new Timer(2000, e -> {
-                    if (!gameEnded) {
-                        computerRoll();
-                    }
-                });
-                computerTimer.setRepeats(false);
-                computerTimer.start();
-            } else {
-                // Computer just rolled, advance round and switch back to player
-                nextRound();
-                switchTurn();
-                rollButton.setEnabled(true);
-            }
-        }
-        
-        // Check for game end
-        if (currentRound > maxRounds) {
-            endGame();
-        } else if (isTwoPlayerMode) {
-            rollButton.setEnabled(true);
-        }
-    }
-    
-    /**
-     * Handle computer's automatic roll in single player mode
-     */
-    private void computerRoll() {
-        if (gameEnded) return;
-        
-        // Computer rolls dice
-        dice1.roll();
-        dice2.roll();
-        
-        int die1Value = dice1.getValue();
-        int die2Value = dice2.getValue();
-        int rollScore = die1Value + die2Value;
-        
-        boolean isDouble = (die1Value == die2Value);
-        if (isDouble) {
-            rollScore *= 2;
-        }
-        
-        // Add score to computer
-        player2.addScore(rollScore);
-        
-        // Update display
-        updateScoreDisplay();
-        updateResultDisplay(die1Value, die2Value, rollScore, isDouble);
-        
-        // Advance round and switch back to player
-        nextRound();
-        switchTurn();
-        
-        // Check for game end
-        if (currentRound > maxRounds) {
-            endGame();
-        } else {
-            rollButton.setEnabled(true);
-        }
-    }
-    
-    /**
-     * Switch to the next player's turn
-     */
-    private void switchTurn() {
-        isPlayer1Turn = !isPlayer1Turn;
-        updateTurnDisplay();
-    }
-    
-    /**
-     * Move to the next round
-     */
-    private void nextRound() {
-        currentRound++;
-        updateRoundDisplay();
-    }
-    
-    /**
-     * Update all display elements
-     */
-    private void updateDisplay() {
-        updateScoreDisplay();
-        updateRoundDisplay();
-        updateTurnDisplay();
-    }
-    
-    /**
-     * Update score display
-     */
-    private void updateScoreDisplay() {
-        player1ScoreLabel.setText(player1.getName() + ": " + player1.getScore());
-        player2ScoreLabel.setText(player2.getName() + ": " + player2.getScore());
-    }
-    
-    /**
-     * Update round display
-     */
-    private void updateRoundDisplay() {
-        roundLabel.setText("Round: " + currentRound + "/" + maxRounds);
-        roundProgressBar.setValue(currentRound - 1);
-    }
-    
-    /**
-     * Update turn display
-     */
-    private void updateTurnDisplay() {
-        String currentPlayerName = isPlayer1Turn ? player1.getName() : player2.getName();
-        turnLabel.setText("Turn: " + currentPlayerName);
-        turnLabel.setForeground(isPlayer1Turn ? SUCCESS_COLOR : DANGER_COLOR);
-    }
-    
-    /**
-     * Update result display with accurate information
-     */
-    private void updateResultDisplay(int die1, int die2, int score, boolean isDouble) {
-        String currentPlayerName = isPlayer1Turn ? player1.getName() : player2.getName();
-        String message = currentPlayerName + " rolled: " + die1 + " + " + die2;
-        
-        if (isDouble) {
-            message += " (DOUBLE! x2 bonus)";
-        }
-        
-        message += " = " + score + " points";
-        resultLabel.setText(message);
-    }
-    
-    /**
-     * End the game and show results
-     */
-    private void endGame() {
-        gameEnded = true;
-        rollButton.setEnabled(false);
-        
-        String winner;
-        Color winnerColor;
-        
-        if (player1.getScore() > player2.getScore()) {
-            winner = player1.getName() + " WINS! 🎉";
-            winnerColor = SUCCESS_COLOR;
-        } else if (player2.getScore() > player1.getScore()) {
-            winner = player2.getName() + " WINS! 🎉";
-            winnerColor = DANGER_COLOR;
-        } else {
-            winner = "IT'S A TIE! 🤝";
-            winnerColor = PRIMARY_COLOR;
-        }
-        
-        resultLabel.setText(winner);
-        resultLabel.setForeground(winnerColor);
-        resultLabel.setFont(new Font("Arial", Font.BOLD, 16));
-        
-        // Show detailed results
-        showGameResults(winner);
-    }
-    
-    /**
-     * Show detailed game results dialog
-     */
-    private void showGameResults(String winner) {
-        String message = String.format(
-            "🎮 GAME OVER 🎮\n\n" +
-            "%s\n\n" +
-            "Final Scores:\n" +
-            "%s: %d points\n" +
-            "%s: %d points\n\n" +
-            "Rounds Played: %d\n\n" +
-            "Would you like to play again?",
-            winner,
-            player1.getName(), player1.getScore(),
-            player2.getName(), player2.getScore(),
-            maxRounds
-        );
-        
-        int choice = JOptionPane.showConfirmDialog(
-            this, message, "Game Results", 
-            JOptionPane.YES_NO_OPTION, JOptionPane.INFORMATION_MESSAGE
-        );
-        
-        if (choice == JOptionPane.YES_OPTION) {
-            startNewGame();
-        }
-    }
-    
-    /**
-     * Start a new game with same settings
-     */
-    private void startNewGame() {
-        // Reset game state
-        player1.resetScore();
-        player2.resetScore();
-        currentRound = 1;
-        isPlayer1Turn = true;
-        gameEnded = false;
-        
-        // Reset dice display
-        dice1.reset();
-        dice2.reset();
-        
-        // Reset UI
-        rollButton.setEnabled(true);
-        resultLabel.setText("Click 'Roll Dice' to start!");
-        resultLabel.setForeground(Color.BLACK);
-        resultLabel.setFont(new Font("Arial", Font.ITALIC, 14));
-        
-        updateDisplay();
-    }
-    
-    /**
-     * Exit to setup screen
-     */
-    private void exitToSetup() {
-        int choice = JOptionPane.showConfirmDialog(
-            this, "Return to game setup?", 
-            "Exit Game", JOptionPane.YES_NO_OPTION
-        );
-        
-        if (choice == JOptionPane.YES_OPTION) {
-            this.dispose();
-            new GameSetup().setVisible(true);
-        }
-    }
-}
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+/**
+ * Main Dice Game class that handles the gameplay and GUI
+ * Fixed version with proper single player mode and accurate dice display
+ */
+public class DiceGameMain extends JFrame implements ActionListener {
+    
+    // Game configuration
+    private boolean isTwoPlayerMode;
+    private int maxRounds;
+    
+    // Game state
+    private GameModel model;
+    private Player player1, player2;
+    private GameViewBinder viewBinder;
+    private Timer computerTimer;
+    private AutoPlayer autoPlayer;
+    private final boolean journaled;
+    private GameJournal journal;
+    private boolean released;
+    
+    // Roll and round events for spectators; drops rather than stalling the game
+    private final GameEventRingBuffer spectatorFeed =
+        new GameEventRingBuffer(4096, GameEventRingBuffer.WaitStrategy.sleeping(), true);
+    private GameEventPublisher eventPublisher;
+    
+    // Game components
+    private Dice dice1, dice2;
+    
+    // GUI components
+    private JPanel mainPanel, dicePanel, controlPanel, statusPanel, scorePanel;
+    private JButton rollButton, newGameButton, fastForwardButton, exitButton;
+    private JLabel titleLabel, roundLabel, turnLabel, resultLabel, winOddsLabel;
+    private JLabel player1ScoreLabel, player2ScoreLabel;
+    private JProgressBar roundProgressBar;
+    
+    // Colors
+    private final Color PRIMARY_COLOR = new Color(41, 128, 185);
+    private final Color SUCCESS_COLOR = new Color(39, 174, 96);
+    private final Color DANGER_COLOR = new Color(231, 76, 60);
+    private final Color BACKGROUND_COLOR = new Color(236, 240, 241);
+    
+    /**
+     * Constructor to initialize the game with configuration
+     */
+    public DiceGameMain(boolean isTwoPlayerMode, int maxRounds) {
+        this(isTwoPlayerMode, maxRounds, true);
+    }
+    
+    /**
+     * Constructor for a new game
+     * @param journaled keep the game resumable in the journal; benchmarks pass false
+     */
+    public DiceGameMain(boolean isTwoPlayerMode, int maxRounds, boolean journaled) {
+        this.isTwoPlayerMode = isTwoPlayerMode;
+        this.maxRounds = maxRounds;
+        this.journaled = journaled;
+        
+        initializeGame();
+        setupGUI();
+        setupEventListeners();
+        bindModel();
+        
+        // Marathon games are too long to roll by hand, so they start in auto-play
+        if (maxRounds > GameSetup.MAX_ROUNDS) {
+            addWindowListener(new java.awt.event.WindowAdapter() {
+                @Override
+                public void windowOpened(java.awt.event.WindowEvent e) {
+                    startAutoPlay();
+                }
+            });
+        }
+    }
+    
+    /**
+     * Constructor to continue a game restored from the journal
+     */
+    public DiceGameMain(GameModel model) {
+        this.isTwoPlayerMode = model.isTwoPlayerMode();
+        this.maxRounds = model.getMaxRounds();
+        this.journaled = true;
+        this.model = model;
+        
+        initializeGame();
+        setupGUI();
+        setupEventListeners();
+        bindModel();
+        
+        if (model.getLastRoller() != null) {
+            dice1.setValue(model.getLastDie1());
+            dice2.setValue(model.getLastDie2());
+        }
+        // The game may have been saved while the computer was about to roll
+        if (!isTwoPlayerMode && !model.isPlayer1Turn() && !model.isGameEnded()) {
+            rollButton.setEnabled(false);
+            scheduleComputerTurn();
+        }
+    }
+    
+    /**
+     * Initialize game components and players
+     */
+    private void initializeGame() {
+        dice1 = new Dice();
+        dice2 = new Dice();
+        
+        if (model == null) {
+            model = new GameModel(isTwoPlayerMode, maxRounds);
+        }
+        player1 = model.getPlayer1();
+        player2 = model.getPlayer2();
+    }
+    
+    /**
+     * Setup the main GUI
+     */
+    private void setupGUI() {
+        setTitle("🎲 Dice Game - " + (isTwoPlayerMode ? "Two Player" : "Single Player"));
+        setSize(900, 700);
+        setLocationRelativeTo(null);
+        setResizable(false);
+        GameRuntime.register(this);
+        
+        // Main panel with gradient background
+        mainPanel = new GradientPanel(new BorderLayout(15, 15), BACKGROUND_COLOR, Color.WHITE);
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+        
+        setupTitlePanel();
+        setupDicePanel();
+        setupControlPanel();
+        setupStatusPanel();
+        setupScorePanel();
+        
+        add(mainPanel);
+    }
+    
+    /**
+     * Setup the title panel
+     */
+    private void setupTitlePanel() {
+        JPanel titlePanel = new JPanel(new FlowLayout());
+        titlePanel.setOpaque(false);
+        
+        String modeText = isTwoPlayerMode ? "Two Player Mode" : "Single Player Mode";
+        titleLabel = new JLabel(" DICE GAME - " + modeText + " ");
+        titleLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 24));
+        titleLabel.setForeground(PRIMARY_COLOR);
+        titlePanel.add(titleLabel);
+        
+        mainPanel.add(titlePanel, BorderLayout.NORTH);
+    }
+    
+    /**
+     * Setup the dice display panel
+     */
+    private void setupDicePanel() {
+        dicePanel = new JPanel(new GridLayout(1, 2, 40, 0));
+        dicePanel.setOpaque(false);
+        dicePanel.setBorder(BorderFactory.createTitledBorder(
+            BorderFactory.createLineBorder(PRIMARY_COLOR, 2), 
+            "Dice Roll Result", 0, 0, GameRuntime.font("Arial", Font.BOLD, 16), PRIMARY_COLOR));
+        
+        dicePanel.add(dice1.getDiceLabel());
+        dicePanel.add(dice2.getDiceLabel());
+        
+        mainPanel.add(dicePanel, BorderLayout.CENTER);
+    }
+    
+    /**
+     * Setup the control buttons panel
+     */
+    private void setupControlPanel() {
+        controlPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 30, 15));
+        controlPanel.setOpaque(false);
+        
+        rollButton = createStyledButton("ROLL DICE", SUCCESS_COLOR);
+        rollButton.setPreferredSize(new Dimension(180, 60));
+        rollButton.setFont(GameRuntime.font("Arial", Font.BOLD, 16));
+        
+        newGameButton = createStyledButton("NEW GAME", PRIMARY_COLOR);
+        newGameButton.setPreferredSize(new Dimension(150, 60));
+        
+        fastForwardButton = createStyledButton("FAST FORWARD", PRIMARY_COLOR);
+        fastForwardButton.setPreferredSize(new Dimension(150, 60));
+        
+        exitButton = createStyledButton("EXIT", DANGER_COLOR);
+        exitButton.setPreferredSize(new Dimension(120, 60));
+        
+        controlPanel.add(rollButton);
+        controlPanel.add(newGameButton);
+        controlPanel.add(fastForwardButton);
+        controlPanel.add(exitButton);
+        
+        mainPanel.add(controlPanel, BorderLayout.SOUTH);
+    }
+    
+    /**
+     * Setup the status information panel
+     */
+    private void setupStatusPanel() {
+        statusPanel = new JPanel(new GridLayout(6, 1, 5, 10));
+        statusPanel.setOpaque(false);
+        statusPanel.setBorder(BorderFactory.createTitledBorder(
+            BorderFactory.createLineBorder(PRIMARY_COLOR, 2), 
+            "Game Status", 0, 0, GameRuntime.font("Arial", Font.BOLD, 14), PRIMARY_COLOR));
+        
+        roundLabel = new JLabel("Round: 1/" + maxRounds, JLabel.CENTER);
+        roundLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 16));
+        
+        turnLabel = new JLabel("Turn: " + player1.getName(), JLabel.CENTER);
+        turnLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 16));
+        turnLabel.setForeground(SUCCESS_COLOR);
+        
+        resultLabel = new JLabel("Click 'Roll Dice' to start!", JLabel.CENTER);
+        resultLabel.setFont(GameRuntime.font("Arial", Font.ITALIC, 14));
+        
+        winOddsLabel = new JLabel("", JLabel.CENTER);
+        winOddsLabel.setFont(GameRuntime.font("Arial", Font.PLAIN, 14));
+        
+        roundProgressBar = new JProgressBar(0, maxRounds);
+        roundProgressBar.setValue(1);
+        roundProgressBar.setStringPainted(true);
+        roundProgressBar.setString("Round Progress");
+        
+        JLabel instructionLabel = new JLabel("<html><center>Roll both dice<br>Doubles = 2x points!</center></html>", JLabel.CENTER);
+        instructionLabel.setFont(GameRuntime.font("Arial", Font.PLAIN, 12));
+        instructionLabel.setForeground(Color.GRAY);
+        
+        statusPanel.add(roundLabel);
+        statusPanel.add(turnLabel);
+        statusPanel.add(resultLabel);
+        statusPanel.add(winOddsLabel);
+        statusPanel.add(roundProgressBar);
+        statusPanel.add(instructionLabel);
+        
+        mainPanel.add(statusPanel, BorderLayout.WEST);
+    }
+    
+    /**
+     * Setup the score display panel
+     */
+    private void setupScorePanel() {
+        scorePanel = new JPanel(new GridLayout(2, 1, 5, 20));
+        scorePanel.setOpaque(false);
+        scorePanel.setBorder(BorderFactory.createTitledBorder(
+            BorderFactory.createLineBorder(PRIMARY_COLOR, 2), 
+            "Scores", 0, 0, GameRuntime.font("Arial", Font.BOLD, 14), PRIMARY_COLOR));
+        
+        player1ScoreLabel = new JLabel(player1.getName() + ": 0", JLabel.CENTER);
+        player1ScoreLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 20));
+        player1ScoreLabel.setForeground(SUCCESS_COLOR);
+        
+        player2ScoreLabel = new JLabel(player2.getName() + ": 0", JLabel.CENTER);
+        player2ScoreLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 20));
+        player2ScoreLabel.setForeground(DANGER_COLOR);
+        
+        scorePanel.add(player1ScoreLabel);
+        scorePanel.add(player2ScoreLabel);
+        
+        mainPanel.add(scorePanel, BorderLayout.EAST);
+    }
+    
+    /**
+     * Create a styled button
+     */
+    private JButton createStyledButton(String text, Color color) {
+        JButton button = new JButton(text);
+        button.setFont(GameRuntime.font("Arial", Font.BOLD, 12));
+        button.setBackground(color);
+        button.setForeground(Color.WHITE);
+        button.setFocusPainted(false);
+        button.setBorderPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        
+        button.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseEntered(java.awt.event.MouseEvent evt) {
+                if (button.isEnabled()) {
+                    button.setBackground(color.brighter());
+                }
+            }
+            public void mouseExited(java.awt.event.MouseEvent evt) {
+                button.setBackground(color);
+            }
+        });
+        
+        return button;
+    }
+    
+    /**
+     * Setup event listeners
+     */
+    private void setupEventListeners() {
+        rollButton.addActionListener(this);
+        newGameButton.addActionListener(this);
+        fastForwardButton.addActionListener(this);
+        exitButton.addActionListener(this);
+        
+        // Other tables keep running, so a closed window releases its own game
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                releaseGame();
+            }
+        });
+    }
+    
+    /**
+     * Bind the game model to the status and score labels
+     */
+    private void bindModel() {
+        viewBinder = new GameViewBinder(model,
+            player1ScoreLabel, player2ScoreLabel,
+            roundLabel, turnLabel, resultLabel, roundProgressBar,
+            SUCCESS_COLOR, DANGER_COLOR);
+        if (maxRounds <= GameSetup.MAX_ROUNDS) {
+            viewBinder.bindWinOdds(winOddsLabel, WinOddsTable.shared());
+            
+            // Journal the game so it survives closing the window or a crash;
+            // the journal is opened off the EDT and attached once it is ready
+            if (journaled) {
+                GameJournal.shared().thenAccept(shared -> SwingUtilities.invokeLater(() -> {
+                    if (shared != null && !released) {
+                        journal = shared;
+                        journal.attach(model);
+                    }
+                }));
+            }
+        } else {
+            // Marathon games are too long for the odds table
+            winOddsLabel.setText("Win odds: n/a");
+        }
+        
+        model.addGameListener(spectatorFeed);
+        
+        // The dialog is shown after the event that ended the game has been handled
+        model.addGameListener(event -> {
+            if (event.getType() == GameEvent.Type.GAME_END) {
+                SwingUtilities.invokeLater(this::endGame);
+            }
+        });
+        
+        viewBinder.refreshAll();
+    }
+    
+    /**
+     * Event feed of this window's game; spectators subscribe with addHandler
+     */
+    public GameEventRingBuffer getSpectatorFeed() {
+        return spectatorFeed;
+    }
+    
+    /**
+     * Flow.Publisher of this window's game events, created on first use
+     */
+    public synchronized GameEventPublisher getEventPublisher() {
+        if (eventPublisher == null) {
+            eventPublisher = new GameEventPublisher(model);
+        }
+        return eventPublisher;
+    }
+    
+    /**
+     * Handle button click events
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if (e.getSource() == rollButton && !model.isGameEnded()) {
+            rollDice();
+        } else if (e.getSource() == newGameButton) {
+            startNewGame();
+        } else if (e.getSource() == fastForwardButton) {
+            if (autoPlayer == null) {
+                startAutoPlay();
+            } else {
+                autoPlayer.cancel();
+            }
+        } else if (e.getSource() == exitButton) {
+            exitToSetup();
+        }
+    }
+    
+    /**
+     * Main dice rolling logic - FIXED for single player mode
+     */
+    private void rollDice() {
+        if (model.isGameEnded()) return;
+        
+        // Disable roll button during turn
+        rollButton.setEnabled(false);
+        
+        // Roll the dice and let the model score the roll and advance turn/round;
+        // the view binder applies all resulting label changes in one update
+        playRoll();
+        
+        if (model.isGameEnded()) return;
+        
+        if (!isTwoPlayerMode && !model.isPlayer1Turn()) {
+            scheduleComputerTurn();
+        } else {
+            rollButton.setEnabled(true);
+        }
+    }
+    
+    /**
+     * Single player mode: schedule computer's turn after a delay
+     */
+    private void scheduleComputerTurn() {
+        computerTimer = new Timer(2000, e -> {
+            if (!model.isGameEnded()) {
+                computerRoll();
+            }
+        });
+        computerTimer.setRepeats(false);
+        computerTimer.start();
+    }
+    
+    /**
+     * Handle computer's automatic roll in single player mode
+     */
+    private void computerRoll() {
+        if (model.isGameEnded()) return;
+        
+        playRoll();
+        
+        if (!model.isGameEnded()) {
+            rollButton.setEnabled(true);
+        }
+    }
+    
+    /**
+     * Roll both dice and apply the result to the model
+     */
+    private void playRoll() {
+        dice1.roll();
+        dice2.roll();
+        FairnessAuditor.shared().pair(dice1.getValue(), dice2.getValue());
+        model.applyRoll(dice1.getValue(), dice2.getValue());
+    }
+    
+    /**
+     * Play the remaining rounds at full speed without dice animations
+     */
+    private void startAutoPlay() {
+        if (model.isGameEnded() || autoPlayer != null) return;
+        
+        if (computerTimer != null) {
+            computerTimer.stop();
+        }
+        rollButton.setEnabled(false);
+        fastForwardButton.setText("STOP");
+        
+        AutoPlayer player = new AutoPlayer(model);
+        autoPlayer = player;
+        player.start(() -> autoPlayFinished(player));
+    }
+    
+    /**
+     * Restore manual play once auto-play has finished or was stopped
+     */
+    private void autoPlayFinished(AutoPlayer player) {
+        if (autoPlayer != player) return; // a newer game replaced this run
+        autoPlayer = null;
+        fastForwardButton.setText("FAST FORWARD");
+        
+        // Show the last roll on the dice
+        if (model.getLastRoller() != null) {
+            dice1.setValue(model.getLastDie1());
+            dice2.setValue(model.getLastDie2());
+        }
+        viewBinder.flushNow();
+        
+        if (model.isGameEnded()) return;
+        if (!isTwoPlayerMode && !model.isPlayer1Turn()) {
+            scheduleComputerTurn();
+        } else {
+            rollButton.setEnabled(true);
+        }
+    }
+    
+    /**
+     * Stop a running auto-play and wait for it to finish
+     */
+    private void stopAutoPlay() {
+        if (autoPlayer != null) {
+            autoPlayer.cancel();
+            autoPlayer = null;
+            fastForwardButton.setText("FAST FORWARD");
+        }
+    }
+    
+    /**
+     * End the game and show results
+     */
+    private void endGame() {
+        rollButton.setEnabled(false);
+        viewBinder.flushNow();
+        
+        String winner;
+        Color winnerColor;
+        
+        Player winningPlayer = model.getWinner();
+        if (winningPlayer == player1) {
+            winner = player1.getName() + " WINS! 🎉";
+            winnerColor = SUCCESS_COLOR;
+        } else if (winningPlayer == player2) {
+            winner = player2.getName() + " WINS! 🎉";
+            winnerColor = DANGER_COLOR;
+        } else {
+            winner = "IT'S A TIE! 🤝";
+            winnerColor = PRIMARY_COLOR;
+        }
+        
+        resultLabel.setText(winner);
+        resultLabel.setForeground(winnerColor);
+        resultLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 16));
+        
+        // Show detailed results
+        showGameResults(winner);
+    }
+    
+    /**
+     * Show detailed game results dialog
+     */
+    private void showGameResults(String winner) {
+        String summary = String.format(
+            "🎮 GAME OVER 🎮\n\n" +
+            "%s\n\n" +
+            "Final Scores:\n" +
+            "%s: %d points\n" +
+            "%s: %d points\n\n" +
+            "Rounds Played: %d\n\n",
+            winner,
+            player1.getName(), player1.getScore(),
+            player2.getName(), player2.getScore(),
+            maxRounds
+        );
+        
+        // The history is saved and looked up off the EDT and filled in when ready
+        JLabel historyLabel = new JLabel("Loading match history...");
+        String name1 = player1.getName(), name2 = player2.getName();
+        MatchStore.recordShared(name1, name2, player1.getScore(), player2.getScore(), maxRounds)
+            .whenComplete((record, error) -> SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    System.err.println("Could not save the game result: " + cause.getMessage());
+                }
+                if (record == null) {
+                    historyLabel.setVisible(false);
+                } else {
+                    historyLabel.setText(String.format("%s vs %s, all games: %d won, %d lost, %d tied",
+                                                       name1, name2, record.getWins(),
+                                                       record.getLosses(), record.getTies()));
+                }
+                Window dialog = SwingUtilities.getWindowAncestor(historyLabel);
+                if (dialog != null && dialog.isShowing()) {
+                    dialog.pack();
+                }
+            }));
+        Object[] message = { summary, historyLabel, " ", "Would you like to play again?" };
+        
+        int choice = JOptionPane.showConfirmDialog(
+            this, message, "Game Results", 
+            JOptionPane.YES_NO_OPTION, JOptionPane.INFORMATION_MESSAGE
+        );
+        
+        if (choice == JOptionPane.YES_OPTION) {
+            startNewGame();
+        }
+    }
+    
+    /**
+     * Start a new game with same settings
+     */
+    private void startNewGame() {
+        // Reset game state
+        stopAutoPlay();
+        if (computerTimer != null) {
+            computerTimer.stop();
+        }
+        model.reset();
+        
+        // Reset dice display
+        dice1.reset();
+        dice2.reset();
+        
+        // Reset UI
+        rollButton.setEnabled(true);
+        resultLabel.setText("Click 'Roll Dice' to start!");
+        resultLabel.setForeground(Color.BLACK);
+        resultLabel.setFont(GameRuntime.font("Arial", Font.ITALIC, 14));
+        
+        viewBinder.flushNow();
+    }
+    
+    /**
+     * Exit to setup screen
+     */
+    private void exitToSetup() {
+        int choice = JOptionPane.showConfirmDialog(
+            this, "Return to game setup?", 
+            "Exit Game", JOptionPane.YES_NO_OPTION
+        );
+        
+        if (choice == JOptionPane.YES_OPTION) {
+            this.dispose();
+            GameRuntime.showSetup();
+        }
+    }
+    
+    /**
+     * Stop timers and feeds of this window's game; an unfinished game stays
+     * resumable from the journal
+     */
+    private void releaseGame() {
+        if (computerTimer != null) {
+            computerTimer.stop();
+        }
+        released = true;
+        stopAutoPlay();
+        viewBinder.dispose();
+        if (journal != null) {
+            journal.detach(model);
+        }
+        spectatorFeed.shutdownNow();
+        synchronized (this) {
+            if (eventPublisher != null) {
+                eventPublisher.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared, thread-safe source of dice sum distributions
+ * Each (count, sides) distribution is computed once and cached; concurrent
+ * requests for the same key wait for the single computation in progress.
+ */
+public class DistributionEngine {
+
+    /** Engine shared by the whole application */
+    public static final DistributionEngine SHARED = new DistributionEngine();
+
+    private final ConcurrentMap<Long, CompletableFuture<SumDistribution>> cache =
+        new ConcurrentHashMap<>();
+
+    /**
+     * A single probability query: P(sum of count dice compared to value)
+     */
+    public static class Query {
+        public enum Kind { EXACTLY, AT_MOST, AT_LEAST }
+
+        private final int count;
+        private final int sides;
+        private final Kind kind;
+        private final int value;
+
+        public Query(int count, int sides, Kind kind, int value) {
+            this.count = count;
+            this.sides = sides;
+            this.kind = kind;
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return "P(" + count + "d" + sides + " " + kind + " " + value + ")";
+        }
+    }
+
+    /**
+     * Get the distribution of the sum of count dice, computing it on first use
+     */
+    public SumDistribution get(int count, int sides) {
+        long key = ((long) count << 32) | (sides & 0xffffffffL);
+        CompletableFuture<SumDistribution> future = cache.get(key);
+        if (future == null) {
+            CompletableFuture<SumDistribution> created = new CompletableFuture<>();
+            future = cache.putIfAbsent(key, created);
+            if (future == null) {
+                // This thread owns the computation
+                future = created;
+                try {
+                    created.complete(new SumDistribution(count, sides));
+                } catch (RuntimeException e) {
+                    cache.remove(key, created);
+                    created.completeExceptionally(e);
+                }
+            }
+        }
+        return future.join();
+    }
+
+    /**
+     * Distribution of count dice with Dice.SIDES faces
+     */
+    public SumDistribution get(int count) {
+        return get(count, Dice.SIDES);
+    }
+
+    /**
+     * Answer one query
+     */
+    public double probability(Query query) {
+        SumDistribution distribution = get(query.count, query.sides);
+        switch (query.kind) {
+            case EXACTLY:
+                return distribution.probability(query.value);
+            case AT_MOST:
+                return distribution.cumulative(query.value);
+            default:
+                return distribution.atLeast(query.value);
+        }
+    }
+
+    /**
+     * Answer many queries in parallel on the common fork-join pool
+     * @return probabilities in the same order as the queries
+     */
+    public double[] probabilities(List<Query> queries) {
+        return queries.parallelStream().mapToDouble(this::probability).toArray();
+    }
+
+    /**
+     * Number of distributions currently cached
+     */
+    public int cachedCount() {
+        return cache.size();
+    }
+
+    public void clearCache() {
+        cache.clear();
+    }
+}
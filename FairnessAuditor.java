@@ -0,0 +1,558 @@
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Online fairness audit of the dice
+ *
+ * Every die value and every two-dice roll is counted into a window of
+ * fixed-size counters: face counts, the 36 pair counts, and the sums the
+ * serial correlation and runs tests need. Recording a value is a handful of
+ * increments with no allocation. Once a window is old enough and holds
+ * enough samples, the recording thread hands it to an analysis thread and
+ * starts a fresh one; the analysis thread adds the window to the running
+ * totals and tests both:
+ *   faces   chi-squared against a uniform die (5 degrees of freedom)
+ *   pairs   chi-squared of the 2d6 pairs, uniform and independent (35)
+ *   serial  lag-1 correlation of successive die values
+ *   runs    Wald-Wolfowitz runs of high (4-6) and low (1-3) values
+ * A p-value below alpha raises an alert to the listeners, as does any value
+ * outside 1..6.
+ *
+ * Only one thread may record at a time; the shared auditor is fed on the
+ * EDT by Dice and the game windows.
+ * Usage: java FairnessAuditor [millions of rolls]
+ */
+public class FairnessAuditor {
+
+    public static final long DEFAULT_WINDOW_MILLIS = 60_000;
+    public static final double DEFAULT_ALPHA = 1e-6;
+
+    // A window closes only with enough samples for the chi-squared approximation
+    private static final long MIN_FACES = 10 * Dice.SIDES;
+    private static final long MIN_PAIRS = 5 * Dice.SIDES * Dice.SIDES;
+    private static final int CHECK_MASK = 63; // look at the clock every 64 samples
+    private static final int PAIR_SHIFT = 3;
+
+    private static FairnessAuditor shared;
+
+    private final long windowNanos;
+    private final double alpha;
+    private final CopyOnWriteArrayList<AlertListener> listeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService analysis = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "fairness-auditor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Recording thread
+    private Window window;
+    private long deadline;
+    private int samples;
+
+    // Analysis thread
+    private final Window totals = new Window();
+    private long windows;
+    private volatile Report lastWindow, lastTotals;
+    private volatile long alerts;
+
+    /**
+     * Counters of one window; plain fields written by the recording thread only
+     */
+    private static final class Window {
+        final long[] faces = new long[Dice.SIDES + 1];
+        final long[] pairs = new long[(Dice.SIDES + 1) << PAIR_SHIFT];
+        long faceCount, pairCount, invalid;
+        // Serial correlation: links are successive pairs of values
+        long sum, sumSquares, sumProducts, links;
+        // Runs: highs is the number of high values, changes counts high/low switches
+        long highs, changes;
+        int previous, previousHigh;
+
+        void add(Window other) {
+            for (int i = 0; i < faces.length; i++) faces[i] += other.faces[i];
+            for (int i = 0; i < pairs.length; i++) pairs[i] += other.pairs[i];
+            faceCount += other.faceCount;
+            pairCount += other.pairCount;
+            invalid += other.invalid;
+            sum += other.sum;
+            sumSquares += other.sumSquares;
+            sumProducts += other.sumProducts;
+            links += other.links;
+            highs += other.highs;
+            changes += other.changes;
+        }
+    }
+
+    /**
+     * Test results of a window or of the totals; a p-value is NaN when there
+     * were too few samples for the test
+     */
+    public static final class Report {
+        private final boolean totals;
+        private final long index, faces, pairs, invalid;
+        private final double faceChiSquared, pFaces;
+        private final double pairChiSquared, pPairs;
+        private final double serialCorrelation, pSerial;
+        private final double runsZ, pRuns;
+
+        private Report(boolean totals, long index, Window w) {
+            this.totals = totals;
+            this.index = index;
+            this.faces = w.faceCount;
+            this.pairs = w.pairCount;
+            this.invalid = w.invalid;
+
+            if (w.faceCount >= MIN_FACES) {
+                faceChiSquared = chiSquared(w.faces, 1, Dice.SIDES, w.faceCount / (double) Dice.SIDES);
+                pFaces = chiSquaredP(faceChiSquared, Dice.SIDES - 1);
+            } else {
+                faceChiSquared = pFaces = Double.NaN;
+            }
+            if (w.pairCount >= MIN_PAIRS) {
+                double expected = w.pairCount / (double) (Dice.SIDES * Dice.SIDES);
+                double x = 0;
+                for (int die1 = 1; die1 <= Dice.SIDES; die1++) {
+                    x += chiSquared(w.pairs, (die1 << PAIR_SHIFT) + 1, Dice.SIDES, expected);
+                }
+                pairChiSquared = x;
+                pPairs = chiSquaredP(x, Dice.SIDES * Dice.SIDES - 1);
+            } else {
+                pairChiSquared = pPairs = Double.NaN;
+            }
+
+            long n = w.faceCount;
+            double variance = n > 0 ? (w.sumSquares - (double) w.sum * w.sum / n) / n : 0;
+            if (n >= MIN_FACES && w.links > 1 && variance > 0) {
+                double mean = (double) w.sum / n;
+                // Under independence r is close to normal with variance 1/links
+                serialCorrelation = (w.sumProducts / (double) w.links - mean * mean) / variance;
+                pSerial = normalP(serialCorrelation * Math.sqrt(w.links));
+            } else {
+                serialCorrelation = pSerial = Double.NaN;
+            }
+
+            double high = w.highs, low = n - w.highs;
+            if (n >= MIN_FACES && high > 0 && low > 0) {
+                double runs = w.changes + 1;
+                double expected = 2 * high * low / n + 1;
+                double runsVariance = 2 * high * low * (2 * high * low - n) / ((double) n * n * (n - 1));
+                runsZ = (runs - expected) / Math.sqrt(runsVariance);
+                pRuns = normalP(runsZ);
+            } else {
+                runsZ = pRuns = Double.NaN;
+            }
+        }
+
+        /**
+         * @return true for the running totals, false for a single window
+         */
+        public boolean isTotals() {
+            return totals;
+        }
+
+        /**
+         * @return number of windows covered (totals) or the window number
+         */
+        public long getIndex() {
+            return index;
+        }
+
+        public long getFaces() {
+            return faces;
+        }
+
+        public long getPairs() {
+            return pairs;
+        }
+
+        /**
+         * @return values outside 1..6
+         */
+        public long getInvalid() {
+            return invalid;
+        }
+
+        public double getFaceChiSquared() {
+            return faceChiSquared;
+        }
+
+        public double getFacesP() {
+            return pFaces;
+        }
+
+        public double getPairChiSquared() {
+            return pairChiSquared;
+        }
+
+        public double getPairsP() {
+            return pPairs;
+        }
+
+        public double getSerialCorrelation() {
+            return serialCorrelation;
+        }
+
+        public double getSerialP() {
+            return pSerial;
+        }
+
+        public double getRunsZ() {
+            return runsZ;
+        }
+
+        public double getRunsP() {
+            return pRuns;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %d: %,d faces, %,d pairs; p faces %.3g, pairs %.3g, serial %.3g, runs %.3g",
+                                 totals ? "totals of" : "window", index, faces, pairs,
+                                 pFaces, pPairs, pSerial, pRuns);
+        }
+    }
+
+    /**
+     * Test that failed, raised on the analysis thread
+     */
+    public static final class Alert {
+        private final String test;
+        private final double pValue;
+        private final Report report;
+
+        private Alert(String test, double pValue, Report report) {
+            this.test = test;
+            this.pValue = pValue;
+            this.report = report;
+        }
+
+        /**
+         * @return "faces", "pairs", "serial", "runs" or "range"
+         */
+        public String getTest() {
+            return test;
+        }
+
+        /**
+         * @return p-value of the test, 0 for values out of range
+         */
+        public double getPValue() {
+            return pValue;
+        }
+
+        public Report getReport() {
+            return report;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Dice fairness alert: %s test p = %.3g (%s)", test, pValue, report);
+        }
+    }
+
+    /**
+     * Receives alerts on the analysis thread
+     */
+    public interface AlertListener {
+        void fairnessAlert(Alert alert);
+    }
+
+    public FairnessAuditor() {
+        this(DEFAULT_WINDOW_MILLIS, DEFAULT_ALPHA);
+    }
+
+    /**
+     * @param windowMillis minimum age of a window before it is tested
+     * @param alpha p-value below which a test raises an alert
+     */
+    public FairnessAuditor(long windowMillis, double alpha) {
+        if (windowMillis < 0 || !(alpha > 0 && alpha < 1)) {
+            throw new IllegalArgumentException("Invalid window or alpha");
+        }
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.alpha = alpha;
+        long now = System.nanoTime();
+        window = new Window();
+        deadline = now + windowNanos;
+    }
+
+    /**
+     * Auditor of the dice in this JVM; alerts are printed to stderr
+     */
+    public static synchronized FairnessAuditor shared() {
+        if (shared == null) {
+            shared = new FairnessAuditor();
+            shared.addAlertListener(alert -> System.err.println(alert));
+        }
+        return shared;
+    }
+
+    public void addAlertListener(AlertListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeAlertListener(AlertListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Record the value of one die
+     */
+    public void face(int value) {
+        Window w = window;
+        if (value < 1 || value > Dice.SIDES) {
+            w.invalid++;
+        } else {
+            w.faces[value]++;
+            w.faceCount++;
+            w.sum += value;
+            w.sumSquares += value * value;
+            int high = (value + 4) >> 3; // 1 for 4..6
+            w.highs += high;
+            if (w.previous != 0) {
+                w.sumProducts += w.previous * value;
+                w.links++;
+                w.changes += high ^ w.previousHigh;
+            }
+            w.previous = value;
+            w.previousHigh = high;
+        }
+        if ((++samples & CHECK_MASK) == 0) {
+            checkWindow();
+        }
+    }
+
+    /**
+     * Record a two-dice roll; the faces themselves are audited through face()
+     */
+    public void pair(int die1, int die2) {
+        Window w = window;
+        if (die1 < 1 || die1 > Dice.SIDES || die2 < 1 || die2 > Dice.SIDES) {
+            w.invalid++;
+        } else {
+            w.pairs[(die1 << PAIR_SHIFT) + die2]++;
+            w.pairCount++;
+        }
+        if ((++samples & CHECK_MASK) == 0) {
+            checkWindow();
+        }
+    }
+
+    private void checkWindow() {
+        Window w = window;
+        long now = System.nanoTime();
+        if (now >= deadline && (w.faceCount >= MIN_FACES || w.pairCount >= MIN_PAIRS || w.invalid > 0)) {
+            closeWindow(now);
+        }
+    }
+
+    /**
+     * Close the current window regardless of age and size
+     * Must be called on the recording thread
+     * @return report of the closed window, completed on the analysis thread
+     */
+    public CompletableFuture<Report> flush() {
+        return closeWindow(System.nanoTime());
+    }
+
+    private CompletableFuture<Report> closeWindow(long now) {
+        Window closed = window;
+        Window next = new Window();
+        // The link between the last value of one window and the first of the next belongs to the next
+        next.previous = closed.previous;
+        next.previousHigh = closed.previousHigh;
+        window = next;
+        deadline = now + windowNanos;
+        return CompletableFuture.supplyAsync(() -> analyse(closed), analysis);
+    }
+
+    private Report analyse(Window closed) {
+        long index = ++windows;
+        totals.add(closed);
+        Report report = new Report(false, index, closed);
+        Report total = new Report(true, index, totals);
+        lastWindow = report;
+        lastTotals = total;
+        check(report);
+        check(total);
+        return report;
+    }
+
+    private void check(Report report) {
+        if (report.invalid > 0 && !report.totals) {
+            alert("range", 0, report);
+        }
+        check("faces", report.pFaces, report);
+        check("pairs", report.pPairs, report);
+        check("serial", report.pSerial, report);
+        check("runs", report.pRuns, report);
+    }
+
+    private void check(String test, double p, Report report) {
+        if (p < alpha) {
+            alert(test, p, report);
+        }
+    }
+
+    private void alert(String test, double p, Report report) {
+        alerts++;
+        Alert alert = new Alert(test, p, report);
+        for (AlertListener listener : listeners) {
+            listener.fairnessAlert(alert);
+        }
+    }
+
+    /**
+     * @return report of the last tested window, null before the first
+     */
+    public Report getLastWindow() {
+        return lastWindow;
+    }
+
+    /**
+     * @return report of all tested windows together, null before the first
+     */
+    public Report getTotals() {
+        return lastTotals;
+    }
+
+    public long getAlertCount() {
+        return alerts;
+    }
+
+    /**
+     * Stop the analysis thread; windows closed afterwards are not tested
+     */
+    public void close() {
+        analysis.shutdown();
+    }
+
+    private static double chiSquared(long[] counts, int from, int cells, double expected) {
+        double x = 0;
+        for (int i = from; i < from + cells; i++) {
+            double d = counts[i] - expected;
+            x += d * d;
+        }
+        return x / expected;
+    }
+
+    /**
+     * Upper tail of the chi-squared distribution
+     */
+    static double chiSquaredP(double x, int degreesOfFreedom) {
+        return upperGamma(degreesOfFreedom / 2.0, x / 2);
+    }
+
+    /**
+     * Two-sided tail of the standard normal distribution: erfc(|z| / sqrt 2)
+     */
+    static double normalP(double z) {
+        return upperGamma(0.5, z * z / 2);
+    }
+
+    /**
+     * Regularized upper incomplete gamma function Q(a, x): series below
+     * a + 1, continued fraction above (Numerical Recipes 6.2)
+     */
+    static double upperGamma(double a, double x) {
+        if (x <= 0) return 1;
+        double logPrefix = a * Math.log(x) - x - logGamma(a);
+        if (x < a + 1) {
+            double term = 1 / a, sum = term;
+            for (int n = 1; n < 1000 && Math.abs(term) > Math.abs(sum) * 1e-15; n++) {
+                term *= x / (a + n);
+                sum += term;
+            }
+            return Math.max(0, 1 - sum * Math.exp(logPrefix));
+        }
+        double tiny = 1e-300;
+        double b = x + 1 - a, c = 1 / tiny, d = 1 / b, h = d;
+        for (int i = 1; i < 1000; i++) {
+            double an = -i * (i - a);
+            b += 2;
+            d = an * d + b;
+            if (Math.abs(d) < tiny) d = tiny;
+            c = b + an / c;
+            if (Math.abs(c) < tiny) c = tiny;
+            d = 1 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < 1e-15) break;
+        }
+        return Math.exp(logPrefix) * h;
+    }
+
+    /**
+     * Lanczos approximation of ln Gamma(x) for x > 0
+     */
+    private static double logGamma(double x) {
+        double[] c = {76.18009172947146, -86.50532032941677, 24.01409824083091,
+                      -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5};
+        double y = x, t = x + 5.5;
+        t -= (x + 0.5) * Math.log(t);
+        double series = 1.000000000190015;
+        for (double coefficient : c) {
+            series += coefficient / ++y;
+        }
+        return -t + Math.log(2.5066282746310005 * series / x);
+    }
+
+    /**
+     * Feed pre-generated rolls and report the recording cost and the results
+     */
+    private static void run(String name, FairnessAuditor auditor, int[] faces) {
+        long start = System.nanoTime();
+        for (int i = 0; i < faces.length; i += 2) {
+            auditor.face(faces[i]);
+            auditor.face(faces[i + 1]);
+            auditor.pair(faces[i], faces[i + 1]);
+        }
+        long elapsed = System.nanoTime() - start;
+        auditor.flush().join();
+        System.out.printf("%-8s %.2f ns per recorded value, %d alerts%n",
+                          name, elapsed / (faces.length * 1.5), auditor.getAlertCount());
+        System.out.println("         " + auditor.getTotals());
+    }
+
+    public static void main(String[] args) {
+        int rolls = (int) ((args.length > 0 ? Double.parseDouble(args[0]) : 10) * 1_000_000);
+        SplittableRandom random = new SplittableRandom(47);
+        int[] fair = new int[rolls * 2];
+        int[] loaded = new int[rolls * 2];
+        int[] sticky = new int[rolls * 2];
+        for (int i = 0; i < fair.length; i++) {
+            fair[i] = random.nextInt(Dice.SIDES) + 1;
+            // One in a hundred throws of the loaded die lands on six
+            loaded[i] = random.nextInt(100) == 0 ? Dice.SIDES : random.nextInt(Dice.SIDES) + 1;
+            // One in a hundred throws of the sticky die repeats the previous value
+            sticky[i] = i > 0 && random.nextInt(100) == 0 ? sticky[i - 1] : random.nextInt(Dice.SIDES) + 1;
+        }
+
+        System.out.printf("%,d rolls per run, windows of 5 ms, alpha %.0e%n", rolls, DEFAULT_ALPHA);
+        for (int round = 0; round < 3; round++) {
+            String[] names = {"fair", "loaded", "sticky"};
+            int[][] streams = {fair, loaded, sticky};
+            for (int i = 0; i < streams.length; i++) {
+                FairnessAuditor auditor = new FairnessAuditor(5, DEFAULT_ALPHA);
+                if (round == 2) {
+                    String stream = names[i];
+                    Set<String> seen = ConcurrentHashMap.newKeySet();
+                    auditor.addAlertListener(alert -> {
+                        if (alert.getReport().isTotals() && seen.add(alert.getTest())) {
+                            System.out.printf("         %s: first %s alert after %,d faces, p = %.3g%n", stream,
+                                              alert.getTest(), alert.getReport().getFaces(), alert.getPValue());
+                        }
+                    });
+                }
+                run(names[i], auditor, streams[i]);
+                auditor.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,358 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Five-dice keep-and-reroll game window
+ * Roll up to three times per turn, clicking dice between rolls to keep them,
+ * then score the hand in one of the open categories. HINT asks HoldAdvisor
+ * for the holds (or category) with the highest expected score.
+ */
+public class FiveDiceGame extends JFrame implements ActionListener {
+
+    // Game state
+    private final FiveDiceModel model;
+    private final HoldAdvisor advisor = HoldAdvisor.SHARED;
+
+    // Game components
+    private final Dice[] dice = new Dice[FiveDiceModel.DICE];
+
+    // GUI components
+    private JPanel mainPanel;
+    private JButton rollButton, hintButton, newGameButton, exitButton;
+    private JButton[] categoryButtons;
+    private JLabel rollsLabel, totalLabel, hintLabel, resultLabel;
+
+    // Colors
+    private final Color PRIMARY_COLOR = new Color(41, 128, 185);
+    private final Color SUCCESS_COLOR = new Color(39, 174, 96);
+    private final Color DANGER_COLOR = new Color(231, 76, 60);
+    private final Color WARNING_COLOR = new Color(243, 156, 18);
+    private final Color BACKGROUND_COLOR = new Color(236, 240, 241);
+
+    /**
+     * Constructor to create a new five-dice game
+     */
+    public FiveDiceGame() {
+        model = new FiveDiceModel("Player 1");
+        for (int i = 0; i < dice.length; i++) {
+            dice[i] = new Dice();
+        }
+
+        setupGUI();
+        updateDisplay();
+        prepareHints();
+    }
+
+    /**
+     * Setup the main GUI
+     */
+    private void setupGUI() {
+        setTitle("🎲 Dice Game - Five Dice");
+        setSize(1000, 700);
+        setLocationRelativeTo(null);
+        setResizable(false);
+        GameRuntime.register(this);
+
+        mainPanel = new GradientPanel(new BorderLayout(15, 15), BACKGROUND_COLOR, Color.WHITE);
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        JLabel titleLabel = new JLabel(" DICE GAME - Five Dice ", JLabel.CENTER);
+        titleLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 24));
+        titleLabel.setForeground(PRIMARY_COLOR);
+        mainPanel.add(titleLabel, BorderLayout.NORTH);
+
+        // Dice: click a die to keep it for the next roll
+        JPanel dicePanel = new JPanel(new GridLayout(1, dice.length, 10, 0));
+        dicePanel.setOpaque(false);
+        dicePanel.setBorder(BorderFactory.createTitledBorder(
+            BorderFactory.createLineBorder(PRIMARY_COLOR, 2),
+            "Click dice to keep them", 0, 0, GameRuntime.font("Arial", Font.BOLD, 16), PRIMARY_COLOR));
+        for (int i = 0; i < dice.length; i++) {
+            JLabel label = dice[i].getDiceLabel();
+            label.setFont(label.getFont().deriveFont(64f));
+            label.setPreferredSize(new Dimension(100, 100));
+            label.setCursor(new Cursor(Cursor.HAND_CURSOR));
+            int die = i;
+            label.addMouseListener(new java.awt.event.MouseAdapter() {
+                public void mouseClicked(java.awt.event.MouseEvent evt) {
+                    model.toggleHold(die);
+                    updateDisplay();
+                }
+            });
+            dicePanel.add(label);
+        }
+        mainPanel.add(dicePanel, BorderLayout.CENTER);
+
+        // Status
+        JPanel statusPanel = new JPanel(new GridLayout(4, 1, 5, 10));
+        statusPanel.setOpaque(false);
+        statusPanel.setBorder(BorderFactory.createTitledBorder(
+            BorderFactory.createLineBorder(PRIMARY_COLOR, 2),
+            "Game Status", 0, 0, GameRuntime.font("Arial", Font.BOLD, 14), PRIMARY_COLOR));
+
+        rollsLabel = new JLabel("", JLabel.CENTER);
+        rollsLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 16));
+
+        totalLabel = new JLabel("", JLabel.CENTER);
+        totalLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 20));
+        totalLabel.setForeground(SUCCESS_COLOR);
+
+        hintLabel = new JLabel("", JLabel.CENTER);
+        hintLabel.setFont(GameRuntime.font("Arial", Font.ITALIC, 13));
+        hintLabel.setForeground(WARNING_COLOR.darker());
+
+        resultLabel = new JLabel("Click 'Roll' to start!", JLabel.CENTER);
+        resultLabel.setFont(GameRuntime.font("Arial", Font.ITALIC, 14));
+
+        statusPanel.add(rollsLabel);
+        statusPanel.add(totalLabel);
+        statusPanel.add(hintLabel);
+        statusPanel.add(resultLabel);
+        mainPanel.add(statusPanel, BorderLayout.WEST);
+
+        // Categories
+        HandCategory[] categories = HandCategory.values();
+        JPanel categoryPanel = new JPanel(new GridLayout(categories.length, 1, 5, 3));
+        categoryPanel.setOpaque(false);
+        categoryPanel.setBorder(BorderFactory.createTitledBorder(
+            BorderFactory.createLineBorder(PRIMARY_COLOR, 2),
+            "Score In", 0, 0, GameRuntime.font("Arial", Font.BOLD, 14), PRIMARY_COLOR));
+        categoryButtons = new JButton[categories.length];
+        for (HandCategory category : categories) {
+            JButton button = createStyledButton(category.getDisplayName(), PRIMARY_COLOR);
+            button.setPreferredSize(new Dimension(200, 30));
+            button.addActionListener(e -> scoreCategory(category));
+            categoryButtons[category.ordinal()] = button;
+            categoryPanel.add(button);
+        }
+        mainPanel.add(categoryPanel, BorderLayout.EAST);
+
+        // Controls
+        JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 30, 15));
+        controlPanel.setOpaque(false);
+
+        rollButton = createStyledButton("ROLL", SUCCESS_COLOR);
+        rollButton.setPreferredSize(new Dimension(150, 60));
+        rollButton.setFont(GameRuntime.font("Arial", Font.BOLD, 16));
+
+        hintButton = createStyledButton("HINT", WARNING_COLOR);
+        hintButton.setPreferredSize(new Dimension(120, 60));
+
+        newGameButton = createStyledButton("NEW GAME", PRIMARY_COLOR);
+        newGameButton.setPreferredSize(new Dimension(150, 60));
+
+        exitButton = createStyledButton("EXIT", DANGER_COLOR);
+        exitButton.setPreferredSize(new Dimension(120, 60));
+
+        controlPanel.add(rollButton);
+        controlPanel.add(hintButton);
+        controlPanel.add(newGameButton);
+        controlPanel.add(exitButton);
+        mainPanel.add(controlPanel, BorderLayout.SOUTH);
+
+        rollButton.addActionListener(this);
+        hintButton.addActionListener(this);
+        newGameButton.addActionListener(this);
+        exitButton.addActionListener(this);
+
+        add(mainPanel);
+    }
+
+    /**
+     * Create a styled button
+     */
+    private JButton createStyledButton(String text, Color color) {
+        JButton button = new JButton(text);
+        button.setFont(GameRuntime.font("Arial", Font.BOLD, 12));
+        button.setBackground(color);
+        button.setForeground(Color.WHITE);
+        button.setFocusPainted(false);
+        button.setBorderPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+
+        button.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseEntered(java.awt.event.MouseEvent evt) {
+                if (button.isEnabled()) {
+                    button.setBackground(color.brighter());
+                }
+            }
+            public void mouseExited(java.awt.event.MouseEvent evt) {
+                button.setBackground(color);
+            }
+        });
+
+        return button;
+    }
+
+    /**
+     * Solve the expectations for the open categories in the background,
+     * so the next hint is only a lookup
+     */
+    private void prepareHints() {
+        int openCategories = model.getOpenCategories();
+        if (openCategories != 0) {
+            CompletableFuture.runAsync(() -> advisor.expectedTurnScore(openCategories));
+        }
+    }
+
+    /**
+     * Handle button click events
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if (e.getSource() == rollButton && model.canRoll()) {
+            rollDice();
+        } else if (e.getSource() == hintButton) {
+            showHint();
+        } else if (e.getSource() == newGameButton) {
+            startNewGame();
+        } else if (e.getSource() == exitButton) {
+            exitToSetup();
+        }
+    }
+
+    /**
+     * Roll every die that is not kept
+     */
+    private void rollDice() {
+        int[] rolled = new int[dice.length];
+        for (int i = 0; i < dice.length; i++) {
+            if (!model.isHeld(i)) {
+                dice[i].roll();
+            }
+            rolled[i] = dice[i].getValue();
+        }
+        model.roll(rolled);
+
+        hintLabel.setText("");
+        resultLabel.setText("Roll " + model.getRollsThisTurn() + " of " + FiveDiceModel.ROLLS_PER_TURN);
+        updateDisplay();
+    }
+
+    /**
+     * Ask the advisor for the best holds and apply them
+     */
+    private void showHint() {
+        if (model.isGameEnded() || model.getRollsThisTurn() == 0) {
+            hintLabel.setText("Hint: roll first!");
+            return;
+        }
+        HoldAdvisor.Hint hint = advisor.hint(model.getValues(), model.getRerollsLeft(),
+                                             model.getOpenCategories());
+        if (!hint.shouldReroll()) {
+            hintLabel.setText(String.format("Hint: score %s (EV %.1f)",
+                                            hint.getCategory(), hint.getExpectedScore()));
+            return;
+        }
+
+        boolean[] hold = hint.getHold();
+        StringBuilder kept = new StringBuilder();
+        for (int i = 0; i < hold.length; i++) {
+            if (hold[i] != model.isHeld(i)) {
+                model.toggleHold(i);
+            }
+            if (hold[i]) {
+                kept.append(model.getValue(i)).append(' ');
+            }
+        }
+        hintLabel.setText(String.format("Hint: keep %s(EV %.1f)",
+                                        kept.length() == 0 ? "nothing " : kept.toString(),
+                                        hint.getExpectedScore()));
+        updateDisplay();
+    }
+
+    /**
+     * Score the current hand in the chosen category
+     */
+    private void scoreCategory(HandCategory category) {
+        if (model.getRollsThisTurn() == 0 || !model.isOpen(category)) return;
+
+        int points = model.score(category);
+        resultLabel.setText(category.getDisplayName() + ": " + points + " points");
+        hintLabel.setText("");
+        updateDisplay();
+        prepareHints();
+
+        if (model.isGameEnded()) {
+            endGame();
+        }
+    }
+
+    /**
+     * Update all display elements
+     */
+    private void updateDisplay() {
+        rollsLabel.setText("Rolls left: " + (model.isGameEnded() ? 0 : model.getRerollsLeft()));
+        totalLabel.setText("Total: " + model.getPlayer().getScore());
+        rollButton.setEnabled(model.canRoll());
+        hintButton.setEnabled(!model.isGameEnded() && model.getRollsThisTurn() > 0);
+
+        for (int i = 0; i < dice.length; i++) {
+            Color border = model.isHeld(i) ? SUCCESS_COLOR : PRIMARY_COLOR;
+            dice[i].getDiceLabel().setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(border, model.isHeld(i) ? 5 : 3),
+                BorderFactory.createEmptyBorder(5, 5, 5, 5)));
+        }
+
+        boolean rolled = model.getRollsThisTurn() > 0;
+        for (HandCategory category : HandCategory.values()) {
+            JButton button = categoryButtons[category.ordinal()];
+            if (!model.isOpen(category)) {
+                button.setText(category.getDisplayName() + ": " + model.getCategoryScore(category) + " ✔");
+                button.setEnabled(false);
+            } else if (rolled) {
+                button.setText(category.getDisplayName() + ": " + model.potentialScore(category));
+                button.setEnabled(true);
+            } else {
+                button.setText(category.getDisplayName());
+                button.setEnabled(false);
+            }
+        }
+    }
+
+    /**
+     * End the game and offer a new one
+     */
+    private void endGame() {
+        String message = String.format(
+            "🎮 GAME OVER 🎮\n\nFinal Score: %d points\n\nWould you like to play again?",
+            model.getPlayer().getScore());
+        int choice = JOptionPane.showConfirmDialog(
+            this, message, "Game Results",
+            JOptionPane.YES_NO_OPTION, JOptionPane.INFORMATION_MESSAGE);
+        if (choice == JOptionPane.YES_OPTION) {
+            startNewGame();
+        }
+    }
+
+    /**
+     * Start a new game
+     */
+    private void startNewGame() {
+        model.reset();
+        for (Dice die : dice) {
+            die.reset();
+        }
+        hintLabel.setText("");
+        resultLabel.setText("Click 'Roll' to start!");
+        updateDisplay();
+    }
+
+    /**
+     * Exit to setup screen
+     */
+    private void exitToSetup() {
+        int choice = JOptionPane.showConfirmDialog(
+            this, "Return to game setup?",
+            "Exit Game", JOptionPane.YES_NO_OPTION
+        );
+
+        if (choice == JOptionPane.YES_OPTION) {
+            this.dispose();
+            GameRuntime.showSetup();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+import java.util.Random;
+
+/**
+ * Game state for the five-dice keep-and-reroll mode
+ * Each turn the player rolls up to three times, keeping any dice between
+ * rolls, then scores the hand in one of the still open categories.
+ * The game ends when every category has been used.
+ */
+public class FiveDiceModel {
+
+    public static final int DICE = HoldAdvisor.DICE;
+    public static final int ROLLS_PER_TURN = HoldAdvisor.MAX_REROLLS + 1;
+
+    private final int[] values = new int[DICE];
+    private final boolean[] held = new boolean[DICE];
+    private final int[] categoryScores = new int[HandCategory.values().length];
+    private int openCategories = HandCategory.ALL;
+    private int rollsThisTurn = 0;
+    private final Player player;
+
+    public FiveDiceModel(String playerName) {
+        player = new Player(playerName);
+        reset();
+    }
+
+    /**
+     * Roll every die that is not held
+     */
+    public void roll(Random random) {
+        int[] rolled = new int[DICE];
+        for (int i = 0; i < DICE; i++) {
+            rolled[i] = held[i] ? values[i] : random.nextInt(Dice.SIDES) + 1;
+        }
+        roll(rolled);
+    }
+
+    /**
+     * Apply a roll with the given values (held dice must keep their value)
+     */
+    public void roll(int[] rolled) {
+        if (!canRoll()) {
+            throw new IllegalStateException("No rolls left this turn");
+        }
+        for (int i = 0; i < DICE; i++) {
+            if (rolled[i] < 1 || rolled[i] > Dice.SIDES) {
+                throw new IllegalArgumentException("Dice value must be between 1 and " + Dice.SIDES);
+            }
+            if (held[i] && rolled[i] != values[i]) {
+                throw new IllegalArgumentException("Held die " + i + " cannot change");
+            }
+            values[i] = rolled[i];
+        }
+        rollsThisTurn++;
+    }
+
+    /**
+     * Keep or release a die (only between rolls of a turn)
+     */
+    public void toggleHold(int die) {
+        if (rollsThisTurn == 0 || rollsThisTurn == ROLLS_PER_TURN) return;
+        held[die] = !held[die];
+    }
+
+    /**
+     * Score the current hand in a category and start the next turn
+     * @return points scored
+     */
+    public int score(HandCategory category) {
+        if (rollsThisTurn == 0) {
+            throw new IllegalStateException("Roll before scoring");
+        }
+        if (!isOpen(category)) {
+            throw new IllegalStateException(category + " has already been used");
+        }
+        int points = category.score(counts());
+        categoryScores[category.ordinal()] = points;
+        openCategories &= ~category.bit();
+        player.addScore(points);
+
+        rollsThisTurn = 0;
+        java.util.Arrays.fill(held, false);
+        return points;
+    }
+
+    /**
+     * Points the current hand would score in a category
+     */
+    public int potentialScore(HandCategory category) {
+        return category.score(counts());
+    }
+
+    private int[] counts() {
+        int[] counts = new int[Dice.SIDES];
+        for (int value : values) {
+            counts[value - 1]++;
+        }
+        return counts;
+    }
+
+    public void reset() {
+        java.util.Arrays.fill(values, 1);
+        java.util.Arrays.fill(held, false);
+        java.util.Arrays.fill(categoryScores, 0);
+        openCategories = HandCategory.ALL;
+        rollsThisTurn = 0;
+        player.resetScore();
+    }
+
+    public boolean canRoll() {
+        return !isGameEnded() && rollsThisTurn < ROLLS_PER_TURN;
+    }
+
+    public boolean isOpen(HandCategory category) {
+        return (openCategories & category.bit()) != 0;
+    }
+
+    public boolean isGameEnded() {
+        return openCategories == 0;
+    }
+
+    public int getOpenCategories() {
+        return openCategories;
+    }
+
+    public int getRollsThisTurn() {
+        return rollsThisTurn;
+    }
+
+    /**
+     * @return rerolls still allowed after the current roll
+     */
+    public int getRerollsLeft() {
+        return ROLLS_PER_TURN - rollsThisTurn;
+    }
+
+    public int getValue(int die) {
+        return values[die];
+    }
+
+    public int[] getValues() {
+        return values.clone();
+    }
+
+    public boolean isHeld(int die) {
+        return held[die];
+    }
+
+    public int getCategoryScore(HandCategory category) {
+        return categoryScores[category.ordinal()];
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Columns of the columnar game export (see ColumnarGameWriter)
+ * The file holds two tables: one row per roll and one row per finished game.
+ */
+public enum GameColumn {
+    ROLL_GAME(Table.ROLLS, Encoding.DELTA),       // game number
+    ROLL_ROUND(Table.ROLLS, Encoding.VARINT),     // round of the roll
+    ROLL_PLAYER(Table.ROLLS, Encoding.BITS),      // dictionary id of the roller
+    ROLL_DICE(Table.ROLLS, Encoding.BITS),        // both dice, see packDice
+    ROLL_SCORE(Table.ROLLS, Encoding.DELTA),      // roller's total after the roll
+
+    GAME_ID(Table.GAMES, Encoding.DELTA),
+    GAME_PLAYER1(Table.GAMES, Encoding.BITS),
+    GAME_PLAYER2(Table.GAMES, Encoding.BITS),
+    GAME_SCORE1(Table.GAMES, Encoding.DELTA),
+    GAME_SCORE2(Table.GAMES, Encoding.DELTA),
+    GAME_ROUNDS(Table.GAMES, Encoding.VARINT);
+
+    /**
+     * Tables stored in the file
+     */
+    public enum Table {
+        ROLLS, GAMES;
+
+        private GameColumn[] columns;
+
+        /**
+         * @return the table's columns in storage order
+         */
+        public GameColumn[] columns() {
+            if (columns == null) {
+                columns = java.util.Arrays.stream(GameColumn.values())
+                    .filter(c -> c.table == this)
+                    .toArray(GameColumn[]::new);
+            }
+            return columns.clone();
+        }
+    }
+
+    /**
+     * How the values of a column are stored in a chunk
+     */
+    public enum Encoding {
+        VARINT,  // unsigned LEB128 varints
+        DELTA,   // zigzag varints of the difference to the previous row
+        BITS     // fixed bit width per chunk, packed without padding
+    }
+
+    private final Table table;
+    private final Encoding encoding;
+    private int position;
+
+    static {
+        // Number the columns of each table once all constants exist
+        int[] next = new int[Table.values().length];
+        for (GameColumn column : values()) {
+            column.position = next[column.table.ordinal()]++;
+        }
+    }
+
+    GameColumn(Table table, Encoding encoding) {
+        this.table = table;
+        this.encoding = encoding;
+    }
+
+    public Table getTable() {
+        return table;
+    }
+
+    public Encoding getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Index of the column within its table
+     */
+    public int position() {
+        return position;
+    }
+
+    /**
+     * Pack two dice (1..8 faces) into one 6-bit value
+     */
+    public static int packDice(int die1, int die2) {
+        return (die1 - 1) << 3 | (die2 - 1);
+    }
+
+    public static int die1(long packed) {
+        return (int) (packed >>> 3) + 1;
+    }
+
+    public static int die2(long packed) {
+        return (int) (packed & 7) + 1;
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Event published by GameModel whenever the game state changes
+ * Carries the values of the transition so headless consumers do not
+ * have to query the model
+ */
+public class GameEvent {
+
+    /**
+     * Kinds of state transitions
+     */
+    public enum Type {
+        ROLL,       // a player rolled the dice
+        SCORE,      // a player's total score changed
+        TURN,       // the turn passed to the other player
+        ROUND,      // the round counter advanced
+        GAME_END,   // the last round was played
+        RESET       // the game was reset to its initial state
+    }
+
+    private final GameModel source;
+    private final Type type;
+    private final Player player;
+    private final int die1;
+    private final int die2;
+    private final int points;
+    private final int round;
+
+    public GameEvent(GameModel source, Type type, Player player,
+                     int die1, int die2, int points, int round) {
+        this.source = source;
+        this.type = type;
+        this.player = player;
+        this.die1 = die1;
+        this.die2 = die2;
+        this.points = points;
+        this.round = round;
+    }
+
+    public GameModel getSource() {
+        return source;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return player the event refers to (roller, scorer or player to move), null if none
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    public int getDie1() {
+        return die1;
+    }
+
+    public int getDie2() {
+        return die2;
+    }
+
+    /**
+     * @return points of the roll for ROLL events, the new total for SCORE events
+     */
+    public int getPoints() {
+        return points;
+    }
+
+    /**
+     * @return current round at the time of the event
+     */
+    public int getRound() {
+        return round;
+    }
+
+    public boolean isDouble() {
+        return die1 != 0 && die1 == die2;
+    }
+
+    @Override
+    public String toString() {
+        return "GameEvent{type=" + type +
+               (player != null ? ", player='" + player.getName() + "'" : "") +
+               (type == Type.ROLL ? ", dice=" + die1 + "+" + die2 : "") +
+               ", points=" + points + ", round=" + round + "}";
+    }
+}
@@ -0,0 +1,661 @@
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+
+/**
+ * Flow.Publisher of one game's events: rolls, score changes, turn
+ * switches, new rounds, game end and resets
+ *
+ * Built on SubmissionPublisher, so every subscriber gets its own bounded
+ * buffer and is only sent as many events as it has requested. The game
+ * thread never waits: an event that does not fit a subscriber's buffer is
+ * dropped for that subscriber and counted. Subscribers that cannot keep up
+ * should go through one of the operators instead:
+ *   batch(max, delay)   lists of up to max events, flushed after delay
+ *   conflated(...)      state folded from every event on the game thread,
+ *                       the latest handed out on request, e.g. scoreboards()
+ * batch() and conflate() also work as processors on any Flow.Publisher.
+ * Usage: java GameEventPublisher [rolls]
+ */
+public class GameEventPublisher extends SubmissionPublisher<GameEvent> implements GameListener {
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "game-event-batch-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Operators deliver on their own threads so a slow subscriber never holds up their upstream
+    private static final Executor OPERATORS = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "game-event-operator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final GameModel model;
+    private final AtomicLong dropped = new AtomicLong();
+    // Conflaters folded on the game thread, so their state never misses an event
+    private final List<Conflater<GameEvent, ?>> conflaters = new CopyOnWriteArrayList<>();
+
+    /**
+     * Publish a model's events with the default buffer size, on the common
+     * pool unless it has a single worker that one blocking subscriber could take
+     */
+    public GameEventPublisher(GameModel model) {
+        this(model, ForkJoinPool.getCommonPoolParallelism() > 1 ? ForkJoinPool.commonPool() : OPERATORS,
+             Flow.defaultBufferSize());
+    }
+
+    /**
+     * @param bufferSize events buffered per subscriber before they are dropped
+     */
+    public GameEventPublisher(GameModel model, Executor executor, int bufferSize) {
+        super(executor, bufferSize);
+        this.model = model;
+        model.addGameListener(this);
+    }
+
+    @Override
+    public void gameChanged(GameEvent event) {
+        if (isClosed()) return;
+        for (Conflater<GameEvent, ?> conflater : conflaters) {
+            conflater.onNext(event);
+        }
+        offer(event, (subscriber, missed) -> {
+            dropped.incrementAndGet();
+            return false;
+        });
+    }
+
+    /**
+     * Stop listening to the model and complete all subscribers
+     */
+    @Override
+    public void close() {
+        model.removeGameListener(this);
+        super.close();
+        for (Conflater<GameEvent, ?> conflater : conflaters) {
+            conflater.onComplete();
+        }
+        conflaters.clear();
+    }
+
+    /**
+     * @return events dropped because a subscriber's buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Latest scores, round and turn for subscribers that only want the current state
+     */
+    public Flow.Publisher<Scoreboard> scoreboards() {
+        return conflated(Scoreboard.of(model), Scoreboard::apply);
+    }
+
+    /**
+     * Events folded into a state on the game thread; a subscriber gets the
+     * latest state whenever it asks, however far behind it is
+     */
+    public <R> Flow.Publisher<R> conflated(R initial, BiFunction<R, GameEvent, R> accumulator) {
+        Conflater<GameEvent, R> conflater = conflate(initial, accumulator);
+        conflater.onSubscribe(new Flow.Subscription() {
+            public void request(long n) { }
+
+            public void cancel() {
+                conflaters.remove(conflater);
+            }
+        });
+        conflaters.add(conflater);
+        if (isClosed()) {
+            conflater.onComplete();
+        }
+        return conflater;
+    }
+
+    /**
+     * Events in lists of up to maxSize, a partial list being sent once it is maxDelay old
+     */
+    public Flow.Publisher<List<GameEvent>> batches(int maxSize, Duration maxDelay) {
+        Batcher<GameEvent> batcher = batch(maxSize, maxDelay);
+        subscribe(batcher);
+        return batcher;
+    }
+
+    public static <T> Batcher<T> batch(int maxSize, Duration maxDelay) {
+        return new Batcher<>(maxSize, maxDelay);
+    }
+
+    /**
+     * Keep only the latest item until the subscriber asks for one
+     */
+    public static <T> Conflater<T, T> conflate() {
+        return new Conflater<>(null, (previous, item) -> item);
+    }
+
+    /**
+     * Fold items into a state and hand out the latest state on request
+     */
+    public static <T, R> Conflater<T, R> conflate(R initial, BiFunction<R, T, R> accumulator) {
+        return new Conflater<>(initial, accumulator);
+    }
+
+    /**
+     * Immutable scores and progress of a game, folded from its events
+     */
+    public static final class Scoreboard {
+        private final GameModel source;
+        private final int score1, score2, round;
+        private final boolean player1Turn, ended;
+        private final int lastDie1, lastDie2;
+
+        private Scoreboard(GameModel source, int score1, int score2, int round, boolean player1Turn,
+                           boolean ended, int lastDie1, int lastDie2) {
+            this.source = source;
+            this.score1 = score1;
+            this.score2 = score2;
+            this.round = round;
+            this.player1Turn = player1Turn;
+            this.ended = ended;
+            this.lastDie1 = lastDie1;
+            this.lastDie2 = lastDie2;
+        }
+
+        /**
+         * Current state of a model (call on the thread that plays it)
+         */
+        public static Scoreboard of(GameModel model) {
+            return new Scoreboard(model, model.getPlayer1().getScore(), model.getPlayer2().getScore(),
+                                  model.getCurrentRound(), model.isPlayer1Turn(), model.isGameEnded(),
+                                  model.getLastDie1(), model.getLastDie2());
+        }
+
+        /**
+         * @return the state after an event; reads only the event, never the model
+         */
+        public Scoreboard apply(GameEvent event) {
+            boolean first = event.getPlayer() == source.getPlayer1();
+            switch (event.getType()) {
+                case ROLL:
+                    return new Scoreboard(source, score1, score2, round, player1Turn, ended,
+                                          event.getDie1(), event.getDie2());
+                case SCORE:
+                    return new Scoreboard(source, first ? event.getPoints() : score1,
+                                          first ? score2 : event.getPoints(), round, player1Turn, ended,
+                                          lastDie1, lastDie2);
+                case TURN:
+                    return new Scoreboard(source, score1, score2, round, first, ended, lastDie1, lastDie2);
+                case ROUND:
+                    return new Scoreboard(source, score1, score2, event.getRound(), player1Turn, ended,
+                                          lastDie1, lastDie2);
+                case GAME_END:
+                    return new Scoreboard(source, score1, score2, round, player1Turn, true, lastDie1, lastDie2);
+                case RESET:
+                    return new Scoreboard(source, 0, 0, 1, true, false, 0, 0);
+                default:
+                    return this;
+            }
+        }
+
+        public int getScore1() {
+            return score1;
+        }
+
+        public int getScore2() {
+            return score2;
+        }
+
+        public int getRound() {
+            return round;
+        }
+
+        public boolean isPlayer1Turn() {
+            return player1Turn;
+        }
+
+        public boolean isEnded() {
+            return ended;
+        }
+
+        public int getLastDie1() {
+            return lastDie1;
+        }
+
+        public int getLastDie2() {
+            return lastDie2;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("round %d, %d - %d, %s", round, score1, score2,
+                                 ended ? "game over" : (player1Turn ? "player 1" : "player 2") + " to roll");
+        }
+    }
+
+    /**
+     * Processor with one downstream subscriber; signals to it are serialized
+     * by a drain loop on the operator pool, so upstream callbacks, requests
+     * and timers can race and return at once
+     */
+    private abstract static class Operator<T, R> implements Flow.Processor<T, R>, Flow.Subscription {
+        private final AtomicInteger wip = new AtomicInteger();
+        protected Flow.Subscription upstream;
+        protected volatile Flow.Subscriber<? super R> downstream;
+        protected long demand;        // guarded by this
+        protected boolean done;       // upstream completed
+        protected Throwable error;
+        protected volatile boolean cancelled;
+        private boolean terminated;   // drain thread only
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            synchronized (this) {
+                if (upstream != null) {
+                    subscription.cancel();
+                    return;
+                }
+                upstream = subscription;
+            }
+            upstreamReady();
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super R> subscriber) {
+            boolean first;
+            synchronized (this) {
+                first = downstream == null;
+                if (first) {
+                    downstream = subscriber;
+                }
+            }
+            if (first) {
+                subscriber.onSubscribe(this);
+                return;
+            }
+            subscriber.onSubscribe(new Flow.Subscription() {
+                public void request(long n) { }
+                public void cancel() { }
+            });
+            subscriber.onError(new IllegalStateException("Operator allows one subscriber"));
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                synchronized (this) {
+                    error = new IllegalArgumentException("request must be positive: " + n);
+                    done = true;
+                }
+            } else {
+                synchronized (this) {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+                demandAdded();
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            Flow.Subscription subscription;
+            synchronized (this) {
+                subscription = upstream;
+            }
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            stopped();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            synchronized (this) {
+                error = throwable;
+                done = true;
+            }
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                done = true;
+            }
+            drain();
+        }
+
+        protected void drain() {
+            if (wip.getAndIncrement() == 0) {
+                OPERATORS.execute(this::drainLoop);
+            }
+        }
+
+        private void drainLoop() {
+            do {
+                while (!terminated && !cancelled && downstream != null) {
+                    R next;
+                    boolean finish;
+                    Throwable failure;
+                    synchronized (this) {
+                        next = demand > 0 ? poll() : null;
+                        if (next != null && demand != Long.MAX_VALUE) {
+                            demand--;
+                        }
+                        finish = next == null && done && (error != null || isEmpty());
+                        failure = error;
+                    }
+                    if (next != null) {
+                        downstream.onNext(next);
+                    } else if (finish) {
+                        terminated = true;
+                        stopped();
+                        if (failure != null) downstream.onError(failure);
+                        else downstream.onComplete();
+                    } else {
+                        break;
+                    }
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        /** Next item for downstream, or null; called under the lock with demand */
+        protected abstract R poll();
+
+        /** True when nothing is left to deliver; called under the lock */
+        protected abstract boolean isEmpty();
+
+        protected void upstreamReady() {
+        }
+
+        protected void demandAdded() {
+        }
+
+        protected void stopped() {
+        }
+    }
+
+    /**
+     * Folds every upstream item into a state and delivers only the latest
+     * state; upstream is drained at full speed, so nothing backs up
+     */
+    public static final class Conflater<T, R> extends Operator<T, R> {
+        private final BiFunction<R, T, R> accumulator;
+        private R state;
+        private boolean changed;
+        private long folded;
+
+        Conflater(R initial, BiFunction<R, T, R> accumulator) {
+            this.state = initial;
+            this.changed = initial != null;
+            this.accumulator = accumulator;
+        }
+
+        @Override
+        protected void upstreamReady() {
+            upstream.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(T item) {
+            boolean wanted;
+            synchronized (this) {
+                state = accumulator.apply(state, item);
+                changed = true;
+                folded++;
+                wanted = demand > 0;
+            }
+            // Without demand the next request delivers the state
+            if (wanted) {
+                drain();
+            }
+        }
+
+        @Override
+        protected R poll() {
+            if (!changed) return null;
+            changed = false;
+            return state;
+        }
+
+        @Override
+        protected boolean isEmpty() {
+            return !changed;
+        }
+
+        /**
+         * @return upstream items folded so far
+         */
+        public synchronized long getFoldedCount() {
+            return folded;
+        }
+    }
+
+    /**
+     * Groups items into lists of up to maxSize; requests upstream only what
+     * downstream demand can absorb, and flushes a partial list after maxDelay
+     */
+    public static final class Batcher<T> extends Operator<T, List<T>> {
+        private final int maxSize;
+        private final long delayNanos;
+        private final ArrayDeque<List<T>> ready = new ArrayDeque<>();
+        private List<T> current;
+        private long currentStarted;
+        private long outstanding; // requested from upstream, not yet received
+        private long buffered;    // received, not yet delivered
+        private ScheduledFuture<?> timer;
+
+        Batcher(int maxSize, Duration maxDelay) {
+            if (maxSize < 1) {
+                throw new IllegalArgumentException("Batch size must be at least 1");
+            }
+            this.maxSize = maxSize;
+            this.delayNanos = maxDelay.toNanos();
+            this.current = new ArrayList<>(maxSize);
+        }
+
+        @Override
+        protected void upstreamReady() {
+            long period = Math.max(1, delayNanos / 2);
+            synchronized (this) {
+                timer = TIMER.scheduleAtFixedRate(this::flushIfOld, period, period, TimeUnit.NANOSECONDS);
+            }
+            demandAdded();
+        }
+
+        @Override
+        protected void demandAdded() {
+            long request;
+            Flow.Subscription subscription;
+            synchronized (this) {
+                subscription = upstream;
+                if (subscription == null) return;
+                long wanted = demand >= Long.MAX_VALUE / maxSize ? Long.MAX_VALUE : demand * maxSize;
+                request = wanted == Long.MAX_VALUE ? Long.MAX_VALUE : wanted - outstanding - buffered;
+                if (request <= 0 || outstanding == Long.MAX_VALUE) return;
+                outstanding = request == Long.MAX_VALUE ? Long.MAX_VALUE : outstanding + request;
+            }
+            subscription.request(request);
+        }
+
+        @Override
+        public void onNext(T item) {
+            synchronized (this) {
+                if (outstanding != Long.MAX_VALUE) {
+                    outstanding--;
+                }
+                buffered++;
+                if (current.isEmpty()) {
+                    currentStarted = System.nanoTime();
+                }
+                current.add(item);
+                if (current.size() == maxSize) {
+                    ready.add(current);
+                    current = new ArrayList<>(maxSize);
+                }
+            }
+            drain();
+        }
+
+        private void flushIfOld() {
+            synchronized (this) {
+                if (current.isEmpty() || System.nanoTime() - currentStarted < delayNanos) return;
+                ready.add(current);
+                current = new ArrayList<>(maxSize);
+            }
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                if (!current.isEmpty()) {
+                    ready.add(current);
+                    current = new ArrayList<>(maxSize);
+                }
+            }
+            super.onComplete();
+        }
+
+        @Override
+        protected List<T> poll() {
+            List<T> batch = ready.poll();
+            if (batch != null) {
+                buffered -= batch.size();
+            }
+            return batch;
+        }
+
+        @Override
+        protected boolean isEmpty() {
+            return ready.isEmpty();
+        }
+
+        @Override
+        protected void stopped() {
+            synchronized (this) {
+                if (timer != null) {
+                    timer.cancel(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Plays a headless game into a fast, a slow, a batching and a conflating subscriber
+     */
+    public static void main(String[] args) throws Exception {
+        int rolls = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        GameModel model = new GameModel(false, GameSetup.MARATHON_ROUNDS);
+        GameEventPublisher publisher = new GameEventPublisher(model);
+        CountDownLatch finished = new CountDownLatch(4);
+
+        long[] fast = new long[1];
+        publisher.subscribe(new CountingSubscriber<>(finished, item -> fast[0]++, Long.MAX_VALUE));
+        long[] slow = new long[1];
+        publisher.subscribe(new CountingSubscriber<>(finished, item -> {
+            slow[0]++;
+            sleep(1);
+        }, 1));
+        long[] batches = new long[2];
+        publisher.batches(256, Duration.ofMillis(20))
+                 .subscribe(new CountingSubscriber<>(finished, batch -> {
+                     batches[0]++;
+                     batches[1] += batch.size();
+                     sleep(1);
+                 }, 1));
+        long[] boards = new long[1];
+        Scoreboard[] latest = new Scoreboard[1];
+        publisher.scoreboards().subscribe(new CountingSubscriber<>(finished, board -> {
+            boards[0]++;
+            latest[0] = board;
+            sleep(2);
+        }, 1));
+
+        SplittableRandom random = new SplittableRandom(42);
+        long start = System.nanoTime();
+        for (int i = 0; i < rolls && !model.isGameEnded(); i++) {
+            model.applyRoll(random.nextInt(Dice.SIDES) + 1, random.nextInt(Dice.SIDES) + 1);
+            // Roughly the pace of auto play with a live view
+            LockSupport.parkNanos(50_000);
+        }
+        double playSeconds = (System.nanoTime() - start) / 1e9;
+        publisher.close();
+        finished.await();
+
+        System.out.printf("%,d rolls played in %.2f s; %,d events dropped for subscribers with a full buffer%n",
+                          rolls, playSeconds, publisher.getDroppedCount());
+        System.out.printf("Fast subscriber:       %,d events%n", fast[0]);
+        System.out.printf("Slow subscriber (1 ms): %,d events (the rest were dropped)%n", slow[0]);
+        System.out.printf("Batching (256, 20 ms): %,d batches, %,d events%n", batches[0], batches[1]);
+        System.out.printf("Conflated scoreboards (2 ms): %,d states; last %s (model: round %d, %d - %d)%n",
+                          boards[0], latest[0], Math.min(model.getCurrentRound(), model.getMaxRounds()),
+                          model.getPlayer1().getScore(), model.getPlayer2().getScore());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Requests a fixed number of items at a time and counts down when done
+     */
+    private static class CountingSubscriber<T> implements Flow.Subscriber<T> {
+        private final CountDownLatch finished;
+        private final java.util.function.Consumer<T> action;
+        private final long batch;
+        private Flow.Subscription subscription;
+
+        CountingSubscriber(CountDownLatch finished, java.util.function.Consumer<T> action, long batch) {
+            this.finished = finished;
+            this.action = action;
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(batch);
+        }
+
+        @Override
+        public void onNext(T item) {
+            action.accept(item);
+            if (batch != Long.MAX_VALUE) {
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            System.err.println(throwable);
+            finished.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            finished.countDown();
+        }
+    }
+}
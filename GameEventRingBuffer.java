@@ -0,0 +1,513 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Single-producer, multi-consumer ring of game events (Disruptor style)
+ *
+ * The ring holds pre-allocated slots that the producer overwrites in
+ * place, so publishing allocates nothing. Every consumer runs on its own
+ * thread with its own sequence and handles events in batches; the producer
+ * only reuses a slot once the slowest consumer has moved past it. How idle
+ * consumers wait is set by a WaitStrategy. In drop mode the producer never
+ * waits: when the ring is full the event is counted as dropped instead, so
+ * a stuck spectator cannot stall a game.
+ *
+ * Only one thread may publish at a time. A GameModel qualifies: the EDT and
+ * an AutoPlayer take turns and hand over through Thread start/join.
+ * Usage: java GameEventRingBuffer [millions of events]
+ */
+public class GameEventRingBuffer implements GameListener {
+
+    private final Slot[] slots;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final boolean dropWhenFull;
+    private final Sequence cursor = new Sequence(-1);
+
+    // Consumer sequences the producer must not overtake (copy on write)
+    private volatile Sequence[] gating = new Sequence[0];
+    private final List<Processor> processors = new ArrayList<>();
+
+    // Producer state
+    private long claimed = -1;
+    private long cachedGate = -1;
+    private volatile long dropped;
+
+    /**
+     * Pre-allocated event slot; valid only inside EventHandler.onEvent
+     */
+    public static final class Slot {
+        private GameModel source;
+        private GameEvent.Type type;
+        private Player player;
+        private int die1, die2, points, round;
+
+        public GameModel getSource() {
+            return source;
+        }
+
+        public GameEvent.Type getType() {
+            return type;
+        }
+
+        public Player getPlayer() {
+            return player;
+        }
+
+        public int getDie1() {
+            return die1;
+        }
+
+        public int getDie2() {
+            return die2;
+        }
+
+        /**
+         * @return points of the roll for ROLL events, the new total for SCORE events
+         */
+        public int getPoints() {
+            return points;
+        }
+
+        public int getRound() {
+            return round;
+        }
+
+        public boolean isDouble() {
+            return die1 != 0 && die1 == die2;
+        }
+    }
+
+    /**
+     * Receives events on its consumer thread
+     */
+    public interface EventHandler {
+        /**
+         * @param endOfBatch true for the last event available when the batch started
+         */
+        void onEvent(Slot event, long sequence, boolean endOfBatch);
+    }
+
+    /**
+     * Sequence number padded onto its own cache line
+     */
+    public static final class Sequence {
+        private static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(Sequence.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        long p1, p2, p3, p4, p5, p6, p7;
+        private volatile long value;
+        long p9, p10, p11, p12, p13, p14, p15;
+
+        Sequence(long initial) {
+            value = initial;
+        }
+
+        public long get() {
+            return value;
+        }
+
+        void setRelease(long newValue) {
+            VALUE.setRelease(this, newValue);
+        }
+    }
+
+    /**
+     * How a consumer waits for the producer
+     */
+    public interface WaitStrategy {
+        /**
+         * Wait until the cursor reaches sequence or running turns false
+         * @return highest published sequence (below sequence if stopped)
+         */
+        long waitFor(long sequence, Sequence cursor, BooleanSupplier running);
+
+        /**
+         * Called by the producer after every publish
+         */
+        default void signalAll() {
+        }
+
+        /**
+         * Lowest latency; burns a core per consumer
+         */
+        static WaitStrategy busySpin() {
+            return (sequence, cursor, running) -> {
+                long available;
+                while ((available = cursor.get()) < sequence && running.getAsBoolean()) {
+                    Thread.onSpinWait();
+                }
+                return available;
+            };
+        }
+
+        /**
+         * Spins briefly, then yields the core to other threads
+         */
+        static WaitStrategy yielding() {
+            return (sequence, cursor, running) -> {
+                long available;
+                int spins = 100;
+                while ((available = cursor.get()) < sequence && running.getAsBoolean()) {
+                    if (spins > 0) {
+                        spins--;
+                        Thread.onSpinWait();
+                    } else {
+                        Thread.yield();
+                    }
+                }
+                return available;
+            };
+        }
+
+        /**
+         * Spins, yields, then parks briefly; little CPU when idle
+         */
+        static WaitStrategy sleeping() {
+            return (sequence, cursor, running) -> {
+                long available;
+                int tries = 200;
+                while ((available = cursor.get()) < sequence && running.getAsBoolean()) {
+                    if (tries > 100) {
+                        tries--;
+                        Thread.onSpinWait();
+                    } else if (tries > 0) {
+                        tries--;
+                        Thread.yield();
+                    } else {
+                        LockSupport.parkNanos(100_000);
+                    }
+                }
+                return available;
+            };
+        }
+
+        /**
+         * Sleeps on a condition; the producer signals only when someone waits
+         */
+        static WaitStrategy blocking() {
+            return new WaitStrategy() {
+                private final ReentrantLock lock = new ReentrantLock();
+                private final Condition published = lock.newCondition();
+                private final AtomicBoolean waiting = new AtomicBoolean();
+
+                @Override
+                public long waitFor(long sequence, Sequence cursor, BooleanSupplier running) {
+                    long available;
+                    while ((available = cursor.get()) < sequence && running.getAsBoolean()) {
+                        lock.lock();
+                        try {
+                            waiting.set(true);
+                            if (cursor.get() < sequence && running.getAsBoolean()) {
+                                published.awaitNanos(1_000_000);
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return cursor.get();
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                    return available;
+                }
+
+                @Override
+                public void signalAll() {
+                    if (waiting.getAndSet(false)) {
+                        lock.lock();
+                        try {
+                            published.signalAll();
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                }
+            };
+        }
+    }
+
+    /**
+     * Consumer thread running one handler
+     */
+    private final class Processor implements Runnable {
+        final EventHandler handler;
+        final Sequence sequence;
+        final Thread thread;
+        volatile boolean running = true;
+
+        Processor(EventHandler handler, Sequence sequence, String name) {
+            this.handler = handler;
+            this.sequence = sequence;
+            thread = new Thread(this, name);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            while (true) {
+                long available = waitStrategy.waitFor(next, cursor, () -> running);
+                if (available < next) {
+                    if (!running) return;
+                    continue;
+                }
+                for (long s = next; s <= available; s++) {
+                    try {
+                        handler.onEvent(slots[(int) s & mask], s, s == available);
+                    } catch (RuntimeException e) {
+                        // A failing handler must keep its sequence moving or the ring would stall
+                        System.err.println(thread.getName() + ": " + e);
+                    }
+                }
+                sequence.setRelease(available);
+                next = available + 1;
+            }
+        }
+    }
+
+    /**
+     * @param capacity slots in the ring, rounded up to a power of two
+     * @param dropWhenFull drop events instead of waiting for slow consumers
+     */
+    public GameEventRingBuffer(int capacity, WaitStrategy waitStrategy, boolean dropWhenFull) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        mask = size - 1;
+        this.waitStrategy = waitStrategy;
+        this.dropWhenFull = dropWhenFull;
+    }
+
+    /**
+     * Start a consumer thread; it receives events published from now on
+     * @return handle for removeHandler
+     */
+    public synchronized Object addHandler(EventHandler handler, String name) {
+        Sequence sequence = new Sequence(cursor.get());
+        Sequence[] updated = Arrays.copyOf(gating, gating.length + 1);
+        updated[gating.length] = sequence;
+        gating = updated;
+        // The producer may have moved on before it saw the new gate
+        sequence.setRelease(cursor.get());
+        Processor processor = new Processor(handler, sequence, name);
+        processors.add(processor);
+        processor.thread.start();
+        return processor;
+    }
+
+    /**
+     * Stop a consumer after it has handled what was already published
+     */
+    public void removeHandler(Object handle) {
+        Processor processor = (Processor) handle;
+        synchronized (this) {
+            if (!processors.remove(processor)) return;
+        }
+        stop(processor);
+        synchronized (this) {
+            List<Sequence> remaining = new ArrayList<>(Arrays.asList(gating));
+            remaining.remove(processor.sequence);
+            gating = remaining.toArray(new Sequence[0]);
+        }
+    }
+
+    private void stop(Processor processor) {
+        // Let it drain what was published before stopping it
+        while (processor.sequence.get() < cursor.get() && processor.thread.isAlive()) {
+            Thread.onSpinWait();
+        }
+        processor.running = false;
+        waitStrategy.signalAll();
+        try {
+            processor.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stop every consumer once it has caught up; blocks until all of them
+     * have drained the ring, so it is meant for benchmarks (see shutdownNow)
+     */
+    public void halt() {
+        List<Processor> stopping;
+        synchronized (this) {
+            stopping = new ArrayList<>(processors);
+        }
+        for (Processor processor : stopping) {
+            removeHandler(processor);
+        }
+    }
+
+    /**
+     * Stop every consumer without waiting: events not yet handled are
+     * abandoned and a batch in progress is finished on the consumer's own
+     * thread. Safe to call from the EDT.
+     */
+    public void shutdownNow() {
+        List<Processor> stopping;
+        synchronized (this) {
+            stopping = new ArrayList<>(processors);
+            processors.clear();
+            // The producer no longer waits for the stopped consumers
+            gating = new Sequence[0];
+        }
+        for (Processor processor : stopping) {
+            processor.running = false;
+        }
+        waitStrategy.signalAll();
+    }
+
+    @Override
+    public void gameChanged(GameEvent event) {
+        publish(event.getSource(), event.getType(), event.getPlayer(),
+                event.getDie1(), event.getDie2(), event.getPoints(), event.getRound());
+    }
+
+    /**
+     * Copy an event into the next slot (producer thread only)
+     * @return false if the ring was full and the event was dropped
+     */
+    public boolean publish(GameModel source, GameEvent.Type type, Player player,
+                           int die1, int die2, int points, int round) {
+        long next = claimed + 1;
+        long wrapPoint = next - slots.length;
+        if (wrapPoint > cachedGate) {
+            long gate;
+            while (wrapPoint > (gate = minimumGate(claimed))) {
+                if (dropWhenFull) {
+                    dropped++;
+                    return false;
+                }
+                LockSupport.parkNanos(1);
+            }
+            cachedGate = gate;
+        }
+        Slot slot = slots[(int) next & mask];
+        slot.source = source;
+        slot.type = type;
+        slot.player = player;
+        slot.die1 = die1;
+        slot.die2 = die2;
+        slot.points = points;
+        slot.round = round;
+        claimed = next;
+        cursor.setRelease(next);
+        waitStrategy.signalAll();
+        return true;
+    }
+
+    private long minimumGate(long fallback) {
+        long minimum = fallback;
+        for (Sequence sequence : gating) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * @return sequence of the last published event
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped;
+    }
+
+    public synchronized int getHandlerCount() {
+        return processors.size();
+    }
+
+    /**
+     * Headless games feeding four consumers, once per wait strategy, plus a
+     * bare publish loop for the ring's own ceiling
+     */
+    public static void main(String[] args) {
+        long events = (long) ((args.length > 0 ? Double.parseDouble(args[0]) : 20) * 1_000_000);
+        String[] names = { "busy-spin", "yielding", "sleeping", "blocking" };
+        for (int s = 0; s < names.length; s++) {
+            WaitStrategy strategy = s == 0 ? WaitStrategy.busySpin() : s == 1 ? WaitStrategy.yielding()
+                                  : s == 2 ? WaitStrategy.sleeping() : WaitStrategy.blocking();
+            GameEventRingBuffer ring = new GameEventRingBuffer(1 << 14, strategy, false);
+
+            // Statistics aggregator, round tracker, spectator checksum, batch counter
+            long[] rolls = new long[2], points = new long[1], rounds = new long[1];
+            long[] checksum = new long[1], batches = new long[1], seen = new long[1];
+            ring.addHandler((event, sequence, end) -> {
+                if (event.getType() == GameEvent.Type.ROLL) {
+                    rolls[0]++;
+                    if (event.isDouble()) rolls[1]++;
+                    points[0] += event.getPoints();
+                }
+            }, "ring-statistics");
+            ring.addHandler((event, sequence, end) -> {
+                if (event.getType() == GameEvent.Type.ROUND) rounds[0]++;
+            }, "ring-rounds");
+            ring.addHandler((event, sequence, end) ->
+                checksum[0] = checksum[0] * 31 + event.getDie1() * 8 + event.getDie2(), "ring-spectator");
+            ring.addHandler((event, sequence, end) -> {
+                seen[0]++;
+                if (end) batches[0]++;
+            }, "ring-batches");
+
+            GameModel model = new GameModel(false, GameSetup.MARATHON_ROUNDS);
+            model.addGameListener(ring);
+            SplittableRandom random = new SplittableRandom(42);
+            long start = System.nanoTime();
+            while (ring.getCursor() + 1 < events) {
+                if (model.isGameEnded()) {
+                    model.reset();
+                }
+                model.applyRoll(random.nextInt(Dice.SIDES) + 1, random.nextInt(Dice.SIDES) + 1);
+            }
+            long published = ring.getCursor() + 1;
+            double produced = (System.nanoTime() - start) / 1e9;
+            ring.halt();
+            double consumed = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-9s  %,6.2f M events/s through 4 consumers (game thread %.2f s, drained %.2f s), "
+                              + "avg batch %.1f, %,d rolls %.2f%% doubles, %,d rounds, all seen: %b%n",
+                              names[s], published / consumed / 1e6, produced, consumed,
+                              (double) seen[0] / Math.max(1, batches[0]), rolls[0],
+                              100.0 * rolls[1] / Math.max(1, rolls[0]), rounds[0], seen[0] == published);
+        }
+
+        // Raw ring: no game logic on the producer side
+        GameEventRingBuffer ring = new GameEventRingBuffer(1 << 14, WaitStrategy.yielding(), false);
+        long[] sum = new long[3];
+        for (int c = 0; c < 3; c++) {
+            int consumer = c;
+            ring.addHandler((event, sequence, end) -> sum[consumer] += event.getPoints(), "ring-raw-" + c);
+        }
+        long start = System.nanoTime();
+        for (long i = 0; i < events; i++) {
+            ring.publish(null, GameEvent.Type.ROLL, null, 1, 2, (int) i, 1);
+        }
+        ring.halt();
+        System.out.printf("raw        %,6.2f M events/s to 3 consumers%n",
+                          events / ((System.nanoTime() - start) / 1e9) / 1e6);
+    }
+}
@@ -0,0 +1,403 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP JSON API for headless classic games
+ *
+ *   POST   /games?mode=single|two&rounds=N   create a game (as in GameSetup)
+ *   GET    /games/{id}                       state
+ *   POST   /games/{id}/roll                  roll for the current player; in
+ *                                            single mode the computer answers
+ *   GET    /games/{id}/result                winner and final scores
+ *   DELETE /games/{id}                       forget a game
+ *
+ * Dice come from RollCommitment: a new game carries the commitment to its
+ * secret seed, and the result reveals the seed and the chain head so
+ * players can check every roll. Events of all games are published to one
+ * spectator feed (see getSpectatorFeed). Parameters may also be sent as a form body. Responses are encoded with
+ * pooled JsonWriters, so a request allocates little beyond what the JDK
+ * server itself needs. Requests run on virtual threads when the JVM has
+ * them and on a fixed pool otherwise.
+ * Usage: java GameHttpServer [port] [threads]
+ */
+public class GameHttpServer {
+
+    public static final int DEFAULT_PORT = 8085;
+    public static final int MAX_GAMES = 100_000;
+    private static final int MAX_BODY = 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<Long, GameModel> games = new ConcurrentHashMap<>();
+    private final Map<Long, RollCommitment.Table> dice = new ConcurrentHashMap<>();
+    private final RollCommitment commitments = new RollCommitment();
+    // Events of every game for spectators; drops rather than stalling requests
+    private final GameEventRingBuffer spectatorFeed =
+        new GameEventRingBuffer(1 << 16, GameEventRingBuffer.WaitStrategy.sleeping(), true);
+    // The ring takes one producer at a time, and games roll on many request threads
+    private final GameListener feedPublisher = event -> {
+        synchronized (spectatorFeed) {
+            spectatorFeed.gameChanged(event);
+        }
+    };
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * Error answered with a status code and a JSON message
+     */
+    private static class ApiException extends Exception {
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Bind the server; it serves once start() is called
+     * @param threads request threads when virtual threads are unavailable
+     */
+    public GameHttpServer(InetSocketAddress address, int threads) throws IOException {
+        // Headers and body go out in separate writes; without TCP_NODELAY
+        // every response waits for the client's delayed ACK (~40 ms)
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(address, 1024);
+        executor = newRequestExecutor(threads);
+        server.setExecutor(executor);
+        server.createContext("/games", this::handle);
+    }
+
+    /**
+     * Virtual thread per request where available (Java 21+), else a fixed pool
+     */
+    static ExecutorService newRequestExecutor(int threads) {
+        try {
+            return (ExecutorService) MethodHandles.publicLookup()
+                .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                            MethodType.methodType(ExecutorService.class))
+                .invoke();
+        } catch (Throwable e) {
+            return Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "game-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public GameHttpServer start() {
+        server.start();
+        return this;
+    }
+
+    public void stop() {
+        server.stop(0);
+        commitments.close();
+        spectatorFeed.shutdownNow();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public int getGameCount() {
+        return games.size();
+    }
+
+    /**
+     * Roll, score, turn and round events of every game on this server;
+     * the slot's source tells the games apart
+     */
+    public GameEventRingBuffer getSpectatorFeed() {
+        return spectatorFeed;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        JsonWriter json = JsonWriter.obtain();
+        int status = 200;
+        try {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            // path[0] is empty, path[1] is "games"
+            if (path.length < 2 || !path[1].equals("games")) {
+                throw new ApiException(404, "Unknown resource");
+            } else if (path.length == 2) {
+                require(method, "POST");
+                status = 201;
+                create(parameters(exchange), json);
+            } else {
+                long id = parseId(path[2]);
+                GameModel model = games.get(id);
+                if (model == null) {
+                    throw new ApiException(404, "No game " + id);
+                }
+                String action = path.length > 3 ? path[3] : "";
+                if (path.length > 4) {
+                    throw new ApiException(404, "Unknown resource");
+                }
+                switch (action) {
+                    case "":
+                        if (method.equals("DELETE")) {
+                            games.remove(id);
+                            dice.remove(id);
+                            json.beginObject().name("id").value(id).name("deleted").value(true).endObject();
+                        } else {
+                            require(method, "GET");
+                            synchronized (model) {
+                                writeState(id, model, json);
+                            }
+                        }
+                        break;
+                    case "roll":
+                        require(method, "POST");
+                        roll(id, model, json);
+                        break;
+                    case "result":
+                        require(method, "GET");
+                        result(id, model, json);
+                        break;
+                    default:
+                        throw new ApiException(404, "Unknown resource " + action);
+                }
+            }
+        } catch (ApiException e) {
+            status = e.status;
+            json.clear().beginObject().name("error").value(e.getMessage()).endObject();
+        } catch (RuntimeException e) {
+            status = 500;
+            json.clear().beginObject().name("error").value(String.valueOf(e)).endObject();
+        }
+
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, json.size());
+            try (OutputStream out = exchange.getResponseBody()) {
+                json.writeTo(out);
+            }
+        } finally {
+            json.release();
+            exchange.close();
+        }
+    }
+
+    private static void require(String method, String expected) throws ApiException {
+        if (!method.equals(expected)) {
+            throw new ApiException(405, method + " not allowed here, use " + expected);
+        }
+    }
+
+    private static long parseId(String text) throws ApiException {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new ApiException(404, "No game " + text);
+        }
+    }
+
+    /**
+     * Query string parameters merged with a form-encoded body
+     */
+    private static Map<String, String> parameters(HttpExchange exchange) throws IOException, ApiException {
+        Map<String, String> parameters = new HashMap<>();
+        parse(exchange.getRequestURI().getRawQuery(), parameters);
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY + 1);
+            if (body.length > MAX_BODY) {
+                throw new ApiException(413, "Request body too large");
+            }
+            parse(new String(body, StandardCharsets.UTF_8), parameters);
+        }
+        return parameters;
+    }
+
+    private static void parse(String text, Map<String, String> parameters) {
+        if (text == null || text.isEmpty()) return;
+        for (String pair : text.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            parameters.put(URLDecoder.decode(key, StandardCharsets.UTF_8).trim(),
+                           URLDecoder.decode(value, StandardCharsets.UTF_8).trim());
+        }
+    }
+
+    private void create(Map<String, String> parameters, JsonWriter json) throws ApiException {
+        String mode = parameters.getOrDefault("mode", "single");
+        if (!mode.equals("single") && !mode.equals("two")) {
+            throw new ApiException(400, "mode must be single or two");
+        }
+        int rounds;
+        try {
+            rounds = Integer.parseInt(parameters.getOrDefault("rounds", "5"));
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "rounds must be a number");
+        }
+        if (rounds < 1 || rounds > GameSetup.MAX_ROUNDS) {
+            throw new ApiException(400, "rounds must be between 1 and " + GameSetup.MAX_ROUNDS);
+        }
+        if (games.size() >= MAX_GAMES) {
+            throw new ApiException(503, "Too many open games, delete finished ones");
+        }
+        long id = nextId.getAndIncrement();
+        GameModel model = new GameModel(mode.equals("two"), rounds);
+        model.addGameListener(feedPublisher);
+        dice.put(id, commitments.open(id));
+        games.put(id, model);
+        writeState(id, model, json);
+    }
+
+    private void roll(long id, GameModel model, JsonWriter json) throws ApiException {
+        synchronized (model) {
+            if (model.isGameEnded()) {
+                throw new ApiException(409, "Game " + id + " has ended");
+            }
+            RollCommitment.Table table = dice.get(id);
+            json.beginObject().name("rolls").beginArray();
+            rollOnce(model, table, json);
+            // The computer answers straight away, as in the window
+            if (!model.isTwoPlayerMode() && !model.isPlayer1Turn() && !model.isGameEnded()) {
+                rollOnce(model, table, json);
+            }
+            if (model.isGameEnded()) {
+                table.finish();
+            }
+            json.endArray().name("game");
+            writeState(id, model, json);
+            json.endObject();
+        }
+    }
+
+    private static void rollOnce(GameModel model, RollCommitment.Table table, JsonWriter json) {
+        int[] roll = table.roll();
+        model.applyRoll(roll[0], roll[1]);
+        writeLastRoll(model, json);
+    }
+
+    private static void writeLastRoll(GameModel model, JsonWriter json) {
+        json.beginObject()
+            .name("player").value(model.getLastRoller().getName())
+            .name("die1").value(model.getLastDie1())
+            .name("die2").value(model.getLastDie2())
+            .name("points").value(model.getLastRollScore())
+            .endObject();
+    }
+
+    private void result(long id, GameModel model, JsonWriter json) throws ApiException {
+        CompletableFuture<RollCommitment.Proof> finished;
+        synchronized (model) {
+            if (!model.isGameEnded()) {
+                throw new ApiException(409, "Game " + id + " is still in round " + model.getCurrentRound());
+            }
+            finished = dice.get(id).finish();
+        }
+        // Wait without the lock so other requests for this game are not held up
+        RollCommitment.Proof proof;
+        try {
+            // Usually ready: chains are hashed within a few milliseconds of the last roll
+            proof = finished.get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(503, "Proof of game " + id + " is not ready");
+        } catch (ExecutionException | TimeoutException e) {
+            throw new ApiException(503, "Proof of game " + id + " is not ready");
+        }
+        synchronized (model) {
+            Player winner = model.getWinner();
+            json.beginObject()
+                .name("id").value(id)
+                .name("winner").value(winner == null ? null : winner.getName())
+                .name("tie").value(winner == null)
+                .name("rounds").value(model.getMaxRounds());
+            writePlayers(model, json);
+            json.name("proof").beginObject()
+                .name("commitment").hexValue(proof.getCommitment())
+                .name("seed").hexValue(proof.getSeed())
+                .name("chainHead").hexValue(proof.getHead())
+                .name("rolls").value(proof.getRollCount())
+                .endObject();
+            json.endObject();
+        }
+    }
+
+    private void writeState(long id, GameModel model, JsonWriter json) {
+        json.beginObject()
+            .name("id").value(id)
+            .name("mode").value(model.isTwoPlayerMode() ? "two" : "single")
+            .name("rounds").value(model.getMaxRounds())
+            .name("round").value(Math.min(model.getCurrentRound(), model.getMaxRounds()))
+            .name("finished").value(model.isGameEnded())
+            .name("turn").value(model.isGameEnded() ? null : model.getCurrentPlayer().getName());
+        writePlayers(model, json);
+        json.name("lastRoll");
+        if (model.getLastRoller() == null) {
+            json.nullValue();
+        } else {
+            writeLastRoll(model, json);
+        }
+        RollCommitment.Table table = dice.get(id);
+        json.name("commitment");
+        if (table == null) {
+            json.nullValue(); // deleted meanwhile
+        } else {
+            json.hexValue(table.getCommitment());
+        }
+        json.endObject();
+    }
+
+    private static void writePlayers(GameModel model, JsonWriter json) {
+        json.name("players").beginArray();
+        for (Player player : new Player[] { model.getPlayer1(), model.getPlayer2() }) {
+            json.beginObject()
+                .name("name").value(player.getName())
+                .name("score").value(player.getScore())
+                .name("rolls").value(player.getRollCount())
+                .name("doubles").value(player.getDoublesCount())
+                .endObject();
+        }
+        json.endArray();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int threads = args.length > 1 ? Integer.parseInt(args[1])
+                                      : Runtime.getRuntime().availableProcessors() * 2;
+        GameHttpServer server = new GameHttpServer(new InetSocketAddress(port), threads).start();
+        System.out.printf("Dice game API on http://localhost:%d/games%n", server.getPort());
+        System.out.printf("  curl -X POST 'http://localhost:%d/games?mode=single&rounds=5'%n", server.getPort());
+        System.out.printf("  curl -X POST http://localhost:%d/games/1/roll%n", server.getPort());
+    }
+}
@@ -0,0 +1,624 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.CRC32;
+
+/**
+ * Crash-safe journal of in-progress classic games ("tables")
+ *
+ * Every change of an attached GameModel is appended to a write-ahead log:
+ * the full table state when a game starts or is reset, then one small
+ * record per roll. A single writer thread drains everything appended since
+ * its last write and makes it durable with one fsync (group commit), so
+ * many tables share each fsync. The writer also keeps a shadow copy of
+ * every live table and periodically writes it as a compact snapshot, after
+ * which the log is truncated. Recovery loads the snapshot, replays the log
+ * records after it (stopping at the first torn or corrupt record) and
+ * hands back the unfinished games.
+ */
+public class GameJournal implements AutoCloseable {
+
+    private static final int SNAPSHOT_MAGIC = 0x444a534e; // "DJSN"
+    private static final int VERSION = 1;
+    private static final int SNAPSHOT_INTERVAL = 10_000; // records between snapshots
+
+    private static final byte STATE = 1;
+    private static final byte ROLL = 2;
+    private static final byte REMOVE = 3;
+
+    private static final int RECORD_HEADER = 4 + 4 + 8 + 1; // length, crc, sequence, type
+
+    private static CompletableFuture<GameJournal> shared;
+
+    private final Path logFile;
+    private final Path snapshotFile;
+    private final FileChannel log;
+
+    // Live tables as of the last durable record (owned by the writer thread after open)
+    private final Map<Long, GameModel> tables = new HashMap<>();
+
+    // Games recovered at open that have not been resumed or discarded
+    private final Map<GameModel, Long> recovered = new IdentityHashMap<>();
+
+    // Attached models and their listeners (EDT or caller threads)
+    private final Map<GameModel, Long> attached = new IdentityHashMap<>();
+    private final Map<GameModel, GameListener> listeners = new IdentityHashMap<>();
+
+    // Appended records waiting for the writer, guarded by this
+    private List<Pending> pending = new ArrayList<>();
+    private long nextSequence;
+    private long nextTableId;
+    private boolean closed;
+
+    private final Thread writer;
+    private boolean writing; // guarded by this
+    private long lastAppliedSequence = -1;
+    private long snapshotSequence;
+    private long recordsSinceSnapshot;
+    private volatile long fsyncCount;
+    private volatile long recordCount;
+    private final double recoveryMillis;
+
+    /**
+     * Record waiting to be written, completed once it is durable
+     */
+    private static class Pending {
+        final byte[] record;
+        final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+        Pending(byte[] record) {
+            this.record = record;
+        }
+    }
+
+    /**
+     * Open (or create) the journal in a directory and recover its tables
+     */
+    public GameJournal(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        logFile = directory.resolve("games.wal");
+        snapshotFile = directory.resolve("games.snapshot");
+
+        long start = System.nanoTime();
+        snapshotSequence = loadSnapshot();
+        log = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                               StandardOpenOption.WRITE);
+        long validEnd = replayLog();
+        // Drop a torn tail so new records follow the last valid one
+        log.truncate(validEnd);
+        log.position(validEnd);
+        recoveryMillis = (System.nanoTime() - start) / 1e6;
+
+        for (Map.Entry<Long, GameModel> table : tables.entrySet()) {
+            nextTableId = Math.max(nextTableId, table.getKey() + 1);
+            recovered.put(copy(table.getValue()), table.getKey());
+        }
+
+        writer = new Thread(this::writeLoop, "game-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Journal in ~/.dicegame/journal shared by all windows, opened (and its
+     * log replayed) on a background thread; completes with null if it cannot
+     * be opened (games are then simply not journaled)
+     */
+    public static synchronized CompletableFuture<GameJournal> shared() {
+        if (shared == null) {
+            shared = CompletableFuture.supplyAsync(() -> {
+                try {
+                    GameJournal journal = new GameJournal(Paths.get(System.getProperty("user.home"), ".dicegame", "journal"));
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                        try {
+                            journal.close();
+                        } catch (IOException e) {
+                            // Nothing more can be done while the JVM exits
+                        }
+                    }, "game-journal-shutdown"));
+                    return journal;
+                } catch (IOException e) {
+                    System.err.println("Game journal disabled: " + e.getMessage());
+                    return null;
+                }
+            });
+        }
+        return shared;
+    }
+
+    // ---- Recording ----
+
+    /**
+     * Journal every change of a classic-scoring game
+     * A game returned by getResumableGames keeps its table; others get a new one.
+     * @return the table id
+     */
+    public synchronized long attach(GameModel model) {
+        if (model.getScoreTable() != ScoreTable.CLASSIC) {
+            throw new IllegalArgumentException("Only classic games can be journaled");
+        }
+        Long existing = attached.get(model);
+        if (existing != null) return existing;
+
+        Long recoveredId = recovered.remove(model);
+        long tableId = recoveredId != null ? recoveredId : nextTableId++;
+        attached.put(model, tableId);
+        append(stateRecord(tableId, model));
+
+        GameListener listener = event -> {
+            switch (event.getType()) {
+                case ROLL:
+                    append(rollRecord(tableId, event.getDie1(), event.getDie2()));
+                    break;
+                case RESET:
+                    append(stateRecord(tableId, model));
+                    break;
+                case GAME_END:
+                    // Finished games are not resumable
+                    append(removeRecord(tableId));
+                    break;
+                default:
+                    break;
+            }
+        };
+        listeners.put(model, listener);
+        model.addGameListener(listener);
+        return tableId;
+    }
+
+    /**
+     * Stop journaling a game; an unfinished game stays resumable
+     */
+    public synchronized void detach(GameModel model) {
+        GameListener listener = listeners.remove(model);
+        if (listener != null) {
+            model.removeGameListener(listener);
+        }
+        Long tableId = attached.remove(model);
+        if (tableId != null && !model.isGameEnded()) {
+            recovered.put(model, tableId);
+        }
+    }
+
+    /**
+     * Forget a recovered game that the player chose not to resume
+     */
+    public synchronized void discard(GameModel model) {
+        Long tableId = recovered.remove(model);
+        if (tableId != null) {
+            append(removeRecord(tableId));
+        }
+    }
+
+    /**
+     * Unfinished games found at startup or detached since, the most recently started first
+     */
+    public synchronized List<GameModel> getResumableGames() {
+        List<GameModel> games = new ArrayList<>(recovered.keySet());
+        games.sort(Comparator.comparingLong((GameModel g) -> recovered.get(g)).reversed());
+        return games;
+    }
+
+    /**
+     * Append a record; the future completes once it has been fsynced
+     */
+    private synchronized CompletableFuture<Void> append(ByteBuffer body) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IOException("Journal is closed"));
+        }
+        byte[] record = new byte[RECORD_HEADER + body.remaining() - 1];
+        ByteBuffer buffer = ByteBuffer.wrap(record).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(record.length - 8).putInt(0).putLong(nextSequence++).put(body);
+        CRC32 crc = new CRC32();
+        crc.update(record, 8, record.length - 8);
+        buffer.putInt(4, (int) crc.getValue());
+
+        Pending entry = new Pending(record);
+        pending.add(entry);
+        notifyAll();
+        return entry.durable;
+    }
+
+    /**
+     * Wait until everything appended so far is durable
+     */
+    public void sync() {
+        CompletableFuture<Void> marker;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                marker = CompletableFuture.completedFuture(null);
+                // The writer may still be writing the last batch; wait for it too
+                while (writing) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            } else {
+                marker = pending.get(pending.size() - 1).durable;
+            }
+        }
+        marker.join();
+    }
+
+    /**
+     * Writer thread: group commit of everything appended since the last write
+     */
+    private void writeLoop() {
+        while (true) {
+            List<Pending> batch;
+            synchronized (this) {
+                while (pending.isEmpty() && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+                writing = true;
+            }
+
+            try {
+                int size = 0;
+                for (Pending entry : batch) {
+                    size += entry.record.length;
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(size);
+                for (Pending entry : batch) {
+                    buffer.put(entry.record);
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    log.write(buffer);
+                }
+                log.force(false);
+                fsyncCount++;
+                recordCount += batch.size();
+
+                for (Pending entry : batch) {
+                    ByteBuffer record = ByteBuffer.wrap(entry.record).order(ByteOrder.LITTLE_ENDIAN);
+                    record.position(8);
+                    apply(record);
+                    entry.durable.complete(null);
+                }
+                recordsSinceSnapshot += batch.size();
+                if (recordsSinceSnapshot >= SNAPSHOT_INTERVAL) {
+                    snapshot();
+                }
+            } catch (IOException | RuntimeException e) {
+                for (Pending entry : batch) {
+                    entry.durable.completeExceptionally(e);
+                }
+                System.err.println("Game journal write failed: " + e.getMessage());
+            } finally {
+                synchronized (this) {
+                    writing = false;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Write all live tables to the snapshot file and truncate the log
+     */
+    private void snapshot() throws IOException {
+        long lastSequence = lastAppliedSequence;
+        ByteBuffer buffer = ByteBuffer.allocate(64 + tables.size() * 96).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(SNAPSHOT_MAGIC).putInt(VERSION).putLong(lastSequence).putInt(tables.size());
+        for (Map.Entry<Long, GameModel> table : tables.entrySet()) {
+            buffer = ensure(buffer, 256);
+            writeState(buffer, table.getKey(), table.getValue());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer = ensure(buffer, 4);
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        // Records up to lastSequence are in the snapshot; replay skips them if the truncate is lost
+        log.truncate(0);
+        log.position(0);
+        log.force(false);
+        snapshotSequence = lastSequence;
+        recordsSinceSnapshot = 0;
+    }
+
+    // ---- Records ----
+
+    private static ByteBuffer stateRecord(long tableId, GameModel model) {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 256).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(STATE);
+        writeState(buffer, tableId, model);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static ByteBuffer rollRecord(long tableId, int die1, int die2) {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + 2).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(ROLL).putLong(tableId).put((byte) die1).put((byte) die2).flip();
+        return buffer;
+    }
+
+    private static ByteBuffer removeRecord(long tableId) {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 8).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(REMOVE).putLong(tableId).flip();
+        return buffer;
+    }
+
+    /**
+     * Apply a record (positioned at its sequence number) to the shadow tables
+     */
+    private void apply(ByteBuffer record) {
+        long sequence = record.getLong();
+        byte type = record.get();
+        lastAppliedSequence = sequence;
+        switch (type) {
+            case STATE: {
+                long tableId = record.getLong(record.position());
+                tables.put(tableId, readState(record));
+                break;
+            }
+            case ROLL: {
+                GameModel model = tables.get(record.getLong());
+                int die1 = record.get(), die2 = record.get();
+                if (model != null && !model.isGameEnded()) {
+                    model.applyRoll(die1, die2);
+                }
+                break;
+            }
+            case REMOVE:
+                tables.remove(record.getLong());
+                break;
+            default:
+                throw new IllegalStateException("Unknown journal record type " + type);
+        }
+    }
+
+    /**
+     * Full table state: id, mode, progress, last roll and both players' statistics
+     */
+    private static void writeState(ByteBuffer buffer, long tableId, GameModel model) {
+        buffer.putLong(tableId);
+        int flags = (model.isTwoPlayerMode() ? 1 : 0) | (model.isPlayer1Turn() ? 2 : 0)
+                  | (model.isGameEnded() ? 4 : 0);
+        buffer.put((byte) flags).putInt(model.getMaxRounds()).putInt(model.getCurrentRound());
+        Player lastRoller = model.getLastRoller();
+        buffer.put((byte) (lastRoller == null ? 0 : lastRoller == model.getPlayer1() ? 1 : 2))
+              .put((byte) model.getLastDie1()).put((byte) model.getLastDie2());
+        for (Player player : new Player[] { model.getPlayer1(), model.getPlayer2() }) {
+            byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+            buffer.putShort((short) name.length).put(name);
+            buffer.putInt(player.getScore()).putInt(player.getRollCount()).putInt(player.getDoublesCount())
+                  .putInt(player.getHighestSingleRoll()).putInt(player.getTotalPointsFromDoubles());
+        }
+    }
+
+    private static GameModel readState(ByteBuffer buffer) {
+        buffer.getLong(); // table id, read by the caller
+        int flags = buffer.get();
+        int maxRounds = buffer.getInt();
+        int currentRound = buffer.getInt();
+        int lastRoller = buffer.get(), lastDie1 = buffer.get(), lastDie2 = buffer.get();
+        GameModel model = new GameModel((flags & 1) != 0, maxRounds);
+        RollStatistics[] statistics = new RollStatistics[2];
+        for (int p = 0; p < 2; p++) {
+            byte[] name = new byte[buffer.getShort()];
+            buffer.get(name);
+            (p == 0 ? model.getPlayer1() : model.getPlayer2()).setName(new String(name, StandardCharsets.UTF_8));
+            int score = buffer.getInt(), rolls = buffer.getInt(), doubles = buffer.getInt();
+            int highest = buffer.getInt(), fromDoubles = buffer.getInt();
+            statistics[p] = new RollStatistics();
+            statistics[p].addBatch(score, rolls, doubles, highest, fromDoubles);
+        }
+        model.restoreState(currentRound, (flags & 2) != 0, (flags & 4) != 0,
+                           statistics[0], statistics[1], lastRoller, lastDie1, lastDie2);
+        return model;
+    }
+
+    /**
+     * Independent copy of a shadow table for the caller to play on
+     */
+    private static GameModel copy(GameModel model) {
+        ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+        writeState(buffer, 0, model);
+        buffer.flip();
+        return readState(buffer);
+    }
+
+    // ---- Recovery ----
+
+    /**
+     * @return sequence number of the last record in the snapshot, -1 if none
+     */
+    private long loadSnapshot() throws IOException {
+        if (!Files.exists(snapshotFile)) return -1;
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotFile)).order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < 24) return -1;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.limit() - 4);
+        if (buffer.getInt(0) != SNAPSHOT_MAGIC || buffer.getInt(4) != VERSION
+                || buffer.getInt(buffer.limit() - 4) != (int) crc.getValue()) {
+            System.err.println("Ignoring damaged game journal snapshot");
+            return -1;
+        }
+        buffer.position(8);
+        long lastSequence = buffer.getLong();
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            long tableId = buffer.getLong(buffer.position());
+            tables.put(tableId, readState(buffer));
+        }
+        lastAppliedSequence = lastSequence;
+        nextSequence = lastSequence + 1;
+        return lastSequence;
+    }
+
+    /**
+     * Apply the log records that follow the snapshot
+     * @return byte offset after the last valid record
+     */
+    private long replayLog() throws IOException {
+        long size = log.size();
+        if (size == 0) return 0;
+        ByteBuffer data = log.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+        CRC32 crc = new CRC32();
+        int offset = 0;
+        while (offset + RECORD_HEADER <= size) {
+            int length = data.getInt(offset);
+            int checksum = data.getInt(offset + 4);
+            if (length < RECORD_HEADER - 8 || offset + 8L + length > size) break;
+            ByteBuffer body = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            body.position(offset + 8).limit(offset + 8 + length);
+            crc.reset();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != checksum) break;
+
+            long sequence = body.getLong(offset + 8);
+            if (sequence > snapshotSequence) {
+                apply(body);
+            }
+            nextSequence = Math.max(nextSequence, sequence + 1);
+            offset += 8 + length;
+        }
+        return offset;
+    }
+
+    private static ByteBuffer ensure(ByteBuffer buffer, int extra) {
+        if (buffer.remaining() >= extra) return buffer;
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + extra))
+                                      .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    // ---- Lifecycle and statistics ----
+
+    /**
+     * Flush pending records, write a final snapshot and stop the writer
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            snapshot();
+        } finally {
+            log.close();
+        }
+    }
+
+    public double getRecoveryMillis() {
+        return recoveryMillis;
+    }
+
+    public long getFsyncCount() {
+        return fsyncCount;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Benchmark: many tables rolling concurrently, then recovery time
+     * Usage: java GameJournal [tables] [threads]
+     */
+    public static void main(String[] args) throws Exception {
+        int tableCount = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        Path directory = Files.createTempDirectory("dicegame-journal");
+
+        GameJournal journal = new GameJournal(directory);
+        List<GameModel> games = new ArrayList<>();
+        for (int i = 0; i < tableCount; i++) {
+            GameModel model = new GameModel(i % 2 == 0, GameSetup.MAX_ROUNDS);
+            journal.attach(model);
+            games.add(model);
+        }
+
+        long start = System.nanoTime();
+        List<Thread> players = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            Thread thread = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(first);
+                // Each thread plays its tables a few rolls at a time, waiting for durability
+                for (int roll = 0; roll < 2 * GameSetup.MAX_ROUNDS - 3; roll++) {
+                    for (int i = first; i < games.size(); i += threads) {
+                        games.get(i).applyRoll(random.nextInt(Dice.SIDES) + 1, random.nextInt(Dice.SIDES) + 1);
+                    }
+                    journal.sync();
+                }
+            });
+            thread.start();
+            players.add(thread);
+        }
+        for (Thread thread : players) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%,d records in %.2f s with %,d fsyncs (%.1f records per fsync)%n",
+                          journal.getRecordCount(), seconds, journal.getFsyncCount(),
+                          (double) journal.getRecordCount() / Math.max(1, journal.getFsyncCount()));
+
+        // Simulate a crash: no close, so recovery replays the log after the last snapshot
+        journal.sync();
+        GameJournal reopened = new GameJournal(directory);
+        List<GameModel> resumable = reopened.getResumableGames();
+        int mismatches = 0;
+        for (GameModel restored : resumable) {
+            GameModel original = games.get((int) (long) reopened.recovered.get(restored));
+            if (restored.getPlayer1().getScore() != original.getPlayer1().getScore()
+                    || restored.getPlayer2().getScore() != original.getPlayer2().getScore()
+                    || restored.getCurrentRound() != original.getCurrentRound()
+                    || restored.isPlayer1Turn() != original.isPlayer1Turn()) {
+                mismatches++;
+            }
+        }
+        System.out.printf("Recovered %,d tables in %.1f ms, %d mismatches%n",
+                          resumable.size(), reopened.getRecoveryMillis(), mismatches);
+        reopened.close();
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * Listener interface for game model changes
+ * Implemented by the Swing view binder as well as headless consumers
+ */
+public interface GameListener {
+    /**
+     * Called after the model has changed
+     * @param event description of the change
+     */
+    void gameChanged(GameEvent event);
+}
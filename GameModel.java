@@ -0,0 +1,228 @@
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Observable game model holding the state of one dice game
+ * Contains no Swing code so it can be driven by the GUI or headless
+ * Every state transition is published to registered GameListeners
+ */
+public class GameModel {
+
+    // Game configuration
+    private final boolean isTwoPlayerMode;
+    private final int maxRounds;
+    private final ScoreTable scoreTable;
+
+    // Game state
+    private final Player player1, player2;
+    private boolean isPlayer1Turn = true;
+    private int currentRound = 1;
+    private boolean gameEnded = false;
+
+    // Last roll (0 when nothing has been rolled yet)
+    private Player lastRoller;
+    private int lastDie1, lastDie2, lastRollScore;
+
+    private final List<GameListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor to create a game with the given configuration and classic scoring
+     */
+    public GameModel(boolean isTwoPlayerMode, int maxRounds) {
+        this(isTwoPlayerMode, maxRounds, ScoreTable.CLASSIC);
+    }
+
+    /**
+     * Constructor to create a game scored with the given two-dice table
+     */
+    public GameModel(boolean isTwoPlayerMode, int maxRounds, ScoreTable scoreTable) {
+        if (maxRounds < 1) {
+            throw new IllegalArgumentException("Number of rounds must be at least 1");
+        }
+        this.isTwoPlayerMode = isTwoPlayerMode;
+        this.maxRounds = maxRounds;
+        if (scoreTable.getDiceCount() != 2) {
+            throw new IllegalArgumentException("The game is played with two dice");
+        }
+        this.scoreTable = scoreTable;
+        player1 = new Player("Player 1");
+        player2 = new Player(isTwoPlayerMode ? "Player 2" : "Computer");
+    }
+
+    public void addGameListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeGameListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Calculate the score of a roll with the classic rules: sum of both dice,
+     * doubled for matching dice
+     */
+    public static int calculateRollScore(int die1Value, int die2Value) {
+        return ScoreTable.CLASSIC.score(die1Value, die2Value);
+    }
+
+    /**
+     * Apply a roll for the player whose turn it is
+     * Scores the roll, passes the turn and advances the round once both
+     * players have rolled
+     * @return points scored by the roll
+     */
+    public int applyRoll(int die1Value, int die2Value) {
+        if (gameEnded) {
+            throw new IllegalStateException("Game has already ended");
+        }
+        int sides = scoreTable.getSides();
+        if (die1Value < 1 || die1Value > sides || die2Value < 1 || die2Value > sides) {
+            throw new IllegalArgumentException("Dice value must be between 1 and " + sides);
+        }
+
+        int rollScore = scoreTable.score(die1Value, die2Value);
+        Player currentPlayer = getCurrentPlayer();
+        currentPlayer.addScore(rollScore);
+
+        lastRoller = currentPlayer;
+        lastDie1 = die1Value;
+        lastDie2 = die2Value;
+        lastRollScore = rollScore;
+
+        fire(GameEvent.Type.ROLL, currentPlayer, die1Value, die2Value, rollScore);
+        fire(GameEvent.Type.SCORE, currentPlayer, 0, 0, currentPlayer.getScore());
+
+        switchTurn();
+        if (isPlayer1Turn) {
+            // Both players have played, advance round
+            nextRound();
+        }
+
+        if (currentRound > maxRounds) {
+            endGame();
+        }
+        return rollScore;
+    }
+
+    /**
+     * Reset the game to its initial state with the same settings
+     */
+    public void reset() {
+        player1.resetScore();
+        player2.resetScore();
+        currentRound = 1;
+        isPlayer1Turn = true;
+        gameEnded = false;
+        lastRoller = null;
+        lastDie1 = lastDie2 = lastRollScore = 0;
+        fire(GameEvent.Type.RESET, player1, 0, 0, 0);
+    }
+
+    /**
+     * Restore a saved state (used by GameJournal) without firing events;
+     * views bound afterwards pick the state up when they refresh
+     * @param lastRoller 1 or 2 for the player who rolled last, 0 if nobody has rolled
+     */
+    public void restoreState(int currentRound, boolean isPlayer1Turn, boolean gameEnded,
+                             RollStatistics player1Statistics, RollStatistics player2Statistics,
+                             int lastRoller, int lastDie1, int lastDie2) {
+        player1.resetScore();
+        player2.resetScore();
+        player1.addStatistics(player1Statistics);
+        player2.addStatistics(player2Statistics);
+        this.currentRound = currentRound;
+        this.isPlayer1Turn = isPlayer1Turn;
+        this.gameEnded = gameEnded;
+        this.lastRoller = lastRoller == 1 ? player1 : lastRoller == 2 ? player2 : null;
+        this.lastDie1 = lastRoller == 0 ? 0 : lastDie1;
+        this.lastDie2 = lastRoller == 0 ? 0 : lastDie2;
+        this.lastRollScore = lastRoller == 0 ? 0 : scoreTable.score(lastDie1, lastDie2);
+    }
+
+    private void switchTurn() {
+        isPlayer1Turn = !isPlayer1Turn;
+        fire(GameEvent.Type.TURN, getCurrentPlayer(), 0, 0, 0);
+    }
+
+    private void nextRound() {
+        currentRound++;
+        fire(GameEvent.Type.ROUND, null, 0, 0, 0);
+    }
+
+    private void endGame() {
+        gameEnded = true;
+        fire(GameEvent.Type.GAME_END, getWinner(), 0, 0, 0);
+    }
+
+    private void fire(GameEvent.Type type, Player player, int die1, int die2, int points) {
+        if (listeners.isEmpty()) return;
+        GameEvent event = new GameEvent(this, type, player, die1, die2, points, currentRound);
+        for (GameListener listener : listeners) {
+            listener.gameChanged(event);
+        }
+    }
+
+    /**
+     * @return the winning player, or null for a tie
+     */
+    public Player getWinner() {
+        if (player1.hasWonAgainst(player2)) return player1;
+        if (player2.hasWonAgainst(player1)) return player2;
+        return null;
+    }
+
+    public Player getCurrentPlayer() {
+        return isPlayer1Turn ? player1 : player2;
+    }
+
+    public Player getPlayer1() {
+        return player1;
+    }
+
+    public Player getPlayer2() {
+        return player2;
+    }
+
+    public boolean isTwoPlayerMode() {
+        return isTwoPlayerMode;
+    }
+
+    public ScoreTable getScoreTable() {
+        return scoreTable;
+    }
+
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+
+    public int getCurrentRound() {
+        return currentRound;
+    }
+
+    public boolean isPlayer1Turn() {
+        return isPlayer1Turn;
+    }
+
+    public boolean isGameEnded() {
+        return gameEnded;
+    }
+
+    /**
+     * @return player who made the last roll, null if nothing was rolled yet
+     */
+    public Player getLastRoller() {
+        return lastRoller;
+    }
+
+    public int getLastDie1() {
+        return lastDie1;
+    }
+
+    public int getLastDie2() {
+        return lastDie2;
+    }
+
+    public int getLastRollScore() {
+        return lastRollScore;
+    }
+}
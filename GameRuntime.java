@@ -0,0 +1,353 @@
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Resources shared by all game windows of the JVM
+ *
+ * Several tables can be open at once: every window keeps its own model and
+ * widgets, while fonts, gradient backgrounds, short UI timers and sound
+ * clips are created once here and shared. Windows register themselves and
+ * are disposed when closed, so closing one table leaves the others running;
+ * after the last window has closed the shared timer stops and AWT lets the
+ * JVM exit. Everything here runs on the EDT.
+ * The footprint benchmark opens game windows and reports heap, threads and
+ * idle CPU per window; it needs a display:
+ *   xvfb-run -a java GameRuntime [windows]
+ */
+public final class GameRuntime {
+
+    private static final int CASCADE_OFFSET = 30;
+    private static final int CASCADE_STEPS = 8;
+    private static final int MAX_GRADIENTS = 8;
+
+    private static final List<Window> windows = new ArrayList<>();
+    private static final Map<String, Font> fonts = new HashMap<>();
+    private static final Map<GradientKey, Image> gradients =
+        new LinkedHashMap<GradientKey, Image>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<GradientKey, Image> eldest) {
+                return size() > MAX_GRADIENTS;
+            }
+        };
+    private static final Map<String, Clip> sounds = new HashMap<>();
+
+    // One Swing timer for all short delays, armed for the earliest task
+    private static final PriorityQueue<Scheduled> scheduled = new PriorityQueue<>();
+    private static final Timer ticker = new Timer(0, e -> runDue());
+    private static long scheduledCount;
+
+    private static GameSetup setup;
+
+    static {
+        ticker.setRepeats(false);
+    }
+
+    private GameRuntime() {
+    }
+
+    /**
+     * Task for afterMillis, ordered by due time and then by submission
+     */
+    private static final class Scheduled implements Comparable<Scheduled> {
+        final long due, order;
+        final Runnable task;
+
+        Scheduled(long due, long order, Runnable task) {
+            this.due = due;
+            this.order = order;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(Scheduled other) {
+            return due != other.due ? Long.compare(due, other.due) : Long.compare(order, other.order);
+        }
+    }
+
+    private static final class GradientKey {
+        final int width, height, top, bottom;
+        final GraphicsConfiguration config;
+
+        GradientKey(int width, int height, Color top, Color bottom, GraphicsConfiguration config) {
+            this.width = width;
+            this.height = height;
+            this.top = top.getRGB();
+            this.bottom = bottom.getRGB();
+            this.config = config;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof GradientKey)) return false;
+            GradientKey k = (GradientKey) o;
+            return width == k.width && height == k.height && top == k.top && bottom == k.bottom
+                   && config == k.config;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(width, height, top, bottom, System.identityHashCode(config));
+        }
+    }
+
+    /**
+     * Make a frame one of the application windows: closing it disposes it
+     * instead of exiting, and it is counted while it is open. Call after the
+     * frame has been sized and placed; later windows are cascaded.
+     */
+    public static void register(JFrame frame) {
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        int step = windows.size() % CASCADE_STEPS;
+        if (step > 0) {
+            Point at = frame.getLocation();
+            frame.setLocation(at.x + step * CASCADE_OFFSET, at.y + step * CASCADE_OFFSET);
+        }
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                windows.add(frame);
+            }
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                windows.remove(frame);
+                if (frame == setup) {
+                    setup = null;
+                }
+                if (windows.isEmpty()) {
+                    shutdown();
+                }
+            }
+        });
+    }
+
+    /**
+     * @return number of open windows
+     */
+    public static int getWindowCount() {
+        return windows.size();
+    }
+
+    /**
+     * Bring the setup screen to the front, opening it if needed
+     */
+    public static void showSetup() {
+        if (setup == null) {
+            setup = new GameSetup();
+        }
+        setup.setVisible(true);
+        setup.toFront();
+    }
+
+    /**
+     * Close every window; games clean up in their own window listeners
+     */
+    public static void closeAll() {
+        for (Window window : new ArrayList<>(windows)) {
+            window.dispose();
+        }
+    }
+
+    /**
+     * Release the shared resources once no window is left
+     */
+    private static void shutdown() {
+        ticker.stop();
+        scheduled.clear();
+        gradients.clear();
+        for (Clip clip : sounds.values()) {
+            if (clip != null) {
+                clip.close();
+            }
+        }
+        sounds.clear();
+    }
+
+    /**
+     * @return shared font instance; equal requests return the same object
+     */
+    public static Font font(String name, int style, int size) {
+        return fonts.computeIfAbsent(name + '/' + style + '/' + size, key -> new Font(name, style, size));
+    }
+
+    /**
+     * Vertical gradient image shared by panels of the same size and colors
+     * @param config graphics configuration of the panel, or null if not displayable
+     */
+    public static Image gradient(int width, int height, Color top, Color bottom, GraphicsConfiguration config) {
+        GradientKey key = new GradientKey(width, height, top, bottom, config);
+        Image image = gradients.get(key);
+        if (image == null) {
+            image = renderGradient(width, height, top, bottom, config);
+            gradients.put(key, image);
+        }
+        return image;
+    }
+
+    private static Image renderGradient(int width, int height, Color top, Color bottom,
+                                        GraphicsConfiguration config) {
+        BufferedImage image;
+        if (config != null) {
+            image = config.createCompatibleImage(width, height, Transparency.OPAQUE);
+        } else {
+            // Not displayable yet (or headless): use a plain RGB image
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.setPaint(new GradientPaint(0, 0, top, 0, height, bottom));
+            g2d.fillRect(0, 0, width, height);
+        } finally {
+            g2d.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Run a task on the EDT after a delay, on the timer shared by all windows
+     */
+    public static void afterMillis(int delay, Runnable task) {
+        Scheduled next = new Scheduled(System.currentTimeMillis() + delay, scheduledCount++, task);
+        scheduled.add(next);
+        if (scheduled.peek() == next) {
+            arm();
+        }
+    }
+
+    private static void arm() {
+        Scheduled first = scheduled.peek();
+        if (first == null) {
+            ticker.stop();
+        } else {
+            ticker.setInitialDelay((int) Math.max(0, first.due - System.currentTimeMillis()));
+            ticker.restart();
+        }
+    }
+
+    private static void runDue() {
+        long now = System.currentTimeMillis();
+        while (!scheduled.isEmpty() && scheduled.peek().due <= now) {
+            scheduled.poll().task.run();
+        }
+        arm();
+    }
+
+    /**
+     * Play a sound effect from the sounds/ resource folder; clips are loaded
+     * once and shared. Without the file the sound is only logged.
+     */
+    public static void playSound(String soundFile) {
+        if (!sounds.containsKey(soundFile)) {
+            sounds.put(soundFile, loadClip(soundFile));
+        }
+        Clip clip = sounds.get(soundFile);
+        if (clip == null) {
+            System.out.println("Playing sound: " + soundFile);
+            return;
+        }
+        clip.stop();
+        clip.setFramePosition(0);
+        clip.start();
+    }
+
+    private static Clip loadClip(String soundFile) {
+        URL url = GameRuntime.class.getResource("sounds/" + soundFile);
+        if (url == null) return null;
+        try (AudioInputStream in = AudioSystem.getAudioInputStream(url)) {
+            Clip clip = AudioSystem.getClip();
+            clip.open(in);
+            return clip;
+        } catch (IOException | UnsupportedAudioFileException | LineUnavailableException
+                 | IllegalArgumentException e) {
+            System.err.println("Could not play sound: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Heap, threads and CPU time of the process at one moment
+     */
+    private static final class Footprint {
+        final long heap;
+        final int threads;
+
+        Footprint() {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+            }
+            heap = memory.getHeapMemoryUsage().getUsed();
+            threads = Thread.activeCount();
+        }
+    }
+
+    private static long processCpuNanos() {
+        return ManagementFactory.getPlatformMXBean(com.sun.management.OperatingSystemMXBean.class)
+                                .getProcessCpuTime();
+    }
+
+    private static Footprint settled() throws InterruptedException {
+        Thread.sleep(1000);
+        return new Footprint();
+    }
+
+    private static void openTables(int count) throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < count; i++) {
+                new DiceGameMain(false, 5, false).setVisible(true);
+            }
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        if (GraphicsEnvironment.isHeadless()) {
+            System.err.println("GameRuntime needs a display; run it under xvfb-run");
+            System.exit(2);
+        }
+
+        // The first window loads classes and shared resources
+        openTables(1);
+        Footprint one = settled();
+        openTables(count - 1);
+        Footprint all = settled();
+
+        long cpuStart = processCpuNanos();
+        Thread.sleep(5000);
+        double idleMillisPerSecond = (processCpuNanos() - cpuStart) / 1e6 / 5;
+        int extra = Math.max(1, count - 1);
+        System.out.printf("%d windows open%n", count);
+        System.out.printf("Per extra window: %,d KB heap, %.1f threads%n",
+                          (all.heap - one.heap) / 1024 / extra, (all.threads - one.threads) / (double) extra);
+        System.out.printf("Idle CPU with %d windows: %.2f ms per second%n",
+                          count, idleMillisPerSecond);
+
+        SwingUtilities.invokeAndWait(GameRuntime::closeAll);
+        Footprint closed = settled();
+        int[] open = new int[1];
+        SwingUtilities.invokeAndWait(() -> open[0] = getWindowCount());
+        System.out.printf("After closing: %d windows, heap %,d KB (%,d KB with one window)%n",
+                          open[0], closed.heap / 1024, one.heap / 1024);
+        // No System.exit: the JVM ends on its own now that every window is gone
+    }
+}
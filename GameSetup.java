@@ -1,256 +1,410 @@
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-
-/**
- * Game Setup Screen - Initial screen for configuring game options
- * Allows players to choose game mode and number of rounds
- */
-public class GameSetup extends JFrame implements ActionListener {
-    
-    // GUI Components
-    private JPanel mainPanel, setupPanel, buttonPanel;
-    private JLabel titleLabel, modeLabel, roundsLabel;
-    private JRadioButton singlePlayerRadio, twoPlayerRadio;
-    private ButtonGroup modeGroup;
-    private JComboBox<String> roundsComboBox;
-    private JButton startButton, exitButton;
-    
-    // Game Configuration
-    private boolean isTwoPlayerMode = false;
-    private int numberOfRounds = 5;
-    
-    // Colors and styling
-    private final Color PRIMARY_COLOR = new Color(41, 128, 185);
-    private final Color SECONDARY_COLOR = new Color(52, 152, 219);
-    private final Color SUCCESS_COLOR = new Color(39, 174, 96);
-    private final Color DANGER_COLOR = new Color(231, 76, 60);
-    private final Color BACKGROUND_COLOR = new Color(236, 240, 241);
-    
-    /**
-     * Constructor to initialize the setup screen
-     */
-    public GameSetup() {
-        setupWindow();
-        createComponents();
-        layoutComponents();
-        setupEventListeners();
-    }
-    
-    /**
-     * Setup the main window properties
-     */
-    private void setupWindow() {
-        setTitle(" Dice Game - Setup");
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setSize(500, 400);
-        setLocationRelativeTo(null);
-        setResizable(false);
-    }
-    
-    /**
-     * Create all GUI components
-     */
-    private void createComponents() {
-        // Main panel with gradient background
-        mainPanel = new JPanel(new BorderLayout()) {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-                GradientPaint gradient = new GradientPaint(0, 0, BACKGROUND_COLOR, 
-                                                         0, getHeight(), Color.WHITE);
-                g2d.setPaint(gradient);
-                g2d.fillRect(0, 0, getWidth(), getHeight());
-            }
-        };
-        
-        // Title
-        titleLabel = new JLabel(" DICE GAME SETUP ", JLabel.CENTER);
-        titleLabel.setFont(new Font("Arial", Font.BOLD, 28));
-        titleLabel.setForeground(PRIMARY_COLOR);
-        titleLabel.setBorder(BorderFactory.createEmptyBorder(30, 0, 30, 0));
-        
-        // Setup panel
-        setupPanel = new JPanel(new GridBagLayout());
-        setupPanel.setOpaque(false);
-        setupPanel.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(PRIMARY_COLOR, 2),
-            BorderFactory.createEmptyBorder(30, 30, 30, 30)
-        ));
-        
-        // Game mode selection
-        modeLabel = new JLabel("Choose Game Mode:");
-        modeLabel.setFont(new Font("Arial", Font.BOLD, 16));
-        modeLabel.setForeground(PRIMARY_COLOR);
-        
-        singlePlayerRadio = new JRadioButton(" Single Player (vs Computer)");
-        singlePlayerRadio.setFont(new Font("Arial", Font.PLAIN, 14));
-        singlePlayerRadio.setOpaque(false);
-        singlePlayerRadio.setSelected(true);
-        
-        twoPlayerRadio = new JRadioButton(" Two Player (Human vs Human)");
-        twoPlayerRadio.setFont(new Font("Arial", Font.PLAIN, 14));
-        twoPlayerRadio.setOpaque(false);
-        
-        modeGroup = new ButtonGroup();
-        modeGroup.add(singlePlayerRadio);
-        modeGroup.add(twoPlayerRadio);
-        
-        // Rounds selection
-        roundsLabel = new JLabel("Number of Rounds:");
-        roundsLabel.setFont(new Font("Arial", Font.BOLD, 16));
-        roundsLabel.setForeground(PRIMARY_COLOR);
-        
-        String[] roundOptions = new String[20];
-        for (int i = 1; i <= 20; i++) {
-            roundOptions[i-1] = String.valueOf(i);
-        }
-        roundsComboBox = new JComboBox<>(roundOptions);
-        roundsComboBox.setSelectedIndex(4); // Default to 5 rounds
-        roundsComboBox.setFont(new Font("Arial", Font.PLAIN, 14));
-        roundsComboBox.setPreferredSize(new Dimension(100, 30));
-        
-        // Buttons
-        startButton = createStyledButton(" START GAME", SUCCESS_COLOR);
-        startButton.setPreferredSize(new Dimension(200, 50));
-        
-        exitButton = createStyledButton(" EXIT", DANGER_COLOR);
-        exitButton.setPreferredSize(new Dimension(120, 50));
-        
-        buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 20));
-        buttonPanel.setOpaque(false);
-        buttonPanel.add(startButton);
-        buttonPanel.add(exitButton);
-    }
-    
-    /**
-     * Layout all components using GridBagLayout
-     */
-    private void layoutComponents() {
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.insets = new Insets(10, 10, 10, 10);
-        
-        // Game mode section
-        gbc.gridx = 0; gbc.gridy = 0;
-        gbc.gridwidth = 2;
-        gbc.anchor = GridBagConstraints.WEST;
-        setupPanel.add(modeLabel, gbc);
-        
-        gbc.gridy = 1;
-        gbc.gridwidth = 1;
-        gbc.insets = new Insets(5, 30, 5, 10);
-        setupPanel.add(singlePlayerRadio, gbc);
-        
-        gbc.gridy = 2;
-        setupPanel.add(twoPlayerRadio, gbc);
-        
-        // Rounds section
-        gbc.gridy = 3;
-        gbc.insets = new Insets(20, 10, 10, 10);
-        setupPanel.add(roundsLabel, gbc);
-        
-        gbc.gridx = 1;
-        gbc.anchor = GridBagConstraints.WEST;
-        setupPanel.add(roundsComboBox, gbc);
-        
-        // Add components to main panel
-        mainPanel.add(titleLabel, BorderLayout.NORTH);
-        mainPanel.add(setupPanel, BorderLayout.CENTER);
-        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
-        
-        add(mainPanel);
-    }
-    
-    /**
-     * Create a styled button with custom appearance
-     */
-    private JButton createStyledButton(String text, Color color) {
-        JButton button = new JButton(text);
-        button.setFont(new Font("Arial", Font.BOLD, 14));
-        button.setBackground(color);
-        button.setForeground(Color.WHITE);
-        button.setFocusPainted(false);
-        button.setBorderPainted(false);
-        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
-        
-        // Add hover effect
-        button.addMouseListener(new java.awt.event.MouseAdapter() {
-            public void mouseEntered(java.awt.event.MouseEvent evt) {
-                button.setBackground(color.brighter());
-            }
-            public void mouseExited(java.awt.event.MouseEvent evt) {
-                button.setBackground(color);
-            }
-        });
-        
-        return button;
-    }
-    
-    /**
-     * Setup event listeners for buttons and radio buttons
-     */
-    private void setupEventListeners() {
-        startButton.addActionListener(this);
-        exitButton.addActionListener(this);
-        
-        singlePlayerRadio.addActionListener(e -> isTwoPlayerMode = false);
-        twoPlayerRadio.addActionListener(e -> isTwoPlayerMode = true);
-        
-        roundsComboBox.addActionListener(e -> 
-            numberOfRounds = Integer.parseInt((String) roundsComboBox.getSelectedItem()));
-    }
-    
-    /**
-     * Handle button click events
-     */
-    @Override
-    public void actionPerformed(ActionEvent e) {
-        if (e.getSource() == startButton) {
-            startGame();
-        } else if (e.getSource() == exitButton) {
-            exitApplication();
-        }
-    }
-    
-    /**
-     * Start the game with selected configuration
-     */
-    private void startGame() {
-        // Get final configuration
-        isTwoPlayerMode = twoPlayerRadio.isSelected();
-        numberOfRounds = Integer.parseInt((String) roundsComboBox.getSelectedItem());
-        
-        // Show loading message
-        startButton.setText("Loading...");
-        startButton.setEnabled(false);
-        
-        // Create and show the main game window
-        SwingUtilities.invokeLater(() -> {
-            DiceGameMain gameWindow = new DiceGameMain(isTwoPlayerMode, numberOfRounds);
-            gameWindow.setVisible(true);
-            
-            // Close the setup window
-            this.dispose();
-        });
-    }
-    
-    /**
-     * Exit the application with confirmation
-     */
-    private void exitApplication() {
-        int choice = JOptionPane.showConfirmDialog(
-            this, 
-            "Are you sure you want to exit?", 
-            "Exit Application", 
-            JOptionPane.YES_NO_OPTION,
-            JOptionPane.QUESTION_MESSAGE
-        );
-        
-        if (choice == JOptionPane.YES_OPTION) {
-            System.exit(0);
-        }
-    }
-}
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Game Setup Screen - Initial screen for configuring game options
+ * Allows players to choose game mode and number of rounds
+ */
+public class GameSetup extends JFrame implements ActionListener {
+    
+    // Round options
+    public static final int MAX_ROUNDS = 20;
+    public static final int MARATHON_ROUNDS = 1_000_000;
+    private static final String MARATHON_OPTION = "Marathon (1,000,000)";
+    private static final String START_TEXT = " START GAME";
+    
+    // GUI Components
+    private JPanel mainPanel, setupPanel, buttonPanel;
+    private JLabel titleLabel, modeLabel, roundsLabel, playersLabel;
+    private JRadioButton singlePlayerRadio, twoPlayerRadio, pigRadio, fiveDiceRadio, tableRadio;
+    private ButtonGroup modeGroup;
+    private JComboBox<String> roundsComboBox, playersComboBox;
+    private JButton startButton, exitButton;
+    
+    // Game Configuration
+    private boolean isTwoPlayerMode = false;
+    private int numberOfRounds = 5;
+    
+    // Colors and styling
+    private final Color PRIMARY_COLOR = new Color(41, 128, 185);
+    private final Color SECONDARY_COLOR = new Color(52, 152, 219);
+    private final Color SUCCESS_COLOR = new Color(39, 174, 96);
+    private final Color DANGER_COLOR = new Color(231, 76, 60);
+    private final Color BACKGROUND_COLOR = new Color(236, 240, 241);
+    
+    /**
+     * Constructor to initialize the setup screen
+     */
+    public GameSetup() {
+        setupWindow();
+        createComponents();
+        layoutComponents();
+        setupEventListeners();
+        
+        // Offer to continue a game that was closed or interrupted
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowOpened(java.awt.event.WindowEvent e) {
+                GameJournal.shared().thenAccept(journal -> {
+                    if (journal != null) {
+                        SwingUtilities.invokeLater(() -> {
+                            if (isDisplayable()) {
+                                offerResume(journal);
+                            }
+                        });
+                    }
+                });
+            }
+        });
+    }
+    
+    /**
+     * Setup the main window properties
+     */
+    private void setupWindow() {
+        setTitle(" Dice Game - Setup");
+        setSize(500, 590);
+        setLocationRelativeTo(null);
+        setResizable(false);
+        GameRuntime.register(this);
+    }
+    
+    /**
+     * Create all GUI components
+     */
+    private void createComponents() {
+        // Main panel with gradient background
+        mainPanel = new GradientPanel(new BorderLayout(), BACKGROUND_COLOR, Color.WHITE);
+        
+        // Title
+        titleLabel = new JLabel(" DICE GAME SETUP ", JLabel.CENTER);
+        titleLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 28));
+        titleLabel.setForeground(PRIMARY_COLOR);
+        titleLabel.setBorder(BorderFactory.createEmptyBorder(30, 0, 30, 0));
+        
+        // Setup panel
+        setupPanel = new JPanel(new GridBagLayout());
+        setupPanel.setOpaque(false);
+        setupPanel.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(PRIMARY_COLOR, 2),
+            BorderFactory.createEmptyBorder(30, 30, 30, 30)
+        ));
+        
+        // Game mode selection
+        modeLabel = new JLabel("Choose Game Mode:");
+        modeLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 16));
+        modeLabel.setForeground(PRIMARY_COLOR);
+        
+        singlePlayerRadio = new JRadioButton(" Single Player (vs Computer)");
+        singlePlayerRadio.setFont(GameRuntime.font("Arial", Font.PLAIN, 14));
+        singlePlayerRadio.setOpaque(false);
+        singlePlayerRadio.setSelected(true);
+        
+        twoPlayerRadio = new JRadioButton(" Two Player (Human vs Human)");
+        twoPlayerRadio.setFont(GameRuntime.font("Arial", Font.PLAIN, 14));
+        twoPlayerRadio.setOpaque(false);
+        
+        pigRadio = new JRadioButton(" Push Your Luck (vs Computer)");
+        pigRadio.setFont(GameRuntime.font("Arial", Font.PLAIN, 14));
+        pigRadio.setOpaque(false);
+        
+        fiveDiceRadio = new JRadioButton(" Five Dice (Keep & Reroll)");
+        fiveDiceRadio.setFont(GameRuntime.font("Arial", Font.PLAIN, 14));
+        fiveDiceRadio.setOpaque(false);
+        
+        tableRadio = new JRadioButton(" Class Table (many players)");
+        tableRadio.setFont(GameRuntime.font("Arial", Font.PLAIN, 14));
+        tableRadio.setOpaque(false);
+        
+        modeGroup = new ButtonGroup();
+        modeGroup.add(singlePlayerRadio);
+        modeGroup.add(twoPlayerRadio);
+        modeGroup.add(pigRadio);
+        modeGroup.add(fiveDiceRadio);
+        modeGroup.add(tableRadio);
+        
+        // Rounds selection
+        roundsLabel = new JLabel("Number of Rounds:");
+        roundsLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 16));
+        roundsLabel.setForeground(PRIMARY_COLOR);
+        
+        String[] roundOptions = new String[MAX_ROUNDS + 1];
+        for (int i = 1; i <= MAX_ROUNDS; i++) {
+            roundOptions[i-1] = String.valueOf(i);
+        }
+        roundOptions[MAX_ROUNDS] = MARATHON_OPTION; // auto-played
+        roundsComboBox = new JComboBox<>(roundOptions);
+        roundsComboBox.setSelectedIndex(4); // Default to 5 rounds
+        roundsComboBox.setFont(GameRuntime.font("Arial", Font.PLAIN, 14));
+        roundsComboBox.setPreferredSize(new Dimension(180, 30));
+        
+        // Players selection, only for the class table
+        playersLabel = new JLabel("Number of Players:");
+        playersLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 16));
+        playersLabel.setForeground(PRIMARY_COLOR);
+        
+        String[] playerOptions = new String[MultiplayerGame.PLAYER_OPTIONS.length];
+        for (int i = 0; i < playerOptions.length; i++) {
+            playerOptions[i] = String.format("%,d", MultiplayerGame.PLAYER_OPTIONS[i]);
+        }
+        playersComboBox = new JComboBox<>(playerOptions);
+        playersComboBox.setSelectedIndex(1);
+        playersComboBox.setFont(GameRuntime.font("Arial", Font.PLAIN, 14));
+        playersComboBox.setPreferredSize(new Dimension(180, 30));
+        playersComboBox.setEnabled(false);
+        
+        // Buttons
+        startButton = createStyledButton(START_TEXT, SUCCESS_COLOR);
+        startButton.setPreferredSize(new Dimension(200, 50));
+        
+        exitButton = createStyledButton(" EXIT", DANGER_COLOR);
+        exitButton.setPreferredSize(new Dimension(120, 50));
+        
+        buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 20));
+        buttonPanel.setOpaque(false);
+        buttonPanel.add(startButton);
+        buttonPanel.add(exitButton);
+    }
+    
+    /**
+     * Layout all components using GridBagLayout
+     */
+    private void layoutComponents() {
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+        
+        // Game mode section
+        gbc.gridx = 0; gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        gbc.anchor = GridBagConstraints.WEST;
+        setupPanel.add(modeLabel, gbc);
+        
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        gbc.insets = new Insets(5, 30, 5, 10);
+        setupPanel.add(singlePlayerRadio, gbc);
+        
+        gbc.gridy = 2;
+        setupPanel.add(twoPlayerRadio, gbc);
+        
+        gbc.gridy = 3;
+        setupPanel.add(pigRadio, gbc);
+        
+        gbc.gridy = 4;
+        setupPanel.add(fiveDiceRadio, gbc);
+        
+        gbc.gridy = 5;
+        setupPanel.add(tableRadio, gbc);
+        
+        // Rounds section
+        gbc.gridy = 6;
+        gbc.insets = new Insets(20, 10, 10, 10);
+        setupPanel.add(roundsLabel, gbc);
+        
+        gbc.gridx = 1;
+        gbc.anchor = GridBagConstraints.WEST;
+        setupPanel.add(roundsComboBox, gbc);
+        
+        // Players section
+        gbc.gridx = 0;
+        gbc.gridy = 7;
+        gbc.insets = new Insets(5, 10, 10, 10);
+        setupPanel.add(playersLabel, gbc);
+        
+        gbc.gridx = 1;
+        setupPanel.add(playersComboBox, gbc);
+        
+        // Add components to main panel
+        mainPanel.add(titleLabel, BorderLayout.NORTH);
+        mainPanel.add(setupPanel, BorderLayout.CENTER);
+        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+        
+        add(mainPanel);
+    }
+    
+    /**
+     * Create a styled button with custom appearance
+     */
+    private JButton createStyledButton(String text, Color color) {
+        JButton button = new JButton(text);
+        button.setFont(GameRuntime.font("Arial", Font.BOLD, 14));
+        button.setBackground(color);
+        button.setForeground(Color.WHITE);
+        button.setFocusPainted(false);
+        button.setBorderPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        
+        // Add hover effect
+        button.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseEntered(java.awt.event.MouseEvent evt) {
+                button.setBackground(color.brighter());
+            }
+            public void mouseExited(java.awt.event.MouseEvent evt) {
+                button.setBackground(color);
+            }
+        });
+        
+        return button;
+    }
+    
+    /**
+     * Setup event listeners for buttons and radio buttons
+     */
+    private void setupEventListeners() {
+        startButton.addActionListener(this);
+        exitButton.addActionListener(this);
+        
+        singlePlayerRadio.addActionListener(e -> isTwoPlayerMode = false);
+        twoPlayerRadio.addActionListener(e -> isTwoPlayerMode = true);
+        // Push Your Luck is played to a target score, not a number of rounds
+        pigRadio.addActionListener(e -> roundsComboBox.setEnabled(false));
+        // Five Dice ends when every category is used
+        fiveDiceRadio.addActionListener(e -> roundsComboBox.setEnabled(false));
+        singlePlayerRadio.addActionListener(e -> roundsComboBox.setEnabled(true));
+        twoPlayerRadio.addActionListener(e -> roundsComboBox.setEnabled(true));
+        tableRadio.addActionListener(e -> roundsComboBox.setEnabled(true));
+        for (JRadioButton radio : new JRadioButton[] {singlePlayerRadio, twoPlayerRadio, pigRadio, fiveDiceRadio}) {
+            radio.addActionListener(e -> playersComboBox.setEnabled(false));
+        }
+        tableRadio.addActionListener(e -> playersComboBox.setEnabled(true));
+        
+        roundsComboBox.addActionListener(e -> numberOfRounds = getSelectedRounds());
+    }
+    
+    /**
+     * Get the number of rounds selected in the combo box
+     */
+    private int getSelectedRounds() {
+        String selected = (String) roundsComboBox.getSelectedItem();
+        if (MARATHON_OPTION.equals(selected)) {
+            return MARATHON_ROUNDS;
+        }
+        return Integer.parseInt(selected);
+    }
+    
+    /**
+     * Handle button click events
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if (e.getSource() == startButton) {
+            startGame();
+        } else if (e.getSource() == exitButton) {
+            exitApplication();
+        }
+    }
+    
+    /**
+     * Start the game with selected configuration
+     */
+    private void startGame() {
+        // Get final configuration
+        isTwoPlayerMode = twoPlayerRadio.isSelected();
+        numberOfRounds = getSelectedRounds();
+        
+        // Show loading message
+        startButton.setText("Loading...");
+        startButton.setEnabled(false);
+        
+        boolean isPigMode = pigRadio.isSelected();
+        boolean isFiveDiceMode = fiveDiceRadio.isSelected();
+        boolean isTableMode = tableRadio.isSelected();
+        int players = MultiplayerGame.PLAYER_OPTIONS[playersComboBox.getSelectedIndex()];
+        
+        // Create and show the main game window
+        SwingUtilities.invokeLater(() -> {
+            JFrame gameWindow;
+            if (isPigMode) {
+                gameWindow = new PigGame();
+            } else if (isFiveDiceMode) {
+                gameWindow = new FiveDiceGame();
+            } else if (isTableMode) {
+                // Every player rolls each round, so marathon length is not offered
+                gameWindow = new MultiplayerGame(players, Math.min(numberOfRounds, MAX_ROUNDS));
+            } else {
+                gameWindow = new DiceGameMain(isTwoPlayerMode, numberOfRounds);
+            }
+            gameWindow.setVisible(true);
+            
+            // The setup screen stays open to start more tables
+            startButton.setText(START_TEXT);
+            startButton.setEnabled(true);
+        });
+    }
+    
+    /**
+     * Offer the unfinished games from the journal; the user picks which to resume
+     */
+    private void offerResume(GameJournal journal) {
+        List<GameModel> resumable = new ArrayList<>();
+        for (GameModel game : journal.getResumableGames()) {
+            if (game.getPlayer1().getRollCount() > 0) {
+                resumable.add(game);
+            } else {
+                // Games that were never rolled are not worth offering
+                journal.discard(game);
+            }
+        }
+        if (resumable.isEmpty()) return;
+        
+        String[] descriptions = new String[resumable.size()];
+        for (int i = 0; i < descriptions.length; i++) {
+            GameModel game = resumable.get(i);
+            descriptions[i] = String.format("%s - round %d of %d - %s %d, %s %d",
+                game.isTwoPlayerMode() ? "Two player" : "Single player",
+                game.getCurrentRound(), game.getMaxRounds(),
+                game.getPlayer1().getName(), game.getPlayer1().getScore(),
+                game.getPlayer2().getName(), game.getPlayer2().getScore());
+        }
+        JList<String> gameList = new JList<>(descriptions);
+        gameList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        gameList.setSelectionInterval(0, descriptions.length - 1);
+        gameList.setVisibleRowCount(Math.min(descriptions.length, 8));
+        
+        Object[] message = {
+            "You have " + descriptions.length + " unfinished game(s).\n"
+                + "Resume the selected games? Games left unselected are discarded.",
+            new JScrollPane(gameList)
+        };
+        Object[] options = {"Resume Selected", "Discard All", "Later"};
+        int choice = JOptionPane.showOptionDialog(
+            this, message, "Resume Games", JOptionPane.YES_NO_CANCEL_OPTION,
+            JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        
+        if (choice == JOptionPane.YES_OPTION) {
+            for (int i = 0; i < descriptions.length; i++) {
+                if (gameList.isSelectedIndex(i)) {
+                    new DiceGameMain(resumable.get(i)).setVisible(true);
+                } else {
+                    journal.discard(resumable.get(i));
+                }
+            }
+        } else if (choice == JOptionPane.NO_OPTION) {
+            for (GameModel game : resumable) {
+                journal.discard(game);
+            }
+        }
+        // Later (or closing the dialog) keeps every game for the next start
+    }
+    
+    /**
+     * Exit the application with confirmation
+     */
+    private void exitApplication() {
+        int choice = JOptionPane.showConfirmDialog(
+            this, 
+            "Are you sure you want to exit?\nAll open tables will be closed.", 
+            "Exit Application", 
+            JOptionPane.YES_NO_OPTION,
+            JOptionPane.QUESTION_MESSAGE
+        );
+        
+        if (choice == JOptionPane.YES_OPTION) {
+            GameRuntime.closeAll();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Binds a GameModel to the status and score labels of a game window
+ * Model changes only mark parts of the view dirty; all changes that arrive
+ * within one frame are applied together in a single batched UI update
+ */
+public class GameViewBinder implements GameListener {
+
+    // Frame length used to merge updates when the display rate is unknown (~60 fps)
+    public static final int FRAME_MILLIS = 16;
+
+    // Dirty flags
+    private static final int SCORES = 1;
+    private static final int ROUND = 1 << 1;
+    private static final int TURN = 1 << 2;
+    private static final int RESULT = 1 << 3;
+    private static final int ALL = SCORES | ROUND | TURN | RESULT;
+
+    private final GameModel model;
+    private final JLabel player1ScoreLabel, player2ScoreLabel;
+    private final JLabel roundLabel, turnLabel, resultLabel;
+    private final JProgressBar roundProgressBar;
+    private final Color player1Color, player2Color;
+    private final StatusText text;
+
+    // Optional win odds display, enabled once the odds table is available
+    private JLabel winOddsLabel;
+    private volatile WinOddsTable winOddsTable;
+
+    private final AtomicInteger dirty = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Timer frameTimer;
+
+    /**
+     * Constructor to bind the model to the given components
+     */
+    public GameViewBinder(GameModel model,
+                          JLabel player1ScoreLabel, JLabel player2ScoreLabel,
+                          JLabel roundLabel, JLabel turnLabel, JLabel resultLabel,
+                          JProgressBar roundProgressBar,
+                          Color player1Color, Color player2Color) {
+        this.model = model;
+        this.player1ScoreLabel = player1ScoreLabel;
+        this.player2ScoreLabel = player2ScoreLabel;
+        this.roundLabel = roundLabel;
+        this.turnLabel = turnLabel;
+        this.resultLabel = resultLabel;
+        this.roundProgressBar = roundProgressBar;
+        this.player1Color = player1Color;
+        this.player2Color = player2Color;
+        text = new StatusText(model);
+
+        frameTimer = new Timer(displayFrameMillis(), e -> flush());
+        frameTimer.setRepeats(false);
+
+        model.addGameListener(this);
+    }
+
+    /**
+     * Show each player's chance of winning in the given label
+     * The table is loaded off the EDT; until then the label says so
+     */
+    public void bindWinOdds(JLabel label, java.util.concurrent.CompletableFuture<WinOddsTable> table) {
+        winOddsLabel = label;
+        label.setText("Win odds: calculating...");
+        table.thenAccept(loaded -> {
+            if (!loaded.supports(model)) {
+                SwingUtilities.invokeLater(() -> label.setText("Win odds: n/a"));
+                return;
+            }
+            winOddsTable = loaded;
+            markDirty(SCORES);
+        });
+    }
+
+    /**
+     * Mark the affected parts of the view dirty and schedule one flush per frame
+     * May be called from any thread
+     */
+    @Override
+    public void gameChanged(GameEvent event) {
+        switch (event.getType()) {
+            case ROLL:
+                markDirty(RESULT);
+                break;
+            case SCORE:
+                markDirty(SCORES);
+                break;
+            case TURN:
+                markDirty(TURN);
+                break;
+            case ROUND:
+                markDirty(ROUND);
+                break;
+            default:
+                markDirty(ALL);
+                break;
+        }
+    }
+
+    /**
+     * Frame length matching the refresh rate of the default screen
+     */
+    public static int displayFrameMillis() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return FRAME_MILLIS;
+        }
+        int refreshRate = GraphicsEnvironment.getLocalGraphicsEnvironment()
+            .getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+        if (refreshRate == DisplayMode.REFRESH_RATE_UNKNOWN || refreshRate <= 0) {
+            return FRAME_MILLIS;
+        }
+        return Math.max(1, 1000 / refreshRate);
+    }
+
+    private void markDirty(int parts) {
+        dirty.getAndUpdate(d -> d | parts);
+        if (flushScheduled.compareAndSet(false, true)) {
+            // Timer.start() is safe to call off the EDT; it fires on the EDT
+            frameTimer.start();
+        }
+    }
+
+    /**
+     * Apply all pending changes immediately (must be called on the EDT)
+     */
+    public void flushNow() {
+        frameTimer.stop();
+        flush();
+    }
+
+    /**
+     * Mark the whole view dirty and apply it immediately (must be called on the EDT)
+     */
+    public void refreshAll() {
+        dirty.getAndUpdate(d -> d | ALL);
+        flushNow();
+    }
+
+    /**
+     * Apply all pending changes in one pass
+     */
+    private void flush() {
+        flushScheduled.set(false);
+        int parts = dirty.getAndSet(0);
+        if (parts == 0) return;
+
+        if ((parts & SCORES) != 0) {
+            text.showScore(player1ScoreLabel, model.getPlayer1());
+            text.showScore(player2ScoreLabel, model.getPlayer2());
+        }
+        if ((parts & ROUND) != 0) {
+            text.showRound(roundLabel);
+            roundProgressBar.setValue(model.getCurrentRound() - 1);
+        }
+        if ((parts & TURN) != 0) {
+            boolean isPlayer1Turn = model.isPlayer1Turn();
+            text.showTurn(turnLabel);
+            turnLabel.setForeground(isPlayer1Turn ? player1Color : player2Color);
+        }
+        WinOddsTable odds = winOddsTable;
+        if (odds != null && (parts & (SCORES | ROUND | TURN)) != 0) {
+            int player1Chance = Math.round(odds.player1WinChance(model) * 100);
+            int player2Chance = Math.round(odds.player2WinChance(model) * 100);
+            text.showWinOdds(winOddsLabel, player1Chance, player2Chance);
+        }
+        if ((parts & RESULT) != 0 && !model.isGameEnded()) {
+            text.showResult(resultLabel);
+        }
+    }
+
+    /**
+     * Stop listening to the model
+     */
+    public void dispose() {
+        model.removeGameListener(this);
+        frameTimer.stop();
+    }
+}
@@ -0,0 +1,97 @@
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Panel that paints the vertical gradient background used by the game screens
+ * The gradient is rendered once into a cached image per panel size and only
+ * re-rendered when the panel is resized or the colors (theme) change; panels
+ * of the same size and colors share the image through GameRuntime
+ */
+public class GradientPanel extends JPanel {
+    private Color topColor;
+    private Color bottomColor;
+
+    // Cached background, keyed by size and graphics configuration
+    private Image cachedBackground;
+    private int cachedWidth = -1;
+    private int cachedHeight = -1;
+    private GraphicsConfiguration cachedConfig;
+
+    /**
+     * Constructor to create a gradient panel
+     * @param layout layout manager for the panel
+     * @param topColor color at the top edge
+     * @param bottomColor color at the bottom edge
+     */
+    public GradientPanel(LayoutManager layout, Color topColor, Color bottomColor) {
+        super(layout);
+        this.topColor = topColor;
+        this.bottomColor = bottomColor;
+        setOpaque(true);
+    }
+
+    /**
+     * Change the gradient colors (e.g. on a theme change) and repaint
+     */
+    public void setColors(Color topColor, Color bottomColor) {
+        this.topColor = topColor;
+        this.bottomColor = bottomColor;
+        invalidateBackground();
+        repaint();
+    }
+
+    /**
+     * Drop the cached background so it is rebuilt on the next paint
+     */
+    public void invalidateBackground() {
+        // The image may be shared with other windows, so it is not flushed
+        cachedBackground = null;
+        cachedWidth = -1;
+        cachedHeight = -1;
+    }
+
+    @Override
+    public void updateUI() {
+        super.updateUI();
+        // Look and feel changes count as a theme change
+        invalidateBackground();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        // The cached image covers the whole panel, so the default
+        // background fill from super.paintComponent() is skipped
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0) return;
+
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        if (cachedBackground == null || cachedWidth != width || cachedHeight != height
+                || cachedConfig != config) {
+            loadBackground(width, height, config);
+        }
+
+        // Only copy the part of the background that is being repainted
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, width, height);
+        } else {
+            clip = clip.intersection(new Rectangle(0, 0, width, height));
+            if (clip.isEmpty()) return;
+        }
+        g.drawImage(cachedBackground,
+                    clip.x, clip.y, clip.x + clip.width, clip.y + clip.height,
+                    clip.x, clip.y, clip.x + clip.width, clip.y + clip.height,
+                    null);
+    }
+
+    /**
+     * Fetch the gradient image of the given size
+     */
+    private void loadBackground(int width, int height, GraphicsConfiguration config) {
+        cachedBackground = GameRuntime.gradient(width, height, topColor, bottomColor, config);
+        cachedWidth = width;
+        cachedHeight = height;
+        cachedConfig = config;
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Scoring categories of the five-dice keep-and-reroll mode
+ * Each category is used once per game; a hand that does not qualify scores 0
+ */
+public enum HandCategory {
+    ONES("Ones"),
+    TWOS("Twos"),
+    THREES("Threes"),
+    FOURS("Fours"),
+    FIVES("Fives"),
+    SIXES("Sixes"),
+    THREE_OF_A_KIND("Three of a Kind"),
+    FOUR_OF_A_KIND("Four of a Kind"),
+    FULL_HOUSE("Full House"),
+    SMALL_STRAIGHT("Small Straight"),
+    LARGE_STRAIGHT("Large Straight"),
+    FIVE_OF_A_KIND("Five of a Kind"),
+    CHANCE("Chance");
+
+    /** Bit mask with every category available */
+    public static final int ALL = (1 << values().length) - 1;
+
+    private final String displayName;
+
+    HandCategory(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Score a hand given as face counts
+     * @param counts counts[f] = number of dice showing face f + 1
+     */
+    public int score(int[] counts) {
+        int sum = 0, maxCount = 0;
+        boolean hasPair = false, hasTriple = false;
+        for (int face = 0; face < counts.length; face++) {
+            sum += counts[face] * (face + 1);
+            maxCount = Math.max(maxCount, counts[face]);
+            hasPair |= counts[face] == 2;
+            hasTriple |= counts[face] == 3;
+        }
+
+        switch (this) {
+            case THREE_OF_A_KIND:
+                return maxCount >= 3 ? sum : 0;
+            case FOUR_OF_A_KIND:
+                return maxCount >= 4 ? sum : 0;
+            case FULL_HOUSE:
+                return hasPair && hasTriple ? 25 : 0;
+            case SMALL_STRAIGHT:
+                return longestRun(counts) >= 4 ? 30 : 0;
+            case LARGE_STRAIGHT:
+                return longestRun(counts) >= 5 ? 40 : 0;
+            case FIVE_OF_A_KIND:
+                return maxCount == 5 ? 50 : 0;
+            case CHANCE:
+                return sum;
+            default:
+                // Upper section: sum of the dice showing this face
+                int face = ordinal() + 1;
+                return counts[face - 1] * face;
+        }
+    }
+
+    private static int longestRun(int[] counts) {
+        int longest = 0, run = 0;
+        for (int count : counts) {
+            run = count > 0 ? run + 1 : 0;
+            longest = Math.max(longest, run);
+        }
+        return longest;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,360 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Expected-value solver for the five-dice keep-and-reroll mode
+ *
+ * Hands are canonicalized as unordered multisets (252 for 5d6) and every
+ * possible keep as a sub-multiset (462). Reroll transitions are tabulated
+ * once: for each keep, the hands it can become and their probabilities.
+ * For a set of still-open categories, the expected best score of the turn is
+ * solved by dynamic programming over (rerolls left, hand) and cached per
+ * category mask, so a hint afterwards is a couple of array lookups.
+ * The objective is the score of the current turn (upper-section bonuses
+ * and later turns are not considered).
+ */
+public class HoldAdvisor {
+
+    public static final int DICE = 5;
+    public static final int SIDES = Dice.SIDES;
+    public static final int MAX_REROLLS = 2;
+
+    /** Advisor shared by all game windows */
+    public static final HoldAdvisor SHARED = new HoldAdvisor();
+
+    // Canonical hands (exactly DICE dice) and keeps (0..DICE dice), as face counts
+    private final int[][] handCounts;
+    private final int[][] keepCounts;
+    private final int[] handIndexByKey;
+    private final int[] keepIndexByKey;
+
+    // Transitions: keeping keep k and rerolling the rest yields hand keepResults[k][i]
+    private final int[][] keepResults;
+    private final double[][] keepProbabilities;
+
+    // Distinct keeps available from each hand
+    private final int[][] handKeeps;
+
+    // Category scores for each hand: handScores[hand][category]
+    private final int[][] handScores;
+
+    private final ConcurrentMap<Integer, Solution> solutions = new ConcurrentHashMap<>();
+
+    /**
+     * Solved expectations for one set of open categories
+     */
+    private static class Solution {
+        final double[][] handValue = new double[MAX_REROLLS + 1][];
+        final int[][] bestKeep = new int[MAX_REROLLS + 1][];
+        int[] bestCategory;
+    }
+
+    /**
+     * Advice for the current hand
+     */
+    public static class Hint {
+        private final boolean[] hold;
+        private final boolean reroll;
+        private final HandCategory category;
+        private final double expectedScore;
+
+        Hint(boolean[] hold, boolean reroll, HandCategory category, double expectedScore) {
+            this.hold = hold;
+            this.reroll = reroll;
+            this.category = category;
+            this.expectedScore = expectedScore;
+        }
+
+        /**
+         * @return per die position, whether to keep that die
+         */
+        public boolean[] getHold() {
+            return hold.clone();
+        }
+
+        /**
+         * @return true if rerolling beats scoring the hand now
+         */
+        public boolean shouldReroll() {
+            return reroll;
+        }
+
+        /**
+         * @return category to score if the hand is scored now
+         */
+        public HandCategory getCategory() {
+            return category;
+        }
+
+        public double getExpectedScore() {
+            return expectedScore;
+        }
+    }
+
+    public HoldAdvisor() {
+        int keySpace = pow(DICE + 1, SIDES);
+        handIndexByKey = new int[keySpace];
+        keepIndexByKey = new int[keySpace];
+        Arrays.fill(handIndexByKey, -1);
+        Arrays.fill(keepIndexByKey, -1);
+
+        List<int[]> hands = new ArrayList<>();
+        multisets(DICE, 0, new int[SIDES], hands);
+        handCounts = hands.toArray(new int[0][]);
+        for (int h = 0; h < handCounts.length; h++) {
+            handIndexByKey[key(handCounts[h])] = h;
+        }
+
+        List<int[]> keeps = new ArrayList<>();
+        for (int size = 0; size <= DICE; size++) {
+            multisets(size, 0, new int[SIDES], keeps);
+        }
+        keepCounts = keeps.toArray(new int[0][]);
+        for (int k = 0; k < keepCounts.length; k++) {
+            keepIndexByKey[key(keepCounts[k])] = k;
+        }
+
+        // Reroll outcomes for each number of rerolled dice, with multinomial probabilities
+        List<List<int[]>> outcomesBySize = new ArrayList<>();
+        List<double[]> outcomeProbabilities = new ArrayList<>();
+        for (int size = 0; size <= DICE; size++) {
+            List<int[]> outcomes = new ArrayList<>();
+            multisets(size, 0, new int[SIDES], outcomes);
+            double[] probabilities = new double[outcomes.size()];
+            for (int i = 0; i < probabilities.length; i++) {
+                probabilities[i] = multinomial(outcomes.get(i), size) / Math.pow(SIDES, size);
+            }
+            outcomesBySize.add(outcomes);
+            outcomeProbabilities.add(probabilities);
+        }
+
+        keepResults = new int[keepCounts.length][];
+        keepProbabilities = new double[keepCounts.length][];
+        for (int k = 0; k < keepCounts.length; k++) {
+            int rerolled = DICE - size(keepCounts[k]);
+            List<int[]> outcomes = outcomesBySize.get(rerolled);
+            keepResults[k] = new int[outcomes.size()];
+            keepProbabilities[k] = outcomeProbabilities.get(rerolled);
+            int[] combined = new int[SIDES];
+            for (int i = 0; i < outcomes.size(); i++) {
+                for (int f = 0; f < SIDES; f++) {
+                    combined[f] = keepCounts[k][f] + outcomes.get(i)[f];
+                }
+                keepResults[k][i] = handIndexByKey[key(combined)];
+            }
+        }
+
+        handKeeps = new int[handCounts.length][];
+        handScores = new int[handCounts.length][HandCategory.values().length];
+        for (int h = 0; h < handCounts.length; h++) {
+            List<int[]> subsets = new ArrayList<>();
+            subMultisets(handCounts[h], 0, new int[SIDES], subsets);
+            handKeeps[h] = new int[subsets.size()];
+            for (int i = 0; i < subsets.size(); i++) {
+                handKeeps[h][i] = keepIndexByKey[key(subsets.get(i))];
+            }
+            for (HandCategory category : HandCategory.values()) {
+                handScores[h][category.ordinal()] = category.score(handCounts[h]);
+            }
+        }
+    }
+
+    /**
+     * Advise which dice to keep
+     * @param dice the five dice values (1..SIDES), in display order
+     * @param rerollsLeft rerolls still allowed this turn (0..MAX_REROLLS)
+     * @param openCategories bit mask of categories not yet used
+     */
+    public Hint hint(int[] dice, int rerollsLeft, int openCategories) {
+        if (dice.length != DICE) {
+            throw new IllegalArgumentException("Expected " + DICE + " dice");
+        }
+        if (rerollsLeft < 0 || rerollsLeft > MAX_REROLLS) {
+            throw new IllegalArgumentException("Rerolls left must be between 0 and " + MAX_REROLLS);
+        }
+        if ((openCategories & HandCategory.ALL) == 0) {
+            throw new IllegalArgumentException("No open categories");
+        }
+
+        int[] counts = new int[SIDES];
+        for (int value : dice) {
+            counts[value - 1]++;
+        }
+        int hand = handIndexByKey[key(counts)];
+        Solution solution = solve(openCategories);
+        HandCategory category = HandCategory.values()[solution.bestCategory[hand]];
+
+        if (rerollsLeft == 0) {
+            boolean[] all = new boolean[DICE];
+            Arrays.fill(all, true);
+            return new Hint(all, false, category, solution.handValue[0][hand]);
+        }
+
+        int[] keep = keepCounts[solution.bestKeep[rerollsLeft][hand]];
+        int[] remaining = keep.clone();
+        boolean[] hold = new boolean[DICE];
+        for (int i = 0; i < DICE; i++) {
+            if (remaining[dice[i] - 1] > 0) {
+                remaining[dice[i] - 1]--;
+                hold[i] = true;
+            }
+        }
+        boolean reroll = size(keep) < DICE;
+        return new Hint(hold, reroll, category, solution.handValue[rerollsLeft][hand]);
+    }
+
+    /**
+     * Expected score of the turn before its first roll
+     */
+    public double expectedTurnScore(int openCategories) {
+        Solution solution = solve(openCategories);
+        int emptyKeep = keepIndexByKey[0];
+        double expected = 0;
+        for (int i = 0; i < keepResults[emptyKeep].length; i++) {
+            expected += keepProbabilities[emptyKeep][i] * solution.handValue[MAX_REROLLS][keepResults[emptyKeep][i]];
+        }
+        return expected;
+    }
+
+    /**
+     * Solve (or fetch from the cache) the expectations for a category mask
+     */
+    private Solution solve(int openCategories) {
+        Solution cached = solutions.get(openCategories);
+        if (cached != null) return cached;
+
+        Solution solution = new Solution();
+        int hands = handCounts.length;
+
+        // No rerolls left: score the best open category
+        solution.handValue[0] = new double[hands];
+        solution.bestCategory = new int[hands];
+        for (int h = 0; h < hands; h++) {
+            int best = -1, bestScore = -1;
+            for (int c = 0; c < handScores[h].length; c++) {
+                if ((openCategories & (1 << c)) != 0 && handScores[h][c] > bestScore) {
+                    best = c;
+                    bestScore = handScores[h][c];
+                }
+            }
+            solution.bestCategory[h] = best;
+            solution.handValue[0][h] = bestScore;
+        }
+
+        double[] keepValue = new double[keepCounts.length];
+        for (int rerolls = 1; rerolls <= MAX_REROLLS; rerolls++) {
+            double[] previous = solution.handValue[rerolls - 1];
+            for (int k = 0; k < keepCounts.length; k++) {
+                int[] results = keepResults[k];
+                double[] probabilities = keepProbabilities[k];
+                double value = 0;
+                for (int i = 0; i < results.length; i++) {
+                    value += probabilities[i] * previous[results[i]];
+                }
+                keepValue[k] = value;
+            }
+            double[] current = new double[hands];
+            int[] bestKeep = new int[hands];
+            for (int h = 0; h < hands; h++) {
+                int best = -1;
+                double bestValue = -1;
+                for (int k : handKeeps[h]) {
+                    if (keepValue[k] > bestValue) {
+                        best = k;
+                        bestValue = keepValue[k];
+                    }
+                }
+                current[h] = bestValue;
+                bestKeep[h] = best;
+            }
+            solution.handValue[rerolls] = current;
+            solution.bestKeep[rerolls] = bestKeep;
+        }
+
+        Solution existing = solutions.putIfAbsent(openCategories, solution);
+        return existing != null ? existing : solution;
+    }
+
+    /**
+     * Number of distinct hands (252 for five six-sided dice)
+     */
+    public int handCount() {
+        return handCounts.length;
+    }
+
+    /**
+     * Number of distinct keeps (462 for five six-sided dice)
+     */
+    public int keepCount() {
+        return keepCounts.length;
+    }
+
+    private static void multisets(int size, int face, int[] counts, List<int[]> out) {
+        if (face == SIDES - 1) {
+            counts[face] = size;
+            out.add(counts.clone());
+            counts[face] = 0;
+            return;
+        }
+        for (int n = size; n >= 0; n--) {
+            counts[face] = n;
+            multisets(size - n, face + 1, counts, out);
+        }
+        counts[face] = 0;
+    }
+
+    private static void subMultisets(int[] of, int face, int[] counts, List<int[]> out) {
+        if (face == SIDES) {
+            out.add(counts.clone());
+            return;
+        }
+        for (int n = 0; n <= of[face]; n++) {
+            counts[face] = n;
+            subMultisets(of, face + 1, counts, out);
+        }
+        counts[face] = 0;
+    }
+
+    private static int key(int[] counts) {
+        int key = 0;
+        for (int face = SIDES - 1; face >= 0; face--) {
+            key = key * (DICE + 1) + counts[face];
+        }
+        return key;
+    }
+
+    private static int size(int[] counts) {
+        int size = 0;
+        for (int count : counts) {
+            size += count;
+        }
+        return size;
+    }
+
+    private static double multinomial(int[] counts, int size) {
+        double result = factorial(size);
+        for (int count : counts) {
+            result /= factorial(count);
+        }
+        return result;
+    }
+
+    private static double factorial(int n) {
+        double result = 1;
+        for (int i = 2; i <= n; i++) {
+            result *= i;
+        }
+        return result;
+    }
+
+    private static int pow(int base, int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+}
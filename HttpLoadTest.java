@@ -0,0 +1,246 @@
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Load test for GameHttpServer
+ *
+ * Each client keeps one HTTP/1.1 keep-alive connection and plays complete
+ * games in a loop: create, roll until finished, fetch the result, delete.
+ * Requests are written and parsed by hand on plain sockets so the client
+ * costs little next to the server. Latencies after the warm-up are kept and
+ * summarised as requests per second and percentiles.
+ * Starts its own server on a free port unless one is given.
+ * Usage: java HttpLoadTest [clients] [seconds] [port]
+ */
+public class HttpLoadTest {
+
+    private static final double WARMUP_SECONDS = 2;
+
+    /**
+     * One keep-alive connection with a reusable response buffer
+     */
+    private static class Connection implements AutoCloseable {
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+        private final StringBuilder line = new StringBuilder();
+        private byte[] body = new byte[4096];
+        private int bodyLength;
+
+        Connection(int port) throws IOException {
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress("localhost", port));
+            in = new BufferedInputStream(socket.getInputStream(), 8192);
+            out = socket.getOutputStream();
+        }
+
+        /**
+         * Send a request and read the whole response
+         * @return status code
+         */
+        int request(String method, String path) throws IOException {
+            String request = method + " " + path + " HTTP/1.1\r\nHost: localhost\r\nContent-Length: 0\r\n\r\n";
+            out.write(request.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            String status = readLine();
+            int code = Integer.parseInt(status.substring(9, 12));
+            int length = -1;
+            for (String header = readLine(); !header.isEmpty(); header = readLine()) {
+                if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                    length = Integer.parseInt(header.substring(15).trim());
+                }
+            }
+            if (length < 0) {
+                throw new IOException("Response without Content-Length");
+            }
+            if (length > body.length) {
+                body = new byte[Math.max(length, body.length * 2)];
+            }
+            for (int read = 0; read < length; ) {
+                int n = in.read(body, read, length - read);
+                if (n < 0) throw new IOException("Connection closed");
+                read += n;
+            }
+            bodyLength = length;
+            return code;
+        }
+
+        private String readLine() throws IOException {
+            line.setLength(0);
+            int c;
+            while ((c = in.read()) != '\n') {
+                if (c < 0) throw new IOException("Connection closed");
+                if (c != '\r') line.append((char) c);
+            }
+            return line.toString();
+        }
+
+        boolean bodyContains(String text) {
+            return indexOf(text) >= 0;
+        }
+
+        /**
+         * Value of a numeric member such as "id"
+         */
+        long number(String name) {
+            int at = indexOf("\"" + name + "\":") + name.length() + 3;
+            long value = 0;
+            while (at < bodyLength && body[at] >= '0' && body[at] <= '9') {
+                value = value * 10 + body[at++] - '0';
+            }
+            return value;
+        }
+
+        private int indexOf(String text) {
+            byte[] pattern = text.getBytes(StandardCharsets.US_ASCII);
+            outer:
+            for (int i = 0; i + pattern.length <= bodyLength; i++) {
+                for (int j = 0; j < pattern.length; j++) {
+                    if (body[i + j] != pattern[j]) continue outer;
+                }
+                return i;
+            }
+            return -1;
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    /**
+     * Client thread playing games until the deadline
+     */
+    private static class Client extends Thread {
+        final int port, rounds;
+        final long measureFrom, deadline;
+        final CountDownLatch done;
+        long[] latencies = new long[1 << 16];
+        int count;
+        long games, errors;
+
+        Client(int id, int port, int rounds, long measureFrom, long deadline, CountDownLatch done) {
+            super("load-client-" + id);
+            this.port = port;
+            this.rounds = rounds;
+            this.measureFrom = measureFrom;
+            this.deadline = deadline;
+            this.done = done;
+        }
+
+        private int timed(Connection connection, String method, String path) throws IOException {
+            long start = System.nanoTime();
+            int status = connection.request(method, path);
+            if (start >= measureFrom) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - start;
+            }
+            if (status >= 400) errors++;
+            return status;
+        }
+
+        @Override
+        public void run() {
+            try (Connection connection = new Connection(port)) {
+                while (System.nanoTime() < deadline) {
+                    timed(connection, "POST", "/games?mode=single&rounds=" + rounds);
+                    long id = connection.number("id");
+                    String game = "/games/" + id;
+                    do {
+                        timed(connection, "POST", game + "/roll");
+                    } while (!connection.bodyContains("\"finished\":true")
+                             && !connection.bodyContains("\"error\""));
+                    timed(connection, "GET", game + "/result");
+                    timed(connection, "DELETE", game);
+                    games++;
+                }
+            } catch (IOException e) {
+                System.err.println(getName() + ": " + e);
+                errors++;
+            } finally {
+                done.countDown();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 10;
+        GameHttpServer server = null;
+        long[] finished = new long[1];
+        int port;
+        if (args.length > 2) {
+            port = Integer.parseInt(args[2]);
+        } else {
+            server = new GameHttpServer(new InetSocketAddress("localhost", 0),
+                                        Runtime.getRuntime().availableProcessors() * 2).start();
+            port = server.getPort();
+            // A spectator on the server's feed, counting finished games
+            server.getSpectatorFeed().addHandler((event, sequence, end) -> {
+                if (event.getType() == GameEvent.Type.GAME_END) {
+                    finished[0]++;
+                }
+            }, "load-test-spectator");
+        }
+
+        long start = System.nanoTime();
+        long measureFrom = start + (long) (WARMUP_SECONDS * 1e9);
+        long deadline = measureFrom + (long) (seconds * 1e9);
+        CountDownLatch done = new CountDownLatch(clients);
+        List<Client> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client(i, port, 5, measureFrom, deadline, done);
+            threads.add(client);
+            client.start();
+        }
+        done.await();
+        double measured = (System.nanoTime() - measureFrom) / 1e9;
+
+        long total = 0, games = 0, errors = 0;
+        for (Client client : threads) {
+            total += client.count;
+            games += client.games;
+            errors += client.errors;
+        }
+        long[] all = new long[(int) total];
+        int at = 0;
+        for (Client client : threads) {
+            System.arraycopy(client.latencies, 0, all, at, client.count);
+            at += client.count;
+        }
+        Arrays.sort(all);
+
+        System.out.printf("%d clients, %.1f s measured after %.0f s warm-up%n", clients, measured, WARMUP_SECONDS);
+        System.out.printf("%,d requests: %,.0f requests/s, %,d games, %d errors%n",
+                          total, total / measured, games, errors);
+        if (all.length > 0) {
+            System.out.printf("Latency: p50 %.0f us, p90 %.0f us, p99 %.0f us, p99.9 %.0f us, max %.0f us%n",
+                              percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99),
+                              percentile(all, 0.999), all[all.length - 1] / 1e3);
+        }
+        if (server != null) {
+            server.stop();
+            System.out.printf("Spectator feed: %,d finished games seen, %,d events dropped%n",
+                              finished[0], server.getSpectatorFeed().getDroppedCount());
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e3;
+    }
+}
@@ -0,0 +1,235 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Streaming JSON encoder that writes UTF-8 straight into a reusable byte array
+ *
+ * Commas and colons are placed by the writer, numbers are formatted digit
+ * by digit and strings are escaped in place, so encoding allocates nothing
+ * once the array has grown to the size of a typical document. Writers are
+ * pooled: obtain() hands out a cleared writer and release() returns it.
+ */
+public final class JsonWriter {
+
+    private static final int POOL_SIZE = 256;
+    private static final ArrayBlockingQueue<JsonWriter> POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] TRUE = "true".getBytes();
+    private static final byte[] FALSE = "false".getBytes();
+    private static final byte[] NULL = "null".getBytes();
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes();
+
+    private byte[] buffer = new byte[1024];
+    private int size;
+    private boolean needsComma;
+
+    /**
+     * @return a cleared writer from the pool, or a new one if the pool is empty
+     */
+    public static JsonWriter obtain() {
+        JsonWriter writer = POOL.poll();
+        return writer != null ? writer.clear() : new JsonWriter();
+    }
+
+    /**
+     * Return the writer to the pool; it must not be used afterwards
+     */
+    public void release() {
+        POOL.offer(this);
+    }
+
+    public JsonWriter clear() {
+        size = 0;
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter beginObject() {
+        separate();
+        put((byte) '{');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        put((byte) '}');
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter beginArray() {
+        separate();
+        put((byte) '[');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        put((byte) ']');
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Write a member name; the next call writes its value
+     */
+    public JsonWriter name(String name) {
+        separate();
+        string(name);
+        put((byte) ':');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        separate();
+        if (value == Long.MIN_VALUE) {
+            put(MIN_LONG);
+        } else {
+            if (value < 0) {
+                put((byte) '-');
+                value = -value;
+            }
+            int digits = 1;
+            for (long rest = value / 10; rest > 0; rest /= 10) {
+                digits++;
+            }
+            ensure(digits);
+            for (int i = size + digits - 1; i >= size; i--) {
+                buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            size += digits;
+        }
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        separate();
+        put(value ? TRUE : FALSE);
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Write a string value, or null
+     */
+    public JsonWriter value(String value) {
+        separate();
+        if (value == null) {
+            put(NULL);
+        } else {
+            string(value);
+        }
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Write bytes as a lowercase hex string
+     */
+    public JsonWriter hexValue(byte[] bytes) {
+        separate();
+        ensure(bytes.length * 2 + 2);
+        buffer[size++] = '"';
+        for (byte b : bytes) {
+            buffer[size++] = HEX[(b >> 4) & 0xF];
+            buffer[size++] = HEX[b & 0xF];
+        }
+        buffer[size++] = '"';
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter nullValue() {
+        separate();
+        put(NULL);
+        needsComma = true;
+        return this;
+    }
+
+    private void separate() {
+        if (needsComma) {
+            put((byte) ',');
+        }
+    }
+
+    private void string(String text) {
+        // Worst case: every char a \\u escape
+        ensure(text.length() * 6 + 2);
+        byte[] out = buffer;
+        int n = size;
+        out[n++] = '"';
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                out[n++] = '\\';
+                out[n++] = (byte) c;
+            } else if (c < 0x20) {
+                out[n++] = '\\';
+                out[n++] = 'u';
+                out[n++] = '0';
+                out[n++] = '0';
+                out[n++] = HEX[c >> 4];
+                out[n++] = HEX[c & 0xF];
+            } else if (c < 0x80) {
+                out[n++] = (byte) c;
+            } else if (c < 0x800) {
+                out[n++] = (byte) (0xC0 | c >> 6);
+                out[n++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                       && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                out[n++] = (byte) (0xF0 | codePoint >> 18);
+                out[n++] = (byte) (0x80 | (codePoint >> 12 & 0x3F));
+                out[n++] = (byte) (0x80 | (codePoint >> 6 & 0x3F));
+                out[n++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out[n++] = '?'; // unpaired surrogate
+            } else {
+                out[n++] = (byte) (0xE0 | c >> 12);
+                out[n++] = (byte) (0x80 | (c >> 6 & 0x3F));
+                out[n++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        out[n++] = '"';
+        size = n;
+    }
+
+    private void put(byte b) {
+        ensure(1);
+        buffer[size++] = b;
+    }
+
+    private void put(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buffer.length) {
+            byte[] larger = new byte[Math.max(buffer.length * 2, size + extra)];
+            System.arraycopy(buffer, 0, larger, 0, size);
+            buffer = larger;
+        }
+    }
+
+    /**
+     * @return number of encoded bytes
+     */
+    public int size() {
+        return size;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, size, java.nio.charset.StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,953 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local store of finished games with indexed history queries
+ *
+ * Matches are appended as fixed 32-byte records to the active segment file,
+ * which is mirrored in memory. Once it holds SEGMENT_RECORDS matches it is
+ * sealed: an index file is written next to it with two sorted arrays, one
+ * keyed by (player, insertion order) and one by (score descending,
+ * insertion order), and both files are memory-mapped from then on. Queries
+ * binary-search the index of each sealed segment, newest first, and
+ * follow per-player chains through the active segment. A background thread compacts FANOUT
+ * neighbouring segments of the same size into one by merging their
+ * indexes, so even 100M matches live in a handful of segments.
+ * Sealed segments never change; the list of live segments is kept in a
+ * manifest that is replaced atomically.
+ * Usage: java MatchStore [games] [directory]
+ */
+public class MatchStore implements AutoCloseable {
+
+    static final int RECORD_BYTES = 32;
+    static final int SEGMENT_RECORDS = 1 << 18;
+    static final int FANOUT = 4;
+    // Merged segments stay below 2 GB so each file maps in one piece
+    static final int MAX_SEGMENT_RECORDS = 1 << 24;
+
+    private static final int INDEX_MAGIC = 0x444d5358; // "DMSX"
+    private static final int VERSION = 1;
+    private static final int INDEX_HEADER = 32;
+    private static final int SCORE_MASK = (1 << 23) - 1;
+    private static final long RECORD_MASK = (1L << 39) - 1;
+
+    private static CompletableFuture<MatchStore> shared;
+    // Opens the shared store and runs its blocking calls, off the EDT
+    private static final ExecutorService io = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "match-store-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path directory;
+    private final Path manifestFile;
+    private final FileChannel playersChannel;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> players = Collections.synchronizedList(new ArrayList<>());
+
+    // Sealed segments, oldest first; replaced as a whole under this
+    private volatile List<Segment> sealed = Collections.emptyList();
+
+    // Active segment, guarded by this
+    private final ByteBuffer active = ByteBuffer.allocate(SEGMENT_RECORDS * RECORD_BYTES)
+                                                .order(ByteOrder.LITTLE_ENDIAN);
+    private FileChannel activeChannel;
+    private String activeName;
+    private int activeCount;
+    private int flushedCount;
+    // Per-player chains through the active segment: entry 2 * record + slot
+    // links to the player's previous entry, -1 ends the chain
+    private final int[] activePrevious = new int[SEGMENT_RECORDS * 2];
+    private final Map<Integer, Integer> activeLast = new HashMap<>();
+    private int nextSegment;
+
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "match-store-compactor");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private volatile long compactions;
+
+    /**
+     * One stored game
+     */
+    public static class Match {
+        private final long time;
+        private final String player1, player2;
+        private final int score1, score2, rounds;
+
+        public Match(long time, String player1, String player2, int score1, int score2, int rounds) {
+            this.time = time;
+            this.player1 = player1;
+            this.player2 = player2;
+            this.score1 = score1;
+            this.score2 = score2;
+            this.rounds = rounds;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public String getPlayer1() {
+            return player1;
+        }
+
+        public String getPlayer2() {
+            return player2;
+        }
+
+        public int getScore1() {
+            return score1;
+        }
+
+        public int getScore2() {
+            return score2;
+        }
+
+        public int getRounds() {
+            return rounds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%tF %<tR  %s %d - %d %s (%d rounds)",
+                                 time, player1, score1, score2, player2, rounds);
+        }
+    }
+
+    /**
+     * One player's score in a stored game
+     */
+    public static class ScoreEntry {
+        private final Match match;
+        private final boolean player1;
+
+        ScoreEntry(Match match, boolean player1) {
+            this.match = match;
+            this.player1 = player1;
+        }
+
+        public Match getMatch() {
+            return match;
+        }
+
+        public String getPlayer() {
+            return player1 ? match.player1 : match.player2;
+        }
+
+        public int getScore() {
+            return player1 ? match.score1 : match.score2;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%5d  %-12s %tF %<tR", getScore(), getPlayer(), match.time);
+        }
+    }
+
+    /**
+     * Results of one player against another
+     */
+    public static class HeadToHead {
+        private final String player, opponent;
+        private long wins, losses, ties;
+
+        HeadToHead(String player, String opponent) {
+            this.player = player;
+            this.opponent = opponent;
+        }
+
+        void add(int score, int opponentScore) {
+            if (score > opponentScore) wins++;
+            else if (score < opponentScore) losses++;
+            else ties++;
+        }
+
+        public long getWins() {
+            return wins;
+        }
+
+        public long getLosses() {
+            return losses;
+        }
+
+        public long getTies() {
+            return ties;
+        }
+
+        public long getGames() {
+            return wins + losses + ties;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s vs %s: %d won, %d lost, %d tied", player, opponent, wins, losses, ties);
+        }
+    }
+
+    /**
+     * Sealed, memory-mapped segment with its two indexes
+     */
+    private static class Segment {
+        final String name;
+        final Path dataFile, indexFile;
+        final int count;
+        final long minTime, maxTime;
+        final ByteBuffer records;
+        final LongBuffer byPlayer; // player << 32 | record
+        final LongBuffer byScore;  // (SCORE_MASK - score) << 40 | record << 1 | slot
+
+        Segment(Path directory, String name) throws IOException {
+            this.name = name;
+            dataFile = directory.resolve(name + ".dat");
+            indexFile = directory.resolve(name + ".idx");
+            try (FileChannel data = FileChannel.open(dataFile, StandardOpenOption.READ);
+                 FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+                count = (int) (data.size() / RECORD_BYTES);
+                long indexBytes = INDEX_HEADER + (long) count * 32;
+                ByteBuffer header = index.size() == indexBytes
+                    ? index.map(FileChannel.MapMode.READ_ONLY, 0, indexBytes).order(ByteOrder.LITTLE_ENDIAN)
+                    : null;
+                if (header == null || header.getInt(0) != INDEX_MAGIC || header.getLong(8) != count) {
+                    throw new IOException("Bad index " + indexFile);
+                }
+                minTime = header.getLong(16);
+                maxTime = header.getLong(24);
+                records = data.map(FileChannel.MapMode.READ_ONLY, 0, (long) count * RECORD_BYTES)
+                              .order(ByteOrder.LITTLE_ENDIAN);
+                byPlayer = slice(header, INDEX_HEADER, count * 16);
+                byScore = slice(header, INDEX_HEADER + count * 16, count * 16);
+            }
+        }
+
+        private static LongBuffer slice(ByteBuffer buffer, int offset, int length) {
+            ByteBuffer part = buffer.duplicate();
+            part.position(offset).limit(offset + length);
+            return part.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        }
+
+        /**
+         * @return first index entry not less than key
+         */
+        static int lowerBound(LongBuffer index, long key) {
+            int low = 0, high = index.limit();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (index.get(mid) < key) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(dataFile);
+                Files.deleteIfExists(indexFile);
+            } catch (IOException e) {
+                // Still mapped on some platforms; removed as an orphan on the next open
+            }
+        }
+    }
+
+    /**
+     * Open (or create) a store in a directory
+     */
+    public MatchStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        manifestFile = directory.resolve("manifest");
+
+        Path playersFile = directory.resolve("players.txt");
+        if (Files.exists(playersFile)) {
+            for (String name : Files.readAllLines(playersFile, StandardCharsets.UTF_8)) {
+                dictionary.put(name, players.size());
+                players.add(name);
+            }
+        }
+        playersChannel = FileChannel.open(playersFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                          StandardOpenOption.APPEND);
+
+        List<String> names = new ArrayList<>();
+        if (Files.exists(manifestFile)) {
+            for (String line : Files.readAllLines(manifestFile, StandardCharsets.UTF_8)) {
+                if (line.startsWith("active ")) {
+                    activeName = line.substring(7);
+                } else if (!line.isEmpty()) {
+                    names.add(line);
+                }
+            }
+        }
+        for (String name : names) {
+            nextSegment = Math.max(nextSegment, segmentNumber(name) + 1);
+        }
+        if (activeName != null) {
+            nextSegment = Math.max(nextSegment, segmentNumber(activeName) + 1);
+        }
+        deleteOrphans(names);
+
+        List<Segment> segments = new ArrayList<>();
+        for (String name : names) {
+            Segment segment;
+            try {
+                segment = new Segment(directory, name);
+            } catch (IOException e) {
+                // Index lost or torn: rebuild it from the records
+                try (FileChannel data = FileChannel.open(directory.resolve(name + ".dat"),
+                                                         StandardOpenOption.READ)) {
+                    int count = (int) (data.size() / RECORD_BYTES);
+                    writeIndex(directory.resolve(name + ".idx"),
+                               data.map(FileChannel.MapMode.READ_ONLY, 0, (long) count * RECORD_BYTES)
+                                   .order(ByteOrder.LITTLE_ENDIAN), count);
+                }
+                segment = new Segment(directory, name);
+            }
+            segments.add(segment);
+        }
+        sealed = Collections.unmodifiableList(segments);
+
+        if (activeName == null) {
+            activeName = nextName();
+        }
+        activeChannel = FileChannel.open(directory.resolve(activeName + ".dat"), StandardOpenOption.CREATE,
+                                         StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Drop a torn record at the end
+        activeCount = (int) Math.min(SEGMENT_RECORDS, activeChannel.size() / RECORD_BYTES);
+        activeChannel.truncate((long) activeCount * RECORD_BYTES);
+        ByteBuffer read = active.duplicate();
+        read.limit(activeCount * RECORD_BYTES);
+        while (read.hasRemaining()) {
+            if (activeChannel.read(read, read.position()) < 0) break;
+        }
+        flushedCount = activeCount;
+        for (int i = 0; i < activeCount; i++) {
+            link(i);
+        }
+        writeManifest();
+
+        if (activeCount == SEGMENT_RECORDS) {
+            seal();
+        }
+        compactor.execute(this::compact);
+    }
+
+    /**
+     * Store in ~/.dicegame/matches shared by all windows, opened on a
+     * background thread; completes with null if it cannot be opened
+     * (results are then simply not kept)
+     */
+    public static synchronized CompletableFuture<MatchStore> shared() {
+        if (shared == null) {
+            shared = CompletableFuture.supplyAsync(() -> {
+                try {
+                    MatchStore store = new MatchStore(Paths.get(System.getProperty("user.home"), ".dicegame", "matches"));
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                        try {
+                            store.close();
+                        } catch (IOException e) {
+                            // Nothing more can be done while the JVM exits
+                        }
+                    }, "match-store-shutdown"));
+                    return store;
+                } catch (IOException e) {
+                    System.err.println("Match history disabled: " + e.getMessage());
+                    return null;
+                }
+            }, io);
+        }
+        return shared;
+    }
+
+    /**
+     * Record a finished game in the shared store and look up the two
+     * players' history, both on the store's background thread
+     * @return the head-to-head record, or null if the store is not available
+     */
+    public static CompletableFuture<HeadToHead> recordShared(String player1, String player2,
+                                                             int score1, int score2, int rounds) {
+        return shared().thenApplyAsync(store -> {
+            if (store == null) return null;
+            try {
+                store.record(player1, player2, score1, score2, rounds);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return store.headToHead(player1, player2);
+        }, io);
+    }
+
+    private static int segmentNumber(String name) {
+        return Integer.parseInt(name.substring(name.indexOf('-') + 1));
+    }
+
+    private synchronized String nextName() {
+        return String.format("seg-%08d", nextSegment++);
+    }
+
+    /**
+     * Remove segment files left behind by an interrupted seal or compaction
+     */
+    private void deleteOrphans(List<String> live) throws IOException {
+        Set<String> keep = new HashSet<>(live);
+        keep.add(activeName);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "seg-*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String stem = name.substring(0, name.lastIndexOf('.'));
+                if (!keep.contains(stem) || (stem.equals(activeName) && name.endsWith(".idx"))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private void writeManifest() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (Segment segment : sealed) {
+            text.append(segment.name).append('\n');
+        }
+        text.append("active ").append(activeName).append('\n');
+        Path temp = directory.resolve("manifest.tmp");
+        Files.write(temp, text.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private int playerId(String name) throws IOException {
+        Integer id = dictionary.get(name);
+        if (id == null) {
+            // Persist the name before any record that refers to it
+            String line = name.replace('\n', ' ').replace('\r', ' ');
+            ByteBuffer bytes = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                playersChannel.write(bytes);
+            }
+            id = players.size();
+            dictionary.put(name, id);
+            players.add(name);
+        }
+        return id;
+    }
+
+    /**
+     * Append a finished game (buffered until flush or the segment fills)
+     */
+    public synchronized void add(long time, String player1, String player2, int score1, int score2, int rounds)
+            throws IOException {
+        int offset = activeCount * RECORD_BYTES;
+        active.putLong(offset, time);
+        active.putInt(offset + 8, playerId(player1));
+        active.putInt(offset + 12, playerId(player2));
+        active.putInt(offset + 16, score1);
+        active.putInt(offset + 20, score2);
+        active.putShort(offset + 24, (short) rounds);
+        link(activeCount);
+        if (++activeCount == SEGMENT_RECORDS) {
+            seal();
+        }
+    }
+
+    private void link(int record) {
+        int offset = record * RECORD_BYTES;
+        for (int slot = 0; slot < 2; slot++) {
+            int entry = 2 * record + slot;
+            Integer previous = activeLast.put(active.getInt(offset + 8 + 4 * slot), entry);
+            activePrevious[entry] = previous == null ? -1 : previous;
+        }
+    }
+
+    /**
+     * Append a game that just finished and write it out
+     */
+    public synchronized void record(String player1, String player2, int score1, int score2, int rounds)
+            throws IOException {
+        add(System.currentTimeMillis(), player1, player2, score1, score2, rounds);
+        flush();
+    }
+
+    /**
+     * Write buffered games to the active segment file
+     */
+    public synchronized void flush() throws IOException {
+        ByteBuffer pending = active.duplicate();
+        pending.position(flushedCount * RECORD_BYTES).limit(activeCount * RECORD_BYTES);
+        long position = pending.position();
+        while (pending.hasRemaining()) {
+            position += activeChannel.write(pending, position);
+        }
+        flushedCount = activeCount;
+    }
+
+    /**
+     * Index the full active segment, map it and start a new one
+     */
+    private void seal() throws IOException {
+        flush();
+        activeChannel.force(false);
+        activeChannel.close();
+        writeIndex(directory.resolve(activeName + ".idx"), active, activeCount);
+        List<Segment> segments = new ArrayList<>(sealed);
+        segments.add(new Segment(directory, activeName));
+        sealed = Collections.unmodifiableList(segments);
+
+        activeName = nextName();
+        activeChannel = FileChannel.open(directory.resolve(activeName + ".dat"), StandardOpenOption.CREATE,
+                                         StandardOpenOption.READ, StandardOpenOption.WRITE,
+                                         StandardOpenOption.TRUNCATE_EXISTING);
+        activeCount = 0;
+        flushedCount = 0;
+        activeLast.clear();
+        writeManifest();
+        compactor.execute(this::compact);
+    }
+
+    private static long scoreKey(int score, long record, int slot) {
+        int clamped = Math.max(0, Math.min(SCORE_MASK, score));
+        return (long) (SCORE_MASK - clamped) << 40 | record << 1 | slot;
+    }
+
+    /**
+     * Sort the records of a segment into its two indexes and write them
+     */
+    private static void writeIndex(Path file, ByteBuffer records, int count) throws IOException {
+        long[] byPlayer = new long[count * 2];
+        long[] byScore = new long[count * 2];
+        long minTime = Long.MAX_VALUE, maxTime = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int offset = i * RECORD_BYTES;
+            long time = records.getLong(offset);
+            minTime = Math.min(minTime, time);
+            maxTime = Math.max(maxTime, time);
+            byPlayer[2 * i] = (long) records.getInt(offset + 8) << 32 | i;
+            byPlayer[2 * i + 1] = (long) records.getInt(offset + 12) << 32 | i;
+            byScore[2 * i] = scoreKey(records.getInt(offset + 16), i, 0);
+            byScore[2 * i + 1] = scoreKey(records.getInt(offset + 20), i, 1);
+        }
+        Arrays.sort(byPlayer);
+        Arrays.sort(byScore);
+
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(INDEX_MAGIC).putInt(VERSION).putLong(count).putLong(minTime).putLong(maxTime);
+            for (long[] index : new long[][] { byPlayer, byScore }) {
+                for (long key : index) {
+                    if (!buffer.hasRemaining()) {
+                        drain(out, buffer);
+                    }
+                    buffer.putLong(key);
+                }
+            }
+            drain(out, buffer);
+            out.force(false);
+        }
+    }
+
+    private static void drain(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static int sizeClass(int count) {
+        int level = 0;
+        for (long size = (long) SEGMENT_RECORDS * FANOUT; count >= size; size *= FANOUT) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Merge runs of FANOUT same-sized neighbouring segments until none is left
+     */
+    private void compact() {
+        try {
+            while (true) {
+                List<Segment> segments = sealed;
+                int start = -1;
+                for (int i = 0; i + FANOUT <= segments.size() && start < 0; i++) {
+                    int level = sizeClass(segments.get(i).count);
+                    long total = 0;
+                    int j = i;
+                    while (j < i + FANOUT && sizeClass(segments.get(j).count) == level) {
+                        total += segments.get(j++).count;
+                    }
+                    if (j == i + FANOUT && total <= MAX_SEGMENT_RECORDS) {
+                        start = i;
+                    }
+                }
+                if (start < 0) return;
+
+                List<Segment> run = new ArrayList<>(segments.subList(start, start + FANOUT));
+                Segment merged = merge(run);
+                synchronized (this) {
+                    // Only this thread removes segments, so the run is still in place
+                    List<Segment> updated = new ArrayList<>(sealed);
+                    int at = updated.indexOf(run.get(0));
+                    updated.subList(at, at + FANOUT).clear();
+                    updated.add(at, merged);
+                    sealed = Collections.unmodifiableList(updated);
+                    writeManifest();
+                }
+                for (Segment segment : run) {
+                    segment.delete();
+                }
+                compactions++;
+            }
+        } catch (IOException e) {
+            System.err.println("Match store compaction failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Concatenate the records of a run and merge its sorted indexes
+     */
+    private Segment merge(List<Segment> run) throws IOException {
+        String name = nextName();
+        long[] bases = new long[run.size()];
+        long count = 0, minTime = Long.MAX_VALUE, maxTime = Long.MIN_VALUE;
+        for (int i = 0; i < run.size(); i++) {
+            bases[i] = count;
+            count += run.get(i).count;
+            minTime = Math.min(minTime, run.get(i).minTime);
+            maxTime = Math.max(maxTime, run.get(i).maxTime);
+        }
+
+        try (FileChannel out = FileChannel.open(directory.resolve(name + ".dat"), StandardOpenOption.CREATE,
+                                                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Segment segment : run) {
+                ByteBuffer records = segment.records.duplicate();
+                while (records.hasRemaining()) {
+                    out.write(records);
+                }
+            }
+            out.force(false);
+        }
+        try (FileChannel out = FileChannel.open(directory.resolve(name + ".idx"), StandardOpenOption.CREATE,
+                                                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(INDEX_MAGIC).putInt(VERSION).putLong(count).putLong(minTime).putLong(maxTime);
+            for (boolean players : new boolean[] { true, false }) {
+                int[] positions = new int[run.size()];
+                while (true) {
+                    int best = -1;
+                    long bestKey = 0;
+                    for (int i = 0; i < run.size(); i++) {
+                        LongBuffer index = players ? run.get(i).byPlayer : run.get(i).byScore;
+                        if (positions[i] < index.limit()) {
+                            // Records move up by the records of the segments before them
+                            long key = index.get(positions[i]) + (players ? bases[i] : bases[i] << 1);
+                            if (best < 0 || key < bestKey) {
+                                best = i;
+                                bestKey = key;
+                            }
+                        }
+                    }
+                    if (best < 0) break;
+                    positions[best]++;
+                    if (!buffer.hasRemaining()) {
+                        drain(out, buffer);
+                    }
+                    buffer.putLong(bestKey);
+                }
+            }
+            drain(out, buffer);
+            out.force(false);
+        }
+        return new Segment(directory, name);
+    }
+
+    private Match match(ByteBuffer records, int record) {
+        int offset = record * RECORD_BYTES;
+        return new Match(records.getLong(offset),
+                         players.get(records.getInt(offset + 8)), players.get(records.getInt(offset + 12)),
+                         records.getInt(offset + 16), records.getInt(offset + 20),
+                         records.getShort(offset + 24));
+    }
+
+    /**
+     * A player's most recent games, newest first
+     */
+    public List<Match> lastGames(String player, int limit) {
+        List<Match> result = new ArrayList<>();
+        List<Segment> segments;
+        int id;
+        synchronized (this) {
+            Integer known = dictionary.get(player);
+            if (known == null) return result;
+            id = known;
+            int previous = -1;
+            for (int entry = activeLast.getOrDefault(id, -1); entry >= 0 && result.size() < limit;
+                 entry = activePrevious[entry]) {
+                if (entry / 2 != previous) {
+                    result.add(match(active, entry / 2));
+                }
+                previous = entry / 2;
+            }
+            segments = sealed;
+        }
+        long key = (long) id << 32;
+        for (int s = segments.size() - 1; s >= 0 && result.size() < limit; s--) {
+            Segment segment = segments.get(s);
+            int from = Segment.lowerBound(segment.byPlayer, key);
+            int to = Segment.lowerBound(segment.byPlayer, key + (1L << 32));
+            long previous = -1;
+            for (int e = to - 1; e >= from && result.size() < limit; e--) {
+                long entry = segment.byPlayer.get(e);
+                // A game against oneself has two equal entries
+                if (entry != previous) {
+                    result.add(match(segment.records, (int) entry));
+                }
+                previous = entry;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Highest single-player scores of games finished in [from, to), best first
+     */
+    public List<ScoreEntry> bestScores(long from, long to, int limit) {
+        PriorityQueue<ScoreEntry> best = new PriorityQueue<>(Comparator.comparingInt(ScoreEntry::getScore));
+        List<Segment> segments;
+        synchronized (this) {
+            for (int i = 0; i < activeCount; i++) {
+                long time = active.getLong(i * RECORD_BYTES);
+                if (time >= from && time < to) {
+                    for (int slot = 0; slot < 2; slot++) {
+                        int score = active.getInt(i * RECORD_BYTES + 16 + 4 * slot);
+                        if (best.size() < limit || score > best.peek().getScore()) {
+                            offer(best, new ScoreEntry(match(active, i), slot == 0), limit);
+                        }
+                    }
+                }
+            }
+            segments = sealed;
+        }
+        for (Segment segment : segments) {
+            if (segment.maxTime < from || segment.minTime >= to) continue;
+            LongBuffer index = segment.byScore;
+            for (int e = 0; e < index.limit(); e++) {
+                long key = index.get(e);
+                int score = SCORE_MASK - (int) (key >>> 40);
+                // Entries are sorted by score, so nothing later can make the list
+                if (best.size() == limit && score <= best.peek().getScore()) break;
+                int record = (int) ((key >>> 1) & RECORD_MASK);
+                long time = segment.records.getLong(record * RECORD_BYTES);
+                if (time >= from && time < to) {
+                    offer(best, new ScoreEntry(match(segment.records, record), (key & 1) == 0), limit);
+                }
+            }
+        }
+        List<ScoreEntry> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingInt(ScoreEntry::getScore).reversed());
+        return result;
+    }
+
+    private static void offer(PriorityQueue<ScoreEntry> best, ScoreEntry entry, int limit) {
+        best.add(entry);
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    /**
+     * All-time results of one player against another
+     */
+    public HeadToHead headToHead(String player, String opponent) {
+        HeadToHead result = new HeadToHead(player, opponent);
+        List<Segment> segments;
+        int a, b;
+        synchronized (this) {
+            Integer knownA = dictionary.get(player), knownB = dictionary.get(opponent);
+            if (knownA == null || knownB == null) return result;
+            a = knownA;
+            b = knownB;
+            int previous = -1;
+            for (int entry = activeLast.getOrDefault(a, -1); entry >= 0; entry = activePrevious[entry]) {
+                if (entry / 2 != previous) {
+                    countGame(result, active, entry / 2, a, b);
+                }
+                previous = entry / 2;
+            }
+            segments = sealed;
+        }
+        for (Segment segment : segments) {
+            // Walk whichever of the two players has fewer games in this segment
+            int fromA = Segment.lowerBound(segment.byPlayer, (long) a << 32);
+            int toA = Segment.lowerBound(segment.byPlayer, (long) (a + 1) << 32);
+            int fromB = Segment.lowerBound(segment.byPlayer, (long) b << 32);
+            int toB = Segment.lowerBound(segment.byPlayer, (long) (b + 1) << 32);
+            int from = toA - fromA <= toB - fromB ? fromA : fromB;
+            int to = toA - fromA <= toB - fromB ? toA : toB;
+            for (int e = from; e < to; e++) {
+                countGame(result, segment.records, (int) segment.byPlayer.get(e), a, b);
+            }
+        }
+        return result;
+    }
+
+    private static void countGame(HeadToHead result, ByteBuffer records, int record, int a, int b) {
+        int offset = record * RECORD_BYTES;
+        int player1 = records.getInt(offset + 8), player2 = records.getInt(offset + 12);
+        if (player1 == a && player2 == b) {
+            result.add(records.getInt(offset + 16), records.getInt(offset + 20));
+        } else if (player1 == b && player2 == a) {
+            result.add(records.getInt(offset + 20), records.getInt(offset + 16));
+        }
+    }
+
+    /**
+     * @return number of stored games
+     */
+    public synchronized long size() {
+        long size = activeCount;
+        for (Segment segment : sealed) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    public int getSegmentCount() {
+        return sealed.size() + 1;
+    }
+
+    public long getCompactions() {
+        return compactions;
+    }
+
+    /**
+     * Wait until compactions requested so far have finished
+     */
+    public void awaitCompaction() throws Exception {
+        compactor.submit(() -> { }).get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (!activeChannel.isOpen()) return;
+            flush();
+            activeChannel.force(false);
+            activeChannel.close();
+            playersChannel.close();
+        }
+    }
+
+    /**
+     * Fill a store with random games and time the history queries
+     */
+    public static void main(String[] args) throws Exception {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000;
+        boolean temporary = args.length < 2;
+        Path directory = temporary ? Files.createTempDirectory("dicegame-matches") : Paths.get(args[1]);
+        int playerCount = 10_000;
+        int rounds = 5;
+        String[] names = new String[playerCount];
+        for (int p = 0; p < playerCount; p++) {
+            names[p] = "player-" + p;
+        }
+        long now = System.currentTimeMillis();
+        long span = 365L * 24 * 60 * 60 * 1000;
+        long week = 7L * 24 * 60 * 60 * 1000;
+        SplittableRandom random = new SplittableRandom(42);
+
+        try {
+            try (MatchStore store = new MatchStore(directory)) {
+                long start = System.nanoTime();
+                for (long g = 0; g < games; g++) {
+                    int a = random.nextInt(playerCount);
+                    int b = random.nextInt(playerCount - 1);
+                    if (b >= a) b++;
+                    int score1 = 0, score2 = 0;
+                    for (int r = 0; r < rounds; r++) {
+                        score1 += random.nextInt(1, 7) + random.nextInt(1, 7);
+                        score2 += random.nextInt(1, 7) + random.nextInt(1, 7);
+                    }
+                    store.add(now - span + span * g / games, names[a], names[b], score1, score2, rounds);
+                }
+                store.flush();
+                double insertSeconds = (System.nanoTime() - start) / 1e9;
+                store.awaitCompaction();
+                System.out.printf("Stored %,d games in %.1f s (%,.0f games/s), %.1f s with compaction: "
+                                  + "%d segments after %d compactions%n",
+                                  games, insertSeconds, games / insertSeconds, (System.nanoTime() - start) / 1e9,
+                                  store.getSegmentCount(), store.getCompactions());
+
+                int queries = 1000;
+                start = System.nanoTime();
+                long found = 0;
+                for (int q = 0; q < queries; q++) {
+                    found += store.lastGames(names[random.nextInt(playerCount)], 100).size();
+                }
+                System.out.printf("Last 100 games of a player: %.1f us/query (%d games each)%n",
+                                  (System.nanoTime() - start) / 1e3 / queries, found / queries);
+
+                start = System.nanoTime();
+                for (int q = 0; q < queries; q++) {
+                    store.headToHead(names[random.nextInt(playerCount)], names[random.nextInt(playerCount)]);
+                }
+                System.out.printf("Head-to-head record: %.1f us/query%n", (System.nanoTime() - start) / 1e3 / queries);
+
+                start = System.nanoTime();
+                List<ScoreEntry> best = null;
+                for (int q = 0; q < queries; q++) {
+                    best = store.bestScores(now - week, now, 10);
+                }
+                System.out.printf("Best 10 scores this week: %.1f us/query%n",
+                                  (System.nanoTime() - start) / 1e3 / queries);
+                best.stream().limit(3).forEach(entry -> System.out.println("  " + entry));
+                System.out.println("  " + store.headToHead(names[0], names[1]));
+                store.lastGames(names[0], 3).forEach(match -> System.out.println("  " + match));
+            }
+
+            long start = System.nanoTime();
+            try (MatchStore store = new MatchStore(directory)) {
+                System.out.printf("Reopened %,d games in %.0f ms%n", store.size(), (System.nanoTime() - start) / 1e6);
+            }
+        } finally {
+            if (temporary) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                    for (Path file : files) {
+                        Files.delete(file);
+                    }
+                }
+                Files.delete(directory);
+            }
+        }
+    }
+}
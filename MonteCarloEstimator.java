@@ -0,0 +1,472 @@
+import java.util.SplittableRandom;
+
+/**
+ * Monte Carlo estimate of the chance that player 1 wins a classic game
+ *
+ * Plain simulation needs many games for a tight answer, so by default the
+ * estimator combines three variance-reduction techniques:
+ * - antithetic dice: every simulated game is paired with a mirror game in
+ *   which each die shows 7 - value
+ * - stratified sampling: the first roll of the game cycles through all 36
+ *   outcomes, so a block of samples covers each of them equally
+ * - a control variate: each player's points minus the known expected roll
+ *   score times their rolls has mean zero and is strongly correlated with
+ *   the result
+ * Sampling stops once the confidence interval is narrow enough, or when an
+ * optional sequential probability ratio test (SPRT) reaches a decision; with
+ * variance reduction the test runs on block means, since the games within
+ * a block are not independent.
+ * The result reports how many plain games the same precision would need.
+ * Usage: java MonteCarloEstimator [rounds] [halfWidth]
+ */
+public class MonteCarloEstimator {
+
+    /** Outcomes of the stratified first roll */
+    public static final int STRATA = Dice.SIDES * Dice.SIDES;
+
+    // Blocks needed before the variance estimate is trusted
+    private static final int MIN_BLOCKS = 30;
+
+    /**
+     * Outcome of a sequential probability ratio test
+     */
+    public enum Decision {
+        /** The test did not run or did not finish */
+        NONE,
+        /** Win chance is at most the lower bound */
+        LOWER,
+        /** Win chance is at least the upper bound */
+        UPPER
+    }
+
+    /**
+     * Why sampling stopped
+     */
+    public enum StopReason {
+        TARGET_WIDTH, SPRT_DECISION, MAX_GAMES, DETERMINISTIC
+    }
+
+    private final ScoreTable scoreTable;
+    private final double expectedRollScore;
+
+    private boolean varianceReduction = true;
+    private double targetHalfWidth = 0.005;
+    private double z = 1.96;
+    private long maxGames = 100_000_000L;
+    private boolean sprtEnabled = false;
+    private double sprtLower, sprtUpper, sprtAlpha, sprtBeta;
+    private long seed = 42;
+
+    /**
+     * Estimator for two-dice games scored with the given table
+     */
+    public MonteCarloEstimator(ScoreTable scoreTable) {
+        if (scoreTable.getDiceCount() != 2) {
+            throw new IllegalArgumentException("The estimator simulates two-dice games");
+        }
+        this.scoreTable = scoreTable;
+        this.expectedRollScore = scoreTable.expectedScore();
+    }
+
+    public MonteCarloEstimator() {
+        this(ScoreTable.CLASSIC);
+    }
+
+    /**
+     * Turn the variance-reduction techniques on or off (off = plain sampling)
+     */
+    public MonteCarloEstimator setVarianceReduction(boolean enabled) {
+        this.varianceReduction = enabled;
+        return this;
+    }
+
+    /**
+     * Stop once the confidence interval half-width is at most this value
+     */
+    public MonteCarloEstimator setTargetHalfWidth(double halfWidth) {
+        if (halfWidth <= 0) {
+            throw new IllegalArgumentException("Half-width must be positive");
+        }
+        this.targetHalfWidth = halfWidth;
+        return this;
+    }
+
+    /**
+     * Normal quantile for the confidence interval (1.96 for 95%)
+     */
+    public MonteCarloEstimator setZ(double z) {
+        this.z = z;
+        return this;
+    }
+
+    public MonteCarloEstimator setMaxGames(long maxGames) {
+        this.maxGames = maxGames;
+        return this;
+    }
+
+    public MonteCarloEstimator setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Also stop when Wald's SPRT decides between "win chance <= lower" and
+     * "win chance >= upper", with the given error rates
+     */
+    public MonteCarloEstimator setSprt(double lower, double upper, double alpha, double beta) {
+        if (!(0 < lower && lower < upper && upper < 1)) {
+            throw new IllegalArgumentException("Need 0 < lower < upper < 1");
+        }
+        this.sprtEnabled = true;
+        this.sprtLower = lower;
+        this.sprtUpper = upper;
+        this.sprtAlpha = alpha;
+        this.sprtBeta = beta;
+        return this;
+    }
+
+    /**
+     * Estimate from the start of a game of the given number of rounds
+     */
+    public Result estimate(int rounds) {
+        return estimate(rounds, true, 0);
+    }
+
+    /**
+     * Estimate from a game state, using the same coordinates as WinOddsTable
+     * @param player2Rolls rolls player 2 still has to make
+     * @param isPlayer1Turn whether player 1 rolls next (then both have player2Rolls left)
+     * @param scoreDifference player 1's score minus player 2's score
+     */
+    public Result estimate(int player2Rolls, boolean isPlayer1Turn, int scoreDifference) {
+        int player1Rolls = player2Rolls - (isPlayer1Turn ? 0 : 1);
+        if (player1Rolls < 0) {
+            throw new IllegalArgumentException("Player 1 cannot be behind on rolls when it is their turn");
+        }
+        if (player1Rolls + player2Rolls == 0) {
+            double p = scoreDifference > 0 ? 1.0 : 0.0;
+            return new Result(p, 0, 0, 0, Decision.NONE, StopReason.DETERMINISTIC);
+        }
+
+        Game game = new Game(player1Rolls, player2Rolls, isPlayer1Turn, scoreDifference);
+        return varianceReduction ? reducedSampling(game) : plainSampling(game);
+    }
+
+    /**
+     * One game with independent dice per sample
+     */
+    private Result plainSampling(Game game) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Sprt sprt = new Sprt();
+        long games = 0, wins = 0;
+        StopReason reason = StopReason.MAX_GAMES;
+        while (games < maxGames) {
+            int win = game.play(random, -1, false, null) > 0 ? 1 : 0;
+            games++;
+            wins += win;
+            if (sprt.update(win)) {
+                reason = StopReason.SPRT_DECISION;
+                break;
+            }
+            if (games >= MIN_BLOCKS && games % 1000 == 0
+                    && halfWidth((double) wins / games, games) <= targetHalfWidth) {
+                reason = StopReason.TARGET_WIDTH;
+                break;
+            }
+        }
+        double p = (double) wins / games;
+        return new Result(p, halfWidth(p, games), games, games, sprt.decision, reason);
+    }
+
+    private double halfWidth(double p, long games) {
+        return z * Math.sqrt(Math.max(p * (1 - p), 1e-12) / games);
+    }
+
+    /**
+     * Blocks of 36 antithetic pairs, one pair per stratum of the first roll,
+     * adjusted by the control variate
+     */
+    private Result reducedSampling(Game game) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Sprt sprt = new Sprt();
+        double[] control = new double[1];
+
+        // Running sums over blocks of y (win rate) and c (mean control)
+        long blocks = 0, games = 0, wins = 0;
+        double sumY = 0, sumC = 0, sumYY = 0, sumCC = 0, sumYC = 0;
+        double estimate = 0, halfWidth = Double.POSITIVE_INFINITY;
+        StopReason reason = StopReason.MAX_GAMES;
+
+        while (games + 2 * STRATA <= maxGames) {
+            long mirrorSeed = random.nextLong();
+            double y = 0, c = 0;
+            for (int stratum = 0; stratum < STRATA; stratum++) {
+                // The mirror game replays the same dice stream as 7 - value
+                for (int mirror = 0; mirror < 2; mirror++) {
+                    SplittableRandom dice = new SplittableRandom(mirrorSeed + stratum);
+                    int win = game.play(dice, stratum, mirror == 1, control) > 0 ? 1 : 0;
+                    y += win;
+                    c += control[0];
+                    wins += win;
+                }
+            }
+            int perBlock = 2 * STRATA;
+            y /= perBlock;
+            c /= perBlock;
+            games += perBlock;
+            blocks++;
+            sumY += y;
+            sumC += c;
+            sumYY += y * y;
+            sumCC += c * c;
+            sumYC += y * c;
+
+            if (blocks < 2) {
+                estimate = (double) wins / games;
+            } else {
+                double meanY = sumY / blocks, meanC = sumC / blocks;
+                double varY = (sumYY - blocks * meanY * meanY) / (blocks - 1);
+                double varC = (sumCC - blocks * meanC * meanC) / (blocks - 1);
+                double covYC = (sumYC - blocks * meanY * meanC) / (blocks - 1);
+                double beta = varC > 0 ? covYC / varC : 0;
+                // The control has known mean 0
+                estimate = Math.min(1.0, Math.max(0.0, meanY - beta * meanC));
+                double varAdjusted = Math.max(varY - beta * covYC, 0);
+                halfWidth = z * Math.sqrt(varAdjusted / blocks);
+                // Games within a block are paired and stratified, so the test
+                // sees adjusted block means, which are independent, not games
+                if (blocks >= MIN_BLOCKS
+                        && sprt.update(sumY - beta * sumC, blocks, varAdjusted)) {
+                    reason = StopReason.SPRT_DECISION;
+                    break;
+                }
+            }
+            if (blocks >= MIN_BLOCKS && halfWidth <= targetHalfWidth) {
+                reason = StopReason.TARGET_WIDTH;
+                break;
+            }
+        }
+
+        // Plain games needed for the same half-width, from the per-game variance
+        double p = games > 0 ? (double) wins / games : estimate;
+        long plainGames = halfWidth > 0 && halfWidth < Double.POSITIVE_INFINITY
+            ? (long) Math.ceil(z * z * p * (1 - p) / (halfWidth * halfWidth))
+            : games;
+        return new Result(estimate, halfWidth, games, plainGames, sprt.decision, reason);
+    }
+
+    /**
+     * Wald's sequential probability ratio test, on single game outcomes for
+     * plain sampling or on normally distributed block means otherwise
+     */
+    private class Sprt {
+        private final double winStep, lossStep, acceptUpper, acceptLower;
+        private double logRatio = 0;
+        Decision decision = Decision.NONE;
+
+        Sprt() {
+            if (sprtEnabled) {
+                winStep = Math.log(sprtUpper / sprtLower);
+                lossStep = Math.log((1 - sprtUpper) / (1 - sprtLower));
+                acceptUpper = Math.log((1 - sprtBeta) / sprtAlpha);
+                acceptLower = Math.log(sprtBeta / (1 - sprtAlpha));
+            } else {
+                winStep = lossStep = acceptUpper = acceptLower = 0;
+            }
+        }
+
+        /**
+         * @return true once the test has decided
+         */
+        boolean update(int win) {
+            if (!sprtEnabled) return false;
+            if (decision != Decision.NONE) return true;
+            logRatio += win == 1 ? winStep : lossStep;
+            return decide();
+        }
+
+        /**
+         * Test the mean of independent block values with known variance
+         * @param sum sum of the block values so far
+         * @param variance variance of one block value
+         * @return true once the test has decided
+         */
+        boolean update(double sum, long blocks, double variance) {
+            if (!sprtEnabled) return false;
+            if (decision != Decision.NONE) return true;
+            if (variance <= 0) return false;
+            logRatio = (sprtUpper - sprtLower) / variance
+                       * (sum - blocks * (sprtLower + sprtUpper) / 2);
+            return decide();
+        }
+
+        private boolean decide() {
+            if (logRatio >= acceptUpper) {
+                decision = Decision.UPPER;
+            } else if (logRatio <= acceptLower) {
+                decision = Decision.LOWER;
+            }
+            return decision != Decision.NONE;
+        }
+    }
+
+    /**
+     * Remaining rolls of a game, played out by simulation
+     */
+    private class Game {
+        private final int player1Rolls, player2Rolls;
+        private final boolean player1First;
+        private final int scoreDifference;
+        private final double expectedDifference;
+
+        Game(int player1Rolls, int player2Rolls, boolean player1First, int scoreDifference) {
+            this.player1Rolls = player1Rolls;
+            this.player2Rolls = player2Rolls;
+            this.player1First = player1First;
+            this.scoreDifference = scoreDifference;
+            this.expectedDifference = (player1Rolls - player2Rolls) * expectedRollScore;
+        }
+
+        /**
+         * Play the remaining rolls
+         * @param stratum first roll index (die1 - 1) * 6 + (die2 - 1), or -1 to draw it
+         * @param mirror use 7 - value for every die
+         * @param control receives the control variate (may be null)
+         * @return final score difference (player 1 minus player 2)
+         */
+        int play(SplittableRandom random, int stratum, boolean mirror, double[] control) {
+            int difference = scoreDifference;
+            int left1 = player1Rolls, left2 = player2Rolls;
+            boolean player1 = player1First;
+            boolean first = true;
+            while (left1 + left2 > 0) {
+                int die1, die2;
+                if (first && stratum >= 0) {
+                    die1 = stratum / Dice.SIDES + 1;
+                    die2 = stratum % Dice.SIDES + 1;
+                } else {
+                    die1 = random.nextInt(Dice.SIDES) + 1;
+                    die2 = random.nextInt(Dice.SIDES) + 1;
+                }
+                if (mirror) {
+                    die1 = Dice.SIDES + 1 - die1;
+                    die2 = Dice.SIDES + 1 - die2;
+                }
+                first = false;
+                int points = scoreTable.score(die1, die2);
+                if (player1 && left1 > 0) {
+                    difference += points;
+                    left1--;
+                } else {
+                    difference -= points;
+                    left2--;
+                }
+                player1 = !player1;
+            }
+            if (control != null) {
+                control[0] = difference - scoreDifference - expectedDifference;
+            }
+            return difference;
+        }
+    }
+
+    /**
+     * Estimated win chance and the cost of getting it
+     */
+    public static class Result {
+        private final double estimate;
+        private final double halfWidth;
+        private final long games;
+        private final long plainGames;
+        private final Decision decision;
+        private final StopReason stopReason;
+
+        Result(double estimate, double halfWidth, long games, long plainGames,
+               Decision decision, StopReason stopReason) {
+            this.estimate = estimate;
+            this.halfWidth = halfWidth;
+            this.games = games;
+            this.plainGames = plainGames;
+            this.decision = decision;
+            this.stopReason = stopReason;
+        }
+
+        public double getEstimate() {
+            return estimate;
+        }
+
+        /**
+         * @return half-width of the confidence interval
+         */
+        public double getHalfWidth() {
+            return halfWidth;
+        }
+
+        /**
+         * @return games simulated
+         */
+        public long getGames() {
+            return games;
+        }
+
+        /**
+         * @return games plain sampling would need for the same half-width
+         */
+        public long getPlainGames() {
+            return plainGames;
+        }
+
+        /**
+         * @return games saved compared with plain sampling (negative if worse)
+         */
+        public long getSavedGames() {
+            return plainGames - games;
+        }
+
+        public Decision getDecision() {
+            return decision;
+        }
+
+        public StopReason getStopReason() {
+            return stopReason;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.4f +/- %.4f after %,d games (plain sampling: %,d, saved %,d), %s%s",
+                                 estimate, halfWidth, games, plainGames, getSavedGames(), stopReason,
+                                 decision == Decision.NONE ? "" : ", SPRT " + decision);
+        }
+    }
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        double halfWidth = args.length > 1 ? Double.parseDouble(args[1]) : 0.002;
+
+        WinOddsTable exact = WinOddsTable.compute(rounds);
+        int[][] states = { { rounds, 1, 0 }, { rounds, 0, 8 }, { Math.max(1, rounds / 2), 1, -10 } };
+        for (int[] state : states) {
+            boolean isPlayer1Turn = state[1] == 1;
+            System.out.printf("State: player 2 rolls left %d, %s to roll, difference %d%n",
+                              state[0], isPlayer1Turn ? "player 1" : "player 2", state[2]);
+            System.out.printf("  exact:   %.4f%n", exact.player1WinChance(state[0], isPlayer1Turn, state[2]));
+
+            for (boolean reduced : new boolean[] { false, true }) {
+                MonteCarloEstimator estimator = new MonteCarloEstimator()
+                    .setVarianceReduction(reduced)
+                    .setTargetHalfWidth(halfWidth);
+                long start = System.nanoTime();
+                Result result = estimator.estimate(state[0], isPlayer1Turn, state[2]);
+                double ms = (System.nanoTime() - start) / 1e6;
+                System.out.printf("  %s %s (%.0f ms)%n", reduced ? "reduced:" : "plain:  ", result, ms);
+            }
+        }
+
+        // Only whether player 1 is favoured: the SPRT usually stops much earlier
+        Result favoured = new MonteCarloEstimator()
+            .setSprt(0.45, 0.55, 0.01, 0.01)
+            .setTargetHalfWidth(halfWidth)
+            .estimate(rounds, true, 8);
+        System.out.println("SPRT (0.45 vs 0.55), player 1 ahead by 8: " + favoured);
+    }
+}
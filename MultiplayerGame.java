@@ -0,0 +1,296 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.Random;
+
+/**
+ * Game window for a table with many players (a class or a stream audience)
+ * Players roll in seat order; the live ranking on the right only paints
+ * the rows in view. PLAY ROUND rolls for everyone left in the round.
+ */
+public class MultiplayerGame extends JFrame implements ActionListener {
+
+    // Players offered by the setup screen
+    public static final int[] PLAYER_OPTIONS = {10, 30, 100, 1_000, MultiplayerTable.MAX_PLAYERS};
+
+    // Game state
+    private final MultiplayerTable table;
+    private final Random random = new Random();
+
+    // Game components
+    private Dice dice1, dice2;
+    private MultiplayerScorePanel scorePanel;
+
+    // GUI components
+    private JPanel mainPanel;
+    private JButton rollButton, roundButton, newGameButton, exitButton;
+    private JLabel roundLabel, turnLabel, resultLabel, leaderLabel;
+
+    // Colors
+    private final Color PRIMARY_COLOR = new Color(41, 128, 185);
+    private final Color SUCCESS_COLOR = new Color(39, 174, 96);
+    private final Color DANGER_COLOR = new Color(231, 76, 60);
+    private final Color WARNING_COLOR = new Color(243, 156, 18);
+    private final Color HIGHLIGHT_COLOR = new Color(253, 235, 208);
+    private final Color BACKGROUND_COLOR = new Color(236, 240, 241);
+
+    /**
+     * Constructor to create a table with the given number of players and rounds
+     */
+    public MultiplayerGame(int players, int maxRounds) {
+        table = new MultiplayerTable(players, maxRounds);
+        dice1 = new Dice();
+        dice2 = new Dice();
+
+        setupGUI();
+        updateDisplay();
+    }
+
+    /**
+     * Setup the main GUI
+     */
+    private void setupGUI() {
+        setTitle("🎲 Dice Game - " + table.getPlayerCount() + " Players");
+        setSize(1000, 700);
+        setLocationRelativeTo(null);
+        setResizable(false);
+        GameRuntime.register(this);
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                scorePanel.dispose();
+            }
+        });
+
+        mainPanel = new GradientPanel(new BorderLayout(15, 15), BACKGROUND_COLOR, Color.WHITE);
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        // Title
+        JLabel titleLabel = new JLabel(" DICE GAME - " + table.getPlayerCount() + " Player Table ", JLabel.CENTER);
+        titleLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 24));
+        titleLabel.setForeground(PRIMARY_COLOR);
+        mainPanel.add(titleLabel, BorderLayout.NORTH);
+
+        // Dice and status
+        JPanel playPanel = new JPanel(new BorderLayout(10, 10));
+        playPanel.setOpaque(false);
+
+        JPanel dicePanel = new JPanel(new GridLayout(1, 2, 20, 0));
+        dicePanel.setOpaque(false);
+        dicePanel.setBorder(BorderFactory.createTitledBorder(
+            BorderFactory.createLineBorder(PRIMARY_COLOR, 2),
+            "Dice Roll Result", 0, 0, GameRuntime.font("Arial", Font.BOLD, 16), PRIMARY_COLOR));
+        dicePanel.add(dice1.getDiceLabel());
+        dicePanel.add(dice2.getDiceLabel());
+        playPanel.add(dicePanel, BorderLayout.CENTER);
+
+        JPanel statusPanel = new JPanel(new GridLayout(4, 1, 5, 10));
+        statusPanel.setOpaque(false);
+        statusPanel.setBorder(BorderFactory.createTitledBorder(
+            BorderFactory.createLineBorder(PRIMARY_COLOR, 2),
+            "Game Status", 0, 0, GameRuntime.font("Arial", Font.BOLD, 14), PRIMARY_COLOR));
+
+        roundLabel = new JLabel("", JLabel.CENTER);
+        roundLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 16));
+
+        turnLabel = new JLabel("", JLabel.CENTER);
+        turnLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 16));
+        turnLabel.setForeground(SUCCESS_COLOR);
+
+        resultLabel = new JLabel("Click 'ROLL DICE' to start!", JLabel.CENTER);
+        resultLabel.setFont(GameRuntime.font("Arial", Font.ITALIC, 14));
+
+        leaderLabel = new JLabel("", JLabel.CENTER);
+        leaderLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 14));
+        leaderLabel.setForeground(WARNING_COLOR);
+
+        statusPanel.add(roundLabel);
+        statusPanel.add(turnLabel);
+        statusPanel.add(resultLabel);
+        statusPanel.add(leaderLabel);
+        playPanel.add(statusPanel, BorderLayout.SOUTH);
+        mainPanel.add(playPanel, BorderLayout.CENTER);
+
+        // Ranking
+        scorePanel = new MultiplayerScorePanel(table, HIGHLIGHT_COLOR);
+        scorePanel.setPreferredSize(new Dimension(400, 0));
+        scorePanel.setBorder(BorderFactory.createTitledBorder(
+            BorderFactory.createLineBorder(PRIMARY_COLOR, 2),
+            "Ranking", 0, 0, GameRuntime.font("Arial", Font.BOLD, 14), PRIMARY_COLOR));
+        mainPanel.add(scorePanel, BorderLayout.EAST);
+
+        // Controls
+        JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 30, 15));
+        controlPanel.setOpaque(false);
+
+        rollButton = createStyledButton("ROLL DICE", SUCCESS_COLOR);
+        rollButton.setPreferredSize(new Dimension(150, 60));
+        rollButton.setFont(GameRuntime.font("Arial", Font.BOLD, 16));
+
+        roundButton = createStyledButton("PLAY ROUND", WARNING_COLOR);
+        roundButton.setPreferredSize(new Dimension(150, 60));
+        roundButton.setToolTipText("Roll for every player left in this round");
+
+        newGameButton = createStyledButton("NEW GAME", PRIMARY_COLOR);
+        newGameButton.setPreferredSize(new Dimension(150, 60));
+
+        exitButton = createStyledButton("EXIT", DANGER_COLOR);
+        exitButton.setPreferredSize(new Dimension(120, 60));
+
+        controlPanel.add(rollButton);
+        controlPanel.add(roundButton);
+        controlPanel.add(newGameButton);
+        controlPanel.add(exitButton);
+        mainPanel.add(controlPanel, BorderLayout.SOUTH);
+
+        rollButton.addActionListener(this);
+        roundButton.addActionListener(this);
+        newGameButton.addActionListener(this);
+        exitButton.addActionListener(this);
+
+        add(mainPanel);
+    }
+
+    /**
+     * Create a styled button
+     */
+    private JButton createStyledButton(String text, Color color) {
+        JButton button = new JButton(text);
+        button.setFont(GameRuntime.font("Arial", Font.BOLD, 12));
+        button.setBackground(color);
+        button.setForeground(Color.WHITE);
+        button.setFocusPainted(false);
+        button.setBorderPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+
+        button.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseEntered(java.awt.event.MouseEvent evt) {
+                if (button.isEnabled()) {
+                    button.setBackground(color.brighter());
+                }
+            }
+            public void mouseExited(java.awt.event.MouseEvent evt) {
+                button.setBackground(color);
+            }
+        });
+
+        return button;
+    }
+
+    /**
+     * Handle button click events
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if (e.getSource() == rollButton) {
+            rollDice();
+        } else if (e.getSource() == roundButton) {
+            playRound();
+        } else if (e.getSource() == newGameButton) {
+            newGame();
+        } else if (e.getSource() == exitButton) {
+            exitToSetup();
+        }
+    }
+
+    /**
+     * Roll both dice for the player whose turn it is
+     */
+    private void rollDice() {
+        if (table.isGameEnded()) return;
+
+        Player player = table.getCurrentPlayer();
+        int seat = table.getCurrentSeat();
+        dice1.roll();
+        dice2.roll();
+        FairnessAuditor.shared().pair(dice1.getValue(), dice2.getValue());
+        int points = table.applyRoll(dice1.getValue(), dice2.getValue());
+
+        String message = player.getName() + " rolled " + dice1.getValue() + " + " + dice2.getValue()
+                         + " = " + points + " points";
+        resultLabel.setText(message + " (rank " + table.getRank(seat) + ")");
+        updateDisplay();
+        scorePanel.showCurrentPlayer();
+    }
+
+    /**
+     * Roll for every player left in the current round, without dice animations
+     */
+    private void playRound() {
+        if (table.isGameEnded()) return;
+
+        int round = table.getCurrentRound();
+        int rolls = 0;
+        while (!table.isGameEnded() && table.getCurrentRound() == round) {
+            table.applyRoll(random.nextInt(Dice.SIDES) + 1, random.nextInt(Dice.SIDES) + 1);
+            rolls++;
+        }
+        resultLabel.setText(String.format("Round %d finished: %,d rolls played", round, rolls));
+        updateDisplay();
+        scorePanel.showCurrentPlayer();
+    }
+
+    /**
+     * Update the status labels and end the game when the last round is over
+     */
+    private void updateDisplay() {
+        Player leader = table.getRanked(0);
+        leaderLabel.setText(table.getCurrentRound() == 1 && table.getCurrentSeat() == 0
+                            ? "" : "Leader: " + leader.getName() + " with " + leader.getScore() + " points");
+        if (table.isGameEnded()) {
+            roundLabel.setText("Game Over");
+            turnLabel.setText("");
+            rollButton.setEnabled(false);
+            roundButton.setEnabled(false);
+            showResults();
+        } else {
+            roundLabel.setText("Round " + table.getCurrentRound() + " of " + table.getMaxRounds());
+            turnLabel.setText(table.getCurrentPlayer().getName() + "'s turn");
+            rollButton.setEnabled(true);
+            roundButton.setEnabled(true);
+        }
+    }
+
+    /**
+     * Show the podium
+     */
+    private void showResults() {
+        StringBuilder message = new StringBuilder("Final ranking:\n\n");
+        int shown = Math.min(3, table.getPlayerCount());
+        for (int row = 0; row < shown; row++) {
+            Player player = table.getRanked(row);
+            message.append(table.getRankOfRow(row)).append(". ").append(player.getName())
+                   .append(": ").append(player.getScore()).append(" points\n");
+        }
+        JOptionPane.showMessageDialog(this, message.toString(), "Game Over", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /**
+     * Start a new game with the same players
+     */
+    private void newGame() {
+        table.reset();
+        dice1.reset();
+        dice2.reset();
+        scorePanel.refreshAll();
+        resultLabel.setText("Click 'ROLL DICE' to start!");
+        updateDisplay();
+        scorePanel.showCurrentPlayer();
+    }
+
+    /**
+     * Exit to setup screen
+     */
+    private void exitToSetup() {
+        int choice = JOptionPane.showConfirmDialog(
+            this, "Return to game setup?",
+            "Exit Game", JOptionPane.YES_NO_OPTION
+        );
+
+        if (choice == JOptionPane.YES_OPTION) {
+            this.dispose();
+            GameRuntime.showSetup();
+        }
+    }
+}
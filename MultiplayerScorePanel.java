@@ -0,0 +1,158 @@
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+
+/**
+ * Ranking of a MultiplayerTable shown as a JTable
+ *
+ * The table model reads rows straight from the ranking arrays, and JTable
+ * only asks for the rows inside the viewport, so painting costs the same
+ * for ten players or ten thousand. Rolls mark the ranking rows they moved;
+ * the marked range is repainted once per display frame, like
+ * GameViewBinder does for the two-player labels. The row of the player
+ * whose turn it is is highlighted.
+ */
+public class MultiplayerScorePanel extends JPanel implements MultiplayerTable.Listener {
+
+    private static final String[] COLUMNS = {"Rank", "Player", "Score", "Rolls", "Best"};
+
+    private final MultiplayerTable game;
+    private final RankingModel rankingModel = new RankingModel();
+    private final JTable rankingTable;
+    private final Timer frameTimer;
+
+    // Rows changed since the last repaint; dirtyFrom > dirtyTo when clean
+    private int dirtyFrom = Integer.MAX_VALUE, dirtyTo = -1;
+    private int highlightedRow;
+
+    /**
+     * Table model over the ranking; nothing is copied
+     */
+    private class RankingModel extends AbstractTableModel {
+        @Override
+        public int getRowCount() {
+            return game.getPlayerCount();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column == 1 ? String.class : Integer.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            Player player = game.getRanked(row);
+            switch (column) {
+                case 0: return game.getRankOfRow(row);
+                case 1: return player.getName();
+                case 2: return player.getScore();
+                case 3: return player.getRollCount();
+                default: return player.getHighestSingleRoll();
+            }
+        }
+    }
+
+    public MultiplayerScorePanel(MultiplayerTable game, Color highlight) {
+        super(new BorderLayout());
+        this.game = game;
+        setOpaque(false);
+
+        rankingTable = new JTable(rankingModel);
+        rankingTable.setFont(GameRuntime.font("Arial", Font.PLAIN, 14));
+        rankingTable.setRowHeight(22);
+        rankingTable.setFillsViewportHeight(true);
+        rankingTable.setRowSelectionAllowed(false);
+        rankingTable.getTableHeader().setReorderingAllowed(false);
+        rankingTable.getColumnModel().getColumn(1).setPreferredWidth(140);
+
+        DefaultTableCellRenderer renderer = new DefaultTableCellRenderer() {
+            @Override
+            public Component getTableCellRendererComponent(JTable table, Object value, boolean selected,
+                                                           boolean focused, int row, int column) {
+                super.getTableCellRendererComponent(table, value, selected, focused, row, column);
+                boolean current = !game.isGameEnded() && game.getRankedSeat(row) == game.getCurrentSeat();
+                setBackground(current ? highlight : table.getBackground());
+                setHorizontalAlignment(column == 1 ? LEFT : RIGHT);
+                return this;
+            }
+        };
+        rankingTable.setDefaultRenderer(Object.class, renderer);
+        rankingTable.setDefaultRenderer(Integer.class, renderer);
+        rankingTable.setDefaultRenderer(String.class, renderer);
+
+        add(new JScrollPane(rankingTable), BorderLayout.CENTER);
+
+        frameTimer = new Timer(GameViewBinder.displayFrameMillis(), e -> flush());
+        frameTimer.setRepeats(false);
+        highlightedRow = game.getRow(game.getCurrentSeat());
+        game.addListener(this);
+    }
+
+    @Override
+    public void rolled(MultiplayerTable table, Player player, int die1, int die2, int points,
+                       int fromRow, int toRow) {
+        markDirty(toRow, fromRow);
+        // The highlight moves to the next player
+        markDirty(highlightedRow, highlightedRow);
+        highlightedRow = game.getRow(game.getCurrentSeat());
+        markDirty(highlightedRow, highlightedRow);
+        if (!frameTimer.isRunning()) {
+            frameTimer.start();
+        }
+    }
+
+    private void markDirty(int from, int to) {
+        dirtyFrom = Math.min(dirtyFrom, from);
+        dirtyTo = Math.max(dirtyTo, to);
+    }
+
+    /**
+     * Repaint the rows changed since the last frame; only the visible part is painted
+     */
+    private void flush() {
+        if (dirtyFrom <= dirtyTo) {
+            rankingModel.fireTableRowsUpdated(dirtyFrom, dirtyTo);
+            dirtyFrom = Integer.MAX_VALUE;
+            dirtyTo = -1;
+        }
+    }
+
+    /**
+     * Repaint everything, e.g. after the game was reset
+     */
+    public void refreshAll() {
+        frameTimer.stop();
+        dirtyFrom = Integer.MAX_VALUE;
+        dirtyTo = -1;
+        highlightedRow = game.getRow(game.getCurrentSeat());
+        rankingModel.fireTableDataChanged();
+    }
+
+    /**
+     * Scroll so that the player whose turn it is is visible
+     */
+    public void showCurrentPlayer() {
+        flush();
+        int row = game.getRow(game.getCurrentSeat());
+        rankingTable.scrollRectToVisible(rankingTable.getCellRect(row, 0, true));
+    }
+
+    /**
+     * Stop listening to the game
+     */
+    public void dispose() {
+        game.removeListener(this);
+        frameTimer.stop();
+    }
+}
@@ -0,0 +1,283 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Game model for one table with many players taking turns
+ *
+ * Players roll in seat order, one roll per player per round; the next turn
+ * is a counter increment. The ranking is kept up to date with every roll:
+ * players are held in an array ordered by score (highest first) and, for
+ * every score s, bucketStart[s] is the row where players with score s
+ * begin, which is also the number of players ahead of them. A roll that
+ * raises a score from s to s + d walks the player up through d buckets,
+ * each step swapping it with the first player of the bucket, so an update
+ * costs O(d) with d bounded by the best roll, rank lookups are O(1) and row
+ * i of the ranking is a plain array read. Equal scores share a rank; the
+ * swaps do not keep any particular order among them.
+ * Contains no Swing code; all calls must come from one thread.
+ * Usage: java MultiplayerTable [players] [rounds]
+ */
+public class MultiplayerTable {
+
+    public static final int MAX_PLAYERS = 10_000;
+
+    private final ScoreTable scoreTable;
+    private final int maxRounds;
+    private final Player[] seats;
+
+    // Ranking: rows[row] is a seat, rowOfSeat[seat] its row
+    private final int[] rows;
+    private final int[] rowOfSeat;
+    private int[] bucketStart;
+
+    // Turn state
+    private int currentSeat;
+    private int currentRound = 1;
+    private boolean gameEnded;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Notified after every roll
+     */
+    public interface Listener {
+        /**
+         * @param fromRow ranking row of the player before the roll
+         * @param toRow ranking row after the roll; only rows from toRow to fromRow changed
+         */
+        void rolled(MultiplayerTable table, Player player, int die1, int die2, int points,
+                    int fromRow, int toRow);
+    }
+
+    public MultiplayerTable(int playerCount, int maxRounds) {
+        this(playerCount, maxRounds, ScoreTable.CLASSIC);
+    }
+
+    public MultiplayerTable(int playerCount, int maxRounds, ScoreTable scoreTable) {
+        if (playerCount < 2 || playerCount > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Number of players must be between 2 and " + MAX_PLAYERS);
+        }
+        if (maxRounds < 1) {
+            throw new IllegalArgumentException("Number of rounds must be at least 1");
+        }
+        if (scoreTable.getDiceCount() != 2) {
+            throw new IllegalArgumentException("The game is played with two dice");
+        }
+        this.scoreTable = scoreTable;
+        this.maxRounds = maxRounds;
+        seats = new Player[playerCount];
+        rows = new int[playerCount];
+        rowOfSeat = new int[playerCount];
+        for (int seat = 0; seat < playerCount; seat++) {
+            seats[seat] = new Player("Player " + (seat + 1));
+        }
+        reset();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Score a roll for the player whose turn it is and pass the turn on
+     * @return points scored by the roll
+     */
+    public int applyRoll(int die1Value, int die2Value) {
+        if (gameEnded) {
+            throw new IllegalStateException("Game has already ended");
+        }
+        int sides = scoreTable.getSides();
+        if (die1Value < 1 || die1Value > sides || die2Value < 1 || die2Value > sides) {
+            throw new IllegalArgumentException("Dice value must be between 1 and " + sides);
+        }
+
+        int seat = currentSeat;
+        Player player = seats[seat];
+        int points = scoreTable.score(die1Value, die2Value);
+        int from = player.getScore();
+        int fromRow = rowOfSeat[seat];
+        player.addScore(points);
+        promote(seat, from, from + points);
+
+        if (++currentSeat == seats.length) {
+            currentSeat = 0;
+            if (++currentRound > maxRounds) {
+                gameEnded = true;
+            }
+        }
+
+        int toRow = rowOfSeat[seat];
+        for (Listener listener : listeners) {
+            listener.rolled(this, player, die1Value, die2Value, points, fromRow, toRow);
+        }
+        return points;
+    }
+
+    /**
+     * Move a seat from score bucket from up to bucket to
+     */
+    private void promote(int seat, int from, int to) {
+        if (to >= bucketStart.length) {
+            // No player has a score above the old maximum, so new buckets start at row 0
+            bucketStart = Arrays.copyOf(bucketStart, Math.max(to + 1, bucketStart.length * 2));
+        }
+        int row = rowOfSeat[seat];
+        for (int score = from; score < to; score++) {
+            int front = bucketStart[score]++;
+            if (front != row) {
+                int other = rows[front];
+                rows[row] = other;
+                rowOfSeat[other] = row;
+                rows[front] = seat;
+                rowOfSeat[seat] = front;
+                row = front;
+            }
+        }
+    }
+
+    /**
+     * Reset all scores and start again from the first seat
+     */
+    public void reset() {
+        for (int seat = 0; seat < seats.length; seat++) {
+            seats[seat].resetScore();
+            rows[seat] = seat;
+            rowOfSeat[seat] = seat;
+        }
+        bucketStart = new int[Math.max(64, scoreTable.getMaxScore() * 4)];
+        currentSeat = 0;
+        currentRound = 1;
+        gameEnded = false;
+    }
+
+    public int getPlayerCount() {
+        return seats.length;
+    }
+
+    /**
+     * @param seat seat number from 0, in turn order
+     */
+    public Player getPlayer(int seat) {
+        return seats[seat];
+    }
+
+    public Player getCurrentPlayer() {
+        return seats[currentSeat];
+    }
+
+    public int getCurrentSeat() {
+        return currentSeat;
+    }
+
+    public int getCurrentRound() {
+        return currentRound;
+    }
+
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+
+    public boolean isGameEnded() {
+        return gameEnded;
+    }
+
+    /**
+     * @param row ranking row from 0 (the leader)
+     */
+    public Player getRanked(int row) {
+        return seats[rows[row]];
+    }
+
+    /**
+     * @return seat of the player on a ranking row
+     */
+    public int getRankedSeat(int row) {
+        return rows[row];
+    }
+
+    /**
+     * @return ranking row of a seat
+     */
+    public int getRow(int seat) {
+        return rowOfSeat[seat];
+    }
+
+    /**
+     * @return rank from 1, shared by equal scores
+     */
+    public int getRank(int seat) {
+        return rankOfScore(seats[seat].getScore());
+    }
+
+    /**
+     * @return rank the player on a ranking row holds, shared by equal scores
+     */
+    public int getRankOfRow(int row) {
+        return rankOfScore(seats[rows[row]].getScore());
+    }
+
+    private int rankOfScore(int score) {
+        return (score < bucketStart.length ? bucketStart[score] : 0) + 1;
+    }
+
+    /**
+     * Play random rolls and check the ranking against a full sort
+     */
+    public static void main(String[] args) {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : MAX_PLAYERS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        SplittableRandom random = new SplittableRandom(49);
+        int rolls = players * rounds;
+        int[] dice = new int[rolls * 2];
+        for (int i = 0; i < dice.length; i++) {
+            dice[i] = random.nextInt(Dice.SIDES) + 1;
+        }
+
+        for (int run = 0; run < 5; run++) {
+            MultiplayerTable table = new MultiplayerTable(players, rounds);
+            long start = System.nanoTime();
+            for (int i = 0; i < dice.length; i += 2) {
+                table.applyRoll(dice[i], dice[i + 1]);
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%,d players, %,d rounds: %.1f ns per roll with ranking%n",
+                              players, rounds, (double) elapsed / rolls);
+            if (run == 0) {
+                check(table);
+            }
+        }
+    }
+
+    private static void check(MultiplayerTable table) {
+        int n = table.getPlayerCount();
+        Integer[] sorted = new Integer[n];
+        for (int seat = 0; seat < n; seat++) {
+            sorted[seat] = table.getPlayer(seat).getScore();
+        }
+        Arrays.sort(sorted, (a, b) -> b - a);
+        for (int row = 0; row < n; row++) {
+            int seat = table.getRankedSeat(row);
+            int score = table.getPlayer(seat).getScore();
+            if (score != sorted[row] || table.getRow(seat) != row
+                    || table.getRank(seat) != 1 + countAbove(sorted, score)) {
+                throw new AssertionError("Ranking differs from a full sort at row " + row);
+            }
+        }
+        System.out.printf("Ranking matches a full sort; leader %s with %,d points%n",
+                          table.getRanked(0).getName(), table.getRanked(0).getScore());
+    }
+
+    private static int countAbove(Integer[] descending, int score) {
+        int count = 0;
+        while (count < descending.length && descending[count] > score) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,362 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.Random;
+
+/**
+ * Push-your-luck (Pig) game window: Player 1 against the Computer
+ * Keep rolling to grow the turn total, or hold to bank it. Any 1 busts.
+ * The Computer follows the optimal policy from PigPolicy, blended with
+ * mistakes according to the selected difficulty.
+ */
+public class PigGame extends JFrame implements ActionListener {
+
+    // Delay between the Computer's decisions
+    private static final int COMPUTER_STEP_MILLIS = 900;
+
+    // Game state
+    private final PigGameModel model;
+    private PigPolicy policy;
+    private final Random random = new Random();
+    private Timer computerTimer;
+
+    // Game components
+    private Dice dice1, dice2;
+
+    // GUI components
+    private JPanel mainPanel;
+    private JButton rollButton, holdButton, newGameButton, exitButton;
+    private JLabel turnLabel, turnTotalLabel, resultLabel;
+    private JLabel player1ScoreLabel, player2ScoreLabel;
+    private JComboBox<PigPolicy.Difficulty> difficultyComboBox;
+
+    // Colors
+    private final Color PRIMARY_COLOR = new Color(41, 128, 185);
+    private final Color SUCCESS_COLOR = new Color(39, 174, 96);
+    private final Color DANGER_COLOR = new Color(231, 76, 60);
+    private final Color WARNING_COLOR = new Color(243, 156, 18);
+    private final Color BACKGROUND_COLOR = new Color(236, 240, 241);
+
+    /**
+     * Constructor to create a new Pig game
+     */
+    public PigGame() {
+        model = new PigGameModel("Player 1", "Computer");
+        dice1 = new Dice();
+        dice2 = new Dice();
+
+        setupGUI();
+        updateDisplay();
+        loadPolicy();
+    }
+
+    /**
+     * Setup the main GUI
+     */
+    private void setupGUI() {
+        setTitle("🎲 Dice Game - Push Your Luck");
+        setSize(900, 700);
+        setLocationRelativeTo(null);
+        setResizable(false);
+        GameRuntime.register(this);
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                if (computerTimer != null) {
+                    computerTimer.stop();
+                }
+            }
+        });
+
+        mainPanel = new GradientPanel(new BorderLayout(15, 15), BACKGROUND_COLOR, Color.WHITE);
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        // Title
+        JLabel titleLabel = new JLabel(" DICE GAME - Push Your Luck (first to "
+                                       + model.getGoal() + ") ", JLabel.CENTER);
+        titleLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 24));
+        titleLabel.setForeground(PRIMARY_COLOR);
+        mainPanel.add(titleLabel, BorderLayout.NORTH);
+
+        // Dice
+        JPanel dicePanel = new JPanel(new GridLayout(1, 2, 40, 0));
+        dicePanel.setOpaque(false);
+        dicePanel.setBorder(BorderFactory.createTitledBorder(
+            BorderFactory.createLineBorder(PRIMARY_COLOR, 2),
+            "Dice Roll Result", 0, 0, GameRuntime.font("Arial", Font.BOLD, 16), PRIMARY_COLOR));
+        dicePanel.add(dice1.getDiceLabel());
+        dicePanel.add(dice2.getDiceLabel());
+        mainPanel.add(dicePanel, BorderLayout.CENTER);
+
+        // Status
+        JPanel statusPanel = new JPanel(new GridLayout(5, 1, 5, 10));
+        statusPanel.setOpaque(false);
+        statusPanel.setBorder(BorderFactory.createTitledBorder(
+            BorderFactory.createLineBorder(PRIMARY_COLOR, 2),
+            "Game Status", 0, 0, GameRuntime.font("Arial", Font.BOLD, 14), PRIMARY_COLOR));
+
+        turnLabel = new JLabel("", JLabel.CENTER);
+        turnLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 16));
+
+        turnTotalLabel = new JLabel("", JLabel.CENTER);
+        turnTotalLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 16));
+        turnTotalLabel.setForeground(WARNING_COLOR);
+
+        resultLabel = new JLabel("Roll, then hold to bank your points!", JLabel.CENTER);
+        resultLabel.setFont(GameRuntime.font("Arial", Font.ITALIC, 14));
+
+        difficultyComboBox = new JComboBox<>(PigPolicy.Difficulty.values());
+        difficultyComboBox.setSelectedItem(PigPolicy.Difficulty.HARD);
+        difficultyComboBox.setFont(GameRuntime.font("Arial", Font.PLAIN, 14));
+        difficultyComboBox.setToolTipText("Computer difficulty");
+
+        JLabel instructionLabel = new JLabel("<html><center>A 1 on either die loses<br>the turn total!</center></html>", JLabel.CENTER);
+        instructionLabel.setFont(GameRuntime.font("Arial", Font.PLAIN, 12));
+        instructionLabel.setForeground(Color.GRAY);
+
+        statusPanel.add(turnLabel);
+        statusPanel.add(turnTotalLabel);
+        statusPanel.add(resultLabel);
+        statusPanel.add(difficultyComboBox);
+        statusPanel.add(instructionLabel);
+        mainPanel.add(statusPanel, BorderLayout.WEST);
+
+        // Scores
+        JPanel scorePanel = new JPanel(new GridLayout(2, 1, 5, 20));
+        scorePanel.setOpaque(false);
+        scorePanel.setBorder(BorderFactory.createTitledBorder(
+            BorderFactory.createLineBorder(PRIMARY_COLOR, 2),
+            "Scores", 0, 0, GameRuntime.font("Arial", Font.BOLD, 14), PRIMARY_COLOR));
+
+        player1ScoreLabel = new JLabel("", JLabel.CENTER);
+        player1ScoreLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 20));
+        player1ScoreLabel.setForeground(SUCCESS_COLOR);
+
+        player2ScoreLabel = new JLabel("", JLabel.CENTER);
+        player2ScoreLabel.setFont(GameRuntime.font("Arial", Font.BOLD, 20));
+        player2ScoreLabel.setForeground(DANGER_COLOR);
+
+        scorePanel.add(player1ScoreLabel);
+        scorePanel.add(player2ScoreLabel);
+        mainPanel.add(scorePanel, BorderLayout.EAST);
+
+        // Controls
+        JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 30, 15));
+        controlPanel.setOpaque(false);
+
+        rollButton = createStyledButton("ROLL", SUCCESS_COLOR);
+        rollButton.setPreferredSize(new Dimension(150, 60));
+        rollButton.setFont(GameRuntime.font("Arial", Font.BOLD, 16));
+
+        holdButton = createStyledButton("HOLD", WARNING_COLOR);
+        holdButton.setPreferredSize(new Dimension(150, 60));
+        holdButton.setFont(GameRuntime.font("Arial", Font.BOLD, 16));
+
+        newGameButton = createStyledButton("NEW GAME", PRIMARY_COLOR);
+        newGameButton.setPreferredSize(new Dimension(150, 60));
+
+        exitButton = createStyledButton("EXIT", DANGER_COLOR);
+        exitButton.setPreferredSize(new Dimension(120, 60));
+
+        controlPanel.add(rollButton);
+        controlPanel.add(holdButton);
+        controlPanel.add(newGameButton);
+        controlPanel.add(exitButton);
+        mainPanel.add(controlPanel, BorderLayout.SOUTH);
+
+        rollButton.addActionListener(this);
+        holdButton.addActionListener(this);
+        newGameButton.addActionListener(this);
+        exitButton.addActionListener(this);
+
+        add(mainPanel);
+    }
+
+    /**
+     * Create a styled button
+     */
+    private JButton createStyledButton(String text, Color color) {
+        JButton button = new JButton(text);
+        button.setFont(GameRuntime.font("Arial", Font.BOLD, 12));
+        button.setBackground(color);
+        button.setForeground(Color.WHITE);
+        button.setFocusPainted(false);
+        button.setBorderPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+
+        button.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseEntered(java.awt.event.MouseEvent evt) {
+                if (button.isEnabled()) {
+                    button.setBackground(color.brighter());
+                }
+            }
+            public void mouseExited(java.awt.event.MouseEvent evt) {
+                button.setBackground(color);
+            }
+        });
+
+        return button;
+    }
+
+    /**
+     * Load the Computer's policy in the background (solved on first use)
+     */
+    private void loadPolicy() {
+        PigPolicy.shared().thenAccept(loaded -> SwingUtilities.invokeLater(() -> {
+            policy = loaded;
+            if (isComputerTurn()) {
+                scheduleComputerStep();
+            }
+        }));
+    }
+
+    /**
+     * Handle button click events
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if (e.getSource() == rollButton && !model.isGameEnded() && !isComputerTurn()) {
+            roll();
+        } else if (e.getSource() == holdButton && !model.isGameEnded() && !isComputerTurn()) {
+            hold();
+        } else if (e.getSource() == newGameButton) {
+            startNewGame();
+        } else if (e.getSource() == exitButton) {
+            exitToSetup();
+        }
+    }
+
+    private boolean isComputerTurn() {
+        return model.getCurrentIndex() == 1;
+    }
+
+    /**
+     * Roll both dice for the current player
+     */
+    private void roll() {
+        String name = model.getCurrentPlayer().getName();
+        dice1.roll();
+        dice2.roll();
+        FairnessAuditor.shared().pair(dice1.getValue(), dice2.getValue());
+        int points = model.roll(dice1.getValue(), dice2.getValue());
+
+        if (points == 0) {
+            resultLabel.setText(name + " rolled a 1 - BUST!");
+        } else {
+            resultLabel.setText(name + " rolled " + dice1.getValue() + " + " + dice2.getValue()
+                                + " = " + points + " points");
+        }
+        afterMove();
+    }
+
+    /**
+     * Bank the turn total for the current player
+     */
+    private void hold() {
+        String name = model.getCurrentPlayer().getName();
+        int banked = model.getTurnTotal();
+        model.hold();
+        resultLabel.setText(name + " banked " + banked + " points");
+        afterMove();
+    }
+
+    /**
+     * Update the view and hand control to whoever moves next
+     */
+    private void afterMove() {
+        updateDisplay();
+        if (model.isGameEnded()) {
+            endGame();
+        } else if (isComputerTurn()) {
+            scheduleComputerStep();
+        }
+    }
+
+    /**
+     * Let the Computer make its next decision after a short delay
+     */
+    private void scheduleComputerStep() {
+        if (policy == null || (computerTimer != null && computerTimer.isRunning())) return;
+        computerTimer = new Timer(COMPUTER_STEP_MILLIS, e -> {
+            if (model.isGameEnded() || !isComputerTurn()) return;
+            PigPolicy.Difficulty difficulty = (PigPolicy.Difficulty) difficultyComboBox.getSelectedItem();
+            boolean rollAgain = policy.shouldRoll(model.getCurrentPlayer().getScore(),
+                                                  model.getOpponent().getScore(),
+                                                  model.getTurnTotal(), difficulty, random);
+            if (rollAgain) {
+                roll();
+            } else {
+                hold();
+            }
+        });
+        computerTimer.setRepeats(false);
+        computerTimer.start();
+    }
+
+    /**
+     * Update all display elements
+     */
+    private void updateDisplay() {
+        Player player1 = model.getPlayer(0);
+        Player player2 = model.getPlayer(1);
+        player1ScoreLabel.setText(player1.getName() + ": " + player1.getScore());
+        player2ScoreLabel.setText(player2.getName() + ": " + player2.getScore());
+
+        boolean computerTurn = isComputerTurn();
+        turnLabel.setText("Turn: " + model.getCurrentPlayer().getName());
+        turnLabel.setForeground(computerTurn ? DANGER_COLOR : SUCCESS_COLOR);
+        turnTotalLabel.setText("Turn total: " + model.getTurnTotal());
+
+        boolean humanCanPlay = !model.isGameEnded() && !computerTurn;
+        rollButton.setEnabled(humanCanPlay);
+        holdButton.setEnabled(humanCanPlay && model.getTurnTotal() > 0);
+    }
+
+    /**
+     * End the game and offer a new one
+     */
+    private void endGame() {
+        Player winner = model.getWinner();
+        String message = winner.getName() + " WINS! 🎉";
+        resultLabel.setText(message);
+        resultLabel.setForeground(winner == model.getPlayer(0) ? SUCCESS_COLOR : DANGER_COLOR);
+
+        int choice = JOptionPane.showConfirmDialog(
+            this, message + "\n\nWould you like to play again?", "Game Results",
+            JOptionPane.YES_NO_OPTION, JOptionPane.INFORMATION_MESSAGE);
+        if (choice == JOptionPane.YES_OPTION) {
+            startNewGame();
+        }
+    }
+
+    /**
+     * Start a new game
+     */
+    private void startNewGame() {
+        if (computerTimer != null) {
+            computerTimer.stop();
+        }
+        model.reset();
+        dice1.reset();
+        dice2.reset();
+        resultLabel.setText("Roll, then hold to bank your points!");
+        resultLabel.setForeground(Color.BLACK);
+        updateDisplay();
+    }
+
+    /**
+     * Exit to setup screen
+     */
+    private void exitToSetup() {
+        int choice = JOptionPane.showConfirmDialog(
+            this, "Return to game setup?",
+            "Exit Game", JOptionPane.YES_NO_OPTION
+        );
+
+        if (choice == JOptionPane.YES_OPTION) {
+            this.dispose();
+            GameRuntime.showSetup();
+        }
+    }
+}
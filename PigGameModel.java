@@ -0,0 +1,158 @@
+/**
+ * Game state for the "Pig" push-your-luck variant
+ * On each turn a player keeps rolling both dice, adding the roll score
+ * (classic scoring, doubles x2) to a turn total, or banks the turn total.
+ * A roll showing a 1 on either die busts: the turn total is lost and the
+ * turn passes. The first player to bank the goal wins.
+ */
+public class PigGameModel {
+
+    public static final int DEFAULT_GOAL = 100;
+    public static final int BUST_FACE = 1;
+
+    private final int goal;
+    private final Player[] players;
+    private int current = 0;
+    private int turnTotal = 0;
+    private boolean gameEnded = false;
+
+    /**
+     * Constructor to create a game between two players
+     */
+    public PigGameModel(String player1Name, String player2Name, int goal) {
+        if (goal < 1) {
+            throw new IllegalArgumentException("Goal must be at least 1");
+        }
+        this.goal = goal;
+        this.players = new Player[] { new Player(player1Name), new Player(player2Name) };
+    }
+
+    public PigGameModel(String player1Name, String player2Name) {
+        this(player1Name, player2Name, DEFAULT_GOAL);
+    }
+
+    /**
+     * @return true if the roll loses the turn total
+     */
+    public static boolean isBust(int die1Value, int die2Value) {
+        return die1Value == BUST_FACE || die2Value == BUST_FACE;
+    }
+
+    /**
+     * Distinct scores of non-busting rolls and their probabilities
+     * @return {scores, probabilities}; the bust probability is 1 - sum(probabilities)
+     */
+    public static double[][] rollOutcomes() {
+        int sides = Dice.SIDES;
+        double[] byScore = new double[ScoreTable.CLASSIC.getMaxScore() + 1];
+        double p = 1.0 / (sides * sides);
+        for (int die1 = 1; die1 <= sides; die1++) {
+            for (int die2 = 1; die2 <= sides; die2++) {
+                if (!isBust(die1, die2)) {
+                    byScore[ScoreTable.CLASSIC.score(die1, die2)] += p;
+                }
+            }
+        }
+        int distinct = 0;
+        for (double probability : byScore) {
+            if (probability > 0) distinct++;
+        }
+        double[] scores = new double[distinct];
+        double[] probabilities = new double[distinct];
+        for (int score = 0, i = 0; score < byScore.length; score++) {
+            if (byScore[score] > 0) {
+                scores[i] = score;
+                probabilities[i++] = byScore[score];
+            }
+        }
+        return new double[][] { scores, probabilities };
+    }
+
+    /**
+     * Apply a roll for the current player
+     * @return points added to the turn total, or 0 on a bust
+     */
+    public int roll(int die1Value, int die2Value) {
+        checkRunning();
+        if (isBust(die1Value, die2Value)) {
+            // A bust counts as a scoreless turn in the statistics
+            players[current].addScore(0);
+            turnTotal = 0;
+            current = 1 - current;
+            return 0;
+        }
+        int points = ScoreTable.CLASSIC.score(die1Value, die2Value);
+        turnTotal += points;
+        if (players[current].getScore() + turnTotal >= goal) {
+            // Reaching the goal banks automatically
+            hold();
+        }
+        return points;
+    }
+
+    /**
+     * Bank the turn total and pass the turn
+     */
+    public void hold() {
+        checkRunning();
+        players[current].addScore(turnTotal);
+        turnTotal = 0;
+        if (players[current].getScore() >= goal) {
+            gameEnded = true;
+        } else {
+            current = 1 - current;
+        }
+    }
+
+    private void checkRunning() {
+        if (gameEnded) {
+            throw new IllegalStateException("Game has already ended");
+        }
+    }
+
+    public void reset() {
+        players[0].resetScore();
+        players[1].resetScore();
+        current = 0;
+        turnTotal = 0;
+        gameEnded = false;
+    }
+
+    public int getGoal() {
+        return goal;
+    }
+
+    public Player getPlayer(int index) {
+        return players[index];
+    }
+
+    /**
+     * @return index (0 or 1) of the player whose turn it is
+     */
+    public int getCurrentIndex() {
+        return current;
+    }
+
+    public Player getCurrentPlayer() {
+        return players[current];
+    }
+
+    public Player getOpponent() {
+        return players[1 - current];
+    }
+
+    public int getTurnTotal() {
+        return turnTotal;
+    }
+
+    public boolean isGameEnded() {
+        return gameEnded;
+    }
+
+    /**
+     * @return the winner, or null while the game is running
+     */
+    public Player getWinner() {
+        return gameEnded ? players[current] : null;
+    }
+}
@@ -0,0 +1,223 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+/**
+ * Optimal roll/hold policy for the Pig variant, found by value iteration
+ *
+ * For every state (my score, opponent score, turn total) the solver computes
+ * the probability that the player to move wins, and stores one bit per
+ * state: roll again or hold. The policy is saved to a file and memory-mapped
+ * on later starts, so the AI is ready without solving again.
+ */
+public class PigPolicy {
+
+    /**
+     * Difficulty levels: the chance of deliberately taking the other decision
+     */
+    public enum Difficulty {
+        EASY(0.30), MEDIUM(0.15), HARD(0.05), OPTIMAL(0.0);
+
+        private final double mistakeRate;
+
+        Difficulty(double mistakeRate) {
+            this.mistakeRate = mistakeRate;
+        }
+
+        public double getMistakeRate() {
+            return mistakeRate;
+        }
+    }
+
+    private static final int MAGIC = 0x50494731; // "PIG1"
+    private static final int HEADER_BYTES = 8;
+    private static final double TOLERANCE = 1e-9;
+
+    private static CompletableFuture<PigPolicy> shared;
+
+    private final int goal;
+    private final ByteBuffer bits; // one bit per state, 1 = roll
+
+    private PigPolicy(int goal, ByteBuffer bits) {
+        this.goal = goal;
+        this.bits = bits;
+    }
+
+    /**
+     * Solve the game for the given goal by parallel value iteration
+     */
+    public static PigPolicy solve(int goal) {
+        double[][] outcomes = PigGameModel.rollOutcomes();
+        int[] scores = new int[outcomes[0].length];
+        double[] probabilities = outcomes[1];
+        double bust = 1.0;
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = (int) outcomes[0][i];
+            bust -= probabilities[i];
+        }
+        double bustProbability = bust;
+
+        int states = goal * goal * goal;
+        double[] value = new double[states];
+        double[] next = new double[states];
+
+        double delta;
+        do {
+            double[] current = value;
+            double[] updated = next;
+            // Each "my score" slice is independent within one sweep
+            delta = IntStream.range(0, goal).parallel().mapToDouble(i -> {
+                double maxChange = 0;
+                for (int j = 0; j < goal; j++) {
+                    for (int k = 0; i + k < goal; k++) {
+                        double best = rollValue(current, goal, i, j, k, scores, probabilities, bustProbability);
+                        if (k > 0) {
+                            best = Math.max(best, 1.0 - current[index(goal, j, i + k, 0)]);
+                        }
+                        int index = index(goal, i, j, k);
+                        maxChange = Math.max(maxChange, Math.abs(best - current[index]));
+                        updated[index] = best;
+                    }
+                }
+                return maxChange;
+            }).max().orElse(0);
+            next = value;
+            value = updated;
+        } while (delta > TOLERANCE);
+
+        // Extract the policy: roll whenever rolling is at least as good as holding
+        double[] solved = value;
+        ByteBuffer bits = ByteBuffer.allocate((states + 7) / 8);
+        for (int i = 0; i < goal; i++) {
+            for (int j = 0; j < goal; j++) {
+                for (int k = 0; i + k < goal; k++) {
+                    double roll = rollValue(solved, goal, i, j, k, scores, probabilities, bustProbability);
+                    double hold = k > 0 ? 1.0 - solved[index(goal, j, i + k, 0)] : 0.0;
+                    if (roll >= hold) {
+                        int index = index(goal, i, j, k);
+                        bits.put(index >>> 3, (byte) (bits.get(index >>> 3) | (1 << (index & 7))));
+                    }
+                }
+            }
+        }
+        return new PigPolicy(goal, bits);
+    }
+
+    private static double rollValue(double[] value, int goal, int i, int j, int k,
+                                    int[] scores, double[] probabilities, double bustProbability) {
+        double win = bustProbability * (1.0 - value[index(goal, j, i, 0)]);
+        for (int s = 0; s < scores.length; s++) {
+            int total = k + scores[s];
+            win += probabilities[s] * (i + total >= goal ? 1.0 : value[index(goal, i, j, total)]);
+        }
+        return win;
+    }
+
+    private static int index(int goal, int myScore, int opponentScore, int turnTotal) {
+        return (myScore * goal + opponentScore) * goal + turnTotal;
+    }
+
+    /**
+     * Shared policy for PigGameModel.DEFAULT_GOAL, memory-mapped from the
+     * cache file when present and otherwise solved (and saved) in the background
+     */
+    public static synchronized CompletableFuture<PigPolicy> shared() {
+        if (shared == null) {
+            Path file = Paths.get(System.getProperty("user.home"), ".dicegame",
+                                  "pig-policy-" + PigGameModel.DEFAULT_GOAL + ".bin");
+            shared = CompletableFuture.supplyAsync(() -> {
+                try {
+                    PigPolicy policy = load(file);
+                    if (policy.goal == PigGameModel.DEFAULT_GOAL) return policy;
+                } catch (IOException | RuntimeException e) {
+                    // Missing or stale cache file: solve below
+                }
+                PigPolicy policy = solve(PigGameModel.DEFAULT_GOAL);
+                try {
+                    policy.save(file);
+                } catch (IOException e) {
+                    System.err.println("Could not save Pig policy: " + e.getMessage());
+                }
+                return policy;
+            });
+        }
+        return shared;
+    }
+
+    /**
+     * Optimal decision for the player to move
+     * @return true to roll again, false to hold
+     */
+    public boolean shouldRoll(int myScore, int opponentScore, int turnTotal) {
+        if (turnTotal == 0) return true; // holding with nothing just passes the turn
+        if (myScore + turnTotal >= goal) return false;
+        int index = index(goal, Math.min(myScore, goal - 1), Math.min(opponentScore, goal - 1), turnTotal);
+        return (bits.get(index >>> 3) & (1 << (index & 7))) != 0;
+    }
+
+    /**
+     * Decision blended with sub-optimal play for the given difficulty
+     */
+    public boolean shouldRoll(int myScore, int opponentScore, int turnTotal,
+                              Difficulty difficulty, Random random) {
+        boolean optimal = shouldRoll(myScore, opponentScore, turnTotal);
+        if (turnTotal > 0 && random.nextDouble() < difficulty.getMistakeRate()) {
+            return !optimal;
+        }
+        return optimal;
+    }
+
+    public int getGoal() {
+        return goal;
+    }
+
+    /**
+     * Write the policy to a file (atomically replacing an older one)
+     */
+    public void save(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(goal).flip();
+        ByteBuffer body = bits.duplicate();
+        body.clear();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Memory-map a policy written by save()
+     */
+    public static PigPolicy load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                                       .order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a Pig policy file: " + file);
+            }
+            int goal = buffer.getInt();
+            long states = (long) goal * goal * goal;
+            if (goal < 1 || buffer.remaining() != (states + 7) / 8) {
+                throw new IOException("Truncated Pig policy file: " + file);
+            }
+            return new PigPolicy(goal, buffer.slice());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+import java.util.SplittableRandom;
+
+/**
+ * Roll-or-hold decision maker for the Pig variant, used by StrategyArena
+ * Implementations must be thread-safe: the arena calls one instance from
+ * many threads, each with its own random source.
+ */
+public interface PigStrategy {
+
+    /**
+     * @param myScore banked score of the player to move
+     * @param opponentScore banked score of the opponent
+     * @param turnTotal points at risk this turn
+     * @return true to roll again, false to bank the turn total
+     */
+    boolean shouldRoll(int myScore, int opponentScore, int turnTotal, SplittableRandom random);
+
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Baseline: one roll per turn, like the computer in the classic game
+     */
+    static PigStrategy rollOnce() {
+        return named("Roll once", (my, opponent, turnTotal, random) -> turnTotal == 0);
+    }
+
+    /**
+     * Keep rolling until the turn total reaches the threshold
+     */
+    static PigStrategy holdAt(int threshold, String name) {
+        return named(name, (my, opponent, turnTotal, random) -> turnTotal < threshold);
+    }
+
+    /**
+     * Risk-seeking: only banks big turns
+     */
+    static PigStrategy riskSeeking() {
+        return holdAt(40, "Risk-seeking (hold at 40)");
+    }
+
+    /**
+     * Risk-averse: banks small turns
+     */
+    static PigStrategy riskAverse() {
+        return holdAt(10, "Risk-averse (hold at 10)");
+    }
+
+    /**
+     * Optimal play from the solved policy
+     */
+    static PigStrategy optimal(PigPolicy policy) {
+        return named("Optimal", (my, opponent, turnTotal, random) ->
+            policy.shouldRoll(my, opponent, turnTotal));
+    }
+
+    /**
+     * Give a name to a decision function
+     */
+    static PigStrategy named(String name, PigStrategy decision) {
+        return new PigStrategy() {
+            @Override
+            public boolean shouldRoll(int myScore, int opponentScore, int turnTotal,
+                                      SplittableRandom random) {
+                return decision.shouldRoll(myScore, opponentScore, turnTotal, random);
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+}
@@ -0,0 +1,426 @@
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Verifiable dice for server-side games
+ *
+ * When a table opens, the server draws a secret 32-byte seed and publishes
+ * its commitment SHA-256(game id, seed). Dice faces are read from the byte
+ * stream HMAC-SHA256(seed, game id, block 0), (seed, game id, block 1), ...
+ * with rejection sampling, so they are uniform and fixed in advance. Every
+ * roll extends a hash chain that starts at the commitment:
+ *   head(k) = SHA-256(head(k-1), k, die1, die2)
+ * When the game ends the seed is revealed with the chain head, and anyone
+ * can check the commitment, replay the faces and rebuild the chain.
+ *
+ * Rolls only draw faces and queue them. A scheduler collects the tables
+ * with queued rolls every few milliseconds and hashes them in batches of
+ * tables on a worker pool, so chain hashing never delays a roll.
+ * Usage: java RollCommitment [games] [rounds]
+ */
+public class RollCommitment implements AutoCloseable {
+
+    private static final int BATCH_TABLES = 256;
+    private static final long FLUSH_MICROS = 2_000;
+    private static final int FACE_LIMIT = 256 - 256 % Dice.SIDES; // bytes at or above are rejected
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final SecureRandom seeds = new SecureRandom();
+    private final ConcurrentLinkedQueue<Table> dirty = new ConcurrentLinkedQueue<>();
+    private final ExecutorService workers;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "roll-commitment-batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong hashedRolls = new AtomicLong();
+
+    /**
+     * Finished game: what the server publishes when the seed is revealed
+     */
+    public static final class Proof {
+        private final long gameId;
+        private final byte[] commitment;
+        private final byte[] seed;
+        private final byte[] faces; // two per roll
+        private final byte[] head;
+
+        public Proof(long gameId, byte[] commitment, byte[] seed, byte[] faces, byte[] head) {
+            this.gameId = gameId;
+            this.commitment = commitment;
+            this.seed = seed;
+            this.faces = faces;
+            this.head = head;
+        }
+
+        public long getGameId() {
+            return gameId;
+        }
+
+        public byte[] getCommitment() {
+            return commitment.clone();
+        }
+
+        public byte[] getSeed() {
+            return seed.clone();
+        }
+
+        public int getRollCount() {
+            return faces.length / 2;
+        }
+
+        public int getDie(int roll, int die) {
+            return faces[2 * roll + die];
+        }
+
+        public byte[] getHead() {
+            return head.clone();
+        }
+
+        /**
+         * Copy with one face changed, for testing the verifier
+         */
+        Proof tampered(int index, int face) {
+            byte[] changed = faces.clone();
+            changed[index] = (byte) face;
+            return new Proof(gameId, commitment, seed, changed, head);
+        }
+    }
+
+    /**
+     * Per-game face stream and hash chain
+     */
+    public final class Table {
+        private final long gameId;
+        private final byte[] seed;
+        private final byte[] commitment;
+        private final FaceStream stream;
+
+        // Guarded by this: faces drawn, and how many of them are hashed
+        private byte[] faces = new byte[64];
+        private int drawn, hashed;
+        private byte[] head;
+        private boolean finished;
+
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private final Object hashing = new Object(); // one worker per table at a time
+        private final CompletableFuture<Proof> proof = new CompletableFuture<>();
+
+        Table(long gameId, byte[] seed) {
+            this.gameId = gameId;
+            this.seed = seed;
+            this.commitment = commit(gameId, seed);
+            this.head = commitment;
+            this.stream = new FaceStream(seed, gameId);
+        }
+
+        public long getGameId() {
+            return gameId;
+        }
+
+        /**
+         * Hash published before the first roll
+         */
+        public byte[] getCommitment() {
+            return commitment.clone();
+        }
+
+        /**
+         * Draw the next roll; its hashing is queued for the worker pool
+         * @return {die1, die2}
+         */
+        public int[] roll() {
+            int die1, die2;
+            synchronized (this) {
+                if (finished) {
+                    throw new IllegalStateException("Game " + gameId + " is finished");
+                }
+                die1 = stream.next();
+                die2 = stream.next();
+                if (drawn + 2 > faces.length) {
+                    faces = Arrays.copyOf(faces, faces.length * 2);
+                }
+                faces[drawn++] = (byte) die1;
+                faces[drawn++] = (byte) die2;
+            }
+            enqueue();
+            return new int[] { die1, die2 };
+        }
+
+        /**
+         * Reveal the seed once every roll is hashed
+         */
+        public CompletableFuture<Proof> finish() {
+            synchronized (this) {
+                finished = true;
+            }
+            enqueue();
+            return proof;
+        }
+
+        private void enqueue() {
+            if (queued.compareAndSet(false, true)) {
+                dirty.add(this);
+            }
+        }
+
+        /**
+         * Extend the chain by the queued rolls (worker thread)
+         */
+        void hashPending(MessageDigest sha) {
+            synchronized (hashing) {
+                queued.set(false);
+                extendChain(sha);
+            }
+        }
+
+        private void extendChain(MessageDigest sha) {
+            byte[] snapshot;
+            int from, to;
+            byte[] chain;
+            synchronized (this) {
+                snapshot = faces;
+                from = hashed;
+                to = drawn;
+                chain = head;
+            }
+            ByteBuffer input = ByteBuffer.allocate(32 + 4 + 2);
+            for (int i = from; i < to; i += 2) {
+                input.clear();
+                input.put(chain).putInt(i / 2 + 1).put(snapshot[i]).put(snapshot[i + 1]);
+                sha.update(input.array(), 0, input.position());
+                chain = sha.digest();
+            }
+            hashedRolls.addAndGet((to - from) / 2);
+            Proof complete = null;
+            synchronized (this) {
+                head = chain;
+                hashed = to;
+                if (finished && hashed == drawn && !proof.isDone()) {
+                    complete = new Proof(gameId, commitment, seed, Arrays.copyOf(faces, drawn), head);
+                }
+            }
+            if (complete != null) {
+                proof.complete(complete);
+            }
+        }
+    }
+
+    /**
+     * Uniform faces from the HMAC block stream of one game
+     */
+    static final class FaceStream {
+        private final Mac mac;
+        private final long gameId;
+        private final ByteBuffer input = ByteBuffer.allocate(16);
+        private byte[] block = new byte[0];
+        private int offset;
+        private long blockNumber;
+
+        FaceStream(byte[] seed, long gameId) {
+            try {
+                mac = Mac.getInstance("HmacSHA256");
+                mac.init(new SecretKeySpec(seed, "HmacSHA256"));
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+            this.gameId = gameId;
+        }
+
+        int next() {
+            while (true) {
+                if (offset == block.length) {
+                    input.clear();
+                    input.putLong(gameId).putLong(blockNumber++);
+                    block = mac.doFinal(input.array());
+                    offset = 0;
+                }
+                int value = block[offset++] & 0xFF;
+                if (value < FACE_LIMIT) {
+                    return value % Dice.SIDES + 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Hash on the common pool
+     */
+    public RollCommitment() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public RollCommitment(ExecutorService workers) {
+        this.workers = workers;
+        scheduler.scheduleWithFixedDelay(this::flush, FLUSH_MICROS, FLUSH_MICROS, TimeUnit.MICROSECONDS);
+    }
+
+    static byte[] commit(long gameId, byte[] seed) {
+        MessageDigest sha = SHA256.get();
+        sha.update(ByteBuffer.allocate(8).putLong(gameId).array());
+        return sha.digest(seed);
+    }
+
+    /**
+     * Open a table with a fresh secret seed
+     */
+    public Table open(long gameId) {
+        byte[] seed = new byte[32];
+        seeds.nextBytes(seed);
+        return new Table(gameId, seed);
+    }
+
+    /**
+     * Hand the tables with queued rolls to the workers in batches
+     */
+    private void flush() {
+        List<Table> batch = new ArrayList<>(BATCH_TABLES);
+        for (Table table; (table = dirty.poll()) != null; ) {
+            batch.add(table);
+            if (batch.size() == BATCH_TABLES) {
+                submit(batch);
+                batch = new ArrayList<>(BATCH_TABLES);
+            }
+        }
+        if (!batch.isEmpty()) {
+            submit(batch);
+        }
+    }
+
+    private void submit(List<Table> batch) {
+        batches.incrementAndGet();
+        workers.execute(() -> {
+            MessageDigest sha = SHA256.get();
+            for (Table table : batch) {
+                table.hashPending(sha);
+            }
+        });
+    }
+
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    public long getHashedRolls() {
+        return hashedRolls.get();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        flush();
+    }
+
+    /**
+     * Check a revealed game: commitment, every face and the chain head
+     */
+    public static boolean verify(Proof proof) {
+        MessageDigest sha = SHA256.get();
+        byte[] chain = commit(proof.gameId, proof.seed);
+        if (!MessageDigest.isEqual(chain, proof.commitment)) return false;
+        FaceStream stream = new FaceStream(proof.seed, proof.gameId);
+        byte[] input = new byte[32 + 4 + 2];
+        ByteBuffer buffer = ByteBuffer.wrap(input);
+        for (int i = 0; i < proof.faces.length; i += 2) {
+            if (proof.faces[i] != stream.next() || proof.faces[i + 1] != stream.next()) return false;
+            buffer.clear();
+            buffer.put(chain).putInt(i / 2 + 1).put(proof.faces[i]).put(proof.faces[i + 1]);
+            chain = sha.digest(input);
+        }
+        return MessageDigest.isEqual(chain, proof.head);
+    }
+
+    /**
+     * Verify many games in parallel
+     * @return indexes of the games that fail
+     */
+    public static int[] verifyAll(List<Proof> proofs) {
+        return IntStream.range(0, proofs.size()).parallel()
+            .filter(i -> !verify(proofs.get(i)))
+            .toArray();
+    }
+
+    /**
+     * Plays many tables at once, then verifies every game and a few tampered ones
+     */
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int concurrentTables = 10_000;
+
+        List<Proof> proofs = new ArrayList<>(games);
+        long rollNanos = 0, rolls = 0;
+        long start = System.nanoTime();
+        try (RollCommitment commitments = new RollCommitment()) {
+            List<CompletableFuture<Proof>> finishing = new ArrayList<>();
+            for (int first = 0; first < games; first += concurrentTables) {
+                int count = Math.min(concurrentTables, games - first);
+                Table[] tables = new Table[count];
+                GameModel[] models = new GameModel[count];
+                for (int t = 0; t < count; t++) {
+                    tables[t] = commitments.open(first + t);
+                    models[t] = new GameModel(false, rounds);
+                }
+                // Interleave the tables' rolls like a busy server
+                for (int r = 0; r < rounds * 2; r++) {
+                    for (int t = 0; t < count; t++) {
+                        long before = System.nanoTime();
+                        int[] dice = tables[t].roll();
+                        rollNanos += System.nanoTime() - before;
+                        rolls++;
+                        models[t].applyRoll(dice[0], dice[1]);
+                    }
+                }
+                for (Table table : tables) {
+                    finishing.add(table.finish());
+                }
+            }
+            for (CompletableFuture<Proof> future : finishing) {
+                proofs.add(future.get());
+            }
+            System.out.printf("%,d games, %,d rolls in %.1f s: %.2f us per roll on the game thread, "
+                              + "chains hashed in %,d batches%n",
+                              games, rolls, (System.nanoTime() - start) / 1e9, rollNanos / 1e3 / rolls,
+                              commitments.getBatchCount());
+        }
+
+        start = System.nanoTime();
+        int[] failed = verifyAll(proofs);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Verified %,d games in %.1f s (%,.0f games/s on %d cores): %d failed%n",
+                          proofs.size(), seconds, proofs.size() / seconds,
+                          Runtime.getRuntime().availableProcessors(), failed.length);
+
+        Proof honest = proofs.get(0);
+        int face = honest.getDie(0, 0) % Dice.SIDES + 1;
+        List<Proof> tampered = List.of(honest.tampered(0, face),
+                                       new Proof(honest.gameId + 1, honest.commitment, honest.seed,
+                                                 honest.faces, honest.head));
+        System.out.printf("Tampered games rejected: %d of %d%n", verifyAll(tampered).length, tampered.size());
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Accumulated statistics of many scored rolls
+ * Tracks the same numbers as Player.addScore so batches computed by
+ * simulators can be merged into a Player or with each other
+ */
+public class RollStatistics {
+
+    // Player.addScore counts a roll as doubles when it scores more than this
+    public static final int DOUBLES_THRESHOLD = 12;
+
+    private long totalScore;
+    private long rollCount;
+    private long doublesCount;
+    private int highestSingleRoll;
+    private long totalPointsFromDoubles;
+
+    /**
+     * Record a single roll
+     */
+    public void addScore(int points) {
+        totalScore += points;
+        rollCount++;
+
+        if (points > highestSingleRoll) {
+            highestSingleRoll = points;
+        }
+
+        if (points > DOUBLES_THRESHOLD) {
+            doublesCount++;
+            totalPointsFromDoubles += points;
+        }
+    }
+
+    /**
+     * Record a batch of rolls whose totals were computed elsewhere
+     */
+    public void addBatch(long total, long rolls, long doubles, int highest, long pointsFromDoubles) {
+        totalScore += total;
+        rollCount += rolls;
+        doublesCount += doubles;
+        highestSingleRoll = Math.max(highestSingleRoll, highest);
+        totalPointsFromDoubles += pointsFromDoubles;
+    }
+
+    /**
+     * Add the statistics of another accumulator to this one
+     */
+    public void merge(RollStatistics other) {
+        addBatch(other.totalScore, other.rollCount, other.doublesCount,
+                 other.highestSingleRoll, other.totalPointsFromDoubles);
+    }
+
+    /**
+     * Add these statistics to a player's score
+     */
+    public void applyTo(Player player) {
+        player.addStatistics(this);
+    }
+
+    public void reset() {
+        totalScore = 0;
+        rollCount = 0;
+        doublesCount = 0;
+        highestSingleRoll = 0;
+        totalPointsFromDoubles = 0;
+    }
+
+    public long getTotalScore() {
+        return totalScore;
+    }
+
+    public long getRollCount() {
+        return rollCount;
+    }
+
+    public long getDoublesCount() {
+        return doublesCount;
+    }
+
+    public int getHighestSingleRoll() {
+        return highestSingleRoll;
+    }
+
+    public long getTotalPointsFromDoubles() {
+        return totalPointsFromDoubles;
+    }
+
+    public double getAverageScore() {
+        if (rollCount == 0) return 0.0;
+        return (double) totalScore / rollCount;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        RollStatistics other = (RollStatistics) obj;
+        return totalScore == other.totalScore && rollCount == other.rollCount
+            && doublesCount == other.doublesCount
+            && highestSingleRoll == other.highestSingleRoll
+            && totalPointsFromDoubles == other.totalPointsFromDoubles;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(totalScore) * 31 + Long.hashCode(rollCount);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RollStatistics{score=%d, rolls=%d, doubles=%d, highest=%d, fromDoubles=%d}",
+                             totalScore, rollCount, doublesCount, highestSingleRoll, totalPointsFromDoubles);
+    }
+}
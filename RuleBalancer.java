@@ -0,0 +1,300 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Search for rule settings that give both sides odds as close to 50/50 as possible
+ *
+ * Classic games are searched over the doubles multiplier, the round count
+ * and a head start for the second player, and evaluated exactly by
+ * convolving the roll score distribution. Rolls are independent and both
+ * players roll equally often, so the turn order has no effect and the game
+ * is symmetric: the best head start is 0 and configurations end up ranked
+ * by their tie probability. Push Your Luck against
+ * the optimal computer has no closed form, so the head start for the human
+ * and who starts are evaluated by simulation with successive halving:
+ * every candidate gets a few games, candidates that are clearly worse than
+ * the best are dropped, and the rest get more games.
+ * Evaluations are cached, and the imbalance of a classic game only grows as
+ * the head start moves away from its best value, so the head start is found
+ * by a ternary search instead of a scan.
+ * Usage: java RuleBalancer
+ */
+public class RuleBalancer {
+
+    private static final double Z_95 = 1.96;
+
+    private final ConcurrentMap<String, Evaluation> cache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, double[]> scoreDistributions = new ConcurrentHashMap<>();
+
+    /**
+     * One evaluated configuration
+     */
+    public static class Evaluation {
+        private final String mode;
+        private final int doublesMultiplier;
+        private final int rounds;
+        private final String turnOrder;
+        private final int handicap;
+        private final double sideAWins, sideBWins, ties;
+        private final double error; // 95% half-width of the imbalance, 0 when exact
+        private final long games;   // simulated games, 0 when exact
+
+        Evaluation(String mode, int doublesMultiplier, int rounds, String turnOrder, int handicap,
+                   double sideAWins, double sideBWins, double ties, double error, long games) {
+            this.mode = mode;
+            this.doublesMultiplier = doublesMultiplier;
+            this.rounds = rounds;
+            this.turnOrder = turnOrder;
+            this.handicap = handicap;
+            this.sideAWins = sideAWins;
+            this.sideBWins = sideBWins;
+            this.ties = ties;
+            this.error = error;
+            this.games = games;
+        }
+
+        /**
+         * @return distance from 50/50: |P(A wins) - 0.5| + |P(B wins) - 0.5|
+         */
+        public double getImbalance() {
+            return Math.abs(sideAWins - 0.5) + Math.abs(sideBWins - 0.5);
+        }
+
+        public double getError() {
+            return error;
+        }
+
+        public boolean isExact() {
+            return games == 0;
+        }
+
+        public int getDoublesMultiplier() {
+            return doublesMultiplier;
+        }
+
+        public int getRounds() {
+            return rounds;
+        }
+
+        public int getHandicap() {
+            return handicap;
+        }
+
+        public double getSideAWins() {
+            return sideAWins;
+        }
+
+        public double getSideBWins() {
+            return sideBWins;
+        }
+
+        public double getTies() {
+            return ties;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-12s %4s %6s  %-14s %8d  %7.3f%% %7.3f%% %6.3f%%  %7.4f  %s",
+                                 mode, doublesMultiplier > 0 ? "x" + doublesMultiplier : "-",
+                                 rounds > 0 ? String.valueOf(rounds) : "-", turnOrder, handicap,
+                                 100 * sideAWins, 100 * sideBWins, 100 * ties, getImbalance(),
+                                 isExact() ? "exact" : String.format("+/-%.4f (%,d games)", error, games));
+        }
+    }
+
+    /**
+     * Roll score distribution for a doubles multiplier (cached)
+     */
+    private double[] scoreDistribution(int doublesMultiplier) {
+        return scoreDistributions.computeIfAbsent(doublesMultiplier, m ->
+            ScoringRules.classic().setDoublesMultiplier(m).compile().scoreDistribution());
+    }
+
+    /**
+     * Exact odds of a classic game
+     * @param handicap points player 2 starts with
+     */
+    public Evaluation evaluateClassic(int doublesMultiplier, int rounds, int handicap) {
+        String key = "classic:" + doublesMultiplier + ":" + rounds + ":" + handicap;
+        return cache.computeIfAbsent(key, k -> {
+            double[] total = SumDistribution.power(scoreDistribution(doublesMultiplier), rounds);
+            double[] cumulative = new double[total.length];
+            double running = 0;
+            for (int i = 0; i < total.length; i++) {
+                running += total[i];
+                cumulative[i] = running;
+            }
+            double player1 = 0, tie = 0;
+            for (int x = 0; x < total.length; x++) {
+                // Player 1 wins when player 2 + handicap < x
+                int below = x - handicap - 1;
+                if (below >= 0) {
+                    player1 += total[x] * cumulative[Math.min(below, total.length - 1)];
+                }
+                int equal = x - handicap;
+                if (equal >= 0 && equal < total.length) {
+                    tie += total[x] * total[equal];
+                }
+            }
+            double player2 = Math.max(0, 1 - player1 - tie);
+            return new Evaluation("Classic", doublesMultiplier, rounds, "-", handicap,
+                                  player1, player2, tie, 0, 0);
+        });
+    }
+
+    /**
+     * Best head start for player 2 in a classic game, by ternary search
+     */
+    public Evaluation balanceClassic(int doublesMultiplier, int rounds, int maxHandicap) {
+        int low = 0, high = maxHandicap;
+        while (high - low > 2) {
+            int left = low + (high - low) / 3;
+            int right = high - (high - low) / 3;
+            if (evaluateClassic(doublesMultiplier, rounds, left).getImbalance()
+                    <= evaluateClassic(doublesMultiplier, rounds, right).getImbalance()) {
+                high = right;
+            } else {
+                low = left;
+            }
+        }
+        Evaluation best = null;
+        for (int h = low; h <= high; h++) {
+            Evaluation e = evaluateClassic(doublesMultiplier, rounds, h);
+            if (best == null || e.getImbalance() < best.getImbalance()) {
+                best = e;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Rank every classic configuration, each with its best head start
+     */
+    public List<Evaluation> rankClassic(int maxMultiplier, int maxRounds, int maxHandicap) {
+        List<int[]> candidates = new ArrayList<>();
+        for (int m = 1; m <= maxMultiplier; m++) {
+            for (int rounds = 1; rounds <= maxRounds; rounds++) {
+                candidates.add(new int[] { m, rounds });
+            }
+        }
+        return candidates.parallelStream()
+            .map(c -> balanceClassic(c[0], c[1], maxHandicap))
+            .sorted(Comparator.comparingDouble(Evaluation::getImbalance)
+                              .thenComparingInt(Evaluation::getRounds))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Rank head starts for a human strategy against the computer in
+     * Push Your Luck, by simulation with successive halving
+     * @param human model of the human player
+     * @param computer the computer's strategy
+     * @param startGames games per candidate in the first round
+     * @param maxGames games per candidate after which refinement stops
+     */
+    public List<Evaluation> rankPigHandicaps(PigStrategy human, PigStrategy computer, int goal,
+                                             int maxHandicap, int step, long startGames, long maxGames) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (int handicap = 0; handicap <= maxHandicap; handicap += step) {
+            candidates.add(new Candidate(handicap, true));
+            candidates.add(new Candidate(handicap, false));
+        }
+
+        List<Candidate> alive = candidates;
+        for (long games = startGames; ; games *= 4) {
+            long target = Math.min(games, maxGames);
+            alive.parallelStream().forEach(c -> c.simulate(human, computer, goal, target));
+
+            // Drop candidates whose best case is worse than the leader's worst case
+            double bestUpper = alive.stream()
+                .mapToDouble(c -> c.evaluation().getImbalance() + c.evaluation().getError())
+                .min().orElse(Double.POSITIVE_INFINITY);
+            alive = alive.stream()
+                .filter(c -> c.evaluation().getImbalance() - c.evaluation().getError() <= bestUpper)
+                .collect(Collectors.toList());
+            if (target >= maxGames || alive.size() <= 1) break;
+        }
+
+        for (Candidate c : candidates) {
+            cache.put("pig:" + human.getName() + ":" + computer.getName() + ":" + goal + ":"
+                      + c.handicap + ":" + c.humanFirst, c.evaluation());
+        }
+        return candidates.stream()
+            .map(Candidate::evaluation)
+            .sorted(Comparator.comparingDouble(Evaluation::getImbalance))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Head start and turn order being simulated; games accumulate across rounds
+     */
+    private static class Candidate {
+        final int handicap;
+        final boolean humanFirst;
+        long games, humanWins;
+
+        Candidate(int handicap, boolean humanFirst) {
+            this.handicap = handicap;
+            this.humanFirst = humanFirst;
+        }
+
+        void simulate(PigStrategy human, PigStrategy computer, int goal, long target) {
+            SplittableRandom random = new SplittableRandom(
+                ((long) handicap << 33) ^ (humanFirst ? 1 : 0) ^ (games * 0x9E3779B97F4A7C15L));
+            for (; games < target; games++) {
+                boolean firstWon = humanFirst
+                    ? StrategyArena.play(human, computer, handicap, 0, goal, random)
+                    : StrategyArena.play(computer, human, 0, handicap, goal, random);
+                if (firstWon == humanFirst) {
+                    humanWins++;
+                }
+            }
+        }
+
+        Evaluation evaluation() {
+            double p = (double) humanWins / games;
+            // Pig has no ties, so the imbalance is 2 |p - 0.5| and its error 2 z sd
+            double error = 2 * Z_95 * Math.sqrt(p * (1 - p) / games);
+            return new Evaluation("PushYourLuck", 0, 0, humanFirst ? "HUMAN_FIRST" : "COMPUTER_FIRST",
+                                  handicap, p, 1 - p, 0, error, games);
+        }
+    }
+
+    public int getCachedEvaluations() {
+        return cache.size();
+    }
+
+    private static void printTable(String title, List<Evaluation> ranked, int limit) {
+        System.out.println(title);
+        System.out.printf("%-12s %4s %6s  %-14s %8s  %8s %8s %7s  %7s%n",
+                          "Mode", "Dbl", "Rounds", "Turn order", "Handicap",
+                          "Side A", "Side B", "Ties", "Imbal.");
+        ranked.stream().limit(limit).forEach(System.out::println);
+        System.out.println();
+    }
+
+    public static void main(String[] args) {
+        RuleBalancer balancer = new RuleBalancer();
+
+        long start = System.nanoTime();
+        List<Evaluation> classic = balancer.rankClassic(4, GameSetup.MAX_ROUNDS, 30);
+        printTable(String.format("Classic game (%d configurations, %.0f ms, %d cached evaluations):",
+                                 classic.size(), (System.nanoTime() - start) / 1e6,
+                                 balancer.getCachedEvaluations()),
+                   classic, 15);
+
+        PigPolicy policy = PigPolicy.shared().join();
+        start = System.nanoTime();
+        List<Evaluation> pig = balancer.rankPigHandicaps(
+            PigStrategy.holdAt(20, "Human (hold at 20)"), PigStrategy.optimal(policy),
+            policy.getGoal(), 30, 2, 20_000, 1_280_000);
+        printTable(String.format("Push Your Luck: head start for a hold-at-20 human vs the optimal computer (%.1f s):",
+                                 (System.nanoTime() - start) / 1e9),
+                   pig, 10);
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Dense lookup table of roll scores compiled from ScoringRules
+ * A roll of k dice with n sides is packed into an index in mixed radix
+ * (die i contributes (value - 1) * n^i), so scoring is one array load.
+ * The same table backs the game windows, simulators and odds calculations.
+ */
+public class ScoreTable {
+
+    // Largest table that will be compiled (16M entries, 64 MB)
+    public static final int MAX_ENTRIES = 1 << 24;
+
+    /** Table for the rules of the original game (2d6, doubles x2) */
+    public static final ScoreTable CLASSIC = ScoringRules.classic().compile();
+
+    private final String description;
+    private final int diceCount;
+    private final int sides;
+    private final int[] scores;
+    private final int maxScore;
+
+    ScoreTable(ScoringRules rules) {
+        this.description = rules.toString();
+        this.diceCount = rules.getDiceCount();
+        this.sides = rules.getSides();
+
+        long entries = 1;
+        for (int i = 0; i < diceCount; i++) {
+            entries *= sides;
+            if (entries > MAX_ENTRIES) {
+                throw new IllegalArgumentException("Too many outcomes to tabulate: " + rules);
+            }
+        }
+
+        scores = new int[(int) entries];
+        int[] values = new int[diceCount];
+        java.util.Arrays.fill(values, 1);
+        int max = Integer.MIN_VALUE;
+        for (int index = 0; index < scores.length; index++) {
+            scores[index] = rules.score(values);
+            max = Math.max(max, scores[index]);
+            // Advance the mixed radix counter (die 0 is the least significant digit)
+            for (int die = 0; die < diceCount && ++values[die] > sides; die++) {
+                values[die] = 1;
+            }
+        }
+        maxScore = max;
+    }
+
+    /**
+     * Score a packed roll
+     */
+    public int score(int packedRoll) {
+        return scores[packedRoll];
+    }
+
+    /**
+     * Score a roll of two dice (tables with two dice only)
+     */
+    public int score(int die1Value, int die2Value) {
+        return scores[(die1Value - 1) + (die2Value - 1) * sides];
+    }
+
+    /**
+     * Pack dice values into a table index
+     */
+    public int pack(int... values) {
+        if (values.length != diceCount) {
+            throw new IllegalArgumentException("Expected " + diceCount + " dice, got " + values.length);
+        }
+        int index = 0;
+        for (int die = diceCount - 1; die >= 0; die--) {
+            int value = values[die];
+            if (value < 1 || value > sides) {
+                throw new IllegalArgumentException("Dice value must be between 1 and " + sides);
+            }
+            index = index * sides + (value - 1);
+        }
+        return index;
+    }
+
+    /**
+     * Probability of each score for a roll of fair dice
+     * @return array indexed by score, from 0 to getMaxScore()
+     */
+    public double[] scoreDistribution() {
+        double[] pmf = new double[Math.max(maxScore, 0) + 1];
+        double p = 1.0 / scores.length;
+        for (int score : scores) {
+            if (score < 0) {
+                throw new IllegalStateException("Negative scores have no distribution index");
+            }
+            pmf[score] += p;
+        }
+        return pmf;
+    }
+
+    /**
+     * Expected score of one roll of fair dice
+     */
+    public double expectedScore() {
+        long total = 0;
+        for (int score : scores) {
+            total += score;
+        }
+        return (double) total / scores.length;
+    }
+
+    public int size() {
+        return scores.length;
+    }
+
+    public int getMaxScore() {
+        return maxScore;
+    }
+
+    public int getDiceCount() {
+        return diceCount;
+    }
+
+    public int getSides() {
+        return sides;
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreTable" + description + "[" + scores.length + " entries]";
+    }
+}
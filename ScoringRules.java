@@ -0,0 +1,143 @@
+/**
+ * Configurable scoring rules for rolling k dice with n sides
+ * A roll scores the sum of its dice, multiplied when dice match and plus
+ * optional bonuses. Rules are compiled once into a ScoreTable for scoring.
+ */
+public class ScoringRules {
+    private final int diceCount;
+    private final int sides;
+
+    private int doublesMultiplier = 1;   // at most two dice show the same value
+    private int triplesMultiplier = 1;   // three or more dice show the same value
+    private int straightBonus = 0;       // all dice form a run of consecutive values
+    private int targetSum = 0;           // 0 = no target sum bonus
+    private int targetSumBonus = 0;
+
+    /**
+     * Constructor to create rules for the given dice
+     * @param diceCount number of dice rolled together (k)
+     * @param sides number of sides per die (n)
+     */
+    public ScoringRules(int diceCount, int sides) {
+        if (diceCount < 1) {
+            throw new IllegalArgumentException("At least one die is required");
+        }
+        if (sides < 2) {
+            throw new IllegalArgumentException("Dice need at least two sides");
+        }
+        this.diceCount = diceCount;
+        this.sides = sides;
+    }
+
+    /**
+     * The rules of the original game: 2d6, doubles score twice the sum
+     */
+    public static ScoringRules classic() {
+        return new ScoringRules(2, 6).setDoublesMultiplier(2);
+    }
+
+    public int getDiceCount() {
+        return diceCount;
+    }
+
+    public int getSides() {
+        return sides;
+    }
+
+    public int getDoublesMultiplier() {
+        return doublesMultiplier;
+    }
+
+    public ScoringRules setDoublesMultiplier(int multiplier) {
+        this.doublesMultiplier = requirePositive(multiplier);
+        return this;
+    }
+
+    public int getTriplesMultiplier() {
+        return triplesMultiplier;
+    }
+
+    public ScoringRules setTriplesMultiplier(int multiplier) {
+        this.triplesMultiplier = requirePositive(multiplier);
+        return this;
+    }
+
+    public int getStraightBonus() {
+        return straightBonus;
+    }
+
+    public ScoringRules setStraightBonus(int bonus) {
+        this.straightBonus = bonus;
+        return this;
+    }
+
+    public int getTargetSum() {
+        return targetSum;
+    }
+
+    public int getTargetSumBonus() {
+        return targetSumBonus;
+    }
+
+    /**
+     * Add a bonus when the dice sum to exactly the given value
+     */
+    public ScoringRules setTargetSumBonus(int targetSum, int bonus) {
+        this.targetSum = targetSum;
+        this.targetSumBonus = bonus;
+        return this;
+    }
+
+    /**
+     * Score one roll directly from the rules (used to build the table)
+     * @param values dice values, each between 1 and sides
+     */
+    public int score(int[] values) {
+        int[] counts = new int[sides + 1];
+        int sum = 0;
+        int min = sides, max = 1, maxCount = 0;
+        for (int value : values) {
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            maxCount = Math.max(maxCount, ++counts[value]);
+        }
+
+        int score = sum;
+        if (maxCount >= 3) {
+            score *= triplesMultiplier;
+        } else if (maxCount == 2) {
+            score *= doublesMultiplier;
+        }
+        if (straightBonus != 0 && diceCount > 1 && maxCount == 1 && max - min == diceCount - 1) {
+            score += straightBonus;
+        }
+        if (targetSumBonus != 0 && sum == targetSum) {
+            score += targetSumBonus;
+        }
+        return score;
+    }
+
+    /**
+     * Compile the rules into a lookup table indexed by the packed roll
+     */
+    public ScoreTable compile() {
+        return new ScoreTable(this);
+    }
+
+    private static int requirePositive(int multiplier) {
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("Multiplier must be at least 1");
+        }
+        return multiplier;
+    }
+
+    @Override
+    public String toString() {
+        return diceCount + "d" + sides +
+               "{doubles=x" + doublesMultiplier +
+               ", triples=x" + triplesMultiplier +
+               ", straight=+" + straightBonus +
+               (targetSumBonus != 0 ? ", sum " + targetSum + "=+" + targetSumBonus : "") + "}";
+    }
+}
@@ -0,0 +1,141 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Mergeable results of a range of simulated classic games
+ * Holds win counts and, per player, the same statistics a Player keeps
+ * plus a histogram of roll scores. Results of different shards can be
+ * merged in any order and written to a stream for checkpoints and for
+ * sending between processes.
+ */
+public class ShardResult {
+
+    private long games;
+    private long player1Wins;
+    private long player2Wins;
+    private long ties;
+    private final RollStatistics[] statistics = { new RollStatistics(), new RollStatistics() };
+    private final long[][] rollHistogram;
+
+    public ShardResult() {
+        rollHistogram = new long[2][ScoreTable.CLASSIC.getMaxScore() + 1];
+    }
+
+    /**
+     * Record one roll of a player (0 = player 1, 1 = player 2)
+     */
+    public void recordRoll(int player, int points) {
+        statistics[player].addScore(points);
+        rollHistogram[player][points]++;
+    }
+
+    /**
+     * Record the final scores of a game
+     */
+    public void recordGame(int player1Score, int player2Score) {
+        games++;
+        if (player1Score > player2Score) {
+            player1Wins++;
+        } else if (player2Score > player1Score) {
+            player2Wins++;
+        } else {
+            ties++;
+        }
+    }
+
+    /**
+     * Add another result to this one
+     */
+    public void merge(ShardResult other) {
+        games += other.games;
+        player1Wins += other.player1Wins;
+        player2Wins += other.player2Wins;
+        ties += other.ties;
+        for (int p = 0; p < 2; p++) {
+            statistics[p].merge(other.statistics[p]);
+            for (int score = 0; score < rollHistogram[p].length; score++) {
+                rollHistogram[p][score] += other.rollHistogram[p][score];
+            }
+        }
+    }
+
+    public void write(DataOutput out) throws IOException {
+        out.writeLong(games);
+        out.writeLong(player1Wins);
+        out.writeLong(player2Wins);
+        out.writeLong(ties);
+        for (int p = 0; p < 2; p++) {
+            RollStatistics s = statistics[p];
+            out.writeLong(s.getTotalScore());
+            out.writeLong(s.getRollCount());
+            out.writeLong(s.getDoublesCount());
+            out.writeInt(s.getHighestSingleRoll());
+            out.writeLong(s.getTotalPointsFromDoubles());
+            out.writeInt(rollHistogram[p].length);
+            for (long count : rollHistogram[p]) {
+                out.writeLong(count);
+            }
+        }
+    }
+
+    public static ShardResult read(DataInput in) throws IOException {
+        ShardResult result = new ShardResult();
+        result.games = in.readLong();
+        result.player1Wins = in.readLong();
+        result.player2Wins = in.readLong();
+        result.ties = in.readLong();
+        for (int p = 0; p < 2; p++) {
+            long total = in.readLong();
+            long rolls = in.readLong();
+            long doubles = in.readLong();
+            int highest = in.readInt();
+            long fromDoubles = in.readLong();
+            result.statistics[p].addBatch(total, rolls, doubles, highest, fromDoubles);
+            int length = in.readInt();
+            if (length != result.rollHistogram[p].length) {
+                throw new IOException("Histogram size mismatch: " + length);
+            }
+            for (int score = 0; score < length; score++) {
+                result.rollHistogram[p][score] = in.readLong();
+            }
+        }
+        return result;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getPlayer1Wins() {
+        return player1Wins;
+    }
+
+    public long getPlayer2Wins() {
+        return player2Wins;
+    }
+
+    public long getTies() {
+        return ties;
+    }
+
+    /**
+     * @param player 0 = player 1, 1 = player 2
+     */
+    public RollStatistics getStatistics(int player) {
+        return statistics[player];
+    }
+
+    /**
+     * @return how often the player rolled each score
+     */
+    public long[] getRollHistogram(int player) {
+        return rollHistogram[player].clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ShardResult{games=%d, p1=%d, p2=%d, ties=%d}",
+                             games, player1Wins, player2Wins, ties);
+    }
+}
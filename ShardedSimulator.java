@@ -0,0 +1,328 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a large classic-game simulation across local worker processes
+ *
+ * The games are split into shards (contiguous ranges of game indices, each
+ * game having its own seed). Up to one worker process per core runs at a
+ * time; workers report partial ShardResults over a loopback socket, and the
+ * coordinator merges each report and checkpoints the shard to a file before
+ * acknowledging it. A worker that crashes is restarted from its shard's
+ * checkpoint, and a later run with the same settings resumes all shards.
+ * Usage: java ShardedSimulator [totalGames] [rounds] [workers] [checkpointDir]
+ */
+public class ShardedSimulator {
+
+    static final byte ACK = 1;
+    static final byte REJECT = 0;
+
+    private static final int MAGIC = 0x53485244; // "SHRD"
+    private static final int SHARDS_PER_WORKER = 4;
+    // Workers in a row that may exit without moving their shard's checkpoint
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final long totalGames;
+    private final int rounds;
+    private final long seed;
+    private final int workers;
+    private final Path checkpointDir;
+    private final List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Range of games with its merged result so far
+     */
+    private static class Shard {
+        final int id;
+        final long from, to;
+        long progress;
+        ShardResult result = new ShardResult();
+
+        Shard(int id, long from, long to) {
+            this.id = id;
+            this.from = from;
+            this.to = to;
+            this.progress = from;
+        }
+
+        synchronized boolean isComplete() {
+            return progress == to;
+        }
+    }
+
+    public ShardedSimulator(long totalGames, int rounds, long seed, int workers, Path checkpointDir) {
+        this.totalGames = totalGames;
+        this.rounds = rounds;
+        this.seed = seed;
+        this.workers = workers;
+        this.checkpointDir = checkpointDir;
+
+        int count = (int) Math.max(1, Math.min(totalGames, (long) workers * SHARDS_PER_WORKER));
+        for (int i = 0; i < count; i++) {
+            shards.add(new Shard(i, totalGames * i / count, totalGames * (i + 1) / count));
+        }
+    }
+
+    /**
+     * Run (or resume) every shard and merge the results
+     */
+    public ShardResult run() throws IOException, InterruptedException {
+        Files.createDirectories(checkpointDir);
+        for (Shard shard : shards) {
+            loadCheckpoint(shard);
+        }
+
+        ExecutorService monitors = Executors.newFixedThreadPool(workers);
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            Thread acceptor = new Thread(() -> acceptReports(server), "simulation-reports");
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            List<Future<?>> runs = new ArrayList<>();
+            for (Shard shard : shards) {
+                runs.add(monitors.submit(() -> {
+                    runShard(shard, server.getLocalPort());
+                    return null;
+                }));
+            }
+            for (Future<?> run : runs) {
+                try {
+                    run.get();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    throw new IOException("Shard failed", e.getCause());
+                }
+            }
+        } finally {
+            monitors.shutdownNow();
+            monitors.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        ShardResult total = new ShardResult();
+        for (Shard shard : shards) {
+            total.merge(shard.result);
+        }
+        return total;
+    }
+
+    /**
+     * Start worker processes for a shard until it is complete; a worker that
+     * crashes after moving the checkpoint on does not count against the shard
+     */
+    private void runShard(Shard shard, int port) throws IOException, InterruptedException {
+        int stalled = 0;
+        while (!shard.isComplete()) {
+            if (stalled >= MAX_ATTEMPTS) {
+                throw new IOException("Shard " + shard.id + " failed " + MAX_ATTEMPTS
+                                      + " times in a row without progress");
+            }
+            long start;
+            synchronized (shard) {
+                start = shard.progress;
+            }
+            Process process = new ProcessBuilder(
+                    javaCommand(), "-cp", System.getProperty("java.class.path"),
+                    "SimulationWorker", String.valueOf(port), String.valueOf(shard.id),
+                    String.valueOf(start), String.valueOf(shard.to),
+                    String.valueOf(rounds), String.valueOf(seed))
+                .inheritIO()
+                .start();
+            try {
+                int exitCode = process.waitFor();
+                if (exitCode != 0 && !shard.isComplete()) {
+                    System.err.printf("Worker for shard %d exited with %d, resuming from game %d%n",
+                                      shard.id, exitCode, shard.progress);
+                }
+            } finally {
+                process.destroy();
+            }
+            synchronized (shard) {
+                stalled = shard.progress > start ? 0 : stalled + 1;
+            }
+        }
+    }
+
+    private static String javaCommand() {
+        return Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    /**
+     * Accept worker connections, one handler thread each
+     */
+    private void acceptReports(ServerSocket server) {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                Thread handler = new Thread(() -> handleWorker(socket), "simulation-worker-report");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return; // server closed
+            }
+        }
+    }
+
+    /**
+     * Merge and checkpoint every report from one worker
+     */
+    private void handleWorker(Socket socket) {
+        try (Socket s = socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+            OutputStream out = s.getOutputStream();
+            while (true) {
+                int id;
+                try {
+                    id = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                long from = in.readLong();
+                long to = in.readLong();
+                ShardResult partial = ShardResult.read(in);
+
+                Shard shard = id >= 0 && id < shards.size() ? shards.get(id) : null;
+                boolean accepted = false;
+                if (shard != null) {
+                    synchronized (shard) {
+                        // Reports must continue exactly where the checkpoint ends
+                        if (from == shard.progress && to <= shard.to && partial.getGames() == to - from) {
+                            ShardResult merged = new ShardResult();
+                            merged.merge(shard.result);
+                            merged.merge(partial);
+                            saveCheckpoint(shard, to, merged);
+                            shard.result = merged;
+                            shard.progress = to;
+                            accepted = true;
+                        }
+                    }
+                }
+                out.write(accepted ? ACK : REJECT);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Worker died mid-report: its shard is resumed from the last checkpoint
+        }
+    }
+
+    private Path checkpointFile(Shard shard) {
+        return checkpointDir.resolve("shard-" + shard.id + ".bin");
+    }
+
+    /**
+     * Write a shard's progress and result (atomically replacing the previous checkpoint)
+     */
+    private void saveCheckpoint(Shard shard, long progress, ShardResult result) throws IOException {
+        Path file = checkpointFile(shard);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeLong(totalGames);
+            out.writeInt(rounds);
+            out.writeLong(seed);
+            out.writeInt(shards.size());
+            out.writeLong(shard.from);
+            out.writeLong(shard.to);
+            out.writeLong(progress);
+            result.write(out);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restore a shard from its checkpoint if it belongs to the same run
+     */
+    private void loadCheckpoint(Shard shard) {
+        Path file = checkpointFile(shard);
+        if (!Files.exists(file)) return;
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            if (in.readInt() != MAGIC || in.readLong() != totalGames || in.readInt() != rounds
+                    || in.readLong() != seed || in.readInt() != shards.size()
+                    || in.readLong() != shard.from || in.readLong() != shard.to) {
+                return; // checkpoint of a different run
+            }
+            long progress = in.readLong();
+            ShardResult result = ShardResult.read(in);
+            if (progress < shard.from || progress > shard.to || result.getGames() != progress - shard.from) {
+                return;
+            }
+            synchronized (shard) {
+                shard.progress = progress;
+                shard.result = result;
+            }
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable checkpoint " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return games already completed (for example restored from checkpoints)
+     */
+    public long getCompletedGames() {
+        long completed = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                completed += shard.progress - shard.from;
+            }
+        }
+        return completed;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long totalGames = args.length > 0 ? Long.parseLong(args[0]) : 100_000_000L;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int workers = args.length > 2 ? Integer.parseInt(args[2])
+                                      : Runtime.getRuntime().availableProcessors();
+        Path checkpointDir = args.length > 3 ? Paths.get(args[3])
+            : Paths.get(System.getProperty("user.home"), ".dicegame", "simulation");
+
+        ShardedSimulator simulator = new ShardedSimulator(totalGames, rounds, 42, workers, checkpointDir);
+        long start = System.nanoTime();
+        Thread progress = new Thread(() -> {
+            try {
+                while (true) {
+                    Thread.sleep(2000);
+                    System.out.printf("  %,d / %,d games%n", simulator.getCompletedGames(), totalGames);
+                }
+            } catch (InterruptedException e) {
+                // finished
+            }
+        });
+        progress.setDaemon(true);
+        progress.start();
+
+        ShardResult result = simulator.run();
+        progress.interrupt();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%,d games of %d rounds with %d workers in %.1f s%n",
+                          result.getGames(), rounds, workers, seconds);
+        System.out.printf("Player 1 wins %.4f%%, player 2 wins %.4f%%, ties %.4f%%%n",
+                          100.0 * result.getPlayer1Wins() / result.getGames(),
+                          100.0 * result.getPlayer2Wins() / result.getGames(),
+                          100.0 * result.getTies() / result.getGames());
+        System.out.printf("Average roll: %.4f / %.4f, doubles %.3f%% / %.3f%%%n",
+                          result.getStatistics(0).getAverageScore(),
+                          result.getStatistics(1).getAverageScore(),
+                          100.0 * result.getStatistics(0).getDoublesCount() / result.getStatistics(0).getRollCount(),
+                          100.0 * result.getStatistics(1).getDoublesCount() / result.getStatistics(1).getRollCount());
+    }
+}
@@ -0,0 +1,81 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.SplittableRandom;
+
+/**
+ * Worker process for ShardedSimulator
+ * Plays a range of classic games and sends the partial results to the
+ * coordinator over a local socket every REPORT_GAMES games, waiting for
+ * the coordinator to checkpoint each report before continuing.
+ * Usage: java SimulationWorker port shard fromGame toGame rounds seed
+ */
+public class SimulationWorker {
+
+    /** Games played between two reports */
+    public static final int REPORT_GAMES = 250_000;
+
+    /**
+     * Play one game; every game index has its own dice stream, so any range
+     * of games can be replayed by any process with the same result
+     */
+    public static void playGame(long game, int rounds, long seed, ShardResult into) {
+        SplittableRandom random = new SplittableRandom(mix(seed + game));
+        int player1Score = 0, player2Score = 0;
+        for (int round = 0; round < rounds; round++) {
+            int points = ScoreTable.CLASSIC.score(random.nextInt(Dice.SIDES) + 1, random.nextInt(Dice.SIDES) + 1);
+            into.recordRoll(0, points);
+            player1Score += points;
+            points = ScoreTable.CLASSIC.score(random.nextInt(Dice.SIDES) + 1, random.nextInt(Dice.SIDES) + 1);
+            into.recordRoll(1, points);
+            player2Score += points;
+        }
+        into.recordGame(player1Score, player2Score);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 6) {
+            System.err.println("Usage: java SimulationWorker port shard fromGame toGame rounds seed");
+            System.exit(2);
+        }
+        int port = Integer.parseInt(args[0]);
+        int shard = Integer.parseInt(args[1]);
+        long from = Long.parseLong(args[2]);
+        long to = Long.parseLong(args[3]);
+        int rounds = Integer.parseInt(args[4]);
+        long seed = Long.parseLong(args[5]);
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+
+            for (long start = from; start < to; ) {
+                long end = Math.min(to, start + REPORT_GAMES);
+                ShardResult partial = new ShardResult();
+                for (long game = start; game < end; game++) {
+                    playGame(game, rounds, seed, partial);
+                }
+
+                out.writeInt(shard);
+                out.writeLong(start);
+                out.writeLong(end);
+                partial.write(out);
+                out.flush();
+                if (in.readByte() != ShardedSimulator.ACK) {
+                    throw new IOException("Report rejected by coordinator");
+                }
+                start = end;
+            }
+        }
+    }
+}
@@ -0,0 +1,310 @@
+import javax.swing.*;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Status and score texts of a two-player game, built once and reused
+ *
+ * Two dice have only sides * sides outcomes, so the result message of every
+ * roll is built up front for both players. Round, score, turn and win odds
+ * labels are cached the first time a value is shown; numbers too large to
+ * cache (marathon scores) are formatted into a reusable char buffer. A
+ * label is only given a new String when its text actually changes, so a
+ * steady stream of rolls allocates little beyond what JLabel itself needs.
+ * Player names are checked on every call and the caches of a renamed
+ * player are rebuilt. Must be used on the EDT.
+ * Usage: java StatusText [rolls]
+ */
+public class StatusText {
+
+    public static final String START_MESSAGE = "Click 'Roll Dice' to start!";
+
+    // Scores and rounds up to this value get a cached label
+    private static final int CACHED_NUMBERS = 4096;
+    private static final int PERCENTS = 101;
+
+    private final GameModel model;
+    private final ScoreTable scoreTable;
+    private final int sides;
+
+    // Per player (0 = player 1, 1 = player 2), rebuilt when the name changes
+    private final String[] names = new String[2];
+    private final String[][] rollMessages = new String[2][];
+    private final String[][] scoreLabels = new String[2][];
+    private final String[] turnLabels = new String[2];
+
+    private final String[] roundLabels;
+    private final String[] oddsLabels = new String[PERCENTS * PERCENTS];
+    private final String[] oddsTips = new String[PERCENTS * PERCENTS];
+
+    private char[] buffer = new char[64];
+    private int length;
+
+    public StatusText(GameModel model) {
+        this.model = model;
+        this.scoreTable = model.getScoreTable();
+        this.sides = scoreTable.getSides();
+        roundLabels = new String[Math.min(model.getMaxRounds() + 1, CACHED_NUMBERS) + 1];
+    }
+
+    /**
+     * @return 0 for player 1, 1 for player 2, after rebuilding stale texts
+     */
+    private int index(Player player) {
+        int i = player == model.getPlayer1() ? 0 : 1;
+        if (names[i] != player.getName()) {
+            rename(i, player.getName());
+        }
+        return i;
+    }
+
+    private void rename(int i, String name) {
+        names[i] = name;
+        String[] messages = new String[sides * sides];
+        for (int die1 = 1; die1 <= sides; die1++) {
+            for (int die2 = 1; die2 <= sides; die2++) {
+                String message = name + " rolled: " + die1 + " + " + die2;
+                if (die1 == die2) {
+                    message += " (DOUBLE! x2 bonus)";
+                }
+                messages[(die1 - 1) * sides + die2 - 1] =
+                    message + " = " + scoreTable.score(die1, die2) + " points";
+            }
+        }
+        rollMessages[i] = messages;
+        scoreLabels[i] = new String[64];
+        turnLabels[i] = "Turn: " + name;
+        // Tooltips carry both names
+        Arrays.fill(oddsTips, null);
+    }
+
+    /**
+     * @return result message of the model's last roll
+     */
+    public String rollMessage() {
+        Player roller = model.getLastRoller();
+        if (roller == null) {
+            return START_MESSAGE;
+        }
+        return rollMessages[index(roller)][(model.getLastDie1() - 1) * sides + model.getLastDie2() - 1];
+    }
+
+    public void showResult(JLabel label) {
+        setText(label, rollMessage());
+    }
+
+    public void showTurn(JLabel label) {
+        setText(label, turnLabels[index(model.getCurrentPlayer())]);
+    }
+
+    /**
+     * Show "name: score"
+     */
+    public void showScore(JLabel label, Player player) {
+        int i = index(player);
+        int score = player.getScore();
+        if (score < 0 || score >= CACHED_NUMBERS) {
+            clear().append(names[i]).append(": ").append(score);
+            setBuffer(label);
+            return;
+        }
+        String[] labels = scoreLabels[i];
+        if (score >= labels.length) {
+            labels = scoreLabels[i] = Arrays.copyOf(labels, Math.min(CACHED_NUMBERS, score * 2));
+        }
+        if (labels[score] == null) {
+            labels[score] = names[i] + ": " + score;
+        }
+        setText(label, labels[score]);
+    }
+
+    /**
+     * Show "Round: current/max"
+     */
+    public void showRound(JLabel label) {
+        int round = model.getCurrentRound();
+        if (round >= roundLabels.length) {
+            clear().append("Round: ").append(round).append("/").append(model.getMaxRounds());
+            setBuffer(label);
+            return;
+        }
+        if (roundLabels[round] == null) {
+            roundLabels[round] = "Round: " + round + "/" + model.getMaxRounds();
+        }
+        setText(label, roundLabels[round]);
+    }
+
+    /**
+     * Show both players' chances of winning, in percent, with the names in the tooltip
+     */
+    public void showWinOdds(JLabel label, int player1Chance, int player2Chance) {
+        int i = index(model.getPlayer1());
+        int j = index(model.getPlayer2());
+        int key = player1Chance * PERCENTS + player2Chance;
+        if (oddsLabels[key] == null) {
+            oddsLabels[key] = "Win odds: " + player1Chance + "% / " + player2Chance + "%";
+        }
+        if (oddsTips[key] == null) {
+            oddsTips[key] = names[i] + " " + player1Chance + "%, " + names[j] + " " + player2Chance + "%";
+        }
+        setText(label, oddsLabels[key]);
+        if (label.getToolTipText() != oddsTips[key]) {
+            label.setToolTipText(oddsTips[key]);
+        }
+    }
+
+    /**
+     * Set the text unless the label already shows it
+     */
+    public static void setText(JLabel label, String text) {
+        String current = label.getText();
+        if (current != text && (current == null || !current.equals(text))) {
+            label.setText(text);
+        }
+    }
+
+    private StatusText clear() {
+        length = 0;
+        return this;
+    }
+
+    private StatusText append(String text) {
+        ensure(text.length());
+        text.getChars(0, text.length(), buffer, length);
+        length += text.length();
+        return this;
+    }
+
+    private StatusText append(int value) {
+        if (value < 0) {
+            if (value == Integer.MIN_VALUE) {
+                return append(Integer.toString(value));
+            }
+            append("-");
+            value = -value;
+        }
+        int digits = 1;
+        for (int rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        ensure(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+        return this;
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    /**
+     * Give the label the buffer's text, allocating a String only if it differs
+     */
+    private void setBuffer(JLabel label) {
+        String current = label.getText();
+        if (current != null && current.length() == length) {
+            int i = 0;
+            while (i < length && current.charAt(i) == buffer[i]) {
+                i++;
+            }
+            if (i == length) return;
+        }
+        label.setText(new String(buffer, 0, length));
+    }
+
+    /**
+     * Previous label updates, built by concatenation on every flush
+     */
+    private static void concatenated(GameModel model, JLabel score1, JLabel score2,
+                                     JLabel round, JLabel turn, JLabel result, JLabel odds) {
+        Player player1 = model.getPlayer1();
+        Player player2 = model.getPlayer2();
+        score1.setText(player1.getName() + ": " + player1.getScore());
+        score2.setText(player2.getName() + ": " + player2.getScore());
+        round.setText("Round: " + model.getCurrentRound() + "/" + model.getMaxRounds());
+        turn.setText("Turn: " + model.getCurrentPlayer().getName());
+        int chance = model.getCurrentRound() % PERCENTS;
+        odds.setText("Win odds: " + chance + "% / " + (100 - chance) + "%");
+        odds.setToolTipText(player1.getName() + " " + chance + "%, " + player2.getName() + " " + (100 - chance) + "%");
+        int die1 = model.getLastDie1();
+        int die2 = model.getLastDie2();
+        String message = model.getLastRoller().getName() + " rolled: " + die1 + " + " + die2;
+        if (die1 == die2) {
+            message += " (DOUBLE! x2 bonus)";
+        }
+        result.setText(message + " = " + model.getLastRollScore() + " points");
+    }
+
+    private static void cached(StatusText text, GameModel model, JLabel score1, JLabel score2,
+                               JLabel round, JLabel turn, JLabel result, JLabel odds) {
+        text.showScore(score1, model.getPlayer1());
+        text.showScore(score2, model.getPlayer2());
+        text.showRound(round);
+        text.showTurn(turn);
+        int chance = model.getCurrentRound() % PERCENTS;
+        text.showWinOdds(odds, chance, 100 - chance);
+        text.showResult(result);
+    }
+
+    /**
+     * Bytes allocated by this thread while updating the labels after each roll
+     */
+    private static double bytesPerRoll(boolean useCache, int rolls, int maxRounds) {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        JLabel score1 = new JLabel(), score2 = new JLabel(), round = new JLabel();
+        JLabel turn = new JLabel(), result = new JLabel(), odds = new JLabel();
+        GameModel model = new GameModel(true, maxRounds);
+        StatusText text = new StatusText(model);
+        Random random = new Random(50);
+        int[] dice = new int[rolls * 2];
+        for (int i = 0; i < dice.length; i++) {
+            dice[i] = random.nextInt(Dice.SIDES) + 1;
+        }
+
+        long updateBytes = 0;
+        for (int i = 0; i < dice.length; i += 2) {
+            if (model.isGameEnded()) {
+                model.reset();
+            }
+            model.applyRoll(dice[i], dice[i + 1]);
+            long before = threads.getThreadAllocatedBytes(thread);
+            if (useCache) {
+                cached(text, model, score1, score2, round, turn, result, odds);
+            } else {
+                concatenated(model, score1, score2, round, turn, result, odds);
+            }
+            updateBytes += threads.getThreadAllocatedBytes(thread) - before;
+        }
+        return (double) updateBytes / rolls;
+    }
+
+    /**
+     * Compare the bytes allocated per label update with the concatenated texts
+     * JMH is not part of this build, so allocation is read from the thread's
+     * allocation counter around each update instead of JMH's gc profiler
+     */
+    public static void main(String[] args) throws Exception {
+        int rolls = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        SwingUtilities.invokeAndWait(() -> {
+            for (int run = 0; run < 3; run++) {
+                boolean report = run == 2;
+                for (int maxRounds : new int[] {GameSetup.MAX_ROUNDS, GameSetup.MARATHON_ROUNDS}) {
+                    double before = bytesPerRoll(false, rolls, maxRounds);
+                    double after = bytesPerRoll(true, rolls, maxRounds);
+                    if (report) {
+                        System.out.printf("%,d rounds: %,.0f bytes per update concatenated, %,.0f with StatusText%n",
+                                          maxRounds, before, after);
+                    }
+                }
+            }
+        });
+    }
+}
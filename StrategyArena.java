@@ -0,0 +1,345 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Round-robin arena playing Pig strategies against each other
+ *
+ * Games are played in batches on a fork-join pool, each pair's batch split
+ * into enough chunks to keep every thread busy; each chunk only returns
+ * its win count, which is folded into a per-pair counter, so memory does not
+ * grow with the number of games. After every round of batches the current
+ * standings (Bradley-Terry ratings on the Elo scale with 95% confidence
+ * intervals) are streamed to a listener.
+ * Usage: java StrategyArena [gamesPerPair] [threads]
+ */
+public class StrategyArena {
+
+    /** Games per batch task */
+    public static final int BATCH_GAMES = 10_000;
+
+    private static final double ELO_SCALE = 400 / Math.log(10);
+    private static final double ELO_BASE = 1500;
+    private static final double Z_95 = 1.96;
+
+    private final List<PigStrategy> strategies;
+    private final int goal;
+    private final ForkJoinPool pool;
+
+    // wins[i][j] = games strategy i won against strategy j
+    private final long[][] wins;
+
+    /**
+     * Create an arena for the given strategies and target score
+     */
+    public StrategyArena(List<PigStrategy> strategies, int goal, int threads) {
+        if (strategies.size() < 2) {
+            throw new IllegalArgumentException("At least two strategies are required");
+        }
+        this.strategies = new ArrayList<>(strategies);
+        this.goal = goal;
+        this.pool = new ForkJoinPool(threads);
+        this.wins = new long[strategies.size()][strategies.size()];
+    }
+
+    /**
+     * Play gamesPerPair games between every pair of strategies
+     * @param seed base seed; the same seed and thread count replay the same games
+     * @param listener receives the standings after each round of batches (may be null)
+     * @return final standings
+     */
+    public Standings run(long gamesPerPair, long seed, Consumer<Standings> listener)
+            throws InterruptedException {
+        int n = strategies.size();
+        int pairCount = n * (n - 1) / 2;
+        long batches = (gamesPerPair + BATCH_GAMES - 1) / BATCH_GAMES;
+        try {
+            for (long batch = 0; batch < batches; batch++) {
+                long first = batch * BATCH_GAMES;
+                int games = (int) Math.min(BATCH_GAMES, gamesPerPair - first);
+                // Split each pair's batch so that every thread has work, even with few pairs
+                int chunks = Math.min(games, (pool.getParallelism() + pairCount - 1) / pairCount);
+
+                List<Callable<Long>> tasks = new ArrayList<>();
+                List<int[]> chunkPairs = new ArrayList<>();
+                int pair = 0;
+                for (int a = 0; a < n; a++) {
+                    for (int b = a + 1; b < n; b++, pair++) {
+                        PigStrategy strategyA = strategies.get(a), strategyB = strategies.get(b);
+                        for (int c = 0; c < chunks; c++) {
+                            int from = (int) ((long) games * c / chunks);
+                            int count = (int) ((long) games * (c + 1) / chunks) - from;
+                            long chunkSeed = mix(seed, pair, first + from);
+                            chunkPairs.add(new int[] { a, b, count });
+                            tasks.add(() -> playBatch(strategyA, strategyB, from, count, chunkSeed));
+                        }
+                    }
+                }
+
+                List<Future<Long>> results = pool.invokeAll(tasks);
+                synchronized (wins) {
+                    for (int t = 0; t < chunkPairs.size(); t++) {
+                        long firstWins = results.get(t).get();
+                        int[] chunk = chunkPairs.get(t);
+                        wins[chunk[0]][chunk[1]] += firstWins;
+                        wins[chunk[1]][chunk[0]] += chunk[2] - firstWins;
+                    }
+                }
+                if (listener != null) {
+                    listener.accept(standings());
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Arena game failed", e.getCause());
+        }
+        return standings();
+    }
+
+    /**
+     * Play part of a batch between two strategies, alternating who starts
+     * @param from index of the first game within the batch, so starts alternate across chunks
+     * @return games won by the first strategy
+     */
+    private long playBatch(PigStrategy a, PigStrategy b, int from, int games, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long aWins = 0;
+        for (int game = from; game < from + games; game++) {
+            boolean aStarts = (game & 1) == 0;
+            boolean firstWon = play(aStarts ? a : b, aStarts ? b : a, random);
+            if (firstWon == aStarts) {
+                aWins++;
+            }
+        }
+        return aWins;
+    }
+
+    /**
+     * Play one game with the same rules as PigGameModel
+     * @return true if the player who started won
+     */
+    boolean play(PigStrategy first, PigStrategy second, SplittableRandom random) {
+        return play(first, second, 0, 0, goal, random);
+    }
+
+    /**
+     * Play one game in which the players may start with banked points
+     * @return true if the player who started won
+     */
+    static boolean play(PigStrategy first, PigStrategy second, int firstStart, int secondStart,
+                        int goal, SplittableRandom random) {
+        int[] scores = { firstStart, secondStart };
+        PigStrategy[] players = { first, second };
+        int current = 0;
+        while (true) {
+            int my = scores[current], opponent = scores[1 - current];
+            int turnTotal = 0;
+            // Holding with nothing just passes the turn, so the first roll is forced
+            while (turnTotal == 0 || players[current].shouldRoll(my, opponent, turnTotal, random)) {
+                int die1 = random.nextInt(Dice.SIDES) + 1;
+                int die2 = random.nextInt(Dice.SIDES) + 1;
+                if (PigGameModel.isBust(die1, die2)) {
+                    turnTotal = 0;
+                    break;
+                }
+                turnTotal += ScoreTable.CLASSIC.score(die1, die2);
+                if (my + turnTotal >= goal) {
+                    return current == 0;
+                }
+            }
+            scores[current] += turnTotal;
+            current = 1 - current;
+        }
+    }
+
+    private static long mix(long seed, int pair, long game) {
+        long z = seed + pair * 0x9E3779B97F4A7C15L + game * 0xC2B2AE3D27D4EB4FL;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Current ratings from the win counts so far
+     */
+    public Standings standings() {
+        long[][] snapshot;
+        synchronized (wins) {
+            snapshot = new long[wins.length][];
+            for (int i = 0; i < wins.length; i++) {
+                snapshot[i] = wins[i].clone();
+            }
+        }
+        return new Standings(strategies, snapshot);
+    }
+
+    /**
+     * Stop the worker threads
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Ratings and head-to-head results at one point of the run
+     */
+    public static class Standings {
+        private final List<PigStrategy> strategies;
+        private final long[][] wins;
+        private final double[] rating;
+        private final double[] error;
+
+        Standings(List<PigStrategy> strategies, long[][] wins) {
+            this.strategies = strategies;
+            this.wins = wins;
+            int n = wins.length;
+
+            // Bradley-Terry strengths by minorization-maximization, with half a
+            // virtual win each way per pair so unbeaten strategies stay finite
+            double[] strength = new double[n];
+            java.util.Arrays.fill(strength, 1.0);
+            for (int iteration = 0; iteration < 1000; iteration++) {
+                double[] next = new double[n];
+                double change = 0;
+                for (int i = 0; i < n; i++) {
+                    double won = 0, denominator = 0;
+                    for (int j = 0; j < n; j++) {
+                        if (i == j) continue;
+                        won += wins[i][j] + 0.5;
+                        denominator += (wins[i][j] + wins[j][i] + 1.0) / (strength[i] + strength[j]);
+                    }
+                    next[i] = won / denominator;
+                }
+                double logMean = 0;
+                for (double s : next) {
+                    logMean += Math.log(s) / n;
+                }
+                for (int i = 0; i < n; i++) {
+                    next[i] /= Math.exp(logMean);
+                    change = Math.max(change, Math.abs(Math.log(next[i] / strength[i])));
+                }
+                strength = next;
+                if (change < 1e-10) break;
+            }
+
+            // Standard errors from the diagonal of the Fisher information
+            rating = new double[n];
+            error = new double[n];
+            for (int i = 0; i < n; i++) {
+                rating[i] = ELO_BASE + ELO_SCALE * Math.log(strength[i]);
+                double information = 0;
+                for (int j = 0; j < n; j++) {
+                    if (i == j) continue;
+                    double p = strength[i] / (strength[i] + strength[j]);
+                    information += (wins[i][j] + wins[j][i]) * p * (1 - p);
+                }
+                error[i] = information > 0 ? Z_95 * ELO_SCALE / Math.sqrt(information)
+                                           : Double.POSITIVE_INFINITY;
+            }
+        }
+
+        public int size() {
+            return strategies.size();
+        }
+
+        public PigStrategy getStrategy(int index) {
+            return strategies.get(index);
+        }
+
+        /**
+         * @return rating on the Elo scale (mean strategy near 1500)
+         */
+        public double getRating(int index) {
+            return rating[index];
+        }
+
+        /**
+         * @return half-width of the 95% confidence interval of the rating
+         */
+        public double getRatingError(int index) {
+            return error[index];
+        }
+
+        public long getWins(int index, int opponent) {
+            return wins[index][opponent];
+        }
+
+        public long getGames(int index, int opponent) {
+            return wins[index][opponent] + wins[opponent][index];
+        }
+
+        public long getTotalGames() {
+            long total = 0;
+            for (long[] row : wins) {
+                for (long w : row) {
+                    total += w;
+                }
+            }
+            return total;
+        }
+
+        @Override
+        public String toString() {
+            Integer[] order = new Integer[size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            java.util.Arrays.sort(order, (a, b) -> Double.compare(rating[b], rating[a]));
+
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%,d games%n", getTotalGames()));
+            for (int i : order) {
+                sb.append(String.format("  %-28s %7.1f +/- %5.1f  ", strategies.get(i).getName(),
+                                        rating[i], error[i]));
+                for (int j = 0; j < size(); j++) {
+                    if (i == j) {
+                        sb.append("    -  ");
+                    } else {
+                        long games = getGames(i, j);
+                        sb.append(String.format(" %5.1f%%", games == 0 ? 0.0 : 100.0 * wins[i][j] / games));
+                    }
+                }
+                sb.append(System.lineSeparator());
+            }
+            return sb.toString();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        long gamesPerPair = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1])
+                                      : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Preparing optimal policy...");
+        PigPolicy policy = PigPolicy.shared().join();
+
+        List<PigStrategy> strategies = List.of(
+            PigStrategy.rollOnce(),
+            PigStrategy.riskSeeking(),
+            PigStrategy.riskAverse(),
+            PigStrategy.optimal(policy));
+        StrategyArena arena = new StrategyArena(strategies, policy.getGoal(), threads);
+
+        long start = System.nanoTime();
+        long[] lastReport = { start };
+        Standings result = arena.run(gamesPerPair, 42, standings -> {
+            long now = System.nanoTime();
+            if (now - lastReport[0] > 2_000_000_000L) {
+                lastReport[0] = now;
+                System.out.print(standings);
+            }
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+        arena.shutdown();
+
+        System.out.println();
+        System.out.println("Final standings (column = win rate against each strategy in list order):");
+        System.out.print(result);
+        System.out.printf("%.1f s, %,.0f games/s on %d threads%n",
+                          seconds, result.getTotalGames() / seconds, threads);
+    }
+}
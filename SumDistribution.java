@@ -0,0 +1,229 @@
+import java.util.Arrays;
+
+/**
+ * Exact probability distribution of the sum of several fair dice
+ * Built from the Dice face model (every face equally likely) by repeated
+ * convolution. Large pools are computed with FFT convolutions and
+ * exponentiation by squaring, so 100d6 or 50d20 take O(m log m log n).
+ *
+ * Probabilities are doubles: the absolute error is around 1e-15, so
+ * extreme tail probabilities smaller than that are reported as 0.
+ */
+public class SumDistribution {
+
+    // Below this length direct convolution is faster than an FFT
+    private static final int DIRECT_CONVOLUTION_LIMIT = 64;
+
+    private final int count;
+    private final int sides;
+    private final double[] pmf; // index 0 is the smallest sum (count)
+    private final double[] cdf;
+
+    /**
+     * Compute the distribution of the sum of count dice with the given sides
+     */
+    public SumDistribution(int count, int sides) {
+        if (count < 1) {
+            throw new IllegalArgumentException("At least one die is required");
+        }
+        if (sides < 2) {
+            throw new IllegalArgumentException("Dice need at least two sides");
+        }
+        this.count = count;
+        this.sides = sides;
+
+        // One die: faces 1..sides, shifted so index 0 is face 1
+        double[] face = new double[sides];
+        Arrays.fill(face, 1.0 / sides);
+        this.pmf = power(face, count);
+        this.cdf = new double[pmf.length];
+        double total = 0;
+        for (int i = 0; i < pmf.length; i++) {
+            total += pmf[i];
+            cdf[i] = Math.min(1.0, total);
+        }
+    }
+
+    /**
+     * Distribution of the sum of count dice with Dice.SIDES faces
+     */
+    public SumDistribution(int count) {
+        this(count, Dice.SIDES);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getSides() {
+        return sides;
+    }
+
+    public int getMinSum() {
+        return count;
+    }
+
+    public int getMaxSum() {
+        return count * sides;
+    }
+
+    /**
+     * @return P(sum == value)
+     */
+    public double probability(int sum) {
+        if (sum < getMinSum() || sum > getMaxSum()) return 0.0;
+        return pmf[sum - count];
+    }
+
+    /**
+     * @return P(sum <= value)
+     */
+    public double cumulative(int sum) {
+        if (sum < getMinSum()) return 0.0;
+        if (sum >= getMaxSum()) return 1.0;
+        return cdf[sum - count];
+    }
+
+    /**
+     * @return P(sum >= value)
+     */
+    public double atLeast(int sum) {
+        return 1.0 - cumulative(sum - 1);
+    }
+
+    public double mean() {
+        return count * (sides + 1) / 2.0;
+    }
+
+    /**
+     * @return copy of the probabilities, index 0 being the minimum sum
+     */
+    public double[] toArray() {
+        return pmf.clone();
+    }
+
+    /**
+     * Distribution of the sum of n independent draws from the given distribution
+     * @param pmf probabilities indexed from 0 (shift the result by n * offset)
+     * @param n number of draws, at least 1
+     * @return probabilities of the sum, length n * (pmf.length - 1) + 1
+     */
+    public static double[] power(double[] pmf, int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Need at least one draw");
+        }
+        double[] result = null;
+        double[] base = pmf;
+        // Exponentiation by squaring over convolution
+        while (true) {
+            if ((n & 1) != 0) {
+                result = result == null ? base : convolve(result, base);
+            }
+            n >>= 1;
+            if (n == 0) break;
+            base = convolve(base, base);
+        }
+        return result == pmf ? pmf.clone() : result;
+    }
+
+    /**
+     * Convolve two probability vectors, choosing direct or FFT convolution by size
+     */
+    public static double[] convolve(double[] a, double[] b) {
+        int length = a.length + b.length - 1;
+        double[] result;
+        if (Math.min(a.length, b.length) <= DIRECT_CONVOLUTION_LIMIT) {
+            result = new double[length];
+            for (int i = 0; i < a.length; i++) {
+                double ai = a[i];
+                if (ai == 0.0) continue;
+                for (int j = 0; j < b.length; j++) {
+                    result[i + j] += ai * b[j];
+                }
+            }
+            return result;
+        }
+
+        int size = Integer.highestOneBit(length - 1) << 1;
+        double[] aRe = Arrays.copyOf(a, size), aIm = new double[size];
+        double[] bRe = Arrays.copyOf(b, size), bIm = new double[size];
+        fft(aRe, aIm, false);
+        fft(bRe, bIm, false);
+        for (int i = 0; i < size; i++) {
+            double re = aRe[i] * bRe[i] - aIm[i] * bIm[i];
+            double im = aRe[i] * bIm[i] + aIm[i] * bRe[i];
+            aRe[i] = re;
+            aIm[i] = im;
+        }
+        fft(aRe, aIm, true);
+
+        // Rounding leaves tiny negative values; clamp them and renormalize
+        result = new double[length];
+        double total = 0;
+        for (int i = 0; i < length; i++) {
+            double value = aRe[i] / size;
+            result[i] = value > 0 ? value : 0.0;
+            total += result[i];
+        }
+        if (total > 0) {
+            double expected = sum(a) * sum(b);
+            double scale = expected / total;
+            for (int i = 0; i < length; i++) {
+                result[i] *= scale;
+            }
+        }
+        return result;
+    }
+
+    private static double sum(double[] values) {
+        double total = 0;
+        for (double value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    /**
+     * In-place iterative radix-2 FFT (length must be a power of two)
+     */
+    private static void fft(double[] re, double[] im, boolean inverse) {
+        int n = re.length;
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                double t = re[i]; re[i] = re[j]; re[j] = t;
+                t = im[i]; im[i] = im[j]; im[j] = t;
+            }
+        }
+        for (int len = 2; len <= n; len <<= 1) {
+            double angle = 2 * Math.PI / len * (inverse ? 1 : -1);
+            int half = len >> 1;
+            // Twiddle factors computed directly (not by repeated multiplication) for accuracy
+            double[] wRe = new double[half], wIm = new double[half];
+            for (int k = 0; k < half; k++) {
+                wRe[k] = Math.cos(angle * k);
+                wIm[k] = Math.sin(angle * k);
+            }
+            for (int i = 0; i < n; i += len) {
+                for (int k = 0; k < half; k++) {
+                    int u = i + k, v = u + half;
+                    double xRe = re[v] * wRe[k] - im[v] * wIm[k];
+                    double xIm = re[v] * wIm[k] + im[v] * wRe[k];
+                    re[v] = re[u] - xRe;
+                    im[v] = im[u] - xIm;
+                    re[u] += xRe;
+                    im[u] += xIm;
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SumDistribution{" + count + "d" + sides + "}";
+    }
+}
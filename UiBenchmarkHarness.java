@@ -0,0 +1,234 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.image.BufferedImage;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Offscreen rendering benchmark for the Swing frames
+ * Builds GameSetup, DiceGame and DiceGameMain without showing them, drives
+ * scripted clicks through their actionPerformed methods and measures layout
+ * and paint time of every frame (the component tree is painted into a
+ * BufferedImage), reporting percentiles per scenario.
+ *
+ * Swing frames need a display, so on a headless CI machine run it under Xvfb:
+ *   xvfb-run -a java UiBenchmarkHarness [rolls] [--max-p99-ms=N]
+ * The process exits with status 1 when a p99 exceeds the given limit.
+ */
+public class UiBenchmarkHarness {
+    private static final int FRAME_MILLIS = 16;
+
+    // Frames sampled after each click so the dice animations are covered
+    private static final int FRAMES_PER_CLICK = 6;
+
+    private static int rolls = 120;
+    private static double maxP99Millis = Double.POSITIVE_INFINITY;
+    private static boolean regression = false;
+
+    public static void main(String[] args) throws Exception {
+        for (String arg : args) {
+            if (arg.startsWith("--max-p99-ms=")) {
+                maxP99Millis = Double.parseDouble(arg.substring("--max-p99-ms=".length()));
+            } else {
+                rolls = Integer.parseInt(arg);
+            }
+        }
+        if (GraphicsEnvironment.isHeadless()) {
+            System.err.println("UiBenchmarkHarness needs a display; run it under xvfb-run");
+            System.exit(2);
+        }
+
+        benchmarkGameSetup();
+        benchmarkDiceGameMain();
+        benchmarkDiceGame();
+
+        System.exit(regression ? 1 : 0);
+    }
+
+    /**
+     * Setup screen: paint the initial frame repeatedly while cycling the rounds selection
+     */
+    private static void benchmarkGameSetup() throws Exception {
+        GameSetup setup = onEdt(GameSetup::new);
+        FrameRecorder recorder = new FrameRecorder(setup);
+        JComboBox<?> rounds = find(setup.getContentPane(), JComboBox.class, null);
+
+        for (int i = 0; i < rolls; i++) {
+            int index = i % GameSetup.MAX_ROUNDS;
+            SwingUtilities.invokeAndWait(() -> rounds.setSelectedIndex(index));
+            recorder.recordFrames(1);
+        }
+        SwingUtilities.invokeAndWait(setup::dispose);
+        recorder.report("GameSetup");
+    }
+
+    /**
+     * Main game window in two player mode: scripted rolls and new games
+     */
+    private static void benchmarkDiceGameMain() throws Exception {
+        int maxRounds = GameSetup.MAX_ROUNDS;
+        DiceGameMain game = onEdt(() -> new DiceGameMain(true, maxRounds, false));
+        FrameRecorder recorder = new FrameRecorder(game);
+        JButton rollButton = findButton(game, "ROLL DICE");
+        JButton newGameButton = findButton(game, "NEW GAME");
+
+        // Stop one roll short of the end so the results dialog never opens
+        int rollsPerGame = 2 * maxRounds - 1;
+        for (int i = 0; i < rolls; i++) {
+            click(game, (i + 1) % rollsPerGame == 0 ? newGameButton : rollButton);
+            recorder.recordFrames(FRAMES_PER_CLICK);
+        }
+        SwingUtilities.invokeAndWait(game::dispose);
+        recorder.report("DiceGameMain");
+    }
+
+    /**
+     * Original game window, switched to two player mode so no computer turns are scheduled
+     */
+    private static void benchmarkDiceGame() throws Exception {
+        PrintStream out = System.out;
+        // DiceGame logs its placeholder sounds to stdout
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        FrameRecorder recorder;
+        try {
+            DiceGame game = onEdt(DiceGame::new);
+            recorder = new FrameRecorder(game);
+            JButton rollButton = findButton(game, "ROLL DICE");
+            JButton resetButton = findButton(game, "RESET");
+            click(game, findButton(game, "TWO PLAYER"));
+
+            int rollsPerGame = 2 * 5 - 1;
+            for (int i = 0; i < rolls; i++) {
+                click(game, (i + 1) % rollsPerGame == 0 ? resetButton : rollButton);
+                recorder.recordFrames(FRAMES_PER_CLICK);
+            }
+            SwingUtilities.invokeAndWait(game::dispose);
+        } finally {
+            System.setOut(out);
+        }
+        recorder.report("DiceGame");
+    }
+
+    /**
+     * Deliver a click to the frame's actionPerformed, as the button would
+     */
+    private static void click(ActionListener frame, JButton button) throws Exception {
+        SwingUtilities.invokeAndWait(() -> frame.actionPerformed(
+            new ActionEvent(button, ActionEvent.ACTION_PERFORMED, button.getText())));
+    }
+
+    /**
+     * Measures layout and paint of one frame's component tree
+     */
+    private static class FrameRecorder {
+        private final JFrame frame;
+        private final BufferedImage target;
+        private long[] layoutNanos = new long[64];
+        private long[] paintNanos = new long[64];
+        private int count;
+
+        FrameRecorder(JFrame frame) {
+            this.frame = frame;
+            this.target = new BufferedImage(frame.getWidth(), frame.getHeight(),
+                                            BufferedImage.TYPE_INT_RGB);
+        }
+
+        /**
+         * Let timers run for one frame period, then lay out and paint on the EDT
+         */
+        void recordFrames(int frames) throws Exception {
+            for (int i = 0; i < frames; i++) {
+                Thread.sleep(FRAME_MILLIS);
+                SwingUtilities.invokeAndWait(this::recordFrame);
+            }
+        }
+
+        private void recordFrame() {
+            if (count == layoutNanos.length) {
+                layoutNanos = Arrays.copyOf(layoutNanos, count * 2);
+                paintNanos = Arrays.copyOf(paintNanos, count * 2);
+            }
+
+            long start = System.nanoTime();
+            frame.validate();
+            long laidOut = System.nanoTime();
+
+            Graphics2D g = target.createGraphics();
+            try {
+                frame.getRootPane().paint(g);
+            } finally {
+                g.dispose();
+            }
+            long painted = System.nanoTime();
+
+            layoutNanos[count] = laidOut - start;
+            paintNanos[count] = painted - laidOut;
+            count++;
+        }
+
+        void report(String name) {
+            // The first frames include class loading and JIT warm-up
+            int skip = Math.min(count / 10, 20);
+            reportSeries(name + " layout", Arrays.copyOfRange(layoutNanos, skip, count));
+            reportSeries(name + " paint ", Arrays.copyOfRange(paintNanos, skip, count));
+        }
+
+        private static void reportSeries(String name, long[] times) {
+            if (times.length == 0) return;
+            Arrays.sort(times);
+            double p99 = percentile(times, 0.99);
+            System.out.printf("%-20s frames %5d  p50 %7.3f ms  p90 %7.3f ms  p99 %7.3f ms  max %7.3f ms%n",
+                              name, times.length,
+                              percentile(times, 0.50), percentile(times, 0.90), p99,
+                              times[times.length - 1] / 1e6);
+            if (p99 > maxP99Millis) {
+                System.out.printf("  REGRESSION: %s p99 %.3f ms exceeds %.3f ms%n",
+                                  name.trim(), p99, maxP99Millis);
+                regression = true;
+            }
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    private static <T> T onEdt(java.util.function.Supplier<T> supplier) throws Exception {
+        Object[] result = new Object[1];
+        SwingUtilities.invokeAndWait(() -> result[0] = supplier.get());
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return value;
+    }
+
+    private static JButton findButton(JFrame frame, String text) {
+        JButton button = find(frame.getContentPane(), JButton.class, text);
+        if (button == null) {
+            throw new IllegalStateException("No button '" + text + "' in " + frame.getTitle());
+        }
+        return button;
+    }
+
+    /**
+     * Depth-first search of the component tree for a component of the given
+     * type, optionally with the given (trimmed) button text
+     */
+    private static <T extends Component> T find(Container root, Class<T> type, String text) {
+        for (Component child : root.getComponents()) {
+            if (type.isInstance(child)
+                    && (text == null || (child instanceof AbstractButton
+                        && ((AbstractButton) child).getText().trim().equals(text)))) {
+                return type.cast(child);
+            }
+            if (child instanceof Container) {
+                T found = find((Container) child, type, text);
+                if (found != null) return found;
+            }
+        }
+        return null;
+    }
+}
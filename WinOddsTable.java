@@ -0,0 +1,236 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Precomputed chance of winning for every state of a classic game
+ *
+ * The outcome only depends on how many rolls each player has left and on
+ * the current score difference. For up to GameSetup.MAX_ROUNDS rounds the
+ * table stores P(player 1 wins) and P(tie) as floats for every
+ * (rolls left, whose turn, score difference), so a lookup on every roll is
+ * a single index computation. The table can be persisted and memory-mapped.
+ */
+public class WinOddsTable {
+
+    private static final int MAGIC = 0x444f4453; // "DODS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    private static final Path DEFAULT_FILE =
+        Paths.get(System.getProperty("user.home"), ".dicegame", "win-odds.bin");
+
+    private static CompletableFuture<WinOddsTable> shared;
+
+    private final int maxRounds;
+    private final int maxDiff;      // largest score difference that is not yet decided
+    private final int diffs;        // number of stored differences (2 * maxDiff + 1)
+    private final FloatBuffer data; // [rollsLeft][turn][diff][win, tie]
+
+    private WinOddsTable(int maxRounds, int maxDiff, FloatBuffer data) {
+        this.maxRounds = maxRounds;
+        this.maxDiff = maxDiff;
+        this.diffs = 2 * maxDiff + 1;
+        this.data = data;
+    }
+
+    /**
+     * Compute the table for games of up to maxRounds rounds with classic scoring
+     */
+    public static WinOddsTable compute(int maxRounds) {
+        double[] rollPmf = ScoreTable.CLASSIC.scoreDistribution();
+        int maxRollScore = rollPmf.length - 1;
+        int maxDiff = maxRollScore * maxRounds;
+
+        // sums[r] = distribution of the total of r rolls
+        double[][] sums = new double[maxRounds + 1][];
+        sums[0] = new double[] { 1.0 };
+        for (int r = 1; r <= maxRounds; r++) {
+            sums[r] = SumDistribution.convolve(sums[r - 1], rollPmf);
+        }
+        double[][] cumulative = new double[maxRounds + 1][];
+        for (int r = 0; r <= maxRounds; r++) {
+            cumulative[r] = new double[sums[r].length];
+            double total = 0;
+            for (int i = 0; i < sums[r].length; i++) {
+                total += sums[r][i];
+                cumulative[r][i] = total;
+            }
+        }
+
+        int diffs = 2 * maxDiff + 1;
+        FloatBuffer data = FloatBuffer.allocate((maxRounds + 1) * 2 * diffs * 2);
+        WinOddsTable table = new WinOddsTable(maxRounds, maxDiff, data);
+        for (int player2Rolls = 0; player2Rolls <= maxRounds; player2Rolls++) {
+            for (int turn = 0; turn < 2; turn++) {
+                // turn 0: player 1 to move (both have the same number of rolls left)
+                int player1Rolls = player2Rolls - turn;
+                if (player1Rolls < 0) continue;
+                double[] p1 = sums[player1Rolls];
+                double[] p2 = sums[player2Rolls];
+                double[] p2Cumulative = cumulative[player2Rolls];
+                for (int diff = -maxDiff; diff <= maxDiff; diff++) {
+                    double win = 0, tie = 0;
+                    for (int x = 0; x < p1.length; x++) {
+                        if (p1[x] == 0.0) continue;
+                        // Player 1 wins if player 2 gains less than diff + x
+                        int below = diff + x - 1;
+                        if (below >= 0) {
+                            win += p1[x] * p2Cumulative[Math.min(below, p2.length - 1)];
+                        }
+                        int equal = diff + x;
+                        if (equal >= 0 && equal < p2.length) {
+                            tie += p1[x] * p2[equal];
+                        }
+                    }
+                    int index = table.index(player2Rolls, turn, diff);
+                    data.put(index, (float) Math.min(1.0, win));
+                    data.put(index + 1, (float) Math.min(1.0, tie));
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Shared table for GameSetup.MAX_ROUNDS, loaded from the cache file when
+     * present and otherwise computed (and saved) on a background thread
+     */
+    public static synchronized CompletableFuture<WinOddsTable> shared() {
+        if (shared == null) {
+            shared = CompletableFuture.supplyAsync(() -> {
+                try {
+                    WinOddsTable table = load(DEFAULT_FILE);
+                    if (table.maxRounds >= GameSetup.MAX_ROUNDS) return table;
+                } catch (IOException | RuntimeException e) {
+                    // Missing or stale cache file: compute below
+                }
+                WinOddsTable table = compute(GameSetup.MAX_ROUNDS);
+                try {
+                    table.save(DEFAULT_FILE);
+                } catch (IOException e) {
+                    System.err.println("Could not save win odds table: " + e.getMessage());
+                }
+                return table;
+            });
+        }
+        return shared;
+    }
+
+    private int index(int player2Rolls, int turn, int diff) {
+        return ((player2Rolls * 2 + turn) * diffs + (diff + maxDiff)) * 2;
+    }
+
+    /**
+     * @return true if the table covers the game's round count and scoring
+     */
+    public boolean supports(GameModel model) {
+        return model.getMaxRounds() <= maxRounds
+            && java.util.Arrays.equals(model.getScoreTable().scoreDistribution(),
+                                       ScoreTable.CLASSIC.scoreDistribution());
+    }
+
+    /**
+     * Chance that player 1 wins from the given state
+     * @param player2Rolls rolls player 2 still has to make
+     * @param isPlayer1Turn whether player 1 rolls next (then both have player2Rolls left)
+     * @param scoreDifference player 1's score minus player 2's score
+     */
+    public float player1WinChance(int player2Rolls, boolean isPlayer1Turn, int scoreDifference) {
+        int turn = isPlayer1Turn ? 0 : 1;
+        if (scoreDifference > maxDiff) return 1.0f;
+        if (scoreDifference < -maxDiff) return 0.0f;
+        return data.get(index(player2Rolls, turn, scoreDifference));
+    }
+
+    /**
+     * Chance that the game ends in a tie from the given state
+     */
+    public float tieChance(int player2Rolls, boolean isPlayer1Turn, int scoreDifference) {
+        if (scoreDifference > maxDiff || scoreDifference < -maxDiff) return 0.0f;
+        int turn = isPlayer1Turn ? 0 : 1;
+        return data.get(index(player2Rolls, turn, scoreDifference) + 1);
+    }
+
+    /**
+     * Chance that player 1 wins the game in its current state
+     */
+    public float player1WinChance(GameModel model) {
+        return player1WinChance(player2RollsLeft(model), model.isPlayer1Turn(), scoreDifference(model));
+    }
+
+    /**
+     * Chance that player 2 wins the game in its current state
+     */
+    public float player2WinChance(GameModel model) {
+        int rolls = player2RollsLeft(model);
+        int diff = scoreDifference(model);
+        boolean isPlayer1Turn = model.isPlayer1Turn();
+        return Math.max(0.0f, 1.0f - player1WinChance(rolls, isPlayer1Turn, diff)
+                                   - tieChance(rolls, isPlayer1Turn, diff));
+    }
+
+    private static int player2RollsLeft(GameModel model) {
+        return Math.max(0, model.getMaxRounds() - model.getCurrentRound() + 1);
+    }
+
+    private static int scoreDifference(GameModel model) {
+        return model.getPlayer1().getScore() - model.getPlayer2().getScore();
+    }
+
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+
+    /**
+     * Write the table to a file (atomically replacing an older one)
+     */
+    public void save(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + data.capacity() * Float.BYTES)
+                                      .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(maxRounds).putInt(maxDiff);
+        for (int i = 0; i < data.capacity(); i++) {
+            buffer.putFloat(data.get(i));
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Memory-map a table written by save()
+     */
+    public static WinOddsTable load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                                       .order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC
+                    || buffer.getInt() != VERSION) {
+                throw new IOException("Not a win odds table: " + file);
+            }
+            int maxRounds = buffer.getInt();
+            int maxDiff = buffer.getInt();
+            int expected = (maxRounds + 1) * 2 * (2 * maxDiff + 1) * 2;
+            FloatBuffer data = buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+            if (data.capacity() != expected) {
+                throw new IOException("Truncated win odds table: " + file);
+            }
+            return new WinOddsTable(maxRounds, maxDiff, data);
+        }
+    }
+}